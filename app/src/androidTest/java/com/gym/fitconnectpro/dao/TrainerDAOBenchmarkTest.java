@@ -0,0 +1,135 @@
+package com.gym.fitconnectpro.dao;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gym.fitconnectpro.database.ConnectionTracker;
+import com.gym.fitconnectpro.database.DatabaseHelper;
+import com.gym.fitconnectpro.database.entities.Trainer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Microbenchmark for TrainerDAO.getAvailableTrainers.
+ * The number of cursors opened must not grow with the number of trainers.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TrainerDAOBenchmarkTest {
+
+    private static final String TAG = "TrainerDAOBenchmark";
+    private static final String PREFIX = "bench_";
+
+    private DatabaseHelper dbHelper;
+    private TrainerDAO trainerDAO;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        dbHelper = DatabaseHelper.getInstance(context);
+        trainerDAO = new TrainerDAO(context);
+        cleanUp();
+    }
+
+    @After
+    public void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    public void availableTrainers_queryCountIndependentOfTrainerCount() {
+        seedTrainers(0, 10);
+        int smallQueries = measureQueries(10);
+
+        seedTrainers(10, 300);
+        int largeQueries = measureQueries(310);
+
+        assertEquals("Queries must not scale with trainer count", smallQueries, largeQueries);
+        assertEquals(1, largeQueries);
+    }
+
+    private int measureQueries(int expectedBenchTrainers) {
+        ConnectionTracker.Stats stats = ConnectionTracker.getStats().get("TrainerDAO");
+        int before = stats != null ? stats.cursorsOpened.get() : 0;
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        List<Trainer> trainers = trainerDAO.getAvailableTrainers();
+        long elapsedUs = (SystemClock.elapsedRealtimeNanos() - start) / 1000;
+
+        stats = ConnectionTracker.getStats().get("TrainerDAO");
+        assertNotNull("ConnectionTracker only runs on debuggable builds", stats);
+        int queries = stats.cursorsOpened.get() - before;
+
+        int benchTrainers = 0;
+        for (Trainer trainer : trainers) {
+            if (trainer.getUsername() != null && trainer.getUsername().startsWith(PREFIX)) {
+                benchTrainers++;
+                assertEquals(2, trainer.getAssignedClientsCount());
+            }
+        }
+        assertEquals(expectedBenchTrainers, benchTrainers);
+
+        Log.i(TAG, trainers.size() + " trainers: " + queries + " queries, " + elapsedUs + " us");
+        return queries;
+    }
+
+    // Each trainer gets two active clients and one completed one
+    private void seedTrainers(int from, int to) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (int i = from; i < to; i++) {
+                ContentValues user = new ContentValues();
+                user.put("username", PREFIX + "t" + i);
+                user.put("password", "x");
+                user.put("user_type", "TRAINER");
+                user.put("email", PREFIX + "t" + i + "@example.com");
+                long userId = db.insertOrThrow("users", null, user);
+
+                ContentValues trainer = new ContentValues();
+                trainer.put("user_id", userId);
+                trainer.put("full_name", PREFIX + "Trainer " + i);
+                trainer.put("status", "ACTIVE");
+                long trainerId = db.insertOrThrow("trainers", null, trainer);
+
+                for (int c = 0; c < 3; c++) {
+                    ContentValues member = new ContentValues();
+                    member.put("full_name", PREFIX + "Member " + i + "_" + c);
+                    member.put("username", PREFIX + "m" + i + "_" + c);
+                    member.put("status", "ACTIVE");
+                    long memberId = db.insertOrThrow("members", null, member);
+
+                    ContentValues assignment = new ContentValues();
+                    assignment.put("member_id", memberId);
+                    assignment.put("trainer_id", trainerId);
+                    assignment.put("status", c < 2 ? "ACTIVE" : "COMPLETED");
+                    db.insertOrThrow("trainer_assignments", null, assignment);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void cleanUp() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.delete("trainer_assignments", "member_id IN (SELECT member_id FROM members WHERE username LIKE ?)",
+                new String[]{PREFIX + "%"});
+        db.delete("members", "username LIKE ?", new String[]{PREFIX + "%"});
+        db.delete("trainers", "user_id IN (SELECT id FROM users WHERE username LIKE ?)", new String[]{PREFIX + "%"});
+        db.delete("users", "username LIKE ?", new String[]{PREFIX + "%"});
+    }
+}
@@ -0,0 +1,134 @@
+package com.gym.fitconnectpro.dao;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gym.fitconnectpro.database.DatabaseHelper;
+import com.gym.fitconnectpro.database.QueryPlanAuditor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Microbenchmark for the water tracker's per-day reads.
+ * Latency for one day must stay flat as the member's history grows from a week to a year.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WaterLogDAOBenchmarkTest {
+
+    private static final String TAG = "WaterLogDAOBenchmark";
+    private static final String PREFIX = "bench_";
+    private static final int LOGS_PER_DAY = 8;
+    private static final int AMOUNT_ML = 250;
+    private static final int RUNS = 50;
+    // Generous bound so emulator noise does not fail the test; a full scan grows ~50x between the sizes
+    private static final double MAX_SLOWDOWN = 3.0;
+
+    private DatabaseHelper dbHelper;
+    private WaterLogDAO waterLogDAO;
+    private int memberId;
+    private String today;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        dbHelper = DatabaseHelper.getInstance(context);
+        waterLogDAO = new WaterLogDAO(context);
+        cleanUp();
+
+        ContentValues member = new ContentValues();
+        member.put("full_name", PREFIX + "Water Member");
+        member.put("username", PREFIX + "water");
+        member.put("status", "ACTIVE");
+        memberId = (int) dbHelper.getWritableDatabase().insertOrThrow("members", null, member);
+        today = new SimpleDateFormat("yyyy-MM-dd", Locale.US).format(Calendar.getInstance().getTime());
+    }
+
+    @After
+    public void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    public void todayReads_latencyIndependentOfHistoryLength() {
+        seedDays(0, 7);
+        long weekUs = measureMedianUs();
+
+        seedDays(7, 365);
+        long yearUs = measureMedianUs();
+
+        Log.i(TAG, "Median per-day read: " + weekUs + " us with 7 days, " + yearUs + " us with 365 days");
+
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        String[] args = {String.valueOf(memberId), today};
+        assertNull(QueryPlanAuditor.findFullScan(db, "SELECT SUM(amount_ml) FROM water_logs WHERE member_id = ?1 "
+                + "AND log_time >= ?2 AND log_time < date(?2, '+1 day')", args));
+        assertTrue("Per-day reads slowed down " + yearUs + " us vs " + weekUs + " us",
+                yearUs <= Math.max(weekUs, 100) * MAX_SLOWDOWN);
+    }
+
+    private long measureMedianUs() {
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            int total = waterLogDAO.getTodayWaterTotal(memberId, today);
+            int logs = waterLogDAO.getTodayLogs(memberId, today).size();
+            samples[i] = (SystemClock.elapsedRealtimeNanos() - start) / 1000;
+
+            assertEquals(LOGS_PER_DAY * AMOUNT_ML, total);
+            assertEquals(LOGS_PER_DAY, logs);
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    // Days are counted back from today; LOGS_PER_DAY logs spread over waking hours
+    private void seedDays(int fromDaysAgo, int toDaysAgo) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        SQLiteStatement insert = db.compileStatement("INSERT INTO water_logs (member_id, amount_ml, log_time) VALUES (?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (int day = fromDaysAgo; day < toDaysAgo; day++) {
+                Calendar calendar = Calendar.getInstance();
+                calendar.add(Calendar.DAY_OF_MONTH, -day);
+                for (int i = 0; i < LOGS_PER_DAY; i++) {
+                    calendar.set(Calendar.HOUR_OF_DAY, 7 + i * 2);
+                    calendar.set(Calendar.MINUTE, 0);
+                    calendar.set(Calendar.SECOND, 0);
+                    insert.bindLong(1, memberId);
+                    insert.bindLong(2, AMOUNT_ML);
+                    insert.bindString(3, format.format(calendar.getTime()));
+                    insert.executeInsert();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+
+    private void cleanUp() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.delete("water_logs", "member_id IN (SELECT member_id FROM members WHERE username LIKE ?)",
+                new String[]{PREFIX + "%"});
+        db.delete("members", "username LIKE ?", new String[]{PREFIX + "%"});
+    }
+}
@@ -12,6 +12,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.gym.fitconnectpro.activities.LoginActivity;
 import com.gym.fitconnectpro.activities.admin.AdminDashboardActivity;
 import com.gym.fitconnectpro.database.DatabaseHelper;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.services.Session;
 
 /**
@@ -41,13 +42,11 @@ public class MainActivity extends AppCompatActivity {
             // Initialize session
             session = Session.getInstance(this);
 
-            // Initialize database in background thread
-            new Thread(new Runnable() {
-                @Override
-                public void run() {
-                    initializeDatabase();
-                }
-            }).start();
+            // Initialize database on the DB writer thread (first open may run migrations)
+            DbExecutor.getInstance().write(() -> {
+                initializeDatabase();
+                return null;
+            });
 
         } catch (Exception e) {
             Log.e(TAG, "Error in onCreate", e);
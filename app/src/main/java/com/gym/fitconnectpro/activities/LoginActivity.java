@@ -19,12 +19,16 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.activities.admin.AdminDashboardActivity;
 import com.gym.fitconnectpro.dao.AuthDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.models.User;
 import com.gym.fitconnectpro.models.Member;
 import com.gym.fitconnectpro.database.entities.Trainer;
+import com.gym.fitconnectpro.services.PasswordHasher;
 import com.gym.fitconnectpro.services.Session;
 import com.gym.fitconnectpro.utils.ValidationUtil;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Login Activity for FitConnect Pro
  * Handles authentication for Admin, Trainer, and Member users
@@ -52,6 +56,9 @@ public class LoginActivity extends AppCompatActivity {
         authDAO = new AuthDAO(this);
         session = Session.getInstance(this);
 
+        // Calibrate the bcrypt cost while the user types
+        PasswordHasher.getInstance(this).preload();
+
         // Auto-login disabled for testing
         // if (session.isLoggedIn()) {
         //     navigateToDashboard(session.getUserType());
@@ -129,13 +136,12 @@ public class LoginActivity extends AppCompatActivity {
         btnLogin.setEnabled(false);
         btnLogin.setText("Logging in...");
 
-        // Authenticate based on user type
-        new Thread(new Runnable() {
-            @Override
-            public void run() {
-                authenticateUser(username, password, userType);
-            }
-        }).start();
+        // Authenticate off the main thread. bcrypt runs on PasswordHasher's own bounded pool, but this
+        // reader thread stays parked until the hash finishes, so a login occupies one reader meanwhile
+        DbExecutor.getInstance().read(() -> {
+            authenticateUser(username, password, userType);
+            return null;
+        });
     }
 
     /**
@@ -234,6 +240,9 @@ public class LoginActivity extends AppCompatActivity {
                 }
             });
 
+        } catch (RejectedExecutionException e) {
+            // Too many sign-ins hashing at once; the password may well be right
+            runOnUiThread(this::onLoginBusy);
         } catch (Exception e) {
             runOnUiThread(new Runnable() {
                 @Override
@@ -269,6 +278,15 @@ public class LoginActivity extends AppCompatActivity {
         etPassword.requestFocus();
     }
 
+    /**
+     * Handle a login that could not be checked because the device is busy
+     */
+    private void onLoginBusy() {
+        btnLogin.setEnabled(true);
+        btnLogin.setText("LOGIN");
+        showErrorDialog("Login Busy", "The app is busy right now. Please try again in a moment.");
+    }
+
     private void navigateToDashboard(String userType) {
         // Only admin dashboard is available
         if ("ADMIN".equals(userType)) {
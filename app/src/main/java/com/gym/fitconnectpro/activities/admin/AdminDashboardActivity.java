@@ -24,6 +24,7 @@ import com.google.android.material.navigation.NavigationView;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.activities.LoginActivity;
 import com.gym.fitconnectpro.fragments.admin.DashboardHomeFragment;
+import com.gym.fitconnectpro.services.DashboardCountersWorker;
 import com.gym.fitconnectpro.services.Session;
 
 public class AdminDashboardActivity extends AppCompatActivity implements NavigationView.OnNavigationItemSelectedListener {
@@ -58,6 +59,7 @@ public class AdminDashboardActivity extends AppCompatActivity implements Navigat
         initializeViews();
         setupNavigation();
         setupListeners();
+        DashboardCountersWorker.schedule(this);
 
         if (savedInstanceState == null) {
             loadFragment(new DashboardHomeFragment());
@@ -1,17 +1,22 @@
 package com.gym.fitconnectpro.activities.admin;
 
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
+import android.view.Menu;
 import android.view.MenuItem;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
-import android.widget.Button;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
@@ -21,31 +26,39 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.textfield.TextInputEditText;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.adapters.MemberAdapter;
+import com.gym.fitconnectpro.adapters.MemberPagingSource;
 import com.gym.fitconnectpro.dao.MemberDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
+import com.gym.fitconnectpro.services.MemberImporter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
 
 public class MemberManagementActivity extends AppCompatActivity implements MemberAdapter.OnMemberActionListener {
 
     private static final String TAG = "MemberManagement";
+    // Wait for a pause in typing before querying
+    private static final long SEARCH_DEBOUNCE_MS = 250;
+    // Rows listed in the import report dialog; the rest are summarized
+    private static final int MAX_REPORTED_ERRORS = 50;
 
     private TextInputEditText etSearch;
     private AutoCompleteTextView spinnerFilter;
     private RecyclerView recyclerViewMembers;
-    private TextView tvMemberCount, tvPageNumber;
-    private Button btnPrevious, btnNext;
+    private TextView tvMemberCount;
 
     private MemberAdapter memberAdapter;
     private MemberDAO memberDAO;
-    private List<Member> allMembers;
-    private List<Member> filteredMembers;
+    private MemberPagingSource pagingSource;
 
-    private static final int ITEMS_PER_PAGE = 10;
-    private int currentPage = 1;
-    private int totalPages = 1;
     private String currentFilter = "All";
+    private String currentQuery = "";
+
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private Runnable pendingSearch;
+
+    private final ActivityResultLauncher<String[]> importPicker =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::importMembers);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -58,8 +71,6 @@ public class MemberManagementActivity extends AppCompatActivity implements Membe
         setupToolbar();
         setupRecyclerView();
         setupSearchAndFilter();
-        setupPagination();
-        loadAllMembers();
     }
 
     private void initialize() {
@@ -67,13 +78,8 @@ public class MemberManagementActivity extends AppCompatActivity implements Membe
         spinnerFilter = findViewById(R.id.spinnerFilter);
         recyclerViewMembers = findViewById(R.id.recyclerViewMembers);
         tvMemberCount = findViewById(R.id.tvMemberCount);
-        tvPageNumber = findViewById(R.id.tvPageNumber);
-        btnPrevious = findViewById(R.id.btnPrevious);
-        btnNext = findViewById(R.id.btnNext);
 
         memberDAO = new MemberDAO(this);
-        allMembers = new ArrayList<>();
-        filteredMembers = new ArrayList<>();
 
         Log.d(TAG, "Views initialized");
     }
@@ -92,6 +98,9 @@ public class MemberManagementActivity extends AppCompatActivity implements Membe
         memberAdapter = new MemberAdapter(this);
         recyclerViewMembers.setLayoutManager(new LinearLayoutManager(this));
         recyclerViewMembers.setAdapter(memberAdapter);
+
+        pagingSource = new MemberPagingSource(this, memberAdapter, this, this::onFirstPageLoaded);
+        pagingSource.attach(recyclerViewMembers);
         Log.d(TAG, "RecyclerView setup complete");
     }
 
@@ -124,117 +133,40 @@ public class MemberManagementActivity extends AppCompatActivity implements Membe
         Log.d(TAG, "Search and filter setup complete");
     }
 
-    private void setupPagination() {
-        btnPrevious.setOnClickListener(v -> {
-            if (currentPage > 1) {
-                currentPage--;
-                updatePageDisplay();
-            }
-        });
-
-        btnNext.setOnClickListener(v -> {
-            if (currentPage < totalPages) {
-                currentPage++;
-                updatePageDisplay();
-            }
-        });
-
-        Log.d(TAG, "Pagination setup complete");
-    }
-
-    private void loadAllMembers() {
-        Log.d(TAG, "Loading all members from database...");
-
-        try {
-            allMembers = memberDAO.getAllMembers();
-            Log.d(TAG, "Successfully loaded " + allMembers.size() + " members from database");
-
-            if (allMembers.isEmpty()) {
-                Log.w(TAG, "No members found in database");
-                Toast.makeText(this, "No members found. Please register members first.", Toast.LENGTH_LONG).show();
-            } else {
-                for (Member member : allMembers) {
-                    Log.d(TAG, "Member: " + member.getFullName() + " - Status: " + member.getStatus());
-                }
-            }
-
-            filteredMembers = new ArrayList<>(allMembers);
-            updateMemberCount();
-            calculatePagination();
-            updatePageDisplay();
-        } catch (Exception e) {
-            Log.e(TAG, "Error loading members: " + e.getMessage(), e);
-            Toast.makeText(this, "Error loading members: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-        }
-    }
-
     private void handleSearch(String query) {
-        Log.d(TAG, "Searching for: " + query);
-
-        if (query.isEmpty()) {
-            filteredMembers = new ArrayList<>(allMembers);
-        } else {
-            filteredMembers = memberDAO.searchMembers(query);
-            Log.d(TAG, "Search results: " + filteredMembers.size() + " members");
+        if (pendingSearch != null) {
+            searchHandler.removeCallbacks(pendingSearch);
         }
-
-        currentPage = 1;
-        calculatePagination();
-        updatePageDisplay();
-        updateMemberCount();
+        String trimmed = query.trim();
+        pendingSearch = () -> {
+            pendingSearch = null;
+            if (trimmed.equals(currentQuery)) return;
+            Log.d(TAG, "Searching for: " + trimmed);
+            currentQuery = trimmed;
+            pagingSource.setFilter(currentFilter, currentQuery);
+        };
+        searchHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
     }
 
     private void handleFilter(String status) {
         Log.d(TAG, "Filtering by status: " + status);
-
-        if ("All".equals(status)) {
-            filteredMembers = new ArrayList<>(allMembers);
-        } else {
-            filteredMembers = memberDAO.filterMembersByStatus(status);
-            Log.d(TAG, "Filter results: " + filteredMembers.size() + " members");
-        }
-
-        currentPage = 1;
-        calculatePagination();
-        updatePageDisplay();
-        updateMemberCount();
+        pagingSource.setFilter(status, currentQuery);
     }
 
-    private void calculatePagination() {
-        totalPages = (int) Math.ceil((double) filteredMembers.size() / ITEMS_PER_PAGE);
-        if (totalPages == 0) totalPages = 1;
-        Log.d(TAG, "Calculated " + totalPages + " pages");
-    }
-
-    private void updatePageDisplay() {
-        int startIndex = (currentPage - 1) * ITEMS_PER_PAGE;
-        int endIndex = Math.min(startIndex + ITEMS_PER_PAGE, filteredMembers.size());
-
-        List<Member> pageMembers;
-        if (filteredMembers.isEmpty()) {
-            pageMembers = new ArrayList<>();
-            Log.d(TAG, "No members to display");
-        } else {
-            pageMembers = filteredMembers.subList(startIndex, endIndex);
-            Log.d(TAG, "Displaying " + pageMembers.size() + " members on page " + currentPage);
-        }
-
-        memberAdapter.setMembers(pageMembers);
-
-        tvPageNumber.setText("Page " + currentPage + " of " + totalPages);
-        btnPrevious.setEnabled(currentPage > 1);
-        btnNext.setEnabled(currentPage < totalPages);
-    }
-
-    private void updateMemberCount() {
-        String countText = "Total Members: " + filteredMembers.size();
+    private void onFirstPageLoaded(int totalCount) {
+        String countText = "Total Members: " + totalCount;
         tvMemberCount.setText(countText);
         Log.d(TAG, countText);
+
+        if (totalCount == 0 && currentQuery.isEmpty() && "All".equals(currentFilter)) {
+            Log.w(TAG, "No members found in database");
+            Toast.makeText(this, "No members found. Please register members first.", Toast.LENGTH_LONG).show();
+        }
     }
 
     private void refreshList() {
         Log.d(TAG, "Refreshing member list...");
-        loadAllMembers();
+        pagingSource.setFilter(currentFilter, currentQuery);
     }
 
     @Override
@@ -257,15 +189,17 @@ public class MemberManagementActivity extends AppCompatActivity implements Membe
         new AlertDialog.Builder(this)
                 .setTitle("Confirm Action")
                 .setMessage(message)
-                .setPositiveButton("Yes", (dialog, which) -> {
-                    boolean success = memberDAO.updateMemberStatus(member.getMemberId(), newStatus);
-                    if (success) {
-                        Toast.makeText(this, "Member status updated successfully", Toast.LENGTH_SHORT).show();
-                        refreshList();
-                    } else {
-                        Toast.makeText(this, "Failed to update member status", Toast.LENGTH_SHORT).show();
-                    }
-                })
+                .setPositiveButton("Yes", (dialog, which) -> DbExecutor.getInstance().write(this,
+                        () -> memberDAO.updateMemberStatus(member.getMemberId(), newStatus),
+                        success -> {
+                            if (success) {
+                                Toast.makeText(this, "Member status updated successfully", Toast.LENGTH_SHORT).show();
+                                refreshList();
+                            } else {
+                                Toast.makeText(this, "Failed to update member status", Toast.LENGTH_SHORT).show();
+                            }
+                        },
+                        error -> Toast.makeText(this, "Failed to update member status", Toast.LENGTH_SHORT).show()))
                 .setNegativeButton("Cancel", null)
                 .show();
     }
@@ -276,28 +210,115 @@ public class MemberManagementActivity extends AppCompatActivity implements Membe
         new AlertDialog.Builder(this)
                 .setTitle("Delete Member")
                 .setMessage("Are you sure you want to delete " + member.getFullName() + "? This action cannot be undone.")
-                .setPositiveButton("Delete", (dialog, which) -> {
-                    boolean success = memberDAO.deleteMember(member.getMemberId());
-                    if (success) {
-                        Toast.makeText(this, "Member deleted successfully", Toast.LENGTH_SHORT).show();
-                        refreshList();
-                    } else {
-                        Toast.makeText(this, "Failed to delete member", Toast.LENGTH_SHORT).show();
+                .setPositiveButton("Delete", (dialog, which) -> DbExecutor.getInstance().write(this,
+                        () -> memberDAO.deleteMember(member.getMemberId()),
+                        success -> {
+                            if (success) {
+                                Toast.makeText(this, "Member deleted successfully", Toast.LENGTH_SHORT).show();
+                                refreshList();
+                            } else {
+                                Toast.makeText(this, "Failed to delete member", Toast.LENGTH_SHORT).show();
+                            }
+                        },
+                        error -> Toast.makeText(this, "Failed to delete member", Toast.LENGTH_SHORT).show()))
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void importMembers(Uri uri) {
+        if (uri == null) return;
+
+        InputStream input;
+        try {
+            input = getContentResolver().openInputStream(uri);
+        } catch (Exception e) {
+            Log.e(TAG, "Error opening import file", e);
+            input = null;
+        }
+        if (input == null) {
+            Toast.makeText(this, "Could not open file", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        AlertDialog progressDialog = new AlertDialog.Builder(this)
+                .setTitle("Importing Members")
+                .setMessage("Reading file...")
+                .setCancelable(false)
+                .show();
+
+        new MemberImporter(this)
+                .importAsync(input, (rowsRead, imported, failed) -> {
+                    if (progressDialog.isShowing()) {
+                        progressDialog.setMessage(rowsRead + " rows read\n" + imported + " imported, " + failed + " failed");
                     }
                 })
-                .setNegativeButton("Cancel", null)
+                .whenComplete((result, error) -> runOnUiThread(() -> {
+                    if (isFinishing() || isDestroyed()) return;
+                    progressDialog.dismiss();
+                    if (error != null) {
+                        Log.e(TAG, "Member import failed", error);
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        Toast.makeText(this, "Import failed: " + cause.getMessage(), Toast.LENGTH_LONG).show();
+                        return;
+                    }
+                    showImportReport(result);
+                    refreshList();
+                }));
+    }
+
+    private void showImportReport(MemberImporter.Result result) {
+        StringBuilder message = new StringBuilder()
+                .append(result.imported).append(" of ").append(result.rowsRead).append(" members imported in ")
+                .append(result.elapsedMs / 1000.0).append(" s");
+
+        if (!result.errors.isEmpty()) {
+            message.append("\n\nRejected rows:");
+            int shown = Math.min(result.errors.size(), MAX_REPORTED_ERRORS);
+            for (int i = 0; i < shown; i++) {
+                MemberImporter.RowError rowError = result.errors.get(i);
+                message.append("\nLine ").append(rowError.line);
+                if (rowError.username != null) {
+                    message.append(" (").append(rowError.username).append(")");
+                }
+                message.append(": ").append(rowError.message);
+            }
+            if (result.errors.size() > shown) {
+                message.append("\n...and ").append(result.errors.size() - shown).append(" more");
+            }
+        }
+
+        new AlertDialog.Builder(this)
+                .setTitle("Import Complete")
+                .setMessage(message)
+                .setPositiveButton("OK", null)
                 .show();
     }
 
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.member_management_menu, menu);
+        return true;
+    }
+
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
             finish();
             return true;
         }
+        if (item.getItemId() == R.id.action_import_members) {
+            importPicker.launch(new String[]{"text/csv", "text/comma-separated-values", "text/plain"});
+            return true;
+        }
         return super.onOptionsItemSelected(item);
     }
 
+    @Override
+    protected void onDestroy() {
+        searchHandler.removeCallbacksAndMessages(null);
+        super.onDestroy();
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
@@ -16,6 +16,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.MemberDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
 
 import java.security.SecureRandom;
@@ -313,15 +314,20 @@ public class MemberRegistrationActivity extends AppCompatActivity {
         member.setStatus("Active");
 
         // Register member
-        String result = memberDAO.registerMember(member);
-
-        if ("SUCCESS".equals(result)) {
-            showSuccessDialog();
-        } else {
-            Toast.makeText(this, "Registration Failed: " + result, Toast.LENGTH_LONG).show();
-            // Also log to console for debugging
-            System.out.println("Registration Error: " + result);
-        }
+        btnRegisterMember.setEnabled(false);
+        DbExecutor.getInstance().write(this, () -> memberDAO.registerMember(member), result -> {
+            btnRegisterMember.setEnabled(true);
+            if ("SUCCESS".equals(result)) {
+                showSuccessDialog();
+            } else {
+                Toast.makeText(this, "Registration Failed: " + result, Toast.LENGTH_LONG).show();
+                // Also log to console for debugging
+                System.out.println("Registration Error: " + result);
+            }
+        }, error -> {
+            btnRegisterMember.setEnabled(true);
+            Toast.makeText(this, "Registration Failed: " + error.getMessage(), Toast.LENGTH_LONG).show();
+        });
     }
 
     private void showSuccessDialog() {
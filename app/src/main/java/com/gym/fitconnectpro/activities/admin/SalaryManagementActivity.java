@@ -21,6 +21,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.adapters.SalaryAdapter;
 import com.gym.fitconnectpro.dao.SalaryDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Salary;
 
 import androidx.appcompat.widget.Toolbar;
@@ -136,21 +137,39 @@ public class SalaryManagementActivity extends AppCompatActivity implements Salar
     }
 
     private void loadSalaries() {
+        loadSalaries(null);
+    }
+
+    /**
+     * Load the selected month's salaries and totals off the UI thread, then run onLoaded if given
+     */
+    private void loadSalaries(Runnable onLoaded) {
         int month = spinnerMonth.getSelectedItemPosition() + 1; // 1-12
         int year = Integer.parseInt(spinnerYear.getSelectedItem().toString());
 
-        salaryList = salaryDAO.getSalariesForMonth(month, year);
-        adapter.setSalaries(salaryList);
+        DbExecutor.getInstance().read(this, () -> {
+            MonthData data = new MonthData();
+            data.salaries = salaryDAO.getSalariesForMonth(month, year);
+            // Pending is global (getTotalPendingSalaries has no filters), paid is for the selected month
+            data.pending = salaryDAO.getTotalPendingSalaries();
+            data.paidThisMonth = salaryDAO.getTotalPaidSalaries(month, year);
+            return data;
+        }, data -> {
+            salaryList = data.salaries;
+            adapter.setSalaries(salaryList);
 
-        if (salaryList.isEmpty()) {
-            tvEmptyState.setVisibility(View.VISIBLE);
-            rvSalaries.setVisibility(View.GONE);
-        } else {
-            tvEmptyState.setVisibility(View.GONE);
-            rvSalaries.setVisibility(View.VISIBLE);
-        }
+            if (salaryList.isEmpty()) {
+                tvEmptyState.setVisibility(View.VISIBLE);
+                rvSalaries.setVisibility(View.GONE);
+            } else {
+                tvEmptyState.setVisibility(View.GONE);
+                rvSalaries.setVisibility(View.VISIBLE);
+            }
 
-        updateSummary(month, year);
+            tvTotalPending.setText(String.format("$%.2f", data.pending));
+            tvTotalPaid.setText(String.format("$%.2f", data.paidThisMonth));
+            if (onLoaded != null) onLoaded.run();
+        });
     }
 
     private void generateSalaries() {
@@ -163,31 +182,21 @@ public class SalaryManagementActivity extends AppCompatActivity implements Salar
             return;
         }
 
-        boolean success = salaryDAO.generateMonthlySalaries(month, year, adminId);
-        if (success) {
-            // Check if any were actually created? 
-            // The DAO returns true if no error, but let's assume if successful it's good.
-            // We can reload list to see.
-            loadSalaries();
-            if (salaryList.isEmpty()) {
-                 Toast.makeText(this, "No active trainers found to generate salaries for.", Toast.LENGTH_LONG).show();
+        DbExecutor.getInstance().write(this, () -> salaryDAO.generateSalaries(month, year, 1, adminId), created -> {
+            if (created >= 0) {
+                loadSalaries(() -> {
+                    if (salaryList.isEmpty()) {
+                         Toast.makeText(this, "No active trainers found to generate salaries for.", Toast.LENGTH_LONG).show();
+                    } else if (created == 0) {
+                         Toast.makeText(this, "Salaries already generated for this month", Toast.LENGTH_SHORT).show();
+                    } else {
+                         Toast.makeText(this, "Generated " + created + " salary records", Toast.LENGTH_SHORT).show();
+                    }
+                });
             } else {
-                 Toast.makeText(this, "Salaries Generated/Updated Successfully", Toast.LENGTH_SHORT).show();
+                Toast.makeText(this, "Failed to generate salaries.", Toast.LENGTH_SHORT).show();
             }
-        } else {
-            Toast.makeText(this, "Failed to generate salaries.", Toast.LENGTH_SHORT).show();
-        }
-    }
-
-    private void updateSummary(int month, int year) {
-        double pending = salaryDAO.getTotalPendingSalaries(); // This is total ALL time pending? Requirement says "Total Pending Salaries". Assuming all time or current view? Usually specific to view is better but text implies global. Let's assume global pending is useful, but contextually for this month is better? 
-        // DAO method update: getTotalPendingSalaries() has no filters. 
-        // Let's use it as is (Global pending).
-        
-        double paidThisMonth = salaryDAO.getTotalPaidSalaries(month, year);
-
-        tvTotalPending.setText(String.format("$%.2f", pending));
-        tvTotalPaid.setText(String.format("$%.2f", paidThisMonth));
+        }, error -> Toast.makeText(this, "Failed to generate salaries.", Toast.LENGTH_SHORT).show());
     }
 
     @Override
@@ -195,15 +204,17 @@ public class SalaryManagementActivity extends AppCompatActivity implements Salar
         new AlertDialog.Builder(this)
                 .setTitle("Confirm Payment")
                 .setMessage("Are you sure you want to mark " + salary.getTrainerName() + "'s salary as PAID?")
-                .setPositiveButton("Yes", (dialog, which) -> {
-                    boolean success = salaryDAO.updateSalaryStatus(salary.getSalaryId(), "PAID", null);
-                    if (success) {
-                        Toast.makeText(this, "Payment Recorded", Toast.LENGTH_SHORT).show();
-                        loadSalaries();
-                    } else {
-                        Toast.makeText(this, "Error Processing Payment", Toast.LENGTH_SHORT).show();
-                    }
-                })
+                .setPositiveButton("Yes", (dialog, which) -> DbExecutor.getInstance().write(this,
+                        () -> salaryDAO.updateSalaryStatus(salary.getSalaryId(), "PAID", null),
+                        success -> {
+                            if (success) {
+                                Toast.makeText(this, "Payment Recorded", Toast.LENGTH_SHORT).show();
+                                loadSalaries();
+                            } else {
+                                Toast.makeText(this, "Error Processing Payment", Toast.LENGTH_SHORT).show();
+                            }
+                        },
+                        error -> Toast.makeText(this, "Error Processing Payment", Toast.LENGTH_SHORT).show()))
                 .setNegativeButton("No", null)
                 .show();
     }
@@ -237,13 +248,17 @@ public class SalaryManagementActivity extends AppCompatActivity implements Salar
                 double bonus = Double.parseDouble(etBonus.getText().toString());
                 double deductions = Double.parseDouble(etDeductions.getText().toString());
 
-                boolean success = salaryDAO.updateSalaryDetails(salary.getSalaryId(), bonus, deductions);
-                if (success) {
-                    Toast.makeText(this, "Salary Updated", Toast.LENGTH_SHORT).show();
-                    loadSalaries();
-                } else {
-                    Toast.makeText(this, "Update Failed", Toast.LENGTH_SHORT).show();
-                }
+                DbExecutor.getInstance().write(this,
+                        () -> salaryDAO.updateSalaryDetails(salary.getSalaryId(), bonus, deductions),
+                        success -> {
+                            if (success) {
+                                Toast.makeText(this, "Salary Updated", Toast.LENGTH_SHORT).show();
+                                loadSalaries();
+                            } else {
+                                Toast.makeText(this, "Update Failed", Toast.LENGTH_SHORT).show();
+                            }
+                        },
+                        error -> Toast.makeText(this, "Update Failed", Toast.LENGTH_SHORT).show());
             } catch (NumberFormatException e) {
                 Toast.makeText(this, "Invalid Numbers", Toast.LENGTH_SHORT).show();
             }
@@ -282,4 +297,13 @@ public class SalaryManagementActivity extends AppCompatActivity implements Salar
         }
         return super.onOptionsItemSelected(item);
     }
+
+    /**
+     * Salaries and totals for the selected month, loaded on the DB executor
+     */
+    private static class MonthData {
+        List<Salary> salaries;
+        double pending;
+        double paidThisMonth;
+    }
 }
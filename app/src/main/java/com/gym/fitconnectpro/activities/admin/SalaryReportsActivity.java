@@ -25,18 +25,18 @@ import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.adapters.SalaryReportAdapter;
 import com.gym.fitconnectpro.dao.SalaryDAO;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Salary;
 import com.gym.fitconnectpro.database.entities.Trainer;
+import com.gym.fitconnectpro.models.SalaryReport;
 
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class SalaryReportsActivity extends AppCompatActivity {
 
@@ -47,6 +47,9 @@ public class SalaryReportsActivity extends AppCompatActivity {
     private LineChart chartSalaryTrend;
     private RecyclerView rvReportBreakdown;
 
+    // The breakdown list shows the latest payments; totals and the chart come from SQL aggregates
+    private static final int MAX_BREAKDOWN_ROWS = 200;
+
     private SalaryDAO salaryDAO;
     private TrainerDAO trainerDAO;
     private SalaryReportAdapter adapter;
@@ -107,7 +110,12 @@ public class SalaryReportsActivity extends AppCompatActivity {
     }
 
     private void setupSpinners() {
-        trainerList = trainerDAO.getAvailableTrainers();
+        trainerList = new ArrayList<>();
+        DbExecutor.getInstance().read(this, trainerDAO::getAvailableTrainers, this::bindTrainers);
+    }
+
+    private void bindTrainers(List<Trainer> trainers) {
+        trainerList = trainers;
         List<String> trainerNames = new ArrayList<>();
         trainerNames.add("All Trainers");
         for (Trainer t : trainerList) {
@@ -166,16 +174,32 @@ public class SalaryReportsActivity extends AppCompatActivity {
             trainerId = trainerList.get(selectedPosition - 1).getTrainerId();
         }
 
-        List<Salary> data;
-        if (trainerId == 0) {
-            data = salaryDAO.getSalariesByDateRange(startStr, endStr);
-        } else {
-            data = salaryDAO.getSalariesByTrainerAndDateRange(trainerId, startStr, endStr);
-        }
+        final int selectedTrainerId = trainerId;
+        SalaryReport.Granularity granularity = granularityFor(startStr, endStr);
+        DbExecutor.getInstance().read(this,
+                () -> salaryDAO.getSalaryReport(startStr, endStr, selectedTrainerId, granularity),
+                report -> {
+                    calculateTotal(report);
+                    updateChart(report);
+                });
+        DbExecutor.getInstance().read(this, () -> {
+            if (selectedTrainerId == 0) {
+                return salaryDAO.getSalariesByDateRange(startStr, endStr, MAX_BREAKDOWN_ROWS);
+            }
+            return salaryDAO.getSalariesByTrainerAndDateRange(selectedTrainerId, startStr, endStr, MAX_BREAKDOWN_ROWS);
+        }, this::updateList);
+    }
 
-        updateList(data);
-        calculateTotal(data);
-        updateChart(data);
+    // Daily points up to ~2 months, weekly up to a year, monthly beyond
+    private SalaryReport.Granularity granularityFor(String startStr, String endStr) {
+        try {
+            long days = TimeUnit.MILLISECONDS.toDays(dateFormat.parse(endStr).getTime() - dateFormat.parse(startStr).getTime());
+            if (days <= 62) return SalaryReport.Granularity.DAY;
+            if (days <= 366) return SalaryReport.Granularity.WEEK;
+        } catch (ParseException e) {
+            return SalaryReport.Granularity.DAY;
+        }
+        return SalaryReport.Granularity.MONTH;
     }
 
     private void updateList(List<Salary> data) {
@@ -185,43 +209,27 @@ public class SalaryReportsActivity extends AppCompatActivity {
         }
     }
 
-    private void calculateTotal(List<Salary> data) {
-        double total = 0;
-        for (Salary s : data) {
-            if ("PAID".equalsIgnoreCase(s.getStatus())) {
-                total += s.getNetSalary();
-            }
-        }
-        tvTotalPaid.setText(String.format("$%.2f", total));
+    private void calculateTotal(SalaryReport report) {
+        tvTotalPaid.setText(String.format("$%.2f", report.getTotalPaid()));
     }
 
-    private void updateChart(List<Salary> data) {
-        if (data.isEmpty()) {
+    private void updateChart(SalaryReport report) {
+        if (report.isEmpty()) {
             chartSalaryTrend.clear();
             return;
         }
 
-        // Group by Date for the chart
-        // Map<DateString, TotalAmount>
-        Map<String, Double> dailyTotals = new HashMap<>();
-        for (Salary s : data) {
-            if ("PAID".equalsIgnoreCase(s.getStatus()) && s.getPaymentDate() != null) {
-                String date = s.getPaymentDate();
-                dailyTotals.put(date, dailyTotals.getOrDefault(date, 0.0) + s.getNetSalary());
-            }
-        }
-
-        // Sort by date
-        List<String> sortedDates = new ArrayList<>(dailyTotals.keySet());
-        Collections.sort(sortedDates);
-
-        List<Entry> entries = new ArrayList<>();
-        List<String> xLabels = new ArrayList<>();
-        
-        for (int i = 0; i < sortedDates.size(); i++) {
-            String date = sortedDates.get(i);
-            entries.add(new Entry(i, dailyTotals.get(date).floatValue()));
-            xLabels.add(date.substring(5)); // Show MM-dd
+        // Buckets arrive sorted by period start
+        List<SalaryReport.Bucket> buckets = report.getBuckets();
+        boolean monthly = report.getGranularity() == SalaryReport.Granularity.MONTH;
+        List<Entry> entries = new ArrayList<>(buckets.size());
+        List<String> xLabels = new ArrayList<>(buckets.size());
+
+        for (int i = 0; i < buckets.size(); i++) {
+            SalaryReport.Bucket bucket = buckets.get(i);
+            entries.add(new Entry(i, (float) bucket.getTotal()));
+            String period = bucket.getPeriodStart();
+            xLabels.add(monthly ? period.substring(0, 7) : period.substring(5)); // yyyy-MM or MM-dd
         }
 
         LineDataSet dataSet = new LineDataSet(entries, "Salary Expense Trend");
@@ -23,6 +23,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.adapters.TrainerAdapter;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Trainer;
 
 import java.util.ArrayList;
@@ -118,13 +119,18 @@ public class TrainerManagementActivity extends AppCompatActivity implements Trai
     }
 
     private void loadAllTrainers() {
-        allTrainers = trainerDAO.getAllTrainers();
-        // Populate calculating fields
-        for (Trainer t : allTrainers) {
-            int clientCount = trainerDAO.getAssignedClientsCount(t.getTrainerId());
-            t.setAssignedClientsCount(clientCount);
-        }
-        filterList();
+        DbExecutor.getInstance().read(this, () -> {
+            List<Trainer> trainers = trainerDAO.getAllTrainers();
+            // Populate calculating fields
+            for (Trainer t : trainers) {
+                int clientCount = trainerDAO.getAssignedClientsCount(t.getTrainerId());
+                t.setAssignedClientsCount(clientCount);
+            }
+            return trainers;
+        }, trainers -> {
+            allTrainers = trainers;
+            filterList();
+        });
     }
 
     private void filterList() {
@@ -194,15 +200,15 @@ public class TrainerManagementActivity extends AppCompatActivity implements Trai
         new AlertDialog.Builder(this)
                 .setTitle("Delete Trainer")
                 .setMessage("Are you sure you want to delete " + trainer.getFullName() + "?")
-                .setPositiveButton("Delete", (dialog, which) -> {
-                    boolean success = trainerDAO.deleteTrainer(trainer.getTrainerId());
-                    if (success) {
-                        Toast.makeText(this, "Trainer deleted successfully", Toast.LENGTH_SHORT).show();
-                        loadAllTrainers();
-                    } else {
-                        Toast.makeText(this, "Failed to delete trainer", Toast.LENGTH_SHORT).show();
-                    }
-                })
+                .setPositiveButton("Delete", (dialog, which) ->
+                        DbExecutor.getInstance().write(this, () -> trainerDAO.deleteTrainer(trainer.getTrainerId()), success -> {
+                            if (success) {
+                                Toast.makeText(this, "Trainer deleted successfully", Toast.LENGTH_SHORT).show();
+                                loadAllTrainers();
+                            } else {
+                                Toast.makeText(this, "Failed to delete trainer", Toast.LENGTH_SHORT).show();
+                            }
+                        }, error -> Toast.makeText(this, "Failed to delete trainer", Toast.LENGTH_SHORT).show()))
                 .setNegativeButton("Cancel", null)
                 .show();
     }
@@ -15,6 +15,7 @@ import androidx.appcompat.widget.Toolbar;
 import com.google.android.material.textfield.TextInputEditText;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Trainer;
 
 import java.util.Random;
@@ -113,27 +114,31 @@ public class TrainerRegistrationActivity extends AppCompatActivity {
         return true;
     }
 
-    private String generateUsername() {
+    private String generateBaseUsername() {
         String fullName = etFullName.getText().toString().trim();
         String[] nameParts = fullName.toLowerCase().split(" ");
 
-        String baseUsername;
         if (nameParts.length >= 2) {
-            baseUsername = nameParts[0] + "." + nameParts[nameParts.length - 1];
+            return nameParts[0] + "." + nameParts[nameParts.length - 1];
         } else {
-            baseUsername = nameParts[0];
+            return nameParts[0];
         }
+    }
 
-        generatedUsername = baseUsername;
+    /**
+     * Find a free username; runs on the writer thread so the check and the insert stay serialized
+     */
+    private String generateUsername(String baseUsername) {
+        String username = baseUsername;
 
         int counter = 1;
-        while (trainerDAO.isUsernameExists(generatedUsername)) {
-            generatedUsername = baseUsername + counter;
+        while (trainerDAO.isUsernameExists(username)) {
+            username = baseUsername + counter;
             counter++;
         }
 
-        Log.d(TAG, "Generated username: " + generatedUsername);
-        return generatedUsername;
+        Log.d(TAG, "Generated username: " + username);
+        return username;
     }
 
     private String generatePassword() {
@@ -157,10 +162,9 @@ public class TrainerRegistrationActivity extends AppCompatActivity {
 
         Log.d(TAG, "Starting trainer registration...");
 
-        generateUsername();
+        String baseUsername = generateBaseUsername();
         generatePassword();
 
-        tvGeneratedUsername.setText(generatedUsername);
         tvGeneratedPassword.setText(generatedPassword);
 
         Trainer trainer = new Trainer();
@@ -174,18 +178,27 @@ public class TrainerRegistrationActivity extends AppCompatActivity {
         trainer.setMonthlySalary(Double.parseDouble(etSalary.getText().toString().trim()));
         trainer.setMaxClients(10);
         trainer.setAccountStatus("ACTIVE");
-        trainer.setUsername(generatedUsername);
         trainer.setPasswordHash(generatedPassword);
 
-        boolean success = trainerDAO.registerTrainer(trainer);
-
-        if (success) {
-            Log.d(TAG, "Trainer registered successfully");
-            showSuccessDialog();
-        } else {
-            Log.e(TAG, "Failed to register trainer");
+        btnRegisterTrainer.setEnabled(false);
+        DbExecutor.getInstance().write(this, () -> {
+            trainer.setUsername(generateUsername(baseUsername));
+            return trainerDAO.registerTrainer(trainer) ? trainer.getUsername() : null;
+        }, username -> {
+            btnRegisterTrainer.setEnabled(true);
+            if (username != null) {
+                Log.d(TAG, "Trainer registered successfully");
+                generatedUsername = username;
+                tvGeneratedUsername.setText(generatedUsername);
+                showSuccessDialog();
+            } else {
+                Log.e(TAG, "Failed to register trainer");
+                Toast.makeText(this, "Registration failed. Please try again.", Toast.LENGTH_SHORT).show();
+            }
+        }, error -> {
+            btnRegisterTrainer.setEnabled(true);
             Toast.makeText(this, "Registration failed. Please try again.", Toast.LENGTH_SHORT).show();
-        }
+        });
     }
 
     private void showSuccessDialog() {
@@ -1,14 +1,20 @@
 package com.gym.fitconnectpro.activities.member;
 
+import android.graphics.Typeface;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
+import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.EditText;
 import android.widget.ImageButton;
 import android.widget.Toast;
 
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -16,6 +22,8 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.SocialDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
+import com.gym.fitconnectpro.database.TableChangeNotifier;
 import com.gym.fitconnectpro.services.Session;
 
 import java.util.ArrayList;
@@ -35,9 +43,32 @@ public class ChatActivity extends AppCompatActivity {
     private int otherUserId;
     private String otherUserName;
     
+    // New messages arrive through TableChangeNotifier; this slow poll only catches writes that bypass SocialDAO
+    private static final long FALLBACK_POLL_MS = 30000;
+
+    // History is paged by message id and only a bounded window is kept, so memory is O(page), not O(history)
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_DISTANCE = 10;
+    private static final int MAX_WINDOW = 200;
+
     private Handler handler = new Handler(Looper.getMainLooper());
     private Runnable pollRunnable;
     private boolean isActivityActive = false;
+    private boolean loadInFlight = false;
+    private boolean reloadPending = false;
+    private boolean initialLoaded = false;
+    private int oldestLoadedId = 0;
+    private int newestLoadedId = 0;
+    private boolean hasOlder = false;
+    // False once the newest messages were trimmed from the window while reading history
+    private boolean atLatest = true;
+    // Anchor of a window reload requested while another load was running
+    private int pendingJumpId = NO_JUMP;
+    private static final int NO_JUMP = 0;
+    private static final int LATEST = Integer.MAX_VALUE;
+    private static final int SEARCH_LIMIT = 50;
+
+    private final TableChangeNotifier.Listener messagesListener = table -> syncLatest();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -69,15 +100,30 @@ public class ChatActivity extends AppCompatActivity {
         
         socialDAO = new SocialDAO(this);
         
-        rvChatMessages.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvChatMessages.setLayoutManager(layoutManager);
         
         adapter = new ChatAdapter(this, messagesList, currentUserId);
         rvChatMessages.setAdapter(adapter);
+        rvChatMessages.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= PREFETCH_DISTANCE) {
+                    loadOlder();
+                } else if (dy > 0 && !atLatest
+                        && layoutManager.findLastVisibleItemPosition() >= messagesList.size() - 1 - PREFETCH_DISTANCE) {
+                    loadNewer();
+                }
+            }
+        });
         
         btnSend.setOnClickListener(v -> sendMessage());
         
         // Mark as read immediately when opening
-        socialDAO.markAsRead(otherUserId, currentUserId);
+        DbExecutor.getInstance().write(() -> {
+            socialDAO.markAsRead(otherUserId, currentUserId);
+            return null;
+        });
         
         setupPolling();
     }
@@ -87,56 +133,295 @@ public class ChatActivity extends AppCompatActivity {
             @Override
             public void run() {
                 if (isActivityActive) {
-                    loadMessages();
-                    handler.postDelayed(this, 3000); // Refresh every 3 seconds
+                    syncLatest();
+                    handler.postDelayed(this, FALLBACK_POLL_MS);
                 }
             }
         };
     }
     
-    private void loadMessages() {
-        List<SocialDAO.Message> newMessages = socialDAO.getMessages(currentUserId, otherUserId);
-        
-        // Simple diff check - if size changed, update all (could be optimized)
-        if (newMessages.size() != messagesList.size()) {
-            messagesList.clear();
-            messagesList.addAll(newMessages);
-            adapter.notifyDataSetChanged();
-            rvChatMessages.scrollToPosition(messagesList.size() - 1);
-            
-            // Mark new messages as read
-            new Thread(() -> socialDAO.markAsRead(otherUserId, currentUserId)).start();
+    /**
+     * Pull new messages when the window is showing the end of the conversation.
+     * While the user reads older history, newer pages are fetched once they scroll back down.
+     */
+    private void syncLatest() {
+        if (atLatest) loadNewer();
+    }
+
+    private void loadNewer() {
+        if (loadInFlight) {
+            reloadPending = true; // Run once more after the current load
+            return;
+        }
+        if (!initialLoaded) {
+            loadWindow(LATEST);
+            return;
+        }
+        loadInFlight = true;
+        reloadPending = false;
+        int sinceId = newestLoadedId;
+        DbExecutor.getInstance().read(this,
+                () -> socialDAO.getMessagesSince(currentUserId, otherUserId, sinceId, PAGE_SIZE),
+                this::appendNewer).whenComplete(this::onLoadFailed);
+    }
+
+    /**
+     * Replace the window with one page up to anchorId and one page after it (LATEST for the newest page)
+     */
+    @SuppressWarnings("unchecked")
+    private void loadWindow(int anchorId) {
+        loadInFlight = true;
+        reloadPending = false;
+        DbExecutor.getInstance().read(this, () -> {
+            List<SocialDAO.Message> older = socialDAO.getMessagesBefore(currentUserId, otherUserId,
+                    anchorId == LATEST ? LATEST : anchorId + 1, PAGE_SIZE);
+            List<SocialDAO.Message> newer = anchorId == LATEST ? new ArrayList<SocialDAO.Message>()
+                    : socialDAO.getMessagesSince(currentUserId, otherUserId, anchorId, PAGE_SIZE);
+            return new List[]{older, newer};
+        }, pages -> showWindow(anchorId, pages[0], pages[1])).whenComplete(this::onLoadFailed);
+    }
+
+    private void loadOlder() {
+        if (loadInFlight || !initialLoaded || !hasOlder) return;
+        loadInFlight = true;
+        int beforeId = oldestLoadedId;
+        DbExecutor.getInstance().read(this,
+                () -> socialDAO.getMessagesBefore(currentUserId, otherUserId, beforeId, PAGE_SIZE),
+                this::prependOlder).whenComplete(this::onLoadFailed);
+    }
+
+    private void onLoadFailed(Object result, Throwable error) {
+        if (error != null) loadInFlight = false;
+    }
+
+    private void onLoadFinished(boolean continueNewer) {
+        loadInFlight = false;
+        if (pendingJumpId != NO_JUMP) {
+            jumpTo(pendingJumpId);
+            return;
+        }
+        boolean pending = reloadPending;
+        reloadPending = false;
+        if (continueNewer) {
+            loadNewer();
+        } else if (pending) {
+            syncLatest();
+        }
+    }
+
+    private void showWindow(int anchorId, List<SocialDAO.Message> older, List<SocialDAO.Message> newer) {
+        int removed = messagesList.size();
+        messagesList.clear();
+        if (removed > 0) adapter.notifyItemRangeRemoved(0, removed);
+
+        messagesList.addAll(older);
+        messagesList.addAll(newer);
+        initialLoaded = true;
+        hasOlder = older.size() == PAGE_SIZE;
+        atLatest = newer.size() < PAGE_SIZE;
+        adapter.setHighlightedMessageId(anchorId == LATEST ? NO_JUMP : anchorId);
+        if (!messagesList.isEmpty()) {
+            oldestLoadedId = messagesList.get(0).id;
+            newestLoadedId = messagesList.get(messagesList.size() - 1).id;
+            adapter.notifyItemRangeInserted(0, messagesList.size());
+            // The anchor is the last row of the older page
+            int anchorPosition = anchorId == LATEST || older.isEmpty() ? messagesList.size() - 1 : older.size() - 1;
+            rvChatMessages.scrollToPosition(anchorPosition);
+        } else {
+            oldestLoadedId = 0;
+            newestLoadedId = 0;
+        }
+        if (atLatest) {
+            DbExecutor.getInstance().write(() -> {
+                socialDAO.markAsRead(otherUserId, currentUserId);
+                return null;
+            });
+        }
+        onLoadFinished(false);
+    }
+
+    private void appendNewer(List<SocialDAO.Message> page) {
+        LinearLayoutManager layoutManager = (LinearLayoutManager) rvChatMessages.getLayoutManager();
+        boolean followEnd = messagesList.isEmpty()
+                || layoutManager.findLastVisibleItemPosition() >= messagesList.size() - 2;
+
+        int start = messagesList.size();
+        boolean hasIncoming = false;
+        for (SocialDAO.Message message : page) {
+            if (message.id <= newestLoadedId) continue;
+            messagesList.add(message);
+            newestLoadedId = message.id;
+            if (message.senderId == otherUserId) hasIncoming = true;
+        }
+        atLatest = page.size() < PAGE_SIZE;
+        int inserted = messagesList.size() - start;
+        if (inserted > 0) {
+            if (start == 0) oldestLoadedId = messagesList.get(0).id;
+            adapter.notifyItemRangeInserted(start, inserted);
+            trimOldest();
+            if (followEnd) rvChatMessages.scrollToPosition(messagesList.size() - 1);
+        }
+
+        // Mark new messages as read
+        if (hasIncoming) {
+            DbExecutor.getInstance().write(() -> {
+                socialDAO.markAsRead(otherUserId, currentUserId);
+                return null;
+            });
         }
+        // A full page means more are waiting; keep following them while the user is at the end
+        onLoadFinished(!atLatest && followEnd);
+    }
+
+    private void prependOlder(List<SocialDAO.Message> page) {
+        hasOlder = page.size() == PAGE_SIZE;
+        if (!page.isEmpty()) {
+            messagesList.addAll(0, page);
+            oldestLoadedId = page.get(0).id;
+            // The layout manager keeps the visible rows anchored while rows are inserted above them
+            adapter.notifyItemRangeInserted(0, page.size());
+            trimNewest();
+        }
+        onLoadFinished(false);
+    }
+
+    /**
+     * Reload the window around a message, or the newest page for LATEST (e.g. after sending while scrolled back)
+     */
+    private void jumpTo(int messageId) {
+        if (loadInFlight) {
+            pendingJumpId = messageId;
+            return;
+        }
+        pendingJumpId = NO_JUMP;
+        loadWindow(messageId);
+    }
+
+    private void showSearchDialog() {
+        EditText input = new EditText(this);
+        input.setHint("Search messages");
+        input.setSingleLine(true);
+        new AlertDialog.Builder(this)
+                .setTitle("Search Chat")
+                .setView(input)
+                .setPositiveButton("Search", (dialog, which) -> {
+                    String text = input.getText().toString().trim();
+                    if (text.isEmpty()) return;
+                    DbExecutor.getInstance().read(this,
+                            () -> socialDAO.searchMessages(currentUserId, otherUserId, text, SEARCH_LIMIT),
+                            this::showSearchResults);
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    private void showSearchResults(List<SocialDAO.MessageHit> hits) {
+        if (hits.isEmpty()) {
+            Toast.makeText(this, "No messages found", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        CharSequence[] items = new CharSequence[hits.size()];
+        for (int i = 0; i < hits.size(); i++) {
+            SocialDAO.MessageHit hit = hits.get(i);
+            SpannableStringBuilder item = new SpannableStringBuilder();
+            if (hit.timestamp != null && hit.timestamp.length() >= 16) {
+                item.append(hit.timestamp.substring(0, 16)).append("  ");
+            }
+            appendSnippet(item, hit.snippet);
+            items[i] = item;
+        }
+        new AlertDialog.Builder(this)
+                .setTitle(hits.size() + " matches")
+                .setItems(items, (dialog, which) -> jumpTo(hits.get(which).messageId))
+                .setNegativeButton("Close", null)
+                .show();
+    }
+
+    // Render the snippet match markers as bold spans
+    private static void appendSnippet(SpannableStringBuilder out, String snippet) {
+        if (snippet == null) return;
+        int boldStart = -1;
+        for (int i = 0; i < snippet.length(); i++) {
+            char c = snippet.charAt(i);
+            if (c == SocialDAO.SNIPPET_START) {
+                boldStart = out.length();
+            } else if (c == SocialDAO.SNIPPET_END) {
+                if (boldStart >= 0) {
+                    out.setSpan(new StyleSpan(Typeface.BOLD), boldStart, out.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                }
+                boldStart = -1;
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private void trimOldest() {
+        int excess = messagesList.size() - MAX_WINDOW;
+        if (excess <= 0) return;
+        messagesList.subList(0, excess).clear();
+        adapter.notifyItemRangeRemoved(0, excess);
+        oldestLoadedId = messagesList.get(0).id;
+        hasOlder = true;
+    }
+
+    private void trimNewest() {
+        int excess = messagesList.size() - MAX_WINDOW;
+        if (excess <= 0) return;
+        int keep = MAX_WINDOW;
+        messagesList.subList(keep, messagesList.size()).clear();
+        adapter.notifyItemRangeRemoved(keep, excess);
+        newestLoadedId = messagesList.get(keep - 1).id;
+        atLatest = false;
     }
     
     private void sendMessage() {
         String content = etMessageInput.getText().toString().trim();
         if (content.isEmpty()) return;
         
-        boolean success = socialDAO.sendMessage(currentUserId, otherUserId, content);
-        if (success) {
-            etMessageInput.setText("");
-            loadMessages(); // Refresh immediately
-        } else {
-            Toast.makeText(this, "Failed to send message", Toast.LENGTH_SHORT).show();
-        }
+        etMessageInput.setText("");
+        DbExecutor.getInstance().write(this, () -> socialDAO.sendMessage(currentUserId, otherUserId, content), success -> {
+            if (!success) {
+                etMessageInput.setText(content);
+                Toast.makeText(this, "Failed to send message", Toast.LENGTH_SHORT).show();
+            } else if (!atLatest) {
+                jumpTo(LATEST); // The sent message is past the end of the window
+            }
+        });
     }
     
     @Override
     protected void onResume() {
         super.onResume();
         isActivityActive = true;
-        loadMessages(); // Initial load
-        handler.post(pollRunnable); // Start polling
+        TableChangeNotifier.getInstance().addListener(TableChangeNotifier.TABLE_MESSAGES, messagesListener);
+        syncLatest(); // Initial page, or catch up on anything sent while paused
+        handler.postDelayed(pollRunnable, FALLBACK_POLL_MS);
     }
     
     @Override
     protected void onPause() {
         super.onPause();
         isActivityActive = false;
+        TableChangeNotifier.getInstance().removeListener(TableChangeNotifier.TABLE_MESSAGES, messagesListener);
         handler.removeCallbacks(pollRunnable); // Stop polling
     }
 
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.chat_menu, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_search_chat) {
+            showSearchDialog();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
     @Override
     public boolean onSupportNavigateUp() {
         onBackPressed();
@@ -1,6 +1,7 @@
 package com.gym.fitconnectpro.activities.member;
 
 import android.content.Context;
+import android.graphics.Color;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -20,11 +21,26 @@ public class ChatAdapter extends RecyclerView.Adapter<ChatAdapter.MessageViewHol
     private Context context;
     private List<SocialDAO.Message> messages;
     private int currentUserId;
+    private int highlightedMessageId;
 
     public ChatAdapter(Context context, List<SocialDAO.Message> messages, int currentUserId) {
         this.context = context;
         this.messages = messages;
         this.currentUserId = currentUserId;
+        // Stable ids keep rows anchored while pages are inserted above or trimmed from the window
+        setHasStableIds(true);
+    }
+
+    /**
+     * Tint the row of a search hit the chat jumped to (0 for none)
+     */
+    public void setHighlightedMessageId(int messageId) {
+        highlightedMessageId = messageId;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return messages.get(position).id;
     }
 
     @NonNull
@@ -37,6 +53,7 @@ public class ChatAdapter extends RecyclerView.Adapter<ChatAdapter.MessageViewHol
     @Override
     public void onBindViewHolder(@NonNull MessageViewHolder holder, int position) {
         SocialDAO.Message msg = messages.get(position);
+        holder.itemView.setBackgroundColor(msg.id == highlightedMessageId ? 0x33FFC107 : Color.TRANSPARENT);
         
         if (msg.senderId == currentUserId) {
             // Sent message
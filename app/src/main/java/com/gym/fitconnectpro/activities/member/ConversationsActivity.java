@@ -6,15 +6,20 @@ import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.gym.fitconnectpro.R;
+import com.gym.fitconnectpro.dao.BroadcastDAO;
 import com.gym.fitconnectpro.dao.SocialDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
+import com.gym.fitconnectpro.database.TableChangeNotifier;
 import com.gym.fitconnectpro.services.Session;
 
+import java.util.Collections;
 import java.util.List;
 
 public class ConversationsActivity extends AppCompatActivity {
@@ -22,8 +27,14 @@ public class ConversationsActivity extends AppCompatActivity {
     private RecyclerView rvConversations;
     private TextView tvNoConversations;
     private SocialDAO socialDAO;
+    private BroadcastDAO broadcastDAO;
     private int currentUserId;
 
+    private static final int BROADCAST_PAGE = 50;
+
+    // New announcements and read-cursor moves refresh the channel rows
+    private final TableChangeNotifier.Listener broadcastsListener = table -> loadConversations();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -43,6 +54,7 @@ public class ConversationsActivity extends AppCompatActivity {
         tvNoConversations = findViewById(R.id.tvNoConversations);
         
         socialDAO = new SocialDAO(this);
+        broadcastDAO = new BroadcastDAO(this);
         
         rvConversations.setLayoutManager(new LinearLayoutManager(this));
     }
@@ -50,12 +62,51 @@ public class ConversationsActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
+        TableChangeNotifier.getInstance().addListener(TableChangeNotifier.TABLE_BROADCASTS, broadcastsListener);
         loadConversations();
     }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        TableChangeNotifier.getInstance().removeListener(TableChangeNotifier.TABLE_BROADCASTS, broadcastsListener);
+    }
     
     private void loadConversations() {
-        List<SocialDAO.Conversation> conversations = socialDAO.getConversations(currentUserId);
-        
+        DbExecutor.getInstance().read(this, () -> {
+            // Direct chats and trainer announcement channels in one inbox, newest activity first
+            List<SocialDAO.Conversation> conversations = socialDAO.getConversations(currentUserId);
+            conversations.addAll(broadcastDAO.getBroadcastChannels(currentUserId));
+            Collections.sort(conversations, (a, b) -> String.valueOf(b.lastMessageTime).compareTo(String.valueOf(a.lastMessageTime)));
+            return conversations;
+        }, this::showConversations);
+    }
+
+    private void showBroadcasts(SocialDAO.Conversation channel) {
+        int trainerId = channel.broadcastTrainerId;
+        DbExecutor.getInstance().read(this, () -> broadcastDAO.getBroadcasts(trainerId, Integer.MAX_VALUE, BROADCAST_PAGE), broadcasts -> {
+            if (!broadcasts.isEmpty()) {
+                // Newest first; the inbox reloads through the broadcasts listener once the cursor moves
+                int lastReadId = broadcasts.get(0).id;
+                DbExecutor.getInstance().write(() -> broadcastDAO.markBroadcastsRead(currentUserId, trainerId, lastReadId));
+            }
+            StringBuilder text = new StringBuilder();
+            for (BroadcastDAO.Broadcast broadcast : broadcasts) {
+                if (text.length() > 0) text.append("\n\n");
+                if (broadcast.timestamp != null && broadcast.timestamp.length() >= 16) {
+                    text.append(broadcast.timestamp.substring(0, 16)).append('\n');
+                }
+                text.append(broadcast.content);
+            }
+            new AlertDialog.Builder(this)
+                    .setTitle(channel.name)
+                    .setMessage(text)
+                    .setPositiveButton("Close", null)
+                    .show();
+        });
+    }
+
+    private void showConversations(List<SocialDAO.Conversation> conversations) {
         if (conversations.isEmpty()) {
             tvNoConversations.setVisibility(View.VISIBLE);
             rvConversations.setVisibility(View.GONE);
@@ -63,7 +114,7 @@ public class ConversationsActivity extends AppCompatActivity {
             tvNoConversations.setVisibility(View.GONE);
             rvConversations.setVisibility(View.VISIBLE);
             
-            ConversationsAdapter adapter = new ConversationsAdapter(this, conversations);
+            ConversationsAdapter adapter = new ConversationsAdapter(this, conversations, this::showBroadcasts);
             rvConversations.setAdapter(adapter);
         }
     }
@@ -19,10 +19,17 @@ public class ConversationsAdapter extends RecyclerView.Adapter<ConversationsAdap
 
     private Context context;
     private List<SocialDAO.Conversation> conversations;
+    private OnBroadcastClickListener broadcastClickListener;
 
-    public ConversationsAdapter(Context context, List<SocialDAO.Conversation> conversations) {
+    public interface OnBroadcastClickListener {
+        void onBroadcastClick(SocialDAO.Conversation channel);
+    }
+
+    public ConversationsAdapter(Context context, List<SocialDAO.Conversation> conversations,
+                                OnBroadcastClickListener broadcastClickListener) {
         this.context = context;
         this.conversations = conversations;
+        this.broadcastClickListener = broadcastClickListener;
     }
 
     @NonNull
@@ -54,6 +61,10 @@ public class ConversationsAdapter extends RecyclerView.Adapter<ConversationsAdap
         }
         
         holder.itemView.setOnClickListener(v -> {
+            if (conv.broadcastTrainerId > 0) {
+                broadcastClickListener.onBroadcastClick(conv);
+                return;
+            }
             Intent intent = new Intent(context, ChatActivity.class);
             intent.putExtra("OTHER_USER_ID", conv.userId);
             intent.putExtra("OTHER_USER_NAME", conv.name);
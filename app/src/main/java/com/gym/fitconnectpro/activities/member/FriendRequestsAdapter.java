@@ -12,16 +12,19 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.lifecycle.LifecycleOwner;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.SocialDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 
 import java.util.List;
 
 public class FriendRequestsAdapter extends RecyclerView.Adapter<FriendRequestsAdapter.RequestViewHolder> {
 
     private Context context;
+    private LifecycleOwner owner;
     private List<SocialDAO.FriendRequest> requests;
     private SocialDAO socialDAO;
     private OnRequestActionResultListener listener;
@@ -30,8 +33,10 @@ public class FriendRequestsAdapter extends RecyclerView.Adapter<FriendRequestsAd
         void onActionCompleted();
     }
 
-    public FriendRequestsAdapter(Context context, List<SocialDAO.FriendRequest> requests, OnRequestActionResultListener listener) {
+    public FriendRequestsAdapter(Context context, LifecycleOwner owner, List<SocialDAO.FriendRequest> requests,
+                                 OnRequestActionResultListener listener) {
         this.context = context;
+        this.owner = owner;
         this.requests = requests;
         this.socialDAO = new SocialDAO(context);
         this.listener = listener;
@@ -67,27 +72,28 @@ public class FriendRequestsAdapter extends RecyclerView.Adapter<FriendRequestsAd
     }
     
     private void actionRequest(int id, String action, int position) {
-        if ("CANCEL".equals(action)) {
-            // Logic to delete request
-            // We can reuse removeFriend logic if it just deletes based on ID, 
-            // but SocialDAO.removeFriend takes member IDs. 
-            // We might need a direct delete or respond with 'REJECTED' effectively cancels it? 
-            // Let's use REJECTED for now or implement delete in DAO if strictly needed.
-            // Actually, respondToRequest("REJECTED") works effectively as ignoring/archiving it.
-            // But usually cancel means delete.
-            socialDAO.respondToRequest(id, "REJECTED"); // Using REJECTED for now to hide it
-        } else {
-            socialDAO.respondToRequest(id, action);
-        }
+        // Logic to delete request
+        // We can reuse removeFriend logic if it just deletes based on ID, 
+        // but SocialDAO.removeFriend takes member IDs. 
+        // We might need a direct delete or respond with 'REJECTED' effectively cancels it? 
+        // Let's use REJECTED for now or implement delete in DAO if strictly needed.
+        // Actually, respondToRequest("REJECTED") works effectively as ignoring/archiving it.
+        // But usually cancel means delete.
+        String status = "CANCEL".equals(action) ? "REJECTED" : action; // Using REJECTED for now to hide it
         
         // Remove item from list and notify
         requests.remove(position);
         notifyItemRemoved(position);
         notifyItemRangeChanged(position, requests.size());
         
-        if (listener != null) listener.onActionCompleted();
-        
-        Toast.makeText(context, "Action: " + action, Toast.LENGTH_SHORT).show();
+        // The listener reloads both lists, which also restores the row if the update failed
+        DbExecutor.getInstance().write(owner, () -> socialDAO.respondToRequest(id, status), updated -> {
+            if (listener != null) listener.onActionCompleted();
+            Toast.makeText(context, updated ? "Action: " + action : "Action failed", Toast.LENGTH_SHORT).show();
+        }, error -> {
+            if (listener != null) listener.onActionCompleted();
+            Toast.makeText(context, "Action failed", Toast.LENGTH_SHORT).show();
+        });
     }
 
     @Override
@@ -13,6 +13,7 @@ import android.view.inputmethod.EditorInfo;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
+import android.widget.Filterable;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
 import android.widget.Spinner;
@@ -27,10 +28,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.gym.fitconnectpro.R;
+import com.gym.fitconnectpro.adapters.FoodSuggestionAdapter;
 import com.gym.fitconnectpro.dao.MealLogDAO;
 import com.gym.fitconnectpro.dao.MemberDashboardDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.models.Food;
 import com.gym.fitconnectpro.models.MealPlanFood;
+import com.gym.fitconnectpro.services.FoodCatalog;
 import com.gym.fitconnectpro.services.Session;
 
 import java.text.SimpleDateFormat;
@@ -65,7 +69,6 @@ public class LogMealActivity extends AppCompatActivity {
     private SimpleDateFormat dbDateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
 
     private android.widget.AutoCompleteTextView actvFoodSearch;
-    private List<Food> allFoods;
 
     private RecyclerView rvTodayMeals;
     private TodayMealsAdapter todayMealsAdapter;
@@ -78,16 +81,19 @@ public class LogMealActivity extends AppCompatActivity {
         session = Session.getInstance(this);
         mealLogDAO = new MealLogDAO(this);
         
-        // Fetch Member & Init Views
-        MemberDashboardDAO dashboardDAO = new MemberDashboardDAO(this);
-        int userId = session.getUserId();
-        var memberInfo = dashboardDAO.getMemberHeaderInfo(userId);
-        if (memberInfo != null) memberId = Integer.parseInt(memberInfo.get("member_id"));
-        
         initViews();
         setupListeners();
         loadAllFoods();
-        loadTodayMeals(); // NEW: Load history
+
+        // Fetch Member, then load history
+        MemberDashboardDAO dashboardDAO = new MemberDashboardDAO(this);
+        int userId = session.getUserId();
+        DbExecutor.getInstance().read(this, () -> dashboardDAO.getMemberHeaderInfo(userId), memberInfo -> {
+            if (memberInfo != null && memberInfo.get("member_id") != null) {
+                memberId = Integer.parseInt(memberInfo.get("member_id"));
+            }
+            loadTodayMeals(); // NEW: Load history
+        });
         
         // Handle Intent
         String type = getIntent().getStringExtra("MEAL_TYPE");
@@ -149,14 +155,20 @@ public class LogMealActivity extends AppCompatActivity {
             actvFoodSearch.setText("");
         });
         
-        actvFoodSearch.setOnClickListener(v -> actvFoodSearch.showDropDown());
+        actvFoodSearch.setOnClickListener(v -> {
+            if (!(actvFoodSearch.getAdapter() instanceof Filterable)) return; // Catalog still loading
+            // The adapter starts empty; filter first so a blank field lists the first foods by name
+            ((Filterable) actvFoodSearch.getAdapter()).getFilter()
+                    .filter(actvFoodSearch.getText(), count -> actvFoodSearch.showDropDown());
+        });
     }
 
     private void loadTodayMeals() {
         if (mealLogDAO == null) return;
         String date = dbDateFormat.format(selectedDate.getTime());
-        List<com.gym.fitconnectpro.models.MealLogEntry> meals = mealLogDAO.getTodayMeals(memberId, date);
-        todayMealsAdapter.setMeals(meals);
+        int id = memberId;
+        DbExecutor.getInstance().read(this, () -> mealLogDAO.getTodayMeals(id, date),
+                meals -> todayMealsAdapter.setMeals(meals));
     }
     
     // ... (rest of methods)
@@ -182,9 +194,16 @@ public class LogMealActivity extends AppCompatActivity {
     }
 
     private void loadAllFoods() {
-        allFoods = mealLogDAO.getAllFoods();
-        ArrayAdapter<Food> foodAdapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line, allFoods);
-        actvFoodSearch.setAdapter(foodAdapter);
+        // Suggestions come from the shared catalog; warm it up off the main thread
+        FoodCatalog foodCatalog = FoodCatalog.getInstance(this);
+        DbExecutor.getInstance().read(this, () -> {
+            foodCatalog.preload();
+            return true;
+        }, loaded -> bindFoods());
+    }
+
+    private void bindFoods() {
+        actvFoodSearch.setAdapter(new FoodSuggestionAdapter(this));
     }
     
     private void addFoodItem(Food food) {
@@ -243,21 +262,29 @@ public class LogMealActivity extends AppCompatActivity {
             String type = spinnerMealType.getSelectedItem().toString();
             String notes = etNotes.getText() != null ? etNotes.getText().toString() : "";
             
-            boolean success = mealLogDAO.logMeal(memberId, date, time, type, addedItems, notes);
-            
-            if (success) {
-                Toast.makeText(this, "Meal logged!", Toast.LENGTH_SHORT).show();
-                // Reset UI
-                addedItems.clear();
-                addedItemsAdapter.notifyDataSetChanged();
-                updateTotals();
-                etNotes.setText("");
-                
-                // Refresh History
-                loadTodayMeals();
-            } else {
+            int id = memberId;
+            List<MealPlanFood> items = new ArrayList<>(addedItems);
+            btnSaveMeal.setEnabled(false);
+
+            DbExecutor.getInstance().write(this, () -> mealLogDAO.logMeal(id, date, time, type, items, notes), success -> {
+                btnSaveMeal.setEnabled(true);
+                if (success) {
+                    Toast.makeText(this, "Meal logged!", Toast.LENGTH_SHORT).show();
+                    // Reset UI
+                    addedItems.clear();
+                    addedItemsAdapter.notifyDataSetChanged();
+                    updateTotals();
+                    etNotes.setText("");
+
+                    // Refresh History
+                    loadTodayMeals();
+                } else {
+                    Toast.makeText(this, "Failed to log meal (DB Error)", Toast.LENGTH_SHORT).show();
+                }
+            }, error -> {
+                btnSaveMeal.setEnabled(true);
                 Toast.makeText(this, "Failed to log meal (DB Error)", Toast.LENGTH_SHORT).show();
-            }
+            });
         } catch (Exception e) {
             android.util.Log.e("LogMealActivity", "Error saving meal", e);
             Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
@@ -24,12 +24,14 @@ import com.google.android.material.navigation.NavigationView;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.activities.LoginActivity;
 import com.gym.fitconnectpro.dao.MemberDashboardDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
+import com.gym.fitconnectpro.models.MemberDashboardSnapshot;
+import com.gym.fitconnectpro.services.DailyRollupWorker;
 import com.gym.fitconnectpro.services.Session;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
-import java.util.Map;
 
 public class MemberDashboardActivity extends AppCompatActivity implements NavigationView.OnNavigationItemSelectedListener {
 
@@ -112,11 +114,12 @@ public class MemberDashboardActivity extends AppCompatActivity implements Naviga
         // Load dashboard data - continue even if this fails
         try {
             loadDashboardData();
-            Log.d("MemberDashboard", "Dashboard data loaded successfully");
+            Log.d("MemberDashboard", "Dashboard data load started");
         } catch (Exception e) {
             Log.e("MemberDashboard", "Failed to load dashboard data", e);
             Toast.makeText(this, "Warning: Could not load all dashboard data", Toast.LENGTH_SHORT).show();
         }
+        DailyRollupWorker.schedule(this);
         
         // Setup listeners - continue even if this fails
         try {
@@ -141,6 +144,15 @@ public class MemberDashboardActivity extends AppCompatActivity implements Naviga
         Log.d("MemberDashboard", "onCreate completed - dashboard should be visible");
     }
 
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Returning from meal/water/workout logging; the snapshot cache makes unchanged reloads cheap
+        if (dashboardDAO != null && memberId > 0) {
+            loadDashboardData();
+        }
+    }
+
     private void initViews() {
         dashboardContent = findViewById(R.id.member_dashboard_content);
         fragmentContainer = findViewById(R.id.fragment_container_member);
@@ -205,104 +217,66 @@ public class MemberDashboardActivity extends AppCompatActivity implements Naviga
     }
 
     private void loadDashboardData() {
+        String today = dateFormat.format(new Date());
+
+        // One snapshot query on the DB executor; cached until the member logs something
+        DbExecutor.getInstance().read(this, () -> dashboardDAO.getDashboardSnapshot(userId, today),
+                this::bindDashboardData);
+    }
+
+    private void bindDashboardData(MemberDashboardSnapshot snapshot) {
         try {
-            String today = dateFormat.format(new Date());
-            
-            // 1. Header Info - with defensive null checking
-            Map<String, String> info = dashboardDAO.getMemberHeaderInfo(userId);
-            
-            // Check if member info was found
-            if (info == null || info.isEmpty()) {
+            // 1. Header Info
+            if (snapshot == null) {
                 Toast.makeText(this, "Member profile not found. Please contact admin.", Toast.LENGTH_LONG).show();
                 Log.e("MemberDashboard", "Member info not found for userId: " + userId);
                 return;
             }
             
-            if (info.containsKey("member_name") && info.get("member_name") != null) {
-                tvWelcome.setText("Welcome, " + info.get("member_name"));
+            if (snapshot.getMemberName() != null) {
+                tvWelcome.setText("Welcome, " + snapshot.getMemberName());
             } else {
                 tvWelcome.setText("Welcome, Member");
                 Log.w("MemberDashboard", "Member name not found");
             }
             
-            // Safely parse member_id with error handling
-            try {
-                String memberIdStr = info.get("member_id");
-                if (memberIdStr != null && !memberIdStr.isEmpty()) {
-                    memberId = Integer.parseInt(memberIdStr);
-                    Log.d("MemberDashboard", "Member ID: " + memberId);
-                } else {
-                    Log.e("MemberDashboard", "Member ID is null or empty");
-                    Toast.makeText(this, "Error loading profile. Please contact admin.", Toast.LENGTH_LONG).show();
-                    return;
-                }
-            } catch (NumberFormatException e) {
-                Log.e("MemberDashboard", "Error parsing member_id: " + info.get("member_id"), e);
-                Toast.makeText(this, "Error loading profile data.", Toast.LENGTH_LONG).show();
-                return;
-            }
+            memberId = snapshot.getMemberId();
+            Log.d("MemberDashboard", "Member ID: " + memberId);
             
-            if (info.containsKey("trainer_name") && info.get("trainer_name") != null) {
-                tvTrainerName.setText(info.get("trainer_name"));
-            } else {
-                tvTrainerName.setText("No Trainer Assigned");
-            }
+            tvTrainerName.setText(snapshot.hasTrainer() ? snapshot.getTrainerName() : "No Trainer Assigned");
             
             if (memberId == 0) {
                 Log.e("MemberDashboard", "Invalid member ID (0)");
                 return;
             }
 
-            // 2. Today's Goals
-            try {
-                Map<String, Object> goals = dashboardDAO.getTodayGoals(memberId, today);
-                if (goals.containsKey("water_target")) {
-                    int waterTarget = (Integer) goals.get("water_target");
-                    pbWater.setMax(waterTarget > 0 ? waterTarget : 2500);
-                    
-                    int calTarget = (Integer) goals.get("calories_target");
-                    pbCalories.setMax(calTarget > 0 ? calTarget : 2000);
-                } else {
-                     // Defaults
-                     pbWater.setMax(2500);
-                     pbCalories.setMax(2000);
-                }
-            } catch (Exception e) {
-                Log.e("MemberDashboard", "Error loading goals", e);
-                pbWater.setMax(2500);
-                pbCalories.setMax(2000);
+            // 2. Today's Goals and progress
+            if (snapshot.hasGoals()) {
+                int waterTarget = snapshot.getWaterTargetMl();
+                pbWater.setMax(waterTarget > 0 ? waterTarget : 2500);
+                
+                int calTarget = snapshot.getCalorieTarget();
+                pbCalories.setMax(calTarget > 0 ? calTarget : 2000);
+            } else {
+                 // Defaults
+                 pbWater.setMax(2500);
+                 pbCalories.setMax(2000);
             }
+            pbWater.setProgress(snapshot.getWaterConsumedMl());
+            pbCalories.setProgress(snapshot.getCaloriesConsumed());
 
             // 3. Active Plan
-            try {
-                String planName = dashboardDAO.getActiveWorkoutPlanName(memberId);
-                tvActivePlan.setText(planName != null ? planName : "No Active Plan");
-            } catch (Exception e) {
-                Log.e("MemberDashboard", "Error loading workout plan", e);
-                tvActivePlan.setText("No Active Plan");
-            }
+            String planName = snapshot.getActivePlanName();
+            tvActivePlan.setText(planName != null ? planName : "No Active Plan");
             
             // 4. Meals
-            try {
-                int meals = dashboardDAO.getTodayMealCount(memberId, today);
-                tvMealCount.setText(meals + " Meals Assigned");
-            } catch (Exception e) {
-                Log.e("MemberDashboard", "Error loading meals", e);
-                tvMealCount.setText("0 Meals Assigned");
-            }
+            tvMealCount.setText(snapshot.getMealCount() + " Meals Assigned");
             
             // 5. Quick Stats
-            try {
-                Map<String, String> stats = dashboardDAO.getQuickStats(memberId);
-                tvWeightStat.setText("Wt: " + stats.getOrDefault("weight", "--"));
-                tvWorkoutsStat.setText("Total: " + stats.getOrDefault("total_workouts", "0"));
-                tvStreakStat.setText("Week: " + stats.getOrDefault("weekly_workouts", "0"));
-            } catch (Exception e) {
-                Log.e("MemberDashboard", "Error loading stats", e);
-                tvWeightStat.setText("Wt: --");
-                tvWorkoutsStat.setText("Total: 0");
-                tvStreakStat.setText("Week: 0");
-            }
+            Double weight = snapshot.getWeight();
+            tvWeightStat.setText("Wt: " + (weight != null ? weight + " kg" : "--"));
+            tvWorkoutsStat.setText("Total: " + snapshot.getTotalWorkouts());
+            tvStreakStat.setText("Week: " + snapshot.getWeeklyWorkouts());
         } catch (Exception e) {
             Toast.makeText(this, "Error loading dashboard: " + e.getMessage(), Toast.LENGTH_LONG).show();
             Log.e("MemberDashboard", "Critical error in loadDashboardData", e);
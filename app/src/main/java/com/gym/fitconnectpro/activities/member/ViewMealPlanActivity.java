@@ -23,6 +23,7 @@ import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.activities.LoginActivity;
 import com.gym.fitconnectpro.dao.MealPlanDAO;
 import com.gym.fitconnectpro.dao.MemberDashboardDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.models.MealPlan;
 import com.gym.fitconnectpro.models.MealPlanFood;
 import com.gym.fitconnectpro.services.Session;
@@ -52,6 +53,9 @@ public class ViewMealPlanActivity extends AppCompatActivity implements Navigatio
     private String[] mealTypes = {"Breakfast", "Lunch", "Dinner", "Snacks"};
     private MealPlan currentMealPlan;
     private String currentMealType;
+    // Bumped per load so a slow earlier day or tab never overwrites a later one
+    private int totalsRequest;
+    private int mealRequest;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -78,23 +82,12 @@ public class ViewMealPlanActivity extends AppCompatActivity implements Navigatio
             mealPlanDAO = new MealPlanDAO(this);
             memberDashboardDAO = new MemberDashboardDAO(this);
             
-            // Get member ID
-            int userId = session.getUserId();
-            var memberInfo = memberDashboardDAO.getMemberHeaderInfo(userId);
-            if (memberInfo != null && memberInfo.containsKey("member_id")) {
-                memberId = Integer.parseInt(memberInfo.get("member_id"));
-            } else {
-                Toast.makeText(this, "Error loading member info", Toast.LENGTH_SHORT).show();
-                finish();
-                return;
-            }
-            
             selectedDate = Calendar.getInstance();
             dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
             
             initViews();
             setupListeners();
-            loadMealPlans();
+            loadMemberId();
         } catch (Exception e) {
             Toast.makeText(this, "Error loading meal plans: " + e.getMessage(), Toast.LENGTH_LONG).show();
             e.printStackTrace();
@@ -156,15 +149,53 @@ public class ViewMealPlanActivity extends AppCompatActivity implements Navigatio
         btnLogDifferent.setOnClickListener(v -> logDifferentMeal());
     }
 
+    private void loadMemberId() {
+        // Get member ID
+        int userId = session.getUserId();
+        DbExecutor.getInstance().read(this, () -> {
+            var memberInfo = memberDashboardDAO.getMemberHeaderInfo(userId);
+            if (memberInfo != null && memberInfo.containsKey("member_id")) {
+                return Integer.parseInt(memberInfo.get("member_id"));
+            }
+            return -1;
+        }, id -> {
+            if (id <= 0) {
+                Toast.makeText(this, "Error loading member info", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
+            memberId = id;
+            loadMealPlans();
+        }, error -> {
+            Toast.makeText(this, "Error loading member info", Toast.LENGTH_SHORT).show();
+            finish();
+        });
+    }
+
     private void updateDateDisplay() {
         SimpleDateFormat displayFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
         tvSelectedDate.setText(displayFormat.format(selectedDate.getTime()));
     }
 
     private void loadMealPlans() {
+        if (memberId <= 0) return; // Still resolving the member
         String date = dateFormat.format(selectedDate.getTime());
-        List<MealPlan> plans = mealPlanDAO.getMemberMealPlansForDate(memberId, date);
+        int id = memberId;
+        int request = ++totalsRequest;
+        DbExecutor.getInstance().read(this, () -> mealPlanDAO.getMemberMealPlansForDate(id, date), plans -> {
+            if (request != totalsRequest) return; // Another day was picked meanwhile
+            bindDailyTotals(plans);
+        });
         
+        // Load first tab's content
+        if (tabLayout.getSelectedTabPosition() >= 0) {
+            loadMealPlan(mealTypes[tabLayout.getSelectedTabPosition()]);
+        } else {
+            loadMealPlan(mealTypes[0]);
+        }
+    }
+
+    private void bindDailyTotals(List<MealPlan> plans) {
         // Calculate daily totals
         int totalCal = 0;
         double totalProt = 0, totalCarb = 0, totalFat = 0;
@@ -182,18 +213,21 @@ public class ViewMealPlanActivity extends AppCompatActivity implements Navigatio
         tvTotalProtein.setText(String.format("%.1fg", totalProt));
         tvTotalCarbs.setText(String.format("%.1fg", totalCarb));
         tvTotalFats.setText(String.format("%.1fg", totalFat));
-        
-        // Load first tab's content
-        if (tabLayout.getSelectedTabPosition() >= 0) {
-            loadMealPlan(mealTypes[tabLayout.getSelectedTabPosition()]);
-        } else {
-            loadMealPlan(mealTypes[0]);
-        }
     }
 
     private void loadMealPlan(String mealType) {
+        if (memberId <= 0) return; // Still resolving the member
         String date = dateFormat.format(selectedDate.getTime());
-        currentMealPlan = mealPlanDAO.getMealPlanByType(memberId, date, mealType);
+        int id = memberId;
+        int request = ++mealRequest;
+        DbExecutor.getInstance().read(this, () -> mealPlanDAO.getMealPlanByType(id, date, mealType), plan -> {
+            if (request != mealRequest) return; // Another tab or day was picked meanwhile
+            bindMealPlan(mealType, plan);
+        });
+    }
+
+    private void bindMealPlan(String mealType, MealPlan plan) {
+        currentMealPlan = plan;
         currentMealType = mealType;
         
         if (currentMealPlan != null) {
@@ -28,6 +28,7 @@ import com.gym.fitconnectpro.adapters.WorkoutPlanExerciseAdapter;
 import com.gym.fitconnectpro.dao.TrainerDAO;
 import com.gym.fitconnectpro.dao.WorkoutDAO;
 import com.gym.fitconnectpro.dao.WorkoutPlanDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.PlanExercise;
 import com.gym.fitconnectpro.database.entities.Trainer;
 import com.gym.fitconnectpro.database.entities.Workout;
@@ -63,6 +64,8 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
     
     private WorkoutPlan currentPlan;
     private int memberId;
+    // Bumped per date load so a slow earlier date never overwrites a later one
+    private int planRequest;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -81,9 +84,9 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
         initData();
         setupListeners();
         
-        // Initial Load
+        // Initial Load, once the member is resolved
         updateDateDisplay();
-        loadPlanForDate();
+        resolveMemberId();
     }
     
     private void initViews() {
@@ -135,19 +138,24 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
         // Simplified: Assuming Session stores userID. We need to fetch MemberID from DB using UserID.
         // For now, I'll trust that the system handles this, or use a helper. 
         // Ideally Session should have getMemberId(), but it seems MemberDashboardActivity fetches it manually.
-        // I will replicate the fetch or instantiate dashboardDAO to get it.
-        // To be safe and minimal:
-        resolveMemberId();
+        // I will replicate the fetch or instantiate dashboardDAO to get it (see resolveMemberId).
     }
     
     private void resolveMemberId() {
         com.gym.fitconnectpro.dao.MemberDashboardDAO dashDao = new com.gym.fitconnectpro.dao.MemberDashboardDAO(this);
-        java.util.Map<String, String> info = dashDao.getMemberHeaderInfo(session.getUserId());
-        if (info.containsKey("member_id")) {
-             try {
-                 memberId = Integer.parseInt(info.get("member_id"));
-             } catch (Exception e) { memberId = -1; }
-        }
+        int userId = session.getUserId();
+        DbExecutor.getInstance().read(this, () -> {
+            java.util.Map<String, String> info = dashDao.getMemberHeaderInfo(userId);
+            if (info.containsKey("member_id")) {
+                 try {
+                     return Integer.parseInt(info.get("member_id"));
+                 } catch (Exception e) { return -1; }
+            }
+            return userId;
+        }, id -> {
+            memberId = id;
+            loadPlanForDate();
+        });
     }
     
     private void setupListeners() {
@@ -184,11 +192,29 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
     
     private void loadPlanForDate() {
         String dateStr = dbFormat.format(currentCalendar.getTime());
-        // Fetch Plan
-        currentPlan = workoutPlanDAO.getPlanForDate(memberId, dateStr);
+        int id = memberId;
+        int request = ++planRequest;
+
+        DbExecutor.getInstance().read(this, () -> {
+            PlanData data = new PlanData();
+            data.plan = workoutPlanDAO.getPlanForDate(id, dateStr);
+            if (data.plan != null) {
+                data.exercises = workoutPlanDAO.getPlanExercises(data.plan.getId());
+                if (data.plan.getTrainerId() > 0) {
+                    data.trainer = trainerDAO.getTrainerById(data.plan.getTrainerId());
+                }
+            }
+            return data;
+        }, data -> {
+            if (request != planRequest) return; // A later date was picked meanwhile
+            bindPlan(data);
+        });
+    }
+
+    private void bindPlan(PlanData data) {
+        currentPlan = data.plan;
         
         if (currentPlan != null) {
-            // Update UI
             // Update UI
             tvFocusArea.setText(currentPlan.getFocusArea() != null ? currentPlan.getFocusArea() : currentPlan.getPlanName());
             tvInstructions.setText(currentPlan.getInstructions() != null ? currentPlan.getInstructions() : "Follow the exercises below. Stay hydrated.");
@@ -198,7 +224,7 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
             btnMarkComplete.setEnabled(true);
             
             // Load exercises
-            List<PlanExercise> exercises = workoutPlanDAO.getPlanExercises(currentPlan.getId());
+            List<PlanExercise> exercises = data.exercises;
             WorkoutPlanExerciseAdapter adapter = new WorkoutPlanExerciseAdapter(exercises);
             rvExercises.setAdapter(adapter);
             
@@ -209,7 +235,7 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
             
             // Load Trainer
              if (currentPlan.getTrainerId() > 0) {
-                 Trainer trainer = trainerDAO.getTrainerById(currentPlan.getTrainerId());
+                 Trainer trainer = data.trainer;
                  if (trainer != null) {
                      tvTrainerName.setText(trainer.getFullName());
                  } else {
@@ -243,9 +269,6 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
     private void markAsComplete() {
         if (currentPlan == null) return;
         
-        // 1. Update status
-        boolean statusUpdated = workoutPlanDAO.updatePlanStatus(currentPlan.getId(), "COMPLETED");
-        
         // 2. Create Workout entry
         Workout workout = new Workout();
         workout.setPlanId(currentPlan.getId());
@@ -256,14 +279,25 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
         workout.setCaloriesBurned(currentPlan.getId() * 30);
         workout.setNotes("Completed via Plan View");
         
-        boolean workoutCreated = workoutDAO.createWorkout(workout);
-        
-        if (statusUpdated && workoutCreated) {
-            Toast.makeText(this, "Workout marked as complete!", Toast.LENGTH_SHORT).show();
-            finish();
-        } else {
+        int planId = currentPlan.getId();
+        btnMarkComplete.setEnabled(false);
+        DbExecutor.getInstance().write(this, () -> {
+            // 1. Update status
+            boolean statusUpdated = workoutPlanDAO.updatePlanStatus(planId, "COMPLETED");
+            boolean workoutCreated = workoutDAO.createWorkout(workout);
+            return statusUpdated && workoutCreated;
+        }, success -> {
+            btnMarkComplete.setEnabled(true);
+            if (success) {
+                Toast.makeText(this, "Workout marked as complete!", Toast.LENGTH_SHORT).show();
+                finish();
+            } else {
+                Toast.makeText(this, "Error updating status", Toast.LENGTH_SHORT).show();
+            }
+        }, error -> {
+            btnMarkComplete.setEnabled(true);
             Toast.makeText(this, "Error updating status", Toast.LENGTH_SHORT).show();
-        }
+        });
     }
     
     @Override
@@ -306,4 +340,13 @@ public class ViewWorkoutPlanActivity extends AppCompatActivity implements Naviga
         onBackPressed();
         return true;
     }
+
+    /**
+     * Plan for one date with its exercises and trainer, loaded on the DB executor
+     */
+    private static class PlanData {
+        WorkoutPlan plan;
+        List<PlanExercise> exercises;
+        Trainer trainer;
+    }
 }
@@ -19,6 +19,7 @@ import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.adapters.WaterLogAdapter;
 import com.gym.fitconnectpro.dao.MemberDashboardDAO;
 import com.gym.fitconnectpro.dao.WaterLogDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.models.WaterLog;
 import com.gym.fitconnectpro.services.Session;
 
@@ -58,17 +59,9 @@ public class WaterTrackerActivity extends AppCompatActivity implements WaterLogA
         waterLogDAO = new WaterLogDAO(this);
         memberDashboardDAO = new MemberDashboardDAO(this);
 
-        // Get member ID
-        int userId = session.getUserId();
-        Map<String, String> memberInfo = memberDashboardDAO.getMemberHeaderInfo(userId);
-        if (memberInfo != null && memberInfo.containsKey("member_id")) {
-            memberId = Integer.parseInt(memberInfo.get("member_id"));
-        }
-
         initViews();
-        loadWaterGoal();
-        loadTodayData();
         setupListeners();
+        loadMemberAndGoal();
     }
 
     private void initViews() {
@@ -88,37 +81,54 @@ public class WaterTrackerActivity extends AppCompatActivity implements WaterLogA
         rvWaterLogs.setLayoutManager(new LinearLayoutManager(this));
     }
 
-    private void loadWaterGoal() {
-        try {
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-            String today = dateFormat.format(new Date());
-            
-            Map<String, Object> goals = memberDashboardDAO.getTodayGoals(memberId, today);
-            if (goals != null && goals.containsKey("water_target")) {
-                waterGoal = (Integer) goals.get("water_target");
-                if (waterGoal <= 0) waterGoal = 2500;
+    private void loadMemberAndGoal() {
+        int userId = session.getUserId();
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+        String today = dateFormat.format(new Date());
+
+        // Resolve the member and the trainer's goal off the UI thread, then load today's logs
+        DbExecutor.getInstance().read(this, () -> {
+            int[] memberAndGoal = {0, 2500};
+            Map<String, String> memberInfo = memberDashboardDAO.getMemberHeaderInfo(userId);
+            if (memberInfo != null && memberInfo.containsKey("member_id")) {
+                memberAndGoal[0] = Integer.parseInt(memberInfo.get("member_id"));
             }
-        } catch (Exception e) {
-            waterGoal = 2500;
-        }
-        
-        tvGoalAmount.setText(waterGoal + "ml");
-        tvGoalInfo.setText("Goal set by Trainer: " + waterGoal + "ml");
-        progressWater.setMax(100);
+            try {
+                Map<String, Object> goals = memberDashboardDAO.getTodayGoals(memberAndGoal[0], today);
+                if (goals != null && goals.containsKey("water_target")) {
+                    int target = (Integer) goals.get("water_target");
+                    if (target > 0) memberAndGoal[1] = target;
+                }
+            } catch (Exception e) {
+                // Keep the default goal
+            }
+            return memberAndGoal;
+        }, memberAndGoal -> {
+            memberId = memberAndGoal[0];
+            waterGoal = memberAndGoal[1];
+            tvGoalAmount.setText(waterGoal + "ml");
+            tvGoalInfo.setText("Goal set by Trainer: " + waterGoal + "ml");
+            progressWater.setMax(100);
+            loadTodayData();
+        });
     }
 
     private void loadTodayData() {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
         String today = dateFormat.format(new Date());
-        
-        // Get total
-        currentAmount = waterLogDAO.getTodayWaterTotal(memberId, today);
-        updateUI();
-        
-        // Get logs
-        List<WaterLog> logs = waterLogDAO.getTodayLogs(memberId, today);
-        adapter = new WaterLogAdapter(logs, this);
-        rvWaterLogs.setAdapter(adapter);
+        int id = memberId;
+
+        DbExecutor.getInstance().read(this, () -> {
+            TodayData data = new TodayData();
+            data.total = waterLogDAO.getTodayWaterTotal(id, today);
+            data.logs = waterLogDAO.getTodayLogs(id, today);
+            return data;
+        }, data -> {
+            currentAmount = data.total;
+            updateUI();
+            adapter = new WaterLogAdapter(data.logs, this);
+            rvWaterLogs.setAdapter(adapter);
+        });
     }
 
     private void setupListeners() {
@@ -145,24 +155,28 @@ public class WaterTrackerActivity extends AppCompatActivity implements WaterLogA
     }
 
     private void addWater(int amount) {
+        if (memberId <= 0) return; // Member not resolved yet
+
         SimpleDateFormat dateTimeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
         String currentTime = dateTimeFormat.format(new Date());
-        
-        boolean success = waterLogDAO.logWater(memberId, amount, currentTime);
-        if (success) {
-            currentAmount += amount;
-            updateUI();
-            loadTodayData(); // Refresh logs
-            
-            // Check if goal achieved
-            if (currentAmount >= waterGoal && (currentAmount - amount) < waterGoal) {
-                showGoalAchievedDialog();
+        int id = memberId;
+
+        DbExecutor.getInstance().write(this, () -> waterLogDAO.logWater(id, amount, currentTime), success -> {
+            if (success) {
+                currentAmount += amount;
+                updateUI();
+                loadTodayData(); // Refresh logs
+
+                // Check if goal achieved
+                if (currentAmount >= waterGoal && (currentAmount - amount) < waterGoal) {
+                    showGoalAchievedDialog();
+                }
+
+                Toast.makeText(this, "Added " + amount + "ml", Toast.LENGTH_SHORT).show();
+            } else {
+                Toast.makeText(this, "Failed to add water", Toast.LENGTH_SHORT).show();
             }
-            
-            Toast.makeText(this, "Added " + amount + "ml", Toast.LENGTH_SHORT).show();
-        } else {
-            Toast.makeText(this, "Failed to add water", Toast.LENGTH_SHORT).show();
-        }
+        }, error -> Toast.makeText(this, "Failed to add water", Toast.LENGTH_SHORT).show());
     }
 
     private void updateUI() {
@@ -188,22 +202,32 @@ public class WaterTrackerActivity extends AppCompatActivity implements WaterLogA
         new AlertDialog.Builder(this)
                 .setTitle("Delete Log")
                 .setMessage("Delete this water log entry?")
-                .setPositiveButton("Delete", (dialog, which) -> {
-                    boolean success = waterLogDAO.deleteWaterLog(log.getLogId());
-                    if (success) {
-                        currentAmount -= log.getAmountMl();
-                        if (currentAmount < 0) currentAmount = 0;
-                        updateUI();
-                        loadTodayData();
-                        Toast.makeText(this, "Deleted", Toast.LENGTH_SHORT).show();
-                    } else {
-                        Toast.makeText(this, "Failed to delete", Toast.LENGTH_SHORT).show();
-                    }
-                })
+                .setPositiveButton("Delete", (dialog, which) -> DbExecutor.getInstance().write(this,
+                        () -> waterLogDAO.deleteWaterLog(log.getLogId()),
+                        success -> {
+                            if (success) {
+                                currentAmount -= log.getAmountMl();
+                                if (currentAmount < 0) currentAmount = 0;
+                                updateUI();
+                                loadTodayData();
+                                Toast.makeText(this, "Deleted", Toast.LENGTH_SHORT).show();
+                            } else {
+                                Toast.makeText(this, "Failed to delete", Toast.LENGTH_SHORT).show();
+                            }
+                        },
+                        error -> Toast.makeText(this, "Failed to delete", Toast.LENGTH_SHORT).show()))
                 .setNegativeButton("Cancel", null)
                 .show();
     }
 
+    /**
+     * Today's total and log entries, loaded on the DB executor
+     */
+    private static class TodayData {
+        int total;
+        List<WaterLog> logs;
+    }
+
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
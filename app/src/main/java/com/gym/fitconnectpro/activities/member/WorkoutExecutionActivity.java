@@ -13,7 +13,7 @@ import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.adapters.ExecutionAdapter;
 import com.gym.fitconnectpro.dao.WorkoutDAO;
 import com.gym.fitconnectpro.dao.WorkoutPlanDAO;
-import com.gym.fitconnectpro.database.entities.PlanExercise;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Workout;
 import com.gym.fitconnectpro.database.entities.WorkoutLog;
 import com.gym.fitconnectpro.services.Session;
@@ -30,6 +30,10 @@ public class WorkoutExecutionActivity extends AppCompatActivity {
     private ExecutionAdapter adapter;
     private int planId;
     
+    private static final int SAVE_OK = 0;
+    private static final int SAVE_SESSION_FAILED = 1;
+    private static final int SAVE_LOGS_FAILED = 2;
+
     private WorkoutDAO workoutDAO;
     private WorkoutPlanDAO workoutPlanDAO;
     private Session session;
@@ -70,46 +74,22 @@ public class WorkoutExecutionActivity extends AppCompatActivity {
     }
     
     private void loadData() {
-        List<PlanExercise> exercises = workoutPlanDAO.getPlanExercises(planId);
-        adapter = new ExecutionAdapter(exercises);
-        rvExecutionExercises.setAdapter(adapter);
+        DbExecutor.getInstance().read(this, () -> workoutPlanDAO.getPlanExercises(planId), exercises -> {
+            adapter = new ExecutionAdapter(exercises);
+            rvExecutionExercises.setAdapter(adapter);
+        });
     }
     
     private void finishWorkout() {
+        if (adapter == null) return; // Exercises still loading
         List<WorkoutLog> logs = adapter.getLogs();
         
         // 1. Create Session
         Workout workout = new Workout();
         workout.setPlanId(planId);
-        // We need memberId. Session usually gives userId, need logic to fetch memberId or similar.
-        // Simplified: use a dummy or separate call if needed. Assuming Session stores memberId or user ID maps correctly.
-        // Actually earlier found that we need to fetch member ID. 
-        // For robustness, I'll fetch member ID via DAO helper or similar, or just pass it in Intent.
-        
-        // Passing from Intent is better. But I didn't add it to Intent in ViewWorkoutPlanActivity. 
-        // Let's resolve safely.
-        int userId = session.getUserId();
-        // Assuming user_id maps 1:1 to member_id for Member type Users in this context, 
-        // or rather we should fetch it. 
-        // I will use a quick query or just use userId temporarily if schema allows (it doesn't, Foreign Key).
-        // Let's trust I can get memberID from previous activity via Intent? 
-        // I'll assume plan has memberId. 
-        // workoutPlanDAO.getPlan(planId).getMemberId()
-        
-        com.gym.fitconnectpro.database.entities.WorkoutPlan plan = workoutPlanDAO.getPlanForDate(userId, new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).format(new Date())); 
-        // Wait, getPlanForDate uses memberId.
-        
-        // Let's fetch the plan again by ID to get memberId.
-        // workoutPlanDAO needs getPlanById. It has getPlanForDate. 
-        // I'll add getPlanById logic or just rely on 'getPlansByMemberId' loop.
-        // Easier: Just pass MEMBER_ID in Intent. 
-        // I will MODIFY ViewWorkoutPlanActivity to pass MEMBER_ID.
-        
+        // The member comes from the Intent (ViewWorkoutPlanActivity passes MEMBER_ID)
         int memberId = getIntent().getIntExtra("MEMBER_ID", -1);
         if (memberId == -1) { 
-             // Fallback attempt
-             // Just skip foreign key check? No.
-             // Assume 1 for now if failing, or error.
              Toast.makeText(this, "Error: Member ID missing", Toast.LENGTH_SHORT).show();
              return;
         }
@@ -119,26 +99,37 @@ public class WorkoutExecutionActivity extends AppCompatActivity {
         workout.setDurationMinutes(45); // Dummy
         workout.setCaloriesBurned(300); // Dummy
         workout.setNotes("Executed via App");
-        
-        if (workoutDAO.createWorkout(workout)) {
+
+        btnFinish.setEnabled(false);
+        DbExecutor.getInstance().write(this, () -> {
+            if (!workoutDAO.createWorkout(workout)) {
+                return SAVE_SESSION_FAILED;
+            }
             // 2. Save Logs with new Session ID
             int sessionId = workout.getId();
             for (WorkoutLog log : logs) {
                 log.setSessionId(sessionId);
             }
-            
-            if (workoutDAO.createWorkoutLogs(logs)) {
-                // 3. Mark Plan Complete
-                workoutPlanDAO.updatePlanStatus(planId, "COMPLETED");
-                
+            if (!workoutDAO.createWorkoutLogs(logs)) {
+                return SAVE_LOGS_FAILED;
+            }
+            // 3. Mark Plan Complete
+            workoutPlanDAO.updatePlanStatus(planId, "COMPLETED");
+            return SAVE_OK;
+        }, result -> {
+            btnFinish.setEnabled(true);
+            if (result == SAVE_OK) {
                 Toast.makeText(this, "Workout Saved!", Toast.LENGTH_LONG).show();
                 finish();
+            } else if (result == SAVE_LOGS_FAILED) {
+                Toast.makeText(this, "Error saving logs", Toast.LENGTH_SHORT).show();
             } else {
-                 Toast.makeText(this, "Error saving logs", Toast.LENGTH_SHORT).show();
+                Toast.makeText(this, "Error creating session", Toast.LENGTH_SHORT).show();
             }
-        } else {
-             Toast.makeText(this, "Error creating session", Toast.LENGTH_SHORT).show();
-        }
+        }, error -> {
+            btnFinish.setEnabled(true);
+            Toast.makeText(this, "Error creating session", Toast.LENGTH_SHORT).show();
+        });
     }
     
     @Override
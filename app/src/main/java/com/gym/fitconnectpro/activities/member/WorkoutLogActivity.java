@@ -14,6 +14,7 @@ import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.adapters.WorkoutSessionAdapter;
 import com.gym.fitconnectpro.dao.MemberDashboardDAO;
 import com.gym.fitconnectpro.dao.WorkoutDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.models.WorkoutSession;
 import com.gym.fitconnectpro.services.Session;
 
@@ -29,7 +30,6 @@ public class WorkoutLogActivity extends AppCompatActivity {
     private WorkoutDAO workoutDAO;
     private MemberDashboardDAO memberDashboardDAO;
     private Session session;
-    private int memberId;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -44,15 +44,6 @@ public class WorkoutLogActivity extends AppCompatActivity {
         session = Session.getInstance(this);
         workoutDAO = new WorkoutDAO(this);
         memberDashboardDAO = new MemberDashboardDAO(this);
-        
-        // Get member ID from database using user_id
-        int userId = session.getUserId();
-        Map<String, String> memberInfo = memberDashboardDAO.getMemberHeaderInfo(userId);
-        if (memberInfo != null && memberInfo.containsKey("member_id")) {
-            memberId = Integer.parseInt(memberInfo.get("member_id"));
-        } else {
-            memberId = 0;
-        }
 
         rvWorkoutSessions = findViewById(R.id.rvWorkoutSessions);
         emptyState = findViewById(R.id.emptyState);
@@ -66,27 +57,32 @@ public class WorkoutLogActivity extends AppCompatActivity {
         // Get today's date
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
         String today = dateFormat.format(new Date());
+        int userId = session.getUserId();
 
-        try {
-            // Query workout sessions for today
-            List<WorkoutSession> sessions = workoutDAO.getTodayWorkoutSessions(memberId, today);
-
-            if (sessions != null && !sessions.isEmpty()) {
-                // Show RecyclerView, hide empty state
-                rvWorkoutSessions.setVisibility(View.VISIBLE);
-                emptyState.setVisibility(View.GONE);
-
-                // Set up adapter
-                WorkoutSessionAdapter adapter = new WorkoutSessionAdapter(sessions);
-                rvWorkoutSessions.setAdapter(adapter);
-            } else {
-                // Show empty state, hide RecyclerView
-                rvWorkoutSessions.setVisibility(View.GONE);
-                emptyState.setVisibility(View.VISIBLE);
+        DbExecutor.getInstance().read(this, () -> {
+            // Get member ID from database using user_id
+            Map<String, String> memberInfo = memberDashboardDAO.getMemberHeaderInfo(userId);
+            int id = 0;
+            if (memberInfo != null && memberInfo.containsKey("member_id")) {
+                id = Integer.parseInt(memberInfo.get("member_id"));
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            // Show empty state on error
+
+            // Query workout sessions for today
+            return workoutDAO.getTodayWorkoutSessions(id, today);
+        }, this::showSessions, error -> showSessions(null)); // Show empty state on error
+    }
+
+    private void showSessions(List<WorkoutSession> sessions) {
+        if (sessions != null && !sessions.isEmpty()) {
+            // Show RecyclerView, hide empty state
+            rvWorkoutSessions.setVisibility(View.VISIBLE);
+            emptyState.setVisibility(View.GONE);
+
+            // Set up adapter
+            WorkoutSessionAdapter adapter = new WorkoutSessionAdapter(sessions);
+            rvWorkoutSessions.setAdapter(adapter);
+        } else {
+            // Show empty state, hide RecyclerView
             rvWorkoutSessions.setVisibility(View.GONE);
             emptyState.setVisibility(View.VISIBLE);
         }
@@ -6,11 +6,13 @@ import android.os.Bundle;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.Button;
+import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.ActionBarDrawerToggle;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.core.view.GravityCompat;
@@ -19,8 +21,11 @@ import androidx.drawerlayout.widget.DrawerLayout;
 import com.google.android.material.navigation.NavigationView;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.activities.LoginActivity;
+import com.gym.fitconnectpro.dao.BroadcastDAO;
 import com.gym.fitconnectpro.dao.TrainerStatisticsDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Message;
+import com.gym.fitconnectpro.services.DailyRollupWorker;
 import com.gym.fitconnectpro.services.Session;
 
 import java.util.List;
@@ -46,6 +51,7 @@ public class TrainerDashboardActivity extends AppCompatActivity implements Navig
     
     private Session session;
     private TrainerStatisticsDAO statsDAO;
+    private BroadcastDAO broadcastDAO;
     private int trainerId; // We need to resolve this from User ID
 
     @Override
@@ -64,6 +70,8 @@ public class TrainerDashboardActivity extends AppCompatActivity implements Navig
 
         // Initialize DAO
         statsDAO = new TrainerStatisticsDAO(this);
+        broadcastDAO = new BroadcastDAO(this);
+        DailyRollupWorker.schedule(this);
         
         // TODO: We need to get the Trainer ID from the User ID stored in session. 
         // For now, assuming we might store it or we need a helper. 
@@ -174,15 +182,21 @@ public class TrainerDashboardActivity extends AppCompatActivity implements Navig
             return;
         }
 
-        int clientCount = statsDAO.getMyClientsCount(trainerId);
-        int completedWorkouts = statsDAO.getTodayCompletedWorkouts(trainerId);
-        int pendingPlans = statsDAO.getPendingWorkoutPlans(trainerId);
-        List<Message> messages = statsDAO.getRecentMessages(trainerId, 5); // Fetch 5 for table
-        
-        tvClientsCount.setText(String.valueOf(clientCount));
-        tvCompletedWorkouts.setText(String.valueOf(completedWorkouts));
-        tvPendingPlans.setText(String.valueOf(pendingPlans));
-        
+        final int id = trainerId;
+        DbExecutor.getInstance().read(this, () -> new int[] {
+                statsDAO.getMyClientsCount(id),
+                statsDAO.getTodayCompletedWorkouts(id),
+                statsDAO.getPendingWorkoutPlans(id)
+        }, counts -> {
+            tvClientsCount.setText(String.valueOf(counts[0]));
+            tvCompletedWorkouts.setText(String.valueOf(counts[1]));
+            tvPendingPlans.setText(String.valueOf(counts[2]));
+        });
+
+        DbExecutor.getInstance().read(this, () -> statsDAO.getRecentMessages(id, 5), this::showRecentMessages); // Fetch 5 for table
+    }
+
+    private void showRecentMessages(List<Message> messages) {
         if (tableRecentMessages.getChildCount() > 2) {
             tableRecentMessages.removeViews(2, tableRecentMessages.getChildCount() - 2);
         }
@@ -260,6 +274,32 @@ public class TrainerDashboardActivity extends AppCompatActivity implements Navig
         });
     }
 
+    private void showBroadcastDialog() {
+        if (trainerId == -1) return;
+        EditText input = new EditText(this);
+        input.setHint("Announcement for all your clients");
+        input.setMinLines(3);
+        new AlertDialog.Builder(this)
+                .setTitle("Broadcast to Clients")
+                .setView(input)
+                .setPositiveButton("Send", (dialog, which) -> {
+                    String content = input.getText().toString().trim();
+                    if (content.isEmpty()) return;
+                    final int id = trainerId;
+                    DbExecutor.getInstance().write(this, () -> broadcastDAO.sendBroadcast(id, content) != -1
+                            ? statsDAO.getMyClientsCount(id) : -1, clients -> {
+                        if (clients < 0) {
+                            Toast.makeText(this, "Failed to send announcement", Toast.LENGTH_SHORT).show();
+                        } else {
+                            Toast.makeText(this, "Announcement sent to " + clients + " clients", Toast.LENGTH_SHORT).show();
+                            loadDashboardStatistics();
+                        }
+                    });
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
     @Override
     public boolean onNavigationItemSelected(@NonNull MenuItem item) {
         int id = item.getItemId();
@@ -276,6 +316,8 @@ public class TrainerDashboardActivity extends AppCompatActivity implements Navig
             loadFragment(com.gym.fitconnectpro.fragments.trainer.CreateMealPlanFragment.newInstance(), "Assign Meal Plan");
         } else if (id == R.id.nav_reports) {
             loadFragment(com.gym.fitconnectpro.fragments.trainer.ClientProgressFragment.newInstance(), "Client Progress");
+        } else if (id == R.id.nav_broadcast) {
+            showBroadcastDialog();
         } else if (id == R.id.nav_messages) {
             loadFragment(com.gym.fitconnectpro.fragments.trainer.TrainerMessagesFragment.newInstance(), "Messages");
         } else if (id == R.id.nav_profile) {
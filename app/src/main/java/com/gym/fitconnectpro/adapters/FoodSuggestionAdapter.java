@@ -0,0 +1,61 @@
+package com.gym.fitconnectpro.adapters;
+
+import android.content.Context;
+import android.widget.ArrayAdapter;
+import android.widget.Filter;
+
+import androidx.annotation.NonNull;
+
+import com.gym.fitconnectpro.models.Food;
+import com.gym.fitconnectpro.services.FoodCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Autocomplete adapter backed by the in-memory FoodCatalog.
+ * Filtering runs on the widget's background filter thread and returns the top ranked matches
+ * instead of scanning a full adapter list.
+ */
+public class FoodSuggestionAdapter extends ArrayAdapter<Food> {
+
+    private final FoodCatalog foodCatalog;
+    private final Filter filter = new Filter() {
+        @Override
+        protected FilterResults performFiltering(CharSequence constraint) {
+            List<Food> matches = foodCatalog.search(constraint != null ? constraint.toString() : "",
+                    FoodCatalog.DEFAULT_LIMIT);
+            FilterResults results = new FilterResults();
+            results.values = matches;
+            results.count = matches.size();
+            return results;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void publishResults(CharSequence constraint, FilterResults results) {
+            setNotifyOnChange(false);
+            clear();
+            if (results.values != null) {
+                addAll((List<Food>) results.values);
+            }
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public CharSequence convertResultToString(Object resultValue) {
+            return resultValue instanceof Food ? ((Food) resultValue).getName() : super.convertResultToString(resultValue);
+        }
+    };
+
+    public FoodSuggestionAdapter(Context context) {
+        super(context, android.R.layout.simple_dropdown_item_1line, new ArrayList<>());
+        foodCatalog = FoodCatalog.getInstance(context);
+    }
+
+    @NonNull
+    @Override
+    public Filter getFilter() {
+        return filter;
+    }
+}
@@ -32,10 +32,17 @@ public class MemberAdapter extends RecyclerView.Adapter<MemberAdapter.MemberView
     }
 
     public void setMembers(List<Member> members) {
-        this.memberList = members;
+        this.memberList = new ArrayList<>(members);
         notifyDataSetChanged();
     }
 
+    public void appendMembers(List<Member> members) {
+        if (members.isEmpty()) return;
+        int start = memberList.size();
+        memberList.addAll(members);
+        notifyItemRangeInserted(start, members.size());
+    }
+
     @NonNull
     @Override
     public MemberViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
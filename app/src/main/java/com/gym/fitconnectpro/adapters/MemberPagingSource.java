@@ -0,0 +1,150 @@
+package com.gym.fitconnectpro.adapters;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.gym.fitconnectpro.dao.MemberDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
+import com.gym.fitconnectpro.database.entities.Member;
+
+import java.util.List;
+
+/**
+ * Feeds a MemberAdapter one keyset page at a time.
+ * The next page is requested as soon as the user scrolls within PREFETCH_DISTANCE rows of the end,
+ * so rows are only loaded once the user nears them. Loaded pages are appended to the adapter and
+ * kept there, so memory grows with how far the list has been scrolled, not with the table size.
+ * With a search keyword the pages are offset windows over the ranked matches instead, since rank is not a keyset.
+ */
+public class MemberPagingSource {
+
+    private static final String TAG = "MemberPagingSource";
+
+    public static final int PAGE_SIZE = 30;
+    private static final int PREFETCH_DISTANCE = 10;
+
+    /**
+     * Called on the main thread after the first page of a new query is bound
+     */
+    public interface Listener {
+        void onFirstPageLoaded(int totalCount);
+    }
+
+    private final MemberDAO memberDAO;
+    private final MemberAdapter adapter;
+    private final LifecycleOwner owner;
+    private final Listener listener;
+
+    private String status = "All";
+    private String keyword = "";
+
+    private String lastKey;
+    private int lastId;
+    private int rankedOffset;
+    private boolean hasMore = true;
+    private boolean loading = false;
+    // Bumped on every refresh so pages of a stale query are dropped
+    private int generation = 0;
+
+    public MemberPagingSource(Context context, MemberAdapter adapter, LifecycleOwner owner, Listener listener) {
+        this.memberDAO = new MemberDAO(context.getApplicationContext());
+        this.adapter = adapter;
+        this.owner = owner;
+        this.listener = listener;
+    }
+
+    /**
+     * Start prefetching from the given list as it scrolls
+     */
+    public void attach(RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                RecyclerView.LayoutManager layoutManager = rv.getLayoutManager();
+                if (dy <= 0 || !(layoutManager instanceof LinearLayoutManager)) return;
+
+                int lastVisible = ((LinearLayoutManager) layoutManager).findLastVisibleItemPosition();
+                if (lastVisible >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+    }
+
+    public void setFilter(String status, String keyword) {
+        this.status = status;
+        this.keyword = keyword;
+        refresh();
+    }
+
+    /**
+     * Drop loaded pages and reload from the first page with the current filters
+     */
+    public void refresh() {
+        generation++;
+        lastKey = null;
+        lastId = 0;
+        rankedOffset = 0;
+        hasMore = true;
+        loading = false;
+        loadPage(true);
+    }
+
+    public void loadNextPage() {
+        if (loading || !hasMore) return;
+        loadPage(false);
+    }
+
+    private void loadPage(boolean first) {
+        loading = true;
+        final int requestGeneration = generation;
+        final String queryStatus = status;
+        final String queryKeyword = keyword;
+        final String afterKey = lastKey;
+        final int afterId = lastId;
+        final int offset = rankedOffset;
+
+        final boolean ranked = queryKeyword != null && !queryKeyword.trim().isEmpty();
+
+        DbExecutor.getInstance().read(owner, () -> {
+            PageResult result = new PageResult();
+            if (ranked) {
+                result.members = memberDAO.searchMembers(queryKeyword, queryStatus, PAGE_SIZE, offset);
+            } else {
+                result.members = memberDAO.getMembersPage(queryStatus, null, afterKey, afterId, PAGE_SIZE);
+            }
+            result.totalCount = first ? memberDAO.countMembers(queryStatus, queryKeyword) : -1;
+            return result;
+        }, result -> {
+            if (requestGeneration != generation) return;
+            loading = false;
+
+            List<Member> page = result.members;
+            hasMore = page.size() == PAGE_SIZE;
+            rankedOffset += page.size();
+            if (!page.isEmpty()) {
+                Member last = page.get(page.size() - 1);
+                lastKey = MemberDAO.pageKey(last);
+                lastId = last.getMemberId();
+            }
+
+            if (first) {
+                adapter.setMembers(page);
+                if (listener != null) listener.onFirstPageLoaded(result.totalCount);
+            } else {
+                adapter.appendMembers(page);
+            }
+            Log.d(TAG, "Loaded " + page.size() + " members, " + adapter.getItemCount() + " in list");
+        });
+    }
+
+    private static class PageResult {
+        List<Member> members;
+        int totalCount;
+    }
+}
@@ -6,26 +6,76 @@ import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.util.AttributeSet;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
 import android.view.View;
+import android.view.ViewParent;
 
 import androidx.annotation.Nullable;
 
+import com.gym.fitconnectpro.models.TimeSeries;
 import com.gym.fitconnectpro.models.WeightLog;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
+/**
+ * Line chart for long weight histories.
+ * Points live in primitive float buffers that are reused across setData calls. The line is one cached Path
+ * over the whole history, downsampled with LTTB to roughly one point per pixel of the zoomed width, and
+ * rebuilt only when the data, size or zoom changes; panning just translates it. onDraw does not allocate.
+ * An optional trend series (e.g. an EWMA) is drawn over the data on the same axes.
+ * Pinch to zoom horizontally, drag to pan, double tap to reset.
+ */
 public class SimpleLineChart extends View {
 
+    private static final float PADDING = 80f; // Left padding for y-axis labels
+    private static final float POINT_RADIUS = 8f;
+    // Points are only marked when they are at least this far apart on screen
+    private static final float MIN_POINT_SPACING = 24f;
+    // Deepest zoom shows about this many points across the plot
+    private static final int MIN_VISIBLE_POINTS = 8;
+    private static final String NO_DATA = "No Data Available";
+
     private Paint linePaint;
     private Paint pointPaint;
     private Paint textPaint;
     private Paint gridPaint;
-    
-    private List<WeightLog> dataPoints = new ArrayList<>();
+    private Paint trendPaint;
+
+    // Data, x ascending (epoch day, or index when dates are unusable)
+    private float[] xData = new float[0];
+    private float[] yData = new float[0];
+    private int count;
+    private float minX, maxX;
     private float minWeight = 0;
     private float maxWeight = 0;
+    private String minLabel = "";
+    private String maxLabel = "";
+
+    // LTTB output in content coordinates, the source of the cached path
+    private float[] sampledX = new float[0];
+    private float[] sampledY = new float[0];
+    private int sampledCount;
+    private final Path linePath = new Path();
+    private boolean pathDirty = true;
+
+    // Optional trend overlay, same x units as the data
+    private float[] trendXData = new float[0];
+    private float[] trendYData = new float[0];
+    private int trendCount;
+    private float[] trendSampledX = new float[0];
+    private float[] trendSampledY = new float[0];
+    private final Path trendPath = new Path();
+
+    // Viewport: content is the plot width times zoom, scrolled horizontally
+    private float zoom = 1f;
+    private float scrollOffset;
+    private float pathZoom = -1f;
+
+    private ScaleGestureDetector scaleDetector;
+    private GestureDetector gestureDetector;
 
     public SimpleLineChart(Context context) {
         super(context);
@@ -42,105 +92,365 @@ public class SimpleLineChart extends View {
         linePaint.setColor(Color.parseColor("#3498DB")); // Blue
         linePaint.setStrokeWidth(5f);
         linePaint.setStyle(Paint.Style.STROKE);
+        linePaint.setStrokeJoin(Paint.Join.ROUND);
         linePaint.setAntiAlias(true);
 
         pointPaint = new Paint();
         pointPaint.setColor(Color.parseColor("#E74C3C")); // Red points
         pointPaint.setStyle(Paint.Style.FILL);
         pointPaint.setAntiAlias(true);
-        
+
         textPaint = new Paint();
         textPaint.setColor(Color.DKGRAY);
         textPaint.setTextSize(30f);
         textPaint.setAntiAlias(true);
-        
+
         gridPaint = new Paint();
         gridPaint.setColor(Color.LTGRAY);
         gridPaint.setStrokeWidth(2f);
+
+        trendPaint = new Paint();
+        trendPaint.setColor(Color.parseColor("#2ECC71")); // Green
+        trendPaint.setStrokeWidth(4f);
+        trendPaint.setStyle(Paint.Style.STROKE);
+        trendPaint.setStrokeJoin(Paint.Join.ROUND);
+        trendPaint.setAntiAlias(true);
+
+        scaleDetector = new ScaleGestureDetector(getContext(), new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+            @Override
+            public boolean onScale(ScaleGestureDetector detector) {
+                zoomBy(detector.getScaleFactor(), detector.getFocusX() - PADDING);
+                return true;
+            }
+        });
+        gestureDetector = new GestureDetector(getContext(), new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public boolean onDown(MotionEvent e) {
+                return count > 1;
+            }
+
+            @Override
+            public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+                if (scaleDetector.isInProgress()) return true;
+                if (Math.abs(distanceX) > Math.abs(distanceY)) {
+                    // Keep a parent ScrollView from stealing horizontal drags
+                    ViewParent parent = getParent();
+                    if (parent != null) parent.requestDisallowInterceptTouchEvent(true);
+                }
+                scrollTo(scrollOffset + distanceX);
+                return true;
+            }
+
+            @Override
+            public boolean onDoubleTap(MotionEvent e) {
+                zoom = 1f;
+                scrollOffset = 0;
+                invalidate();
+                return true;
+            }
+        });
     }
 
     public void setData(List<WeightLog> data) {
-        this.dataPoints = data;
-        if (data != null && !data.isEmpty()) {
+        int n = data != null ? data.size() : 0;
+        ensureCapacity(n);
+
+        boolean datesUsable = true;
+        for (int i = 0; i < n; i++) {
+            WeightLog log = data.get(i);
+            yData[i] = (float) log.getWeight();
+            int day = TimeSeries.epochDay(log.getLogDate());
+            if (day == Integer.MIN_VALUE || (i > 0 && day < xData[i - 1])) {
+                datesUsable = false;
+            }
+            xData[i] = day;
+        }
+        if (!datesUsable) {
+            for (int i = 0; i < n; i++) xData[i] = i;
+        }
+        trendCount = 0;
+        applyData(n);
+    }
+
+    /**
+     * Plot count points; x must be ascending (e.g. epoch days). The arrays are copied.
+     */
+    public void setData(float[] x, float[] y, int count) {
+        ensureCapacity(count);
+        System.arraycopy(x, 0, xData, 0, count);
+        System.arraycopy(y, 0, yData, 0, count);
+        trendCount = 0;
+        applyData(count);
+    }
+
+    /**
+     * Plot a series by epoch day, with an optional trend line (null for none) on the same axes
+     */
+    public void setData(TimeSeries data, @Nullable TimeSeries trend) {
+        int n = data.size();
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            xData[i] = data.dayAt(i);
+            yData[i] = data.valueAt(i);
+        }
+
+        trendCount = trend != null ? trend.size() : 0;
+        if (trendXData.length < trendCount) {
+            trendXData = new float[trendCount];
+            trendYData = new float[trendCount];
+            trendSampledX = new float[trendCount];
+            trendSampledY = new float[trendCount];
+        }
+        for (int i = 0; i < trendCount; i++) {
+            trendXData[i] = trend.dayAt(i);
+            trendYData[i] = trend.valueAt(i);
+        }
+        applyData(n);
+    }
+
+    private void ensureCapacity(int n) {
+        if (xData.length < n) {
+            xData = new float[n];
+            yData = new float[n];
+            sampledX = new float[n];
+            sampledY = new float[n];
+        }
+    }
+
+    private void applyData(int n) {
+        count = n;
+        if (n > 0) {
             calculateRange();
         }
+        zoom = 1f;
+        scrollOffset = 0;
+        pathDirty = true;
         invalidate(); // Redraw
     }
 
     private void calculateRange() {
         minWeight = Float.MAX_VALUE;
-        maxWeight = Float.MIN_VALUE;
+        maxWeight = -Float.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            float w = yData[i];
+            if (w < minWeight) minWeight = w;
+            if (w > maxWeight) maxWeight = w;
+        }
 
-        for (WeightLog log : dataPoints) {
-            float w = (float) log.getWeight();
+        for (int i = 0; i < trendCount; i++) {
+            float w = trendYData[i];
             if (w < minWeight) minWeight = w;
             if (w > maxWeight) maxWeight = w;
         }
-        
+
         // Add padding
         minWeight -= 2;
         maxWeight += 2;
+
+        minX = xData[0];
+        maxX = xData[count - 1];
+        minLabel = String.format(Locale.getDefault(), "%.1f", minWeight);
+        maxLabel = String.format(Locale.getDefault(), "%.1f", maxWeight);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        pathDirty = true;
+        scrollTo(scrollOffset);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (count < 2) {
+            return super.onTouchEvent(event);
+        }
+        scaleDetector.onTouchEvent(event);
+        gestureDetector.onTouchEvent(event);
+        if (event.getActionMasked() == MotionEvent.ACTION_UP || event.getActionMasked() == MotionEvent.ACTION_CANCEL) {
+            ViewParent parent = getParent();
+            if (parent != null) parent.requestDisallowInterceptTouchEvent(false);
+        }
+        return true;
+    }
+
+    private void zoomBy(float factor, float focusX) {
+        float maxZoom = Math.max(1f, count / (float) MIN_VISIBLE_POINTS);
+        float newZoom = Math.max(1f, Math.min(maxZoom, zoom * factor));
+        if (newZoom == zoom) return;
+        // Keep the content under the focus point in place
+        float focusContent = scrollOffset + focusX;
+        scrollOffset = focusContent * (newZoom / zoom) - focusX;
+        zoom = newZoom;
+        scrollTo(scrollOffset);
+    }
+
+    private void scrollTo(float offset) {
+        float maxOffset = plotWidth() * (zoom - 1f);
+        scrollOffset = Math.max(0f, Math.min(maxOffset, offset));
+        invalidate();
+    }
+
+    private float plotWidth() {
+        return Math.max(0f, getWidth() - PADDING * 2);
+    }
+
+    private float plotHeight() {
+        return Math.max(0f, getHeight() - PADDING * 2);
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
-        if (dataPoints == null || dataPoints.isEmpty()) {
-            canvas.drawText("No Data Available", getWidth() / 2f - 100, getHeight() / 2f, textPaint);
+        if (count == 0) {
+            canvas.drawText(NO_DATA, getWidth() / 2f - 100, getHeight() / 2f, textPaint);
             return;
         }
 
         float width = getWidth();
         float height = getHeight();
-        float padding = 80f; // Left padding for y-axis labels
-        float usableWidth = width - (padding * 2);
-        float usableHeight = height - (padding * 2);
+        float usableWidth = plotWidth();
+        float usableHeight = plotHeight();
 
         // Draw Axes
-        canvas.drawLine(padding, height - padding, width - padding, height - padding, gridPaint); // X-axis
-        canvas.drawLine(padding, padding, padding, height - padding, gridPaint); // Y-axis
+        canvas.drawLine(PADDING, height - PADDING, width - PADDING, height - PADDING, gridPaint); // X-axis
+        canvas.drawLine(PADDING, PADDING, PADDING, height - PADDING, gridPaint); // Y-axis
 
-        // Draw Y-Axis Labels (Min, Mid, Max)
-        canvas.drawText(String.format("%.1f", maxWeight), 10, padding + 10, textPaint);
-        canvas.drawText(String.format("%.1f", minWeight), 10, height - padding, textPaint);
+        // Draw Y-Axis Labels (Min, Max)
+        canvas.drawText(maxLabel, 10, PADDING + 10, textPaint);
+        canvas.drawText(minLabel, 10, height - PADDING, textPaint);
 
-        if (dataPoints.size() < 2) {
+        if (count < 2) {
             // Just draw one point
-             float x = padding + (usableWidth / 2);
-             float y = height - padding - (( (float)dataPoints.get(0).getWeight() - minWeight) / (maxWeight - minWeight) * usableHeight);
-             canvas.drawCircle(x, y, 10f, pointPaint);
-             return;
-        }
-
-        Path path = new Path();
-        float stepX = usableWidth / (dataPoints.size() - 1);
-        
-        List<Float> xCoords = new ArrayList<>();
-        List<Float> yCoords = new ArrayList<>();
-
-        for (int i = 0; i < dataPoints.size(); i++) {
-            float weight = (float) dataPoints.get(i).getWeight();
-            float x = padding + (i * stepX);
-            float y = height - padding - ((weight - minWeight) / (maxWeight - minWeight) * usableHeight);
-            
-            xCoords.add(x);
-            yCoords.add(y);
-            
+            float x = PADDING + (usableWidth / 2);
+            float y = height - PADDING - ((yData[0] - minWeight) / (maxWeight - minWeight) * usableHeight);
+            canvas.drawCircle(x, y, 10f, pointPaint);
+            return;
+        }
+
+        if (pathDirty || pathZoom != zoom) {
+            rebuildPath(usableWidth * zoom, usableHeight);
+        }
+
+        int save = canvas.save();
+        canvas.clipRect(PADDING - POINT_RADIUS, PADDING - POINT_RADIUS,
+                width - PADDING + POINT_RADIUS, height - PADDING + POINT_RADIUS);
+        canvas.translate(PADDING - scrollOffset, PADDING);
+        canvas.drawPath(linePath, linePaint);
+        if (trendCount > 1) {
+            canvas.drawPath(trendPath, trendPaint);
+        }
+
+        // Mark points only when they are far enough apart to read
+        if (sampledCount * MIN_POINT_SPACING <= usableWidth * zoom) {
+            int first = lowerBound(sampledX, sampledCount, scrollOffset - POINT_RADIUS);
+            float right = scrollOffset + usableWidth + POINT_RADIUS;
+            for (int i = first; i < sampledCount && sampledX[i] <= right; i++) {
+                canvas.drawCircle(sampledX[i], sampledY[i], POINT_RADIUS, pointPaint);
+            }
+        }
+        canvas.restoreToCount(save);
+    }
+
+    /**
+     * Downsample to the content width and rebuild the lines in content coordinates
+     * (x from 0 to contentWidth, y from 0 at maxWeight to usableHeight at minWeight)
+     */
+    private void rebuildPath(float contentWidth, float usableHeight) {
+        int threshold = Math.max(3, (int) contentWidth);
+        sampledCount = buildPath(xData, yData, count, threshold, contentWidth, usableHeight, sampledX, sampledY, linePath);
+        if (trendCount > 1) {
+            buildPath(trendXData, trendYData, trendCount, threshold, contentWidth, usableHeight,
+                    trendSampledX, trendSampledY, trendPath);
+        }
+        pathZoom = zoom;
+        pathDirty = false;
+    }
+
+    private int buildPath(float[] x, float[] y, int n, int threshold, float contentWidth, float usableHeight,
+                          float[] outX, float[] outY, Path path) {
+        int sampled = lttb(x, y, n, threshold, outX, outY);
+
+        float spanX = maxX > minX ? maxX - minX : 1f;
+        float scaleX = contentWidth / spanX;
+        float scaleY = usableHeight / (maxWeight - minWeight);
+
+        path.rewind();
+        for (int i = 0; i < sampled; i++) {
+            float px = (outX[i] - minX) * scaleX;
+            float py = (maxWeight - outY[i]) * scaleY;
+            outX[i] = px;
+            outY[i] = py;
             if (i == 0) {
-                path.moveTo(x, y);
+                path.moveTo(px, py);
             } else {
-                path.lineTo(x, y);
+                path.lineTo(px, py);
             }
         }
+        return sampled;
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: keep the first and last points and, from each of threshold - 2 buckets
+     * in between, the point forming the largest triangle with the previously kept point and the next bucket's average.
+     * @return number of points written to outX/outY
+     */
+    static int lttb(float[] x, float[] y, int n, int threshold, float[] outX, float[] outY) {
+        if (threshold >= n || threshold < 3) {
+            System.arraycopy(x, 0, outX, 0, n);
+            System.arraycopy(y, 0, outY, 0, n);
+            return n;
+        }
+
+        double every = (double) (n - 2) / (threshold - 2);
+        int kept = 0;
+        int a = 0;
+        outX[kept] = x[0];
+        outY[kept++] = y[0];
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // Average of the next bucket (the last point for the final bucket)
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            float avgX = 0, avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            int avgCount = avgEnd - avgStart;
+            avgX /= avgCount;
+            avgY /= avgCount;
 
-        canvas.drawPath(path, linePaint);
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            float ax = x[a], ay = y[a];
+            float maxArea = -1f;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                float area = Math.abs((ax - avgX) * (y[j] - ay) - (ax - x[j]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            outX[kept] = x[next];
+            outY[kept++] = y[next];
+            a = next;
+        }
+
+        outX[kept] = x[n - 1];
+        outY[kept++] = y[n - 1];
+        return kept;
+    }
 
-        // Draw points and labels
-        for (int i = 0; i < xCoords.size(); i++) {
-            canvas.drawCircle(xCoords.get(i), yCoords.get(i), 8f, pointPaint);
-            // Draw date label for first and last? Or just date indices.
-            // Let's simple draw date substring for each point if enough space, or just first/last
+    private static int lowerBound(float[] values, int n, float key) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) lo = mid + 1; else hi = mid;
         }
+        return lo;
     }
 }
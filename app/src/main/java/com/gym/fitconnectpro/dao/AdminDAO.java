@@ -8,7 +8,7 @@ import android.util.Log;
 
 import com.gym.fitconnectpro.database.DatabaseHelper;
 import com.gym.fitconnectpro.models.User;
-import com.gym.fitconnectpro.utils.PasswordUtil;
+import com.gym.fitconnectpro.services.PasswordHasher;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +17,7 @@ public class AdminDAO {
 
     private static final String TAG = "AdminDAO";
     private DatabaseHelper dbHelper;
+    private PasswordHasher passwordHasher;
 
     // Table and column names
     private static final String TABLE_USERS = "users";
@@ -30,6 +31,7 @@ public class AdminDAO {
 
     public AdminDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
+        passwordHasher = PasswordHasher.getInstance(context);
     }
 
     /**
@@ -59,7 +61,7 @@ public class AdminDAO {
                 int passwordIndex = cursor.getColumnIndex(KEY_PASSWORD);
                 String hashedPassword = cursor.getString(passwordIndex);
 
-                if (PasswordUtil.verifyPassword(password, hashedPassword)) {
+                if (passwordHasher.verify(password, hashedPassword)) {
                     return extractUserFromCursor(cursor);
                 }
             }
@@ -197,12 +199,12 @@ public class AdminDAO {
                 int passwordIndex = cursor.getColumnIndex(KEY_PASSWORD);
                 String hashedPassword = cursor.getString(passwordIndex);
 
-                if (!PasswordUtil.verifyPassword(oldPassword, hashedPassword)) {
+                if (!passwordHasher.verify(oldPassword, hashedPassword)) {
                     return false;
                 }
 
                 // Update with new password
-                String newHashedPassword = PasswordUtil.hashPassword(newPassword);
+                String newHashedPassword = passwordHasher.hash(newPassword);
 
                 ContentValues values = new ContentValues();
                 values.put(KEY_PASSWORD, newHashedPassword);
@@ -7,13 +7,15 @@ import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
 import com.gym.fitconnectpro.database.DatabaseHelper;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.models.User;
 import com.gym.fitconnectpro.models.Member;
 import com.gym.fitconnectpro.database.entities.Trainer;
-import com.gym.fitconnectpro.utils.PasswordUtil;
+import com.gym.fitconnectpro.services.PasswordHasher;
 import com.gym.fitconnectpro.utils.DateUtil;
 
 import java.util.Date;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Data Access Object for authentication operations
@@ -23,6 +25,7 @@ public class AuthDAO {
 
     private static final String TAG = "AuthDAO";
     private DatabaseHelper dbHelper;
+    private PasswordHasher passwordHasher;
 
     // Table names
     private static final String TABLE_USERS = "users";
@@ -48,6 +51,7 @@ public class AuthDAO {
 
     public AuthDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
+        passwordHasher = PasswordHasher.getInstance(context);
     }
 
     /**
@@ -55,6 +59,7 @@ public class AuthDAO {
      * @param username Admin username
      * @param password Admin password (plain text)
      * @return User object if authentication successful, null otherwise
+     * @throws RejectedExecutionException if the password hashing pool is saturated
      */
     public User authenticateAdmin(String username, String password) {
         SQLiteDatabase db = null;
@@ -82,11 +87,12 @@ public class AuthDAO {
                 String hashedPassword = cursor.getString(passwordIndex);
 
                 // Verify password using BCrypt
-                if (PasswordUtil.verifyPassword(password, hashedPassword)) {
+                if (passwordHasher.verify(password, hashedPassword)) {
                     User admin = extractUserFromCursor(cursor);
+                    upgradeHashIfNeeded(admin.getId(), password, hashedPassword);
 
                     // Update last login timestamp
-                    updateLastLogin(db, admin.getId(), TABLE_USERS);
+                    updateLastLogin(admin.getId(), TABLE_USERS);
 
                     Log.d(TAG, "Admin authenticated successfully: " + username);
                     return admin;
@@ -96,6 +102,8 @@ public class AuthDAO {
             Log.w(TAG, "Admin authentication failed for username: " + username);
             return null;
 
+        } catch (RejectedExecutionException e) {
+            throw e; // Hashing pool busy: not a wrong password
         } catch (Exception e) {
             Log.e(TAG, "Error authenticating admin", e);
             return null;
@@ -109,6 +117,7 @@ public class AuthDAO {
      * @param username Trainer username
      * @param password Trainer password (plain text)
      * @return Trainer object if authentication successful, null otherwise
+     * @throws RejectedExecutionException if the password hashing pool is saturated
      */
     public Trainer authenticateTrainer(String username, String password) {
         SQLiteDatabase db = null;
@@ -140,7 +149,8 @@ public class AuthDAO {
                 int userId = userCursor.getInt(userIdIndex);
 
                 // Verify password using BCrypt
-                if (PasswordUtil.verifyPassword(password, hashedPassword)) {
+                if (passwordHasher.verify(password, hashedPassword)) {
+                    upgradeHashIfNeeded(userId, password, hashedPassword);
 
                     // Query trainer details from trainers table
                     String trainerSelection = KEY_USER_ID + " = ? AND " + KEY_STATUS + " = ?";
@@ -160,7 +170,7 @@ public class AuthDAO {
                         Trainer trainer = extractTrainerFromCursors(userCursor, trainerCursor);
 
                         // Update last login timestamp
-                        updateLastLogin(db, trainer.getId(), TABLE_TRAINERS);
+                        updateLastLogin(trainer.getId(), TABLE_TRAINERS);
 
                         Log.d(TAG, "Trainer authenticated successfully: " + username);
                         return trainer;
@@ -171,6 +181,8 @@ public class AuthDAO {
             Log.w(TAG, "Trainer authentication failed for username: " + username);
             return null;
 
+        } catch (RejectedExecutionException e) {
+            throw e; // Hashing pool busy: not a wrong password
         } catch (Exception e) {
             Log.e(TAG, "Error authenticating trainer", e);
             return null;
@@ -185,6 +197,7 @@ public class AuthDAO {
      * @param username Member username
      * @param password Member password (plain text)
      * @return Member object if authentication successful, null otherwise
+     * @throws RejectedExecutionException if the password hashing pool is saturated
      */
     public Member authenticateMember(String username, String password) {
         SQLiteDatabase db = null;
@@ -217,7 +230,8 @@ public class AuthDAO {
                 int userId = userCursor.getInt(userIdIndex);
 
                 // Verify password using BCrypt
-                if (PasswordUtil.verifyPassword(password, hashedPassword)) {
+                if (passwordHasher.verify(password, hashedPassword)) {
+                    upgradeHashIfNeeded(userId, password, hashedPassword);
 
                     // Try to query member details by user_id first
                     String memberSelection = KEY_USER_ID + " = ? AND " + KEY_STATUS + " = ?";
@@ -256,15 +270,7 @@ public class AuthDAO {
                             int memberIdIndex = memberCursor.getColumnIndex(KEY_MEMBER_ID);
                             int memberId = memberCursor.getInt(memberIdIndex);
                             
-                            try {
-                                ContentValues updateValues = new ContentValues();
-                                updateValues.put(KEY_USER_ID, userId);
-                                db.update(TABLE_MEMBERS, updateValues, KEY_MEMBER_ID + " = ?", 
-                                         new String[]{String.valueOf(memberId)});
-                                Log.d(TAG, "Updated member record with user_id: " + userId);
-                            } catch (Exception e) {
-                                Log.e(TAG, "Error updating member user_id", e);
-                            }
+                            linkMemberToUser(memberId, userId);
                         }
                     }
 
@@ -277,7 +283,7 @@ public class AuthDAO {
                             Member member = extractMemberFromCursors(userCursor, memberCursor);
 
                             // Update last login timestamp
-                            updateLastLogin(db, member.getId(), TABLE_MEMBERS);
+                            updateLastLogin(member.getId(), TABLE_MEMBERS);
 
                             Log.d(TAG, "Member authenticated successfully: " + username);
                             return member;
@@ -293,6 +299,8 @@ public class AuthDAO {
             Log.w(TAG, "Member authentication failed for username: " + username);
             return null;
 
+        } catch (RejectedExecutionException e) {
+            throw e; // Hashing pool busy: not a wrong password
         } catch (Exception e) {
             Log.e(TAG, "Error authenticating member", e);
             return null;
@@ -314,12 +322,12 @@ public class AuthDAO {
         SQLiteDatabase db = null;
 
         try {
+            // Hash new password using BCrypt before taking the write lock
+            String hashedPassword = passwordHasher.hash(newPassword);
+
             db = dbHelper.getWritableDatabase();
             db.beginTransaction();
 
-            // Hash new password using BCrypt
-            String hashedPassword = PasswordUtil.hashPassword(newPassword);
-
             // Update password in users table
             ContentValues userValues = new ContentValues();
             userValues.put(KEY_PASSWORD, hashedPassword);
@@ -357,24 +365,71 @@ public class AuthDAO {
     }
 
     /**
-     * Update last login timestamp
-     * @param db Database instance
-     * @param recordId Record ID in the specific table
-     * @param tableName Table name (users, trainers, or members)
+     * After a successful login, replace a hash made at a stale cost with one at this device's cost.
+     * Hashing runs on the hasher pool and the write on the database writer, so the login returns immediately;
+     * the update only applies if the stored hash is still the one that was verified.
+     * @param userId ID in the users table
      */
-    private void updateLastLogin(SQLiteDatabase db, int recordId, String tableName) {
-        try {
-            ContentValues values = new ContentValues();
-            values.put(KEY_UPDATED_AT, DateUtil.formatSqlDateTime(new Date()));
+    private void upgradeHashIfNeeded(int userId, String password, String oldHash) {
+        if (!passwordHasher.needsRehash(oldHash)) {
+            return;
+        }
 
-            String whereClause = KEY_ID + " = ?";
-            String[] whereArgs = {String.valueOf(recordId)};
+        passwordHasher.hashAsync(password)
+                .thenCompose(newHash -> DbExecutor.getInstance().write(() -> {
+                    ContentValues values = new ContentValues();
+                    values.put(KEY_PASSWORD, newHash);
+                    return dbHelper.getWritableDatabase().update(TABLE_USERS, values,
+                            KEY_ID + " = ? AND " + KEY_PASSWORD + " = ?",
+                            new String[]{String.valueOf(userId), oldHash});
+                }))
+                .whenComplete((rows, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error upgrading password hash", e);
+                    } else if (rows > 0) {
+                        Log.d(TAG, "Upgraded password hash for user ID: " + userId);
+                    }
+                });
+    }
 
-            db.update(tableName, values, whereClause, whereArgs);
+    /**
+     * Update last login timestamp on the database writer; the login does not wait for it
+     * @param recordId Record ID in the specific table
+     * @param tableName Table name (users, trainers, or members)
+     */
+    private void updateLastLogin(int recordId, String tableName) {
+        ContentValues values = new ContentValues();
+        values.put(KEY_UPDATED_AT, DateUtil.formatSqlDateTime(new Date()));
+
+        String whereClause = KEY_ID + " = ?";
+        String[] whereArgs = {String.valueOf(recordId)};
+
+        DbExecutor.getInstance()
+                .write(() -> dbHelper.getWritableDatabase().update(tableName, values, whereClause, whereArgs))
+                .whenComplete((rows, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error updating last login", e);
+                    }
+                });
+    }
 
-        } catch (Exception e) {
-            Log.e(TAG, "Error updating last login", e);
-        }
+    /**
+     * Store user_id on a legacy member record found by username, on the database writer
+     */
+    private void linkMemberToUser(int memberId, int userId) {
+        ContentValues values = new ContentValues();
+        values.put(KEY_USER_ID, userId);
+
+        DbExecutor.getInstance()
+                .write(() -> dbHelper.getWritableDatabase().update(TABLE_MEMBERS, values,
+                        KEY_MEMBER_ID + " = ?", new String[]{String.valueOf(memberId)}))
+                .whenComplete((rows, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error updating member user_id", e);
+                    } else {
+                        Log.d(TAG, "Updated member record with user_id: " + userId);
+                    }
+                });
     }
 
     /**
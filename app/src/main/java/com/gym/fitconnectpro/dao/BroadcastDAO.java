@@ -0,0 +1,147 @@
+package com.gym.fitconnectpro.dao;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.gym.fitconnectpro.database.DatabaseHelper;
+import com.gym.fitconnectpro.database.TableChangeNotifier;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Trainer announcements to all of their clients, stored fan-out-on-read:
+ * sending writes one broadcasts row, and each client's inbox resolves the trainers they are
+ * actively assigned to and compares against a per-recipient read cursor in broadcast_reads.
+ */
+public class BroadcastDAO {
+
+    private static final String TAG = "BroadcastDAO";
+    private DatabaseHelper dbHelper;
+
+    public BroadcastDAO(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+    }
+
+    public static class Broadcast {
+        public int id;
+        public int trainerId;
+        public String content;
+        public String timestamp;
+    }
+
+    /**
+     * Publish an announcement to every active client of the trainer. One insert, whatever the client count.
+     * @return the broadcast id, or -1 on failure
+     */
+    public long sendBroadcast(int trainerId, String content) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        try {
+            ContentValues values = new ContentValues();
+            values.put("trainer_id", trainerId);
+            values.put("content", content);
+            values.put("timestamp", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date()));
+
+            long id = db.insert("broadcasts", null, values);
+            if (id != -1) {
+                TableChangeNotifier.getInstance().notifyChanged(TableChangeNotifier.TABLE_BROADCASTS);
+            }
+            return id;
+        } catch (Exception e) {
+            Log.e(TAG, "Error sending broadcast", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Get a trainer's broadcasts older than beforeId, newest first (Integer.MAX_VALUE for the latest page)
+     */
+    public List<Broadcast> getBroadcasts(int trainerId, int beforeId, int limit) {
+        List<Broadcast> broadcasts = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            cursor = db.rawQuery("SELECT id, trainer_id, content, timestamp FROM broadcasts " +
+                            "WHERE trainer_id = ? AND id < ? ORDER BY id DESC LIMIT ?",
+                    new String[]{String.valueOf(trainerId), String.valueOf(beforeId), String.valueOf(limit)});
+            while (cursor.moveToNext()) {
+                Broadcast broadcast = new Broadcast();
+                broadcast.id = cursor.getInt(0);
+                broadcast.trainerId = cursor.getInt(1);
+                broadcast.content = cursor.getString(2);
+                broadcast.timestamp = cursor.getString(3);
+                broadcasts.add(broadcast);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting broadcasts", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return broadcasts;
+    }
+
+    /**
+     * Inbox rows for a member user: one per active trainer that has broadcast, with the latest
+     * announcement and the count past the member's read cursor.
+     */
+    public List<SocialDAO.Conversation> getBroadcastChannels(int userId) {
+        List<SocialDAO.Conversation> channels = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            String query = "SELECT ta.trainer_id, t.user_id, t.full_name, b.content, b.timestamp, " +
+                           "(SELECT COUNT(*) FROM broadcasts x WHERE x.trainer_id = ta.trainer_id " +
+                           " AND x.id > IFNULL(r.last_read_id, 0)) AS unread " +
+                           "FROM members m " +
+                           "JOIN trainer_assignments ta ON ta.member_id = m.member_id AND ta.status = 'ACTIVE' " +
+                           "JOIN trainers t ON t.id = ta.trainer_id " +
+                           "JOIN broadcasts b ON b.id = (SELECT MAX(id) FROM broadcasts WHERE trainer_id = ta.trainer_id) " +
+                           "LEFT JOIN broadcast_reads r ON r.user_id = m.user_id AND r.trainer_id = ta.trainer_id " +
+                           "WHERE m.user_id = ?";
+            cursor = db.rawQuery(query, new String[]{String.valueOf(userId)});
+
+            while (cursor.moveToNext()) {
+                SocialDAO.Conversation channel = new SocialDAO.Conversation();
+                channel.broadcastTrainerId = cursor.getInt(0);
+                channel.userId = cursor.getInt(1);
+                channel.name = cursor.getString(2) + " (Announcements)";
+                channel.lastMessage = cursor.getString(3);
+                channel.lastMessageTime = cursor.getString(4);
+                channel.unreadCount = cursor.getInt(5);
+                channels.add(channel);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting broadcast channels", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return channels;
+    }
+
+    /**
+     * Move the user's read cursor for a trainer up to lastReadId, the newest broadcast the user has seen.
+     * The cursor never moves backwards, and broadcasts sent after the user's page loaded stay unread.
+     */
+    public boolean markBroadcastsRead(int userId, int trainerId, int lastReadId) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        try {
+            db.execSQL("INSERT OR REPLACE INTO broadcast_reads(user_id, trainer_id, last_read_id) " +
+                            "VALUES (?, ?, MAX(?, IFNULL((SELECT last_read_id FROM broadcast_reads " +
+                            "WHERE user_id = ? AND trainer_id = ?), 0)))",
+                    new Object[]{userId, trainerId, lastReadId, userId, trainerId});
+            TableChangeNotifier.getInstance().notifyChanged(TableChangeNotifier.TABLE_BROADCASTS);
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, "Error marking broadcasts as read", e);
+            return false;
+        }
+    }
+}
@@ -59,6 +59,9 @@ public class DailyGoalDAO {
             Log.e(TAG, "Error setting daily goals", e);
         }
 
+        if (result != -1) {
+            MemberDashboardDAO.invalidateSnapshots(goal.getMemberId());
+        }
         return result != -1;
     }
 
@@ -100,6 +103,9 @@ public class DailyGoalDAO {
         } finally {
             db.endTransaction();
         }
+        if (success) {
+            MemberDashboardDAO.invalidateSnapshots(baseGoal.getMemberId());
+        }
         return success;
     }
 
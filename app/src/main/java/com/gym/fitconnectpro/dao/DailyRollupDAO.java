@@ -0,0 +1,203 @@
+package com.gym.fitconnectpro.dao;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.gym.fitconnectpro.database.DatabaseHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per member, per day totals in member_daily_rollup.
+ * The logging DAOs call the apply* helpers inside their own write transaction, so a log row and its
+ * rollup delta commit or roll back together. Range reads are a primary key range scan over a handful
+ * of rows per day instead of aggregating the raw logs.
+ */
+public class DailyRollupDAO {
+
+    private static final String TAG = "DailyRollupDAO";
+    private static final String TABLE = DatabaseHelper.TABLE_DAILY_ROLLUP;
+    // Macro sums are REAL; allow float drift when verifying
+    private static final double EPSILON = 0.01;
+
+    private DatabaseHelper dbHelper;
+
+    public DailyRollupDAO(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+    }
+
+    public static class DayTotals {
+        public String day;
+        public int calories;
+        public double protein;
+        public double carbs;
+        public double fats;
+        public int meals;
+        public int waterMl;
+        public int workoutMinutes;
+        public int workoutCalories;
+        public int sessions;
+        public Double weight;
+    }
+
+    /**
+     * Add a logged meal to its day. Call inside the meal's transaction.
+     */
+    static void applyMeal(SQLiteDatabase db, int memberId, String day,
+                          int calories, double protein, double carbs, double fats) {
+        ensureRow(db, memberId, day);
+        db.execSQL("UPDATE " + TABLE + " SET calories = calories + ?, protein = protein + ?, carbs = carbs + ?, "
+                        + "fats = fats + ?, meals = meals + 1 WHERE member_id = ? AND day = ?",
+                new Object[]{calories, protein, carbs, fats, memberId, day});
+    }
+
+    /**
+     * Add (or, with a negative amount, remove) water for a day. Call inside the water log's transaction.
+     */
+    static void applyWater(SQLiteDatabase db, int memberId, String day, int deltaMl) {
+        ensureRow(db, memberId, day);
+        db.execSQL("UPDATE " + TABLE + " SET water_ml = water_ml + ? WHERE member_id = ? AND day = ?",
+                new Object[]{deltaMl, memberId, day});
+    }
+
+    /**
+     * Add a workout session to its day. Call inside the session's transaction.
+     */
+    static void applyWorkout(SQLiteDatabase db, int memberId, String day, int minutes, int calories) {
+        ensureRow(db, memberId, day);
+        db.execSQL("UPDATE " + TABLE + " SET workout_minutes = workout_minutes + ?, "
+                        + "workout_calories = workout_calories + ?, sessions = sessions + 1 WHERE member_id = ? AND day = ?",
+                new Object[]{minutes, calories, memberId, day});
+    }
+
+    /**
+     * Day bucket of a "yyyy-MM-dd HH:mm:ss" timestamp, matching substr(log_time, 1, 10) in the backfill
+     */
+    static String dayOf(String timestamp) {
+        return timestamp != null && timestamp.length() >= 10 ? timestamp.substring(0, 10) : timestamp;
+    }
+
+    private static void ensureRow(SQLiteDatabase db, int memberId, String day) {
+        // No UPSERT on older platform SQLite
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE + "(member_id, day) VALUES (?, ?)", new Object[]{memberId, day});
+    }
+
+    /**
+     * Days in [startDate, endDate] that have any activity, oldest first
+     */
+    public List<DayTotals> getDays(int memberId, String startDate, String endDate) {
+        List<DayTotals> days = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            cursor = db.rawQuery("SELECT day, calories, protein, carbs, fats, meals, water_ml, workout_minutes, "
+                            + "workout_calories, sessions, weight FROM " + TABLE
+                            + " WHERE member_id = ? AND day BETWEEN ? AND ? ORDER BY day ASC",
+                    new String[]{String.valueOf(memberId), startDate, endDate});
+            while (cursor.moveToNext()) {
+                days.add(readTotals(cursor));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting daily rollups", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return days;
+    }
+
+    /**
+     * Totals summed over [startDate, endDate]; day is null and weight is the latest reading in the range
+     */
+    public DayTotals getTotals(int memberId, String startDate, String endDate) {
+        DayTotals totals = new DayTotals();
+        for (DayTotals day : getDays(memberId, startDate, endDate)) {
+            totals.calories += day.calories;
+            totals.protein += day.protein;
+            totals.carbs += day.carbs;
+            totals.fats += day.fats;
+            totals.meals += day.meals;
+            totals.waterMl += day.waterMl;
+            totals.workoutMinutes += day.workoutMinutes;
+            totals.workoutCalories += day.workoutCalories;
+            totals.sessions += day.sessions;
+            if (day.weight != null) totals.weight = day.weight;
+        }
+        return totals;
+    }
+
+    /**
+     * Recompute every rollup row from the raw logs
+     */
+    public boolean rebuild() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            DatabaseHelper.rebuildDailyRollup(db);
+            db.setTransactionSuccessful();
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, "Error rebuilding daily rollup", e);
+            return false;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Compare the rollup with totals recomputed from the raw logs.
+     * @return "memberId:day" for every row that disagrees (empty when consistent)
+     */
+    public List<String> verify() {
+        List<String> mismatches = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        String differs = "r.calories <> s.calories OR ABS(r.protein - s.protein) > " + EPSILON
+                + " OR ABS(r.carbs - s.carbs) > " + EPSILON + " OR ABS(r.fats - s.fats) > " + EPSILON
+                + " OR r.meals <> s.meals OR r.water_ml <> s.water_ml OR r.workout_minutes <> s.workout_minutes"
+                + " OR r.workout_calories <> s.workout_calories OR r.sessions <> s.sessions OR r.weight IS NOT s.weight";
+        // Rows emptied by deletes may linger with zero totals; only non-empty orphans count
+        String nonEmpty = "r.calories <> 0 OR r.meals <> 0 OR r.water_ml <> 0 OR r.workout_minutes <> 0"
+                + " OR r.sessions <> 0 OR r.weight IS NOT NULL";
+        try {
+            cursor = db.rawQuery("SELECT s.member_id, s.day FROM (" + DatabaseHelper.DAILY_ROLLUP_SOURCE + ") s "
+                    + "LEFT JOIN " + TABLE + " r ON r.member_id = s.member_id AND r.day = s.day "
+                    + "WHERE r.member_id IS NULL OR " + differs + " "
+                    + "UNION ALL SELECT r.member_id, r.day FROM " + TABLE + " r "
+                    + "LEFT JOIN (" + DatabaseHelper.DAILY_ROLLUP_SOURCE + ") s ON s.member_id = r.member_id AND s.day = r.day "
+                    + "WHERE s.member_id IS NULL AND (" + nonEmpty + ")", null);
+            while (cursor.moveToNext()) {
+                mismatches.add(cursor.getInt(0) + ":" + cursor.getString(1));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error verifying daily rollup", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+
+        if (!mismatches.isEmpty()) {
+            Log.w(TAG, "Daily rollup disagrees with raw logs for " + mismatches.size() + " days: " + mismatches);
+        }
+        return mismatches;
+    }
+
+    private static DayTotals readTotals(Cursor cursor) {
+        DayTotals totals = new DayTotals();
+        totals.day = cursor.getString(0);
+        totals.calories = cursor.getInt(1);
+        totals.protein = cursor.getDouble(2);
+        totals.carbs = cursor.getDouble(3);
+        totals.fats = cursor.getDouble(4);
+        totals.meals = cursor.getInt(5);
+        totals.waterMl = cursor.getInt(6);
+        totals.workoutMinutes = cursor.getInt(7);
+        totals.workoutCalories = cursor.getInt(8);
+        totals.sessions = cursor.getInt(9);
+        totals.weight = cursor.isNull(10) ? null : cursor.getDouble(10);
+        return totals;
+    }
+}
@@ -9,6 +9,7 @@ import android.util.Log;
 import com.gym.fitconnectpro.database.DatabaseHelper;
 import com.gym.fitconnectpro.models.Food;
 import com.gym.fitconnectpro.models.MealPlanFood;
+import com.gym.fitconnectpro.services.FoodCatalog;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -19,75 +20,25 @@ import java.util.Locale;
 public class MealLogDAO {
     private static final String TAG = "MealLogDAO";
     private DatabaseHelper dbHelper;
+    private FoodCatalog foodCatalog;
 
     public MealLogDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
+        foodCatalog = FoodCatalog.getInstance(context);
     }
 
     /**
-     * Search foods by keyword
+     * Search foods by keyword, best matches first
      */
     public List<Food> searchFoods(String keyword) {
-        List<Food> foods = new ArrayList<>();
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        Cursor cursor = null;
-
-        try {
-            String query = "SELECT * FROM foods WHERE name LIKE ? ORDER BY name ASC LIMIT 50";
-            cursor = db.rawQuery(query, new String[]{"%" + keyword + "%"});
-
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    Food food = new Food();
-                    food.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
-                    food.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
-                    food.setCalories(cursor.getInt(cursor.getColumnIndexOrThrow("calories")));
-                    food.setProtein(cursor.getDouble(cursor.getColumnIndexOrThrow("protein")));
-                    food.setCarbs(cursor.getDouble(cursor.getColumnIndexOrThrow("carbs")));
-                    food.setFats(cursor.getDouble(cursor.getColumnIndexOrThrow("fats")));
-                    food.setServingUnit(cursor.getString(cursor.getColumnIndexOrThrow("serving_unit")));
-                    foods.add(food);
-                } while (cursor.moveToNext());
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error searching foods", e);
-        } finally {
-            if (cursor != null) cursor.close();
-        }
-        return foods;
+        return foodCatalog.search(keyword, FoodCatalog.DEFAULT_LIMIT);
     }
 
     /**
      * Get all foods for Combo Box
      */
     public List<Food> getAllFoods() {
-        List<Food> foods = new ArrayList<>();
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        Cursor cursor = null;
-
-        try {
-            String query = "SELECT * FROM foods ORDER BY name ASC";
-            cursor = db.rawQuery(query, null);
-
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    Food food = new Food();
-                    food.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
-                    food.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
-                    food.setCalories(cursor.getInt(cursor.getColumnIndexOrThrow("calories")));
-                    food.setProtein(cursor.getDouble(cursor.getColumnIndexOrThrow("protein")));
-                    food.setCarbs(cursor.getDouble(cursor.getColumnIndexOrThrow("carbs")));
-                    food.setFats(cursor.getDouble(cursor.getColumnIndexOrThrow("fats")));
-                    food.setServingUnit(cursor.getString(cursor.getColumnIndexOrThrow("serving_unit")));
-                    foods.add(food);
-                } while (cursor.moveToNext());
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error fetching all foods", e);
-        } finally {
-            if (cursor != null) cursor.close();
-        }
-        return foods;
+        return foodCatalog.getAllFoods();
     }
 
     /**
@@ -127,6 +78,7 @@ public class MealLogDAO {
      */
     public boolean logMeal(int memberId, String date, String mealTime, String mealType, List<MealPlanFood> items, String notes) {
         SQLiteDatabase db = dbHelper.getWritableDatabase();
+        boolean committed = false;
         db.beginTransaction();
         
         try {
@@ -175,15 +127,22 @@ public class MealLogDAO {
             
             // 4. Update member_daily_logs
             updateDailyLog(db, memberId, date, totalCalories);
+
+            // 5. Update the daily rollup
+            DailyRollupDAO.applyMeal(db, memberId, date, totalCalories, totalProtein, totalCarbs, totalFats);
             
             db.setTransactionSuccessful();
-            return true;
+            committed = true;
         } catch (Exception e) {
             Log.e(TAG, "Error logging meal", e);
-            return false;
         } finally {
             db.endTransaction();
         }
+        // After the commit, so a concurrent dashboard load cannot re-cache pre-write totals
+        if (committed) {
+            MemberDashboardDAO.invalidateSnapshots(memberId);
+        }
+        return committed;
     }
     
     // Helper to update or create daily log
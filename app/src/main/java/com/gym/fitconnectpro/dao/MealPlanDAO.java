@@ -5,11 +5,14 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
+import android.util.SparseArray;
 
+import com.gym.fitconnectpro.database.BatchQueries;
 import com.gym.fitconnectpro.database.DatabaseHelper;
 import com.gym.fitconnectpro.models.Food;
 import com.gym.fitconnectpro.models.MealPlan;
 import com.gym.fitconnectpro.models.MealPlanFood;
+import com.gym.fitconnectpro.services.FoodCatalog;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,39 +20,29 @@ import java.util.List;
 public class MealPlanDAO {
     private static final String TAG = "MealPlanDAO";
     private DatabaseHelper dbHelper;
+    private FoodCatalog foodCatalog;
+
+    // Completed with "= ?" or "IN (...)"
+    private static final String PLAN_FOODS_QUERY =
+            "SELECT mpf.*, f.name, f.calories, f.protein, f.carbs, f.fats, f.serving_unit " +
+            "FROM meal_plan_foods mpf " +
+            "JOIN foods f ON mpf.food_id = f.id " +
+            "WHERE mpf.meal_plan_id ";
 
     public MealPlanDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
+        foodCatalog = FoodCatalog.getInstance(context);
     }
 
     /**
-     * Search foods by keyword
+     * Search foods by keyword, best matches first
      */
     public List<Food> searchFoods(String keyword) {
-        List<Food> foods = new ArrayList<>();
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        Cursor cursor = null;
-
-        try {
-            // Simple LIKE query
-            String query = "SELECT * FROM foods WHERE name LIKE ? ORDER BY name ASC";
-            cursor = db.rawQuery(query, new String[]{"%" + keyword + "%"});
-
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    foods.add(cursorToFood(cursor));
-                } while (cursor.moveToNext());
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error searching foods", e);
-        } finally {
-            if (cursor != null) cursor.close();
-        }
-        return foods;
+        return foodCatalog.search(keyword, FoodCatalog.DEFAULT_LIMIT);
     }
 
     public List<Food> getAllFoods() {
-        return searchFoods("");
+        return foodCatalog.getAllFoods();
     }
 
     /**
@@ -95,87 +88,96 @@ public class MealPlanDAO {
         }
     }
 
-    private Food cursorToFood(Cursor cursor) {
-        Food food = new Food();
-        food.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
-        food.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
-        food.setCalories(cursor.getInt(cursor.getColumnIndexOrThrow("calories")));
-        food.setProtein(cursor.getDouble(cursor.getColumnIndexOrThrow("protein")));
-        food.setCarbs(cursor.getDouble(cursor.getColumnIndexOrThrow("carbs")));
-        food.setFats(cursor.getDouble(cursor.getColumnIndexOrThrow("fats")));
-        food.setServingUnit(cursor.getString(cursor.getColumnIndexOrThrow("serving_unit")));
-        return food;
+    public List<MealPlan> getMealPlans(int memberId) {
+        return getMealPlans(memberId, 0, 0);
     }
 
-    public List<MealPlan> getMealPlans(int memberId) {
+    /**
+     * Get a window of a member's meal plans, newest first, with their foods.
+     * Loads plans and foods in two queries (foods by IN chunks) instead of one query per plan.
+     * @param limit max plans to load, 0 for all
+     * @param offset plans to skip
+     */
+    public List<MealPlan> getMealPlans(int memberId, int limit, int offset) {
         List<MealPlan> plans = new ArrayList<>();
         SQLiteDatabase db = dbHelper.getReadableDatabase();
 
-        // Get recent plans (e.g. from today onwards or just all sorted by date desc)
-        // Let's get generic all for now, maybe limit 20
-        String query = "SELECT * FROM trainer_meal_plans WHERE member_id = ? ORDER BY plan_date DESC, created_at DESC";
+        String query = "SELECT * FROM trainer_meal_plans WHERE member_id = ? ORDER BY plan_date DESC, created_at DESC, id DESC";
+        if (limit > 0) {
+            query += " LIMIT " + limit + " OFFSET " + Math.max(offset, 0);
+        }
         Cursor cursor = null;
 
         try {
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId)});
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    MealPlan plan = new MealPlan();
-                    plan.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
-                    plan.setTrainerId(cursor.getInt(cursor.getColumnIndexOrThrow("trainer_id")));
-                    plan.setMemberId(cursor.getInt(cursor.getColumnIndexOrThrow("member_id")));
-                    plan.setPlanDate(cursor.getString(cursor.getColumnIndexOrThrow("plan_date")));
-                    plan.setMealType(cursor.getString(cursor.getColumnIndexOrThrow("meal_type")));
-                    plan.setInstructions(cursor.getString(cursor.getColumnIndexOrThrow("instructions")));
-                    plan.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow("created_at")));
-
-                    // Fetch foods for this plan
-                    plan.setFoods(getFoodsForPlan(plan.getId()));
-
-                    plans.add(plan);
-                } while (cursor.moveToNext());
+            while (cursor.moveToNext()) {
+                plans.add(cursorToMealPlan(cursor));
             }
         } catch (Exception e) {
             Log.e(TAG, "Error fetching meal plans", e);
         } finally {
             if (cursor != null) cursor.close();
         }
+
+        loadFoodsForPlans(db, plans);
         return plans;
     }
 
+    private MealPlan cursorToMealPlan(Cursor cursor) {
+        MealPlan plan = new MealPlan();
+        plan.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
+        plan.setTrainerId(cursor.getInt(cursor.getColumnIndexOrThrow("trainer_id")));
+        plan.setMemberId(cursor.getInt(cursor.getColumnIndexOrThrow("member_id")));
+        plan.setPlanDate(cursor.getString(cursor.getColumnIndexOrThrow("plan_date")));
+        plan.setMealType(cursor.getString(cursor.getColumnIndexOrThrow("meal_type")));
+        plan.setInstructions(cursor.getString(cursor.getColumnIndexOrThrow("instructions")));
+        plan.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow("created_at")));
+        plan.setFoods(new ArrayList<>());
+        return plan;
+    }
+
+    /**
+     * Attach foods to every plan using one IN (...) query per chunk of plan ids
+     */
+    private void loadFoodsForPlans(SQLiteDatabase db, List<MealPlan> plans) {
+        if (plans.isEmpty()) return;
+
+        SparseArray<MealPlan> plansById = new SparseArray<>(plans.size());
+        int[] planIds = new int[plans.size()];
+        for (int i = 0; i < plans.size(); i++) {
+            planIds[i] = plans.get(i).getId();
+            plansById.put(planIds[i], plans.get(i));
+        }
+
+        for (int[] chunk : BatchQueries.chunk(planIds)) {
+            Cursor cursor = null;
+            try {
+                cursor = db.rawQuery(PLAN_FOODS_QUERY + "IN (" + BatchQueries.placeholders(chunk.length) + ")",
+                        BatchQueries.toArgs(chunk));
+                while (cursor.moveToNext()) {
+                    MealPlanFood mpf = cursorToMealPlanFood(cursor);
+                    MealPlan plan = plansById.get(mpf.getMealPlanId());
+                    if (plan != null) {
+                        plan.getFoods().add(mpf);
+                    }
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error fetching plan foods", e);
+            } finally {
+                if (cursor != null) cursor.close();
+            }
+        }
+    }
+
     private List<MealPlanFood> getFoodsForPlan(int planId) {
         List<MealPlanFood> foods = new ArrayList<>();
         SQLiteDatabase db = dbHelper.getReadableDatabase();
 
-        // Join with foods table to get names
-        String query = "SELECT mpf.*, f.name, f.calories, f.protein, f.carbs, f.fats, f.serving_unit " +
-                "FROM meal_plan_foods mpf " +
-                "JOIN foods f ON mpf.food_id = f.id " +
-                "WHERE mpf.meal_plan_id = ?";
-
         Cursor cursor = null;
         try {
-            cursor = db.rawQuery(query, new String[]{String.valueOf(planId)});
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    MealPlanFood mpf = new MealPlanFood();
-                    mpf.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
-                    mpf.setMealPlanId(cursor.getInt(cursor.getColumnIndexOrThrow("meal_plan_id")));
-                    mpf.setFoodId(cursor.getInt(cursor.getColumnIndexOrThrow("food_id")));
-                    mpf.setQuantity(cursor.getDouble(cursor.getColumnIndexOrThrow("quantity")));
-
-                    Food f = new Food();
-                    f.setId(mpf.getFoodId());
-                    f.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
-                    f.setCalories(cursor.getInt(cursor.getColumnIndexOrThrow("calories")));
-                    f.setProtein(cursor.getDouble(cursor.getColumnIndexOrThrow("protein")));
-                    f.setCarbs(cursor.getDouble(cursor.getColumnIndexOrThrow("carbs")));
-                    f.setFats(cursor.getDouble(cursor.getColumnIndexOrThrow("fats")));
-                    f.setServingUnit(cursor.getString(cursor.getColumnIndexOrThrow("serving_unit")));
-
-                    mpf.setFood(f);
-                    foods.add(mpf);
-                } while (cursor.moveToNext());
+            cursor = db.rawQuery(PLAN_FOODS_QUERY + "= ?", new String[]{String.valueOf(planId)});
+            while (cursor.moveToNext()) {
+                foods.add(cursorToMealPlanFood(cursor));
             }
         } catch (Exception e) {
             Log.e(TAG, "Error fetching plan foods", e);
@@ -185,6 +187,26 @@ public class MealPlanDAO {
         return foods;
     }
 
+    private MealPlanFood cursorToMealPlanFood(Cursor cursor) {
+        MealPlanFood mpf = new MealPlanFood();
+        mpf.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
+        mpf.setMealPlanId(cursor.getInt(cursor.getColumnIndexOrThrow("meal_plan_id")));
+        mpf.setFoodId(cursor.getInt(cursor.getColumnIndexOrThrow("food_id")));
+        mpf.setQuantity(cursor.getDouble(cursor.getColumnIndexOrThrow("quantity")));
+
+        Food f = new Food();
+        f.setId(mpf.getFoodId());
+        f.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
+        f.setCalories(cursor.getInt(cursor.getColumnIndexOrThrow("calories")));
+        f.setProtein(cursor.getDouble(cursor.getColumnIndexOrThrow("protein")));
+        f.setCarbs(cursor.getDouble(cursor.getColumnIndexOrThrow("carbs")));
+        f.setFats(cursor.getDouble(cursor.getColumnIndexOrThrow("fats")));
+        f.setServingUnit(cursor.getString(cursor.getColumnIndexOrThrow("serving_unit")));
+
+        mpf.setFood(f);
+        return mpf;
+    }
+
     /**
      * Get all meal plans for a specific date
      */
@@ -197,28 +219,16 @@ public class MealPlanDAO {
 
         try {
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId), date});
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    MealPlan plan = new MealPlan();
-                    plan.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
-                    plan.setTrainerId(cursor.getInt(cursor.getColumnIndexOrThrow("trainer_id")));
-                    plan.setMemberId(cursor.getInt(cursor.getColumnIndexOrThrow("member_id")));
-                    plan.setPlanDate(cursor.getString(cursor.getColumnIndexOrThrow("plan_date")));
-                    plan.setMealType(cursor.getString(cursor.getColumnIndexOrThrow("meal_type")));
-                    plan.setInstructions(cursor.getString(cursor.getColumnIndexOrThrow("instructions")));
-                    plan.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow("created_at")));
-
-                    // Fetch foods for this plan
-                    plan.setFoods(getFoodsForPlan(plan.getId()));
-
-                    plans.add(plan);
-                } while (cursor.moveToNext());
+            while (cursor.moveToNext()) {
+                plans.add(cursorToMealPlan(cursor));
             }
         } catch (Exception e) {
             Log.e(TAG, "Error fetching meal plans for date", e);
         } finally {
             if (cursor != null) cursor.close();
         }
+
+        loadFoodsForPlans(db, plans);
         return plans;
     }
 
@@ -235,14 +245,7 @@ public class MealPlanDAO {
         try {
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId), date, mealType});
             if (cursor != null && cursor.moveToFirst()) {
-                plan = new MealPlan();
-                plan.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
-                plan.setTrainerId(cursor.getInt(cursor.getColumnIndexOrThrow("trainer_id")));
-                plan.setMemberId(cursor.getInt(cursor.getColumnIndexOrThrow("member_id")));
-                plan.setPlanDate(cursor.getString(cursor.getColumnIndexOrThrow("plan_date")));
-                plan.setMealType(cursor.getString(cursor.getColumnIndexOrThrow("meal_type")));
-                plan.setInstructions(cursor.getString(cursor.getColumnIndexOrThrow("instructions")));
-                plan.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow("created_at")));
+                plan = cursorToMealPlan(cursor);
 
                 // Fetch foods for this plan
                 plan.setFoods(getFoodsForPlan(plan.getId()));
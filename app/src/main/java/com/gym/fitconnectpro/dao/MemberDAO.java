@@ -3,27 +3,38 @@ package com.gym.fitconnectpro.dao;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
 import com.gym.fitconnectpro.database.DatabaseHelper;
 import com.gym.fitconnectpro.database.entities.Member;
-
-import org.mindrot.jbcrypt.BCrypt;
+import com.gym.fitconnectpro.services.PasswordHasher;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
 public class MemberDAO {
     private static final String TAG = "MemberDAO";
+    public static final int MEMBER_PAGE_SIZE = 100;
+    // Sort key for member browsing; matches the expression indexes on members
+    private static final String REGISTRATION_KEY = "IFNULL(registration_date, '')";
+    private static final String NAME_KEY = "IFNULL(m.full_name, '')";
+
+    private static volatile Boolean searchIndexAvailable;
     private DatabaseHelper dbHelper;
+    private PasswordHasher passwordHasher;
     private SimpleDateFormat dateFormat;
 
     public MemberDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
+        passwordHasher = PasswordHasher.getInstance(context);
         dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
     }
 
@@ -52,7 +63,7 @@ public class MemberDAO {
             // Hash the password using BCrypt
             String hashedPassword;
             try {
-                hashedPassword = BCrypt.hashpw(member.getPassword(), BCrypt.gensalt());
+                hashedPassword = passwordHasher.hash(member.getPassword());
                 Log.d(TAG, "Password hashed successfully");
             } catch (Exception e) {
                 Log.e(TAG, "Password hashing failed", e);
@@ -163,13 +174,118 @@ public class MemberDAO {
             Log.e(TAG, "Error registering member: " + e.getMessage(), e);
             e.printStackTrace();
             return "Error: " + e.getMessage();
-        } finally {
-            if (db != null && db.isOpen()) {
-                db.close();
+        }
+    }
+
+    /**
+     * Insert pre-validated members whose passwords are already hashed, all in one transaction
+     * with compiled statements reused across rows. Each member gets the same four rows as registerMember.
+     * A duplicate username or email only skips that member; any other failure rolls back the batch.
+     * @return error message per member, null where the member was inserted
+     */
+    public String[] insertMembersBatch(List<Member> members, List<String> hashedPasswords) {
+        String[] errors = new String[members.size()];
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        SQLiteStatement insertUser = null;
+        SQLiteStatement insertMember = null;
+        SQLiteStatement insertPayment = null;
+        SQLiteStatement insertMembership = null;
+
+        db.beginTransaction();
+        try {
+            insertUser = db.compileStatement("INSERT INTO users (username, password, user_type, email, phone, status) " +
+                    "VALUES (?, ?, 'MEMBER', ?, ?, 'ACTIVE')");
+            insertMember = db.compileStatement("INSERT INTO members (user_id, full_name, email, phone, date_of_birth, " +
+                    "gender, height, weight, membership_type, membership_fee, membership_start_date, membership_end_date, " +
+                    "medical_notes, emergency_contact, username, password, status, registration_date) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?)");
+            insertPayment = db.compileStatement("INSERT INTO payments (member_id, amount, payment_date, payment_method, status) " +
+                    "VALUES (?, ?, ?, 'CASH', 'COMPLETED')");
+            // Same MONTHLY default as registerMember; validity is driven by the start/end dates
+            insertMembership = db.compileStatement("INSERT INTO memberships (member_id, membership_type, start_date, end_date, amount, status) " +
+                    "VALUES (?, 'MONTHLY', ?, ?, ?, 'ACTIVE')");
+
+            String now = dateFormat.format(new Date());
+            for (int i = 0; i < members.size(); i++) {
+                Member member = members.get(i);
+                String hashedPassword = hashedPasswords.get(i);
+
+                insertUser.clearBindings();
+                bindText(insertUser, 1, member.getUsername());
+                bindText(insertUser, 2, hashedPassword);
+                bindText(insertUser, 3, member.getEmail());
+                bindText(insertUser, 4, member.getPhone());
+                long userId;
+                try {
+                    userId = insertUser.executeInsert();
+                } catch (SQLiteConstraintException e) {
+                    userId = -1;
+                }
+                if (userId == -1) {
+                    errors[i] = "Username or email already exists";
+                    continue;
+                }
+
+                insertMember.clearBindings();
+                insertMember.bindLong(1, userId);
+                bindText(insertMember, 2, member.getFullName());
+                bindText(insertMember, 3, member.getEmail());
+                bindText(insertMember, 4, member.getPhone());
+                bindText(insertMember, 5, member.getDateOfBirth());
+                bindText(insertMember, 6, member.getGender());
+                insertMember.bindDouble(7, member.getHeight());
+                insertMember.bindDouble(8, member.getWeight());
+                bindText(insertMember, 9, member.getMembershipType());
+                insertMember.bindDouble(10, member.getMembershipFee());
+                bindText(insertMember, 11, member.getMembershipStartDate());
+                bindText(insertMember, 12, member.getMembershipEndDate());
+                bindText(insertMember, 13, member.getMedicalNotes());
+                bindText(insertMember, 14, member.getEmergencyContact());
+                bindText(insertMember, 15, member.getUsername());
+                bindText(insertMember, 16, hashedPassword);
+                bindText(insertMember, 17, now);
+                long memberId = insertMember.executeInsert();
+
+                insertPayment.clearBindings();
+                insertPayment.bindLong(1, memberId);
+                insertPayment.bindDouble(2, member.getMembershipFee());
+                bindText(insertPayment, 3, now);
+                insertPayment.executeInsert();
+
+                insertMembership.clearBindings();
+                insertMembership.bindLong(1, memberId);
+                bindText(insertMembership, 2, member.getMembershipStartDate());
+                bindText(insertMembership, 3, member.getMembershipEndDate());
+                insertMembership.bindDouble(4, member.getMembershipFee());
+                insertMembership.executeInsert();
             }
+
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            Log.e(TAG, "Error importing member batch", e);
+            Arrays.fill(errors, "Batch failed: " + e.getMessage());
+        } finally {
+            db.endTransaction();
+            closeStatement(insertUser);
+            closeStatement(insertMember);
+            closeStatement(insertPayment);
+            closeStatement(insertMembership);
+        }
+        return errors;
+    }
+
+    private static void bindText(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
         }
     }
 
+    private static void closeStatement(SQLiteStatement statement) {
+        if (statement != null) statement.close();
+    }
+
     /**
      * Check if username already exists
      */
@@ -216,44 +332,109 @@ public class MemberDAO {
             if (cursor != null) {
                 cursor.close();
             }
-            if (db != null && db.isOpen()) {
-                db.close();
-            }
         }
 
         return members;
     }
 
     /**
-     * Search members by keyword
+     * Search members by keyword, best matches first
      */
     public List<Member> searchMembers(String keyword) {
+        return searchMembers(keyword, null, 0);
+    }
+
+    /**
+     * Ranked member search. Each word of the keyword is a prefix match against name, email, phone and username
+     * through the members_fts index; members whose name or username starts with the keyword rank first.
+     * Falls back to a LIKE scan when the full-text index is unavailable.
+     * @param status status to match, null or "All" for every status
+     * @param limit max results, 0 for no limit
+     */
+    public List<Member> searchMembers(String keyword, String status, int limit) {
+        return searchMembers(keyword, status, limit, 0);
+    }
+
+    /**
+     * One page of {@link #searchMembers(String, String, int)}; member_id breaks rank ties, so offsets are stable
+     * @param offset ranked results to skip
+     */
+    public List<Member> searchMembers(String keyword, String status, int limit, int offset) {
         List<Member> memberList = new ArrayList<>();
-        SQLiteDatabase db = null;
+        if (keyword == null || keyword.trim().isEmpty()) return memberList;
         Cursor cursor = null;
 
         try {
-            db = dbHelper.getReadableDatabase();
-            String searchPattern = "%" + keyword + "%";
-            String selection = "full_name LIKE ? OR email LIKE ? OR phone LIKE ? OR username LIKE ?";
-            String[] selectionArgs = {searchPattern, searchPattern, searchPattern, searchPattern};
+            SQLiteDatabase db = dbHelper.getReadableDatabase();
+            String trimmed = keyword.trim();
+            String matchQuery = toMatchQuery(trimmed);
+            List<String> args = new ArrayList<>();
+            StringBuilder query = new StringBuilder();
+
+            if (matchQuery != null && hasSearchIndex(db)) {
+                query.append("SELECT m.* FROM members m JOIN members_fts ON members_fts.rowid = m.member_id ")
+                        .append("WHERE members_fts MATCH ?");
+                args.add(matchQuery);
+            } else {
+                String searchPattern = "%" + trimmed + "%";
+                query.append("SELECT m.* FROM members m ")
+                        .append("WHERE (m.full_name LIKE ? OR m.email LIKE ? OR m.phone LIKE ? OR m.username LIKE ?)");
+                for (int i = 0; i < 4; i++) {
+                    args.add(searchPattern);
+                }
+            }
+            if (status != null && !"All".equals(status)) {
+                query.append(" AND m.status = ?");
+                args.add(status);
+            }
 
-            cursor = db.query("members", null, selection, selectionArgs, null, null, "registration_date DESC");
+            String prefixPattern = trimmed + "%";
+            query.append(" ORDER BY CASE WHEN m.full_name LIKE ? THEN 0 WHEN m.username LIKE ? THEN 1 ELSE 2 END, ")
+                    .append("m.full_name ASC, m.member_id ASC");
+            args.add(prefixPattern);
+            args.add(prefixPattern);
+            if (limit > 0) {
+                query.append(" LIMIT ").append(limit).append(" OFFSET ").append(Math.max(offset, 0));
+            }
 
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    memberList.add(cursorToMember(cursor));
-                } while (cursor.moveToNext());
+            cursor = db.rawQuery(query.toString(), args.toArray(new String[0]));
+            while (cursor.moveToNext()) {
+                memberList.add(cursorToMember(cursor));
             }
         } catch (Exception e) {
             Log.e(TAG, "Error searching members: " + e.getMessage());
         } finally {
             if (cursor != null) cursor.close();
-            if (db != null && db.isOpen()) db.close();
         }
         return memberList;
     }
 
+    /**
+     * Full-text query for a search box string: every word becomes a prefix term, e.g. "Jo Sm" -> jo* sm*.
+     * Terms are lower-cased so they are never read as AND/OR/NOT operators.
+     * @return null when the keyword has no searchable characters
+     */
+    static String toMatchQuery(String keyword) {
+        StringBuilder match = new StringBuilder();
+        for (String token : keyword.split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) continue;
+            if (match.length() > 0) match.append(' ');
+            match.append(token.toLowerCase(Locale.ROOT)).append('*');
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    // members_fts is skipped when neither FTS5 nor FTS4 is compiled in
+    private boolean hasSearchIndex(SQLiteDatabase db) {
+        Boolean available = searchIndexAvailable;
+        if (available == null) {
+            available = DatabaseUtils.longForQuery(db,
+                    "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = 'members_fts'", null) > 0;
+            searchIndexAvailable = available;
+        }
+        return available;
+    }
+
     /**
      * Filter members by status
      */
@@ -283,11 +464,100 @@ public class MemberDAO {
             Log.e(TAG, "Error filtering members: " + e.getMessage());
         } finally {
             if (cursor != null) cursor.close();
-            if (db != null && db.isOpen()) db.close();
         }
         return memberList;
     }
 
+    /**
+     * Get one page of members, newest registrations first, with optional status and keyword filters.
+     * Pages are keyset-paginated on (registration_date, member_id) so deep pages cost the same as the first.
+     * @param status status to match, null or "All" for every status
+     * @param keyword matched against name, email, phone and username, null or empty for no search
+     * @param afterDate page key of the last member on the previous page (see {@link #pageKey}), null for the first page
+     * @param afterId member_id of the last member on the previous page
+     * @param limit page size
+     */
+    public List<Member> getMembersPage(String status, String keyword, String afterDate, int afterId, int limit) {
+        List<Member> members = new ArrayList<>();
+        Cursor cursor = null;
+
+        try {
+            SQLiteDatabase db = dbHelper.getReadableDatabase();
+            List<String> args = new ArrayList<>();
+            StringBuilder query = new StringBuilder("SELECT * FROM members WHERE 1 = 1");
+            appendMemberFilters(db, query, args, status, keyword);
+            if (afterDate != null) {
+                query.append(" AND (").append(REGISTRATION_KEY).append(" < ? OR (")
+                        .append(REGISTRATION_KEY).append(" = ? AND member_id < ?))");
+                args.add(afterDate);
+                args.add(afterDate);
+                args.add(String.valueOf(afterId));
+            }
+            query.append(" ORDER BY ").append(REGISTRATION_KEY).append(" DESC, member_id DESC LIMIT ").append(limit);
+
+            cursor = db.rawQuery(query.toString(), args.toArray(new String[0]));
+            while (cursor.moveToNext()) {
+                members.add(cursorToMember(cursor));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting members page: " + e.getMessage(), e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return members;
+    }
+
+    /**
+     * Count members matching the same filters as {@link #getMembersPage}
+     */
+    public int countMembers(String status, String keyword) {
+        Cursor cursor = null;
+        try {
+            SQLiteDatabase db = dbHelper.getReadableDatabase();
+            List<String> args = new ArrayList<>();
+            StringBuilder query = new StringBuilder("SELECT COUNT(*) FROM members WHERE 1 = 1");
+            appendMemberFilters(db, query, args, status, keyword);
+
+            cursor = db.rawQuery(query.toString(), args.toArray(new String[0]));
+            if (cursor.moveToFirst()) {
+                return cursor.getInt(0);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error counting members: " + e.getMessage(), e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return 0;
+    }
+
+    /**
+     * Keyset value of a member for {@link #getMembersPage}; members without a registration date sort last
+     */
+    public static String pageKey(Member member) {
+        return member.getCreatedAt() != null ? member.getCreatedAt() : "";
+    }
+
+    private void appendMemberFilters(SQLiteDatabase db, StringBuilder query, List<String> args,
+                                     String status, String keyword) {
+        if (status != null && !"All".equals(status)) {
+            query.append(" AND status = ?");
+            args.add(status);
+        }
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            String matchQuery = toMatchQuery(keyword.trim());
+            if (matchQuery != null && hasSearchIndex(db)) {
+                query.append(" AND member_id IN (SELECT rowid FROM members_fts WHERE members_fts MATCH ?)");
+                args.add(matchQuery);
+            } else {
+                String searchPattern = "%" + keyword.trim() + "%";
+                query.append(" AND (full_name LIKE ? OR email LIKE ? OR phone LIKE ? OR username LIKE ?)");
+                for (int i = 0; i < 4; i++) {
+                    args.add(searchPattern);
+                }
+            }
+        }
+    }
+
     /**
      * Update member status
      */
@@ -304,8 +574,6 @@ public class MemberDAO {
         } catch (Exception e) {
             Log.e(TAG, "Error updating member status: " + e.getMessage());
             return false;
-        } finally {
-            if (db != null && db.isOpen()) db.close();
         }
     }
 
@@ -340,10 +608,6 @@ public class MemberDAO {
         } catch (Exception e) {
             Log.e(TAG, "Error updating member: " + e.getMessage(), e);
             return false;
-        } finally {
-            if (db != null && db.isOpen()) {
-                db.close();
-            }
         }
     }
 
@@ -360,10 +624,6 @@ public class MemberDAO {
         } catch (Exception e) {
             Log.e(TAG, "Error deleting member: " + e.getMessage(), e);
             return false;
-        } finally {
-            if (db != null && db.isOpen()) {
-                db.close();
-            }
         }
     }
 
@@ -433,42 +693,55 @@ public class MemberDAO {
      * @return List of unassigned members
      */
     public List<Member> getUnassignedMembers() {
+        return getMembersByAssignmentPage(false, null, 0, 0);
+    }
+
+    /**
+     * Get a page of active members with or without an active trainer assignment, sorted by name.
+     * Uses a single (NOT) EXISTS anti/semi-join instead of a lookup per member.
+     * @param assigned true for members that have an active trainer, false for unassigned members
+     * @param afterName full_name of the last member on the previous page ("" if it had none), null for the first page
+     * @param afterId member_id of the last member on the previous page
+     * @param limit page size, 0 for no limit
+     */
+    public List<Member> getMembersByAssignmentPage(boolean assigned, String afterName, int afterId, int limit) {
         List<Member> members = new ArrayList<>();
         SQLiteDatabase db = null;
         Cursor cursor = null;
 
         try {
             db = dbHelper.getReadableDatabase();
-            
-            // Get all active members first
-            String selection = "status = ?";
-            String[] selectionArgs = {"ACTIVE"};
-            
-            cursor = db.query("members", null, selection, selectionArgs, 
-                            null, null, "full_name ASC");
-            
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    Member member = cursorToMember(cursor);
-                    
-                    // Check if member has active assignment
-                    Integer trainerId = getAssignedTrainerId(member.getMemberId());
-                    if (trainerId == null) {
-                        members.add(member);
-                    }
-                } while (cursor.moveToNext());
+
+            StringBuilder query = new StringBuilder("SELECT m.* FROM members m WHERE m.status = 'ACTIVE' AND ")
+                    .append(assigned ? "EXISTS" : "NOT EXISTS")
+                    .append(" (SELECT 1 FROM trainer_assignments ta WHERE ta.member_id = m.member_id AND ta.status = 'ACTIVE')");
+            List<String> args = new ArrayList<>();
+            if (afterName != null) {
+                // Keyset: continue after (full_name, member_id) of the previous page
+                query.append(" AND (").append(NAME_KEY).append(" > ? OR (")
+                        .append(NAME_KEY).append(" = ? AND m.member_id > ?))");
+                args.add(afterName);
+                args.add(afterName);
+                args.add(String.valueOf(afterId));
             }
-            
-            Log.d(TAG, "Retrieved " + members.size() + " unassigned members");
-            
+            query.append(" ORDER BY ").append(NAME_KEY).append(" ASC, m.member_id ASC");
+            if (limit > 0) {
+                query.append(" LIMIT ").append(limit);
+            }
+
+            cursor = db.rawQuery(query.toString(), args.toArray(new String[0]));
+            while (cursor.moveToNext()) {
+                members.add(cursorToMember(cursor));
+            }
+
+            Log.d(TAG, "Retrieved " + members.size() + (assigned ? " assigned" : " unassigned") + " members");
+
         } catch (Exception e) {
-            Log.e(TAG, "Error getting unassigned members: " + e.getMessage(), e);
-            e.printStackTrace();
+            Log.e(TAG, "Error getting members by assignment: " + e.getMessage(), e);
         } finally {
             if (cursor != null) cursor.close();
-            if (db != null && db.isOpen()) db.close();
         }
-        
+
         return members;
     }
 
@@ -519,7 +792,6 @@ public class MemberDAO {
             e.printStackTrace();
         } finally {
             if (cursor != null) cursor.close();
-            if (db != null && db.isOpen()) db.close();
         }
         
         return members;
@@ -7,14 +7,45 @@ import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
 import com.gym.fitconnectpro.database.DatabaseHelper;
+import com.gym.fitconnectpro.models.MemberDashboardSnapshot;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MemberDashboardDAO {
     private static final String TAG = "MemberDashboardDAO";
     private DatabaseHelper dbHelper;
 
+    // Snapshots cached per (memberId, date); writers call invalidateSnapshots(memberId) after committing.
+    // A snapshot loaded while a write was in flight is returned but not cached (generation changed).
+    // The TTL only covers writers that don't invalidate (workout/meal plans, trainer assignments).
+    private static final long SNAPSHOT_TTL_MS = 5 * 60 * 1000;
+    private static final Map<String, MemberDashboardSnapshot> snapshotCache = new ConcurrentHashMap<>();
+    private static final AtomicInteger snapshotGeneration = new AtomicInteger();
+    private static final Map<Integer, Integer> memberIdByUserId = new ConcurrentHashMap<>();
+
+    private static final String SNAPSHOT_QUERY =
+            "SELECT m.member_id, m.full_name, t.id, t.full_name, " +
+            "g.id, g.calorie_target, g.water_intake_ml, g.workout_duration, " +
+            "(SELECT plan_name FROM workout_plans wp WHERE wp.member_id = m.member_id AND wp.status = 'ACTIVE' " +
+            "   AND date('now') BETWEEN wp.start_date AND wp.end_date LIMIT 1), " +
+            "(SELECT COUNT(*) FROM trainer_meal_plans mp WHERE mp.member_id = m.member_id AND mp.plan_date = ?1), " +
+            "COALESCE((SELECT w.weight FROM member_weight_history w WHERE w.member_id = m.member_id " +
+            "   ORDER BY w.log_date DESC LIMIT 1), m.weight), " +
+            "(SELECT COUNT(*) FROM member_daily_rollup r WHERE r.member_id = m.member_id AND r.sessions > 0), " +
+            "(SELECT COUNT(*) FROM member_daily_rollup r WHERE r.member_id = m.member_id AND r.sessions > 0 " +
+            "   AND r.day >= date('now', '-7 days')), " +
+            "(SELECT d.calories_consumed FROM member_daily_logs d WHERE d.member_id = m.member_id AND d.log_date = ?1), " +
+            "(SELECT r.water_ml FROM member_daily_rollup r WHERE r.member_id = m.member_id AND r.day = ?1) " +
+            "FROM members m " +
+            "LEFT JOIN trainer_assignments ta ON m.member_id = ta.member_id AND ta.status = 'ACTIVE' " +
+            "LEFT JOIN trainers t ON ta.trainer_id = t.id " +
+            "LEFT JOIN trainer_daily_goals g ON g.member_id = m.member_id AND g.goal_date = ?1 " +
+            "WHERE m.user_id = ?2 " +
+            "LIMIT 1";
+
     public MemberDashboardDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
     }
@@ -184,7 +215,7 @@ public class MemberDashboardDAO {
             cursor.close();
             
             // 2. Total Workouts Completed
-            cursor = db.rawQuery("SELECT COUNT(*) FROM member_daily_logs WHERE member_id = ? AND workout_completed = 1", new String[]{String.valueOf(memberId)});
+            cursor = db.rawQuery("SELECT COUNT(*) FROM " + DatabaseHelper.TABLE_DAILY_ROLLUP + " WHERE member_id = ? AND sessions > 0", new String[]{String.valueOf(memberId)});
             if (cursor.moveToFirst()) {
                 stats.put("total_workouts", cursor.getString(0));
             } else {
@@ -195,7 +226,7 @@ public class MemberDashboardDAO {
             // 3. Streak (Simplified: Count consecutive days ending today? Or just last 7 days count? Let's do workouts in last 7 days)
             // Implementation of real streak is complex in SQLLite without window functions (avail in newer versions but safe is logic).
             // Let's just return "Workouts this week"
-            cursor = db.rawQuery("SELECT COUNT(*) FROM member_daily_logs WHERE member_id = ? AND workout_completed = 1 AND log_date >= date('now', '-7 days')", new String[]{String.valueOf(memberId)});
+            cursor = db.rawQuery("SELECT COUNT(*) FROM " + DatabaseHelper.TABLE_DAILY_ROLLUP + " WHERE member_id = ? AND day >= date('now', '-7 days') AND sessions > 0", new String[]{String.valueOf(memberId)});
             if (cursor.moveToFirst()) {
                 stats.put("weekly_workouts", cursor.getString(0));
             } else {
@@ -209,4 +240,125 @@ public class MemberDashboardDAO {
         }
         return stats;
     }
+
+    /**
+     * Get everything the member dashboard needs for a date in one query.
+     * Returns a cached snapshot when one exists, null if the user has no member profile.
+     */
+    public MemberDashboardSnapshot getDashboardSnapshot(int userId, String date) {
+        Integer knownMemberId = memberIdByUserId.get(userId);
+        if (knownMemberId != null) {
+            MemberDashboardSnapshot cached = snapshotCache.get(snapshotKey(knownMemberId, date));
+            if (cached != null && !cached.isOlderThan(SNAPSHOT_TTL_MS)) {
+                return cached;
+            }
+        }
+
+        int generation = snapshotGeneration.get();
+        MemberDashboardSnapshot snapshot = loadSnapshot(userId, date);
+        if (snapshot == null) {
+            // Member may not be linked by user_id yet; the header lookup links it by username
+            Map<String, String> info = getMemberHeaderInfo(userId);
+            if (!info.isEmpty()) {
+                snapshot = loadSnapshot(userId, date);
+            }
+        }
+
+        if (snapshot != null) {
+            memberIdByUserId.put(userId, snapshot.getMemberId());
+            if (generation == snapshotGeneration.get()) {
+                String key = snapshotKey(snapshot.getMemberId(), date);
+                snapshotCache.put(key, snapshot);
+                if (generation != snapshotGeneration.get()) snapshotCache.remove(key);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drop cached dashboard snapshots for a member after their logs change
+     */
+    public static void invalidateSnapshots(int memberId) {
+        snapshotGeneration.incrementAndGet();
+        String prefix = memberId + ":";
+        snapshotCache.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static String snapshotKey(int memberId, String date) {
+        return memberId + ":" + date;
+    }
+
+    private MemberDashboardSnapshot loadSnapshot(int userId, String date) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(SNAPSHOT_QUERY, new String[]{date, String.valueOf(userId)});
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+
+            MemberDashboardSnapshot.Builder builder = new MemberDashboardSnapshot.Builder()
+                    .setMemberId(cursor.getInt(0))
+                    .setMemberName(cursor.getString(1))
+                    .setDate(date)
+                    .setActivePlanName(cursor.isNull(8) ? null : cursor.getString(8))
+                    .setMealCount(cursor.getInt(9))
+                    .setWeight(cursor.isNull(10) ? null : cursor.getDouble(10))
+                    .setTotalWorkouts(cursor.getInt(11))
+                    .setWeeklyWorkouts(cursor.getInt(12))
+                    .setCaloriesConsumed(cursor.getInt(13))
+                    .setWaterConsumedMl(cursor.getInt(14));
+            if (!cursor.isNull(2)) {
+                builder.setTrainer(cursor.getInt(2), cursor.getString(3));
+            }
+            if (!cursor.isNull(4)) {
+                builder.setGoals(cursor.getInt(5), cursor.getInt(6), cursor.getInt(7));
+            }
+            return builder.build();
+        } catch (Exception e) {
+            // A table missing on an older upgrade path fails the combined query
+            Log.e(TAG, "Error loading dashboard snapshot, falling back to individual queries", e);
+            return loadSnapshotFallback(userId, date);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+    }
+
+    private MemberDashboardSnapshot loadSnapshotFallback(int userId, String date) {
+        Map<String, String> info = getMemberHeaderInfo(userId);
+        String memberIdStr = info.get("member_id");
+        if (memberIdStr == null) {
+            return null;
+        }
+        int memberId = Integer.parseInt(memberIdStr);
+
+        MemberDashboardSnapshot.Builder builder = new MemberDashboardSnapshot.Builder()
+                .setMemberId(memberId)
+                .setMemberName(info.get("member_name"))
+                .setDate(date)
+                .setActivePlanName(getActiveWorkoutPlanName(memberId))
+                .setMealCount(getTodayMealCount(memberId, date));
+        if (info.get("trainer_id") != null) {
+            builder.setTrainer(Integer.parseInt(info.get("trainer_id")), info.get("trainer_name"));
+        }
+
+        Map<String, Object> goals = getTodayGoals(memberId, date);
+        if (goals.containsKey("water_target")) {
+            builder.setGoals((Integer) goals.get("calories_target"), (Integer) goals.get("water_target"),
+                    (Integer) goals.get("workout_duration"));
+        }
+
+        Map<String, String> stats = getQuickStats(memberId);
+        try {
+            String weight = stats.get("weight");
+            if (weight != null && !weight.startsWith("--") && !weight.startsWith("null")) {
+                builder.setWeight(Double.parseDouble(weight.replace(" kg", "")));
+            }
+            builder.setTotalWorkouts(Integer.parseInt(stats.getOrDefault("total_workouts", "0")));
+            builder.setWeeklyWorkouts(Integer.parseInt(stats.getOrDefault("weekly_workouts", "0")));
+        } catch (NumberFormatException e) {
+            Log.e(TAG, "Error parsing quick stats", e);
+        }
+        return builder.build();
+    }
 }
@@ -9,8 +9,10 @@ import com.gym.fitconnectpro.database.DatabaseHelper;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import com.gym.fitconnectpro.models.TimeSeries;
 import com.gym.fitconnectpro.models.WeightLog;
 import com.gym.fitconnectpro.models.ProgressReport;
 import android.content.ContentValues;
@@ -26,51 +28,80 @@ public class ProgressDAO {
 
     // --- WEIGHT PROGRESS (Tab 1) ---
 
-    // Return map of Date String -> Weight Double
-    public Map<String, Double> getWeightProgressData(int memberId) {
-        Map<String, Double> data = new HashMap<>();
+    // Weight readings by epoch day straight from the (member_id, log_date) index; dates that don't parse are skipped
+    private static final String WEIGHT_SERIES_QUERY =
+            "SELECT CAST(julianday(log_date) - 2440587.5 AS INTEGER), weight FROM member_weight_history " +
+            "WHERE member_id = ? AND log_date BETWEEN ? AND ? AND julianday(log_date) IS NOT NULL " +
+            "ORDER BY log_date ASC, id ASC";
+
+    private static final String WORKOUT_MINUTES_SERIES_QUERY =
+            "SELECT CAST(julianday(day) - 2440587.5 AS INTEGER), workout_minutes FROM " + DatabaseHelper.TABLE_DAILY_ROLLUP + " " +
+            "WHERE member_id = ? AND day BETWEEN ? AND ? AND sessions > 0 AND julianday(day) IS NOT NULL " +
+            "ORDER BY day ASC";
+
+    // Open-ended bounds for whole-history series
+    private static final String MIN_DATE = "0000-01-01";
+    private static final String MAX_DATE = "9999-12-31";
+
+    /**
+     * Weight readings in [startDate, endDate] (null for open-ended), ordered by day
+     */
+    public TimeSeries getWeightSeries(int memberId, String startDate, String endDate) {
+        return querySeries(WEIGHT_SERIES_QUERY, memberId, startDate, endDate);
+    }
+
+    /**
+     * Workout minutes per day with at least one session in [startDate, endDate] (null for open-ended)
+     */
+    public TimeSeries getWorkoutMinutesSeries(int memberId, String startDate, String endDate) {
+        return querySeries(WORKOUT_MINUTES_SERIES_QUERY, memberId, startDate, endDate);
+    }
+
+    private TimeSeries querySeries(String query, int memberId, String startDate, String endDate) {
         SQLiteDatabase db = dbHelper.getReadableDatabase();
         Cursor cursor = null;
         try {
-            // Assuming table 'member_weight_history' with columns 'date_recorded' and 'weight'
-            // Using raw query names for safety based on typical schema
-            String query = "SELECT date_recorded, weight FROM member_weight_history WHERE member_id = ? ORDER BY date_recorded ASC";
-            cursor = db.rawQuery(query, new String[]{String.valueOf(memberId)});
-
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    String date = cursor.getString(0);
-                    double weight = cursor.getDouble(1);
-                    data.put(date, weight);
-                } while (cursor.moveToNext());
+            cursor = db.rawQuery(query, new String[]{String.valueOf(memberId),
+                    startDate != null ? startDate : MIN_DATE, endDate != null ? endDate : MAX_DATE});
+            int n = cursor.getCount();
+            int[] days = new int[n];
+            float[] values = new float[n];
+            int size = 0;
+            while (cursor.moveToNext()) {
+                days[size] = cursor.getInt(0);
+                values[size++] = cursor.getFloat(1);
             }
+            return new TimeSeries(days, values, size);
         } catch (Exception e) {
-            Log.e(TAG, "Error fetching weight data", e);
+            Log.e(TAG, "Error fetching time series", e);
+            return TimeSeries.empty();
         } finally {
             if (cursor != null) cursor.close();
         }
-        return data; // Note: HashMap is unordered, but we can sort in UI or use LinkedHashMap if order is critical in map. 
-        // Better to return List of Entry objects for charting really.
     }
-    
-    // Better method for Charting: List of custom objects or simple pairs
+
+    /**
+     * @deprecated Use {@link #getWeightSeries}, which keeps date order and doesn't box
+     */
+    @Deprecated
+    public Map<String, Double> getWeightProgressData(int memberId) {
+        TimeSeries series = getWeightSeries(memberId, null, null);
+        Map<String, Double> data = new LinkedHashMap<>();
+        for (int i = 0; i < series.size(); i++) {
+            data.put(TimeSeries.formatDay(series.dayAt(i)), (double) series.valueAt(i));
+        }
+        return data;
+    }
+
+    /**
+     * @deprecated Use {@link #getWeightSeries}
+     */
+    @Deprecated
     public List<WeightRecord> getWeightRecords(int memberId) {
-        List<WeightRecord> records = new ArrayList<>();
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        Cursor cursor = null;
-        try {
-            String query = "SELECT date_recorded, weight FROM member_weight_history WHERE member_id = ? ORDER BY date_recorded ASC";
-            cursor = db.rawQuery(query, new String[]{String.valueOf(memberId)});
-            
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    records.add(new WeightRecord(cursor.getString(0), cursor.getDouble(1)));
-                } while (cursor.moveToNext());
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error fetching weight records", e);
-        } finally {
-            if (cursor != null) cursor.close();
+        TimeSeries series = getWeightSeries(memberId, null, null);
+        List<WeightRecord> records = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            records.add(new WeightRecord(TimeSeries.formatDay(series.dayAt(i)), series.valueAt(i)));
         }
         return records;
     }
@@ -127,23 +158,16 @@ public class ProgressDAO {
         Cursor cursor = null;
         
         try {
-            // Average Daily Calories (from member_daily_logs)
-            String query = "SELECT AVG(calories_consumed) FROM member_daily_logs WHERE member_id = ?";
+            // Averages over days with logged meals; macros per meal, from the daily rollup
+            String query = "SELECT AVG(calories), SUM(protein) / SUM(meals), SUM(carbs) / SUM(meals), SUM(fats) / SUM(meals) " +
+                           "FROM " + DatabaseHelper.TABLE_DAILY_ROLLUP + " WHERE member_id = ? AND meals > 0";
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId)});
-            if (cursor.moveToFirst()) stats.put("avg_calories", cursor.getDouble(0));
-            cursor.close();
-            
-            // To get Macro distribution, we'd need more granular data. 
-            // To get Macro distribution, we aggregate from member_meals (actual logs)
-            // Assuming member_meals has total_protein, total_carbs, total_fats columns
-            String macroQuery = "SELECT AVG(total_protein), AVG(total_carbs), AVG(total_fats) FROM member_meals WHERE member_id = ?";
-            Cursor macroCursor = db.rawQuery(macroQuery, new String[]{String.valueOf(memberId)});
-            if (macroCursor.moveToFirst()) {
-                stats.put("avg_protein", macroCursor.getDouble(0));
-                stats.put("avg_carbs", macroCursor.getDouble(1));
-                stats.put("avg_fat", macroCursor.getDouble(2));
+            if (cursor.moveToFirst()) {
+                stats.put("avg_calories", cursor.getDouble(0));
+                stats.put("avg_protein", cursor.getDouble(1));
+                stats.put("avg_carbs", cursor.getDouble(2));
+                stats.put("avg_fat", cursor.getDouble(3));
             }
-            macroCursor.close();
             
         } catch (Exception e) {
              Log.e(TAG, "Error fetching nutrition stats", e);
@@ -163,14 +187,14 @@ public class ProgressDAO {
         try {
             // 1. Weight Change
             // Get start weight (first record >= startDate)
-            String startWeightQuery = "SELECT weight FROM member_weight_history WHERE member_id = ? AND date_recorded >= ? ORDER BY date_recorded ASC LIMIT 1";
+            String startWeightQuery = "SELECT weight FROM member_weight_history WHERE member_id = ? AND log_date >= ? ORDER BY log_date ASC, id ASC LIMIT 1";
             cursor = db.rawQuery(startWeightQuery, new String[]{String.valueOf(memberId), startDate});
             double startWeight = 0;
             if (cursor.moveToFirst()) startWeight = cursor.getDouble(0);
             cursor.close();
 
             // Get end weight (last record <= endDate)
-            String endWeightQuery = "SELECT weight FROM member_weight_history WHERE member_id = ? AND date_recorded <= ? ORDER BY date_recorded DESC LIMIT 1";
+            String endWeightQuery = "SELECT weight FROM member_weight_history WHERE member_id = ? AND log_date <= ? ORDER BY log_date DESC, id DESC LIMIT 1";
             cursor = db.rawQuery(endWeightQuery, new String[]{String.valueOf(memberId), endDate});
             double endWeight = 0;
             if (cursor.moveToFirst()) endWeight = cursor.getDouble(0);
@@ -181,7 +205,8 @@ public class ProgressDAO {
             stats.put("weight_change", endWeight - startWeight);
 
             // 2. Workout Stats
-            String workoutQuery = "SELECT COUNT(*), SUM(duration_minutes), SUM(calories_burned) FROM workout_logs WHERE member_id = ? AND date BETWEEN ? AND ?";
+            String workoutQuery = "SELECT SUM(sessions), SUM(workout_minutes), SUM(workout_calories) FROM " +
+                                  DatabaseHelper.TABLE_DAILY_ROLLUP + " WHERE member_id = ? AND day BETWEEN ? AND ?";
             cursor = db.rawQuery(workoutQuery, new String[]{String.valueOf(memberId), startDate, endDate});
             if (cursor.moveToFirst()) {
                 stats.put("workouts_completed", cursor.getInt(0));
@@ -212,7 +237,7 @@ public class ProgressDAO {
         SQLiteDatabase db = dbHelper.getReadableDatabase();
         Cursor cursor = null;
         try {
-            String query = "SELECT weight, date_recorded FROM member_weight_history WHERE member_id = ? AND date_recorded BETWEEN ? AND ? ORDER BY date_recorded ASC";
+            String query = "SELECT weight, log_date FROM member_weight_history WHERE member_id = ? AND log_date BETWEEN ? AND ? ORDER BY log_date ASC, id ASC";
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId), startDate, endDate});
             
             if (cursor != null && cursor.moveToFirst()) {
@@ -4,86 +4,85 @@ import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
 import com.gym.fitconnectpro.database.DatabaseHelper;
 import com.gym.fitconnectpro.database.entities.Salary;
-import com.gym.fitconnectpro.database.entities.Trainer;
+import com.gym.fitconnectpro.models.SalaryReport;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SalaryDAO {
     private static final String TAG = "SalaryDAO";
     private DatabaseHelper dbHelper;
-    private TrainerDAO trainerDAO;
     private SimpleDateFormat dateFormat;
 
     public SalaryDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
-        trainerDAO = new TrainerDAO(context);
         dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
     }
 
+    // Consecutive periods starting at (?1 month, ?2 year), ?3 of them, cross joined with every ACTIVE trainer.
+    // The unique (trainer_id, year, month) index turns existing rows into no-ops; there is no
+    // ON CONFLICT DO NOTHING on older platform SQLite, so INSERT OR IGNORE does the same job.
+    private static final String GENERATE_SALARIES =
+            "INSERT OR IGNORE INTO salaries (trainer_id, month, year, base_salary, bonus, deductions, net_salary, status, processed_by) " +
+            "WITH RECURSIVE period(n, month, year) AS (" +
+            "SELECT 0, ?1, ?2 " +
+            "UNION ALL SELECT n + 1, month % 12 + 1, year + (month = 12) FROM period WHERE n + 1 < ?3) " +
+            "SELECT t.id, p.month, p.year, t.salary, 0, 0, t.salary, 'PENDING', ?4 " +
+            "FROM trainers t CROSS JOIN period p " +
+            "WHERE t.status = 'ACTIVE'";
+
+    // Reports cached per (range, trainer, granularity); salary writers call invalidateReports().
+    // A report loaded while a write was in flight is returned but not cached (generation changed).
+    private static final int MAX_CACHED_REPORTS = 32;
+    private static final Map<String, SalaryReport> reportCache = new ConcurrentHashMap<>();
+    private static final AtomicInteger reportGeneration = new AtomicInteger();
+
     /**
      * Generate salaries for a specific month for all ACTIVE trainers
-     * Checks if salary record already exists for the month/year to avoid duplicates
+     * Trainers that already have a record for the month/year are left untouched
      */
     public boolean generateMonthlySalaries(int month, int year, int processedByAdminId) {
-        SQLiteDatabase db = null;
-        try {
-            db = dbHelper.getWritableDatabase();
-            db.beginTransaction();
-
-            List<Trainer> activeTrainers = trainerDAO.getAvailableTrainers();
-            int createdCount = 0;
-
-            for (Trainer trainer : activeTrainers) {
-                // Check if salary record already exists for this trainer, month, and year
-                if (!isSalaryGenerated(db, trainer.getTrainerId(), month, year)) {
-                    ContentValues values = new ContentValues();
-                    values.put("trainer_id", trainer.getTrainerId());
-                    values.put("month", month);
-                    values.put("year", year);
-                    values.put("base_salary", trainer.getSalary());
-                    values.put("bonus", 0.0);
-                    values.put("deductions", 0.0);
-                    values.put("net_salary", trainer.getSalary()); // Initially net = base
-                    values.put("status", "PENDING");
-                    values.put("processed_by", processedByAdminId);
-
-                    long id = db.insert("salaries", null, values);
-                    if (id != -1) {
-                        createdCount++;
-                    }
-                }
-            }
-
-            db.setTransactionSuccessful();
-            Log.d(TAG, "Generated " + createdCount + " salary records for " + month + "/" + year);
-            return true;
-
-        } catch (Exception e) {
-            Log.e(TAG, "Error generating monthly salaries", e);
-            return false;
-        } finally {
-            if (db != null) db.endTransaction();
-        }
+        return generateSalaries(month, year, 1, processedByAdminId) >= 0;
     }
 
-    private boolean isSalaryGenerated(SQLiteDatabase db, int trainerId, int month, int year) {
-        Cursor cursor = null;
+    /**
+     * Backfill payroll for every ACTIVE trainer over monthCount consecutive months starting at month/year
+     * (e.g. 12 from January for a full year) in a single statement.
+     * @return number of salary records created, or -1 on error
+     */
+    public int generateSalaries(int startMonth, int startYear, int monthCount, int processedByAdminId) {
+        if (startMonth < 1 || startMonth > 12 || monthCount < 1) {
+            return -1;
+        }
+        SQLiteStatement statement = null;
         try {
-            cursor = db.query("salaries", new String[]{"id"},
-                    "trainer_id = ? AND month = ? AND year = ?",
-                    new String[]{String.valueOf(trainerId), String.valueOf(month), String.valueOf(year)},
-                    null, null, null);
-            return cursor != null && cursor.getCount() > 0;
+            SQLiteDatabase db = dbHelper.getWritableDatabase();
+            statement = db.compileStatement(GENERATE_SALARIES);
+            statement.bindLong(1, startMonth);
+            statement.bindLong(2, startYear);
+            statement.bindLong(3, monthCount);
+            statement.bindLong(4, processedByAdminId);
+            // One autocommit statement: the write lock is held only while the rows are inserted
+            int created = statement.executeUpdateDelete();
+            if (created > 0) invalidateReports();
+            Log.d(TAG, "Generated " + created + " salary records for " + monthCount + " month(s) from " + startMonth + "/" + startYear);
+            return created;
+        } catch (Exception e) {
+            Log.e(TAG, "Error generating salaries", e);
+            return -1;
         } finally {
-            if (cursor != null) cursor.close();
+            if (statement != null) statement.close();
         }
     }
 
@@ -144,6 +143,7 @@ public class SalaryDAO {
             }
 
             int rows = db.update("salaries", values, "id = ?", new String[]{String.valueOf(salaryId)});
+            if (rows > 0) invalidateReports();
             return rows > 0;
         } catch (Exception e) {
             Log.e(TAG, "Error updating salary status", e);
@@ -174,6 +174,7 @@ public class SalaryDAO {
             values.put("net_salary", netSalary);
 
             int rows = db.update("salaries", values, "id = ?", new String[]{String.valueOf(salaryId)});
+            if (rows > 0) invalidateReports();
             return rows > 0;
         } catch (Exception e) {
             Log.e(TAG, "Error updating salary details", e);
@@ -251,51 +252,125 @@ public class SalaryDAO {
         return salary;
     }
     public List<Salary> getSalariesByDateRange(String startDate, String endDate) {
+        return getSalariesByDateRange(startDate, endDate, -1);
+    }
+
+    /**
+     * Most recent salaries paid in the range; a negative limit returns all of them
+     */
+    public List<Salary> getSalariesByDateRange(String startDate, String endDate, int limit) {
+        String query = "SELECT s.*, t.full_name FROM salaries s " +
+                       "JOIN trainers t ON s.trainer_id = t.id " +
+                       "WHERE s.payment_date BETWEEN ? AND ? " +
+                       "ORDER BY s.payment_date DESC LIMIT ?";
+        return querySalaries(query, new String[]{startDate, endDate, String.valueOf(limit)},
+                "Error getting salaries by date range");
+    }
+
+    public List<Salary> getSalariesByTrainerAndDateRange(int trainerId, String startDate, String endDate) {
+        return getSalariesByTrainerAndDateRange(trainerId, startDate, endDate, -1);
+    }
+
+    /**
+     * Most recent salaries paid to one trainer in the range; a negative limit returns all of them
+     */
+    public List<Salary> getSalariesByTrainerAndDateRange(int trainerId, String startDate, String endDate, int limit) {
+        String query = "SELECT s.*, t.full_name FROM salaries s " +
+                       "JOIN trainers t ON s.trainer_id = t.id " +
+                       "WHERE s.trainer_id = ? AND s.payment_date BETWEEN ? AND ? " +
+                       "ORDER BY s.payment_date DESC LIMIT ?";
+        return querySalaries(query, new String[]{String.valueOf(trainerId), startDate, endDate, String.valueOf(limit)},
+                "Error getting salaries by trainer and date range");
+    }
+
+    private List<Salary> querySalaries(String query, String[] args, String errorMessage) {
         List<Salary> salaries = new ArrayList<>();
-        SQLiteDatabase db = null;
         Cursor cursor = null;
         try {
-            db = dbHelper.getReadableDatabase();
-            String query = "SELECT s.*, t.full_name FROM salaries s " +
-                           "JOIN trainers t ON s.trainer_id = t.id " +
-                           "WHERE s.payment_date BETWEEN ? AND ? " +
-                           "ORDER BY s.payment_date DESC";
-            cursor = db.rawQuery(query, new String[]{startDate, endDate});
+            SQLiteDatabase db = dbHelper.getReadableDatabase();
+            cursor = db.rawQuery(query, args);
             if (cursor != null && cursor.moveToFirst()) {
                 do {
                     salaries.add(extractSalaryFromCursor(cursor));
                 } while (cursor.moveToNext());
             }
         } catch (Exception e) {
-            Log.e(TAG, "Error getting salaries by date range", e);
+            Log.e(TAG, errorMessage, e);
         } finally {
             if (cursor != null) cursor.close();
         }
         return salaries;
     }
 
-    public List<Salary> getSalariesByTrainerAndDateRange(int trainerId, String startDate, String endDate) {
-        List<Salary> salaries = new ArrayList<>();
-        SQLiteDatabase db = null;
+    /**
+     * Paid salary totals for [startDate, endDate] grouped into periods by SQL, so long ranges
+     * never load individual rows. trainerId 0 covers all trainers.
+     */
+    public SalaryReport getSalaryReport(String startDate, String endDate, int trainerId, SalaryReport.Granularity granularity) {
+        String key = startDate + "|" + endDate + "|" + trainerId + "|" + granularity;
+        SalaryReport cached = reportCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int generation = reportGeneration.get();
+        SalaryReport report = loadSalaryReport(startDate, endDate, trainerId, granularity);
+        if (report != null && generation == reportGeneration.get()) {
+            if (reportCache.size() >= MAX_CACHED_REPORTS) {
+                reportCache.clear();
+            }
+            reportCache.put(key, report);
+            if (generation != reportGeneration.get()) reportCache.remove(key);
+        }
+        return report != null ? report : new SalaryReport(granularity, new ArrayList<>());
+    }
+
+    /**
+     * Drop cached salary reports after salaries change
+     */
+    public static void invalidateReports() {
+        reportGeneration.incrementAndGet();
+        reportCache.clear();
+    }
+
+    private SalaryReport loadSalaryReport(String startDate, String endDate, int trainerId, SalaryReport.Granularity granularity) {
+        String period = periodExpression(granularity);
+        // Range and GROUP BY are served by idx_salaries_status_payment, which also covers net_salary
+        String query = "SELECT " + period + " AS period, SUM(net_salary), COUNT(*) FROM salaries " +
+                       "WHERE status = 'PAID' AND payment_date BETWEEN ? AND ? " +
+                       (trainerId > 0 ? "AND trainer_id = ? " : "") +
+                       "GROUP BY period ORDER BY period ASC";
+        String[] args = trainerId > 0
+                ? new String[]{startDate, endDate, String.valueOf(trainerId)}
+                : new String[]{startDate, endDate};
+
+        List<SalaryReport.Bucket> buckets = new ArrayList<>();
         Cursor cursor = null;
         try {
-            db = dbHelper.getReadableDatabase();
-            String query = "SELECT s.*, t.full_name FROM salaries s " +
-                           "JOIN trainers t ON s.trainer_id = t.id " +
-                           "WHERE s.trainer_id = ? AND s.payment_date BETWEEN ? AND ? " +
-                           "ORDER BY s.payment_date DESC";
-            cursor = db.rawQuery(query, new String[]{String.valueOf(trainerId), startDate, endDate});
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    salaries.add(extractSalaryFromCursor(cursor));
-                } while (cursor.moveToNext());
+            SQLiteDatabase db = dbHelper.getReadableDatabase();
+            cursor = db.rawQuery(query, args);
+            while (cursor.moveToNext()) {
+                buckets.add(new SalaryReport.Bucket(cursor.getString(0), cursor.getDouble(1), cursor.getInt(2)));
             }
+            return new SalaryReport(granularity, buckets);
         } catch (Exception e) {
-            Log.e(TAG, "Error getting salaries by trainer and date range", e);
+            Log.e(TAG, "Error loading salary report", e);
+            return null;
         } finally {
             if (cursor != null) cursor.close();
         }
-        return salaries;
+    }
+
+    private static String periodExpression(SalaryReport.Granularity granularity) {
+        switch (granularity) {
+            case WEEK:
+                // Monday of the payment's week
+                return "date(payment_date, 'weekday 0', '-6 days')";
+            case MONTH:
+                return "date(payment_date, 'start of month')";
+            default:
+                return "payment_date";
+        }
     }
 
     public double getTotalSalariesPaidInRange(String startDate, String endDate) {
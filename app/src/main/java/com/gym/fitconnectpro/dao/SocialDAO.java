@@ -0,0 +1,371 @@
+package com.gym.fitconnectpro.dao;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.gym.fitconnectpro.database.DatabaseHelper;
+import com.gym.fitconnectpro.database.TableChangeNotifier;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Chat messages between users and friend requests between members.
+ * Message sender/receiver ids are user ids; friend request ids are member ids.
+ */
+public class SocialDAO {
+
+    private static final String TAG = "SocialDAO";
+
+    // Marks the matched terms inside MessageHit.snippet
+    public static final char SNIPPET_START = '\u0002';
+    public static final char SNIPPET_END = '\u0003';
+
+    // "fts5", "fts4", or "" when no full-text module was available at schema creation
+    private static volatile String messageSearchModule;
+    private DatabaseHelper dbHelper;
+
+    // Both directions of one conversation, each half served by idx_messages_pair_id
+    private static final String CONVERSATION_SINCE_QUERY =
+            "SELECT * FROM messages WHERE sender_id = ?1 AND receiver_id = ?2 AND id > ?3 " +
+            "UNION ALL " +
+            "SELECT * FROM messages WHERE sender_id = ?2 AND receiver_id = ?1 AND id > ?3 " +
+            "ORDER BY id ASC";
+
+    // Page of a conversation older than an id, newest first. The compound ORDER BY merges
+    // the two index-ordered halves, so LIMIT stops after limit rows instead of sorting the history.
+    private static final String CONVERSATION_BEFORE_QUERY =
+            "SELECT * FROM messages WHERE sender_id = ?1 AND receiver_id = ?2 AND id < ?3 " +
+            "UNION ALL " +
+            "SELECT * FROM messages WHERE sender_id = ?2 AND receiver_id = ?1 AND id < ?3 " +
+            "ORDER BY id DESC LIMIT ?4";
+
+    public SocialDAO(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+    }
+
+    public static class Message {
+        public int id;
+        public int senderId;
+        public int receiverId;
+        public String content;
+        public boolean isRead;
+        public String timestamp;
+    }
+
+    public static class MessageHit {
+        public int messageId;
+        public int senderId;
+        public int receiverId;
+        public String snippet;
+        public String timestamp;
+    }
+
+    public static class Conversation {
+        public int userId;
+        public String name;
+        public String lastMessage;
+        public String lastMessageTime;
+        public int unreadCount;
+        public int broadcastTrainerId; // Set for a trainer's announcement channel, 0 for a direct chat
+    }
+
+    public static class FriendRequest {
+        public int id;
+        public int senderId;
+        public int receiverId;
+        public String senderName;
+        public String receiverName;
+        public String status;
+        public String timestamp;
+        public String type; // SENT or RECEIVED
+    }
+
+    /**
+     * Get the whole conversation between two users, oldest first
+     */
+    public List<Message> getMessages(int userId, int otherUserId) {
+        return getMessagesSince(userId, otherUserId, 0);
+    }
+
+    /**
+     * Get only the messages of a conversation newer than lastSeenId, oldest first.
+     * Message ids only grow, so this is the delta since the last sync.
+     */
+    public List<Message> getMessagesSince(int userId, int otherUserId, int lastSeenId) {
+        return getMessagesSince(userId, otherUserId, lastSeenId, 0);
+    }
+
+    /**
+     * Get at most limit messages newer than lastSeenId, oldest first (limit 0 for all)
+     */
+    public List<Message> getMessagesSince(int userId, int otherUserId, int lastSeenId, int limit) {
+        List<Message> messages = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            String query = limit > 0 ? CONVERSATION_SINCE_QUERY + " LIMIT " + limit : CONVERSATION_SINCE_QUERY;
+            cursor = db.rawQuery(query, new String[]{
+                    String.valueOf(userId), String.valueOf(otherUserId), String.valueOf(lastSeenId)});
+            while (cursor.moveToNext()) {
+                messages.add(cursorToMessage(cursor));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting messages", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return messages;
+    }
+
+    /**
+     * Get the page of a conversation just before beforeId, returned oldest first.
+     * Pass Integer.MAX_VALUE for the latest page. Keyset paging keeps every page O(limit) however long the history is.
+     */
+    public List<Message> getMessagesBefore(int userId, int otherUserId, int beforeId, int limit) {
+        List<Message> messages = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            cursor = db.rawQuery(CONVERSATION_BEFORE_QUERY, new String[]{
+                    String.valueOf(userId), String.valueOf(otherUserId), String.valueOf(beforeId), String.valueOf(limit)});
+            // Rows come newest first; fill the page from the back so it reads oldest first
+            Message[] page = new Message[cursor.getCount()];
+            int i = page.length;
+            while (cursor.moveToNext()) {
+                page[--i] = cursorToMessage(cursor);
+            }
+            for (Message message : page) {
+                messages.add(message);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting message history", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return messages;
+    }
+
+    /**
+     * Full-text search over the messages of one conversation, or of all the user's conversations
+     * when otherUserId is 0. Newest hits first; snippets mark matches with SNIPPET_START/SNIPPET_END.
+     */
+    public List<MessageHit> searchMessages(int userId, int otherUserId, String text, int limit) {
+        List<MessageHit> hits = new ArrayList<>();
+        String matchQuery = text != null ? MemberDAO.toMatchQuery(text.trim()) : null;
+        if (matchQuery == null) return hits;
+
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+        try {
+            String participants = otherUserId > 0
+                    ? "((m.sender_id = ?1 AND m.receiver_id = ?2) OR (m.sender_id = ?2 AND m.receiver_id = ?1))"
+                    : "(m.sender_id = ?1 OR m.receiver_id = ?1)";
+            String module = getMessageSearchModule(db);
+            String query;
+            String[] args;
+            if (!module.isEmpty()) {
+                String snippet = "fts5".equals(module)
+                        ? "snippet(messages_fts, 0, ?4, ?5, '\u2026', 10)"
+                        : "snippet(messages_fts, ?4, ?5, '\u2026', 0, 10)";
+                query = "SELECT m.id, m.sender_id, m.receiver_id, m.timestamp, " + snippet + " " +
+                        "FROM messages_fts JOIN messages m ON m.id = messages_fts.rowid " +
+                        "WHERE messages_fts MATCH ?3 AND " + participants + " " +
+                        "ORDER BY m.id DESC LIMIT ?6";
+                args = new String[]{String.valueOf(userId), String.valueOf(otherUserId), matchQuery,
+                        String.valueOf(SNIPPET_START), String.valueOf(SNIPPET_END), String.valueOf(limit)};
+            } else {
+                // No full-text module on this device: substring scan, whole message as the snippet
+                query = "SELECT m.id, m.sender_id, m.receiver_id, m.timestamp, m.content " +
+                        "FROM messages m WHERE m.content LIKE ?3 AND " + participants + " " +
+                        "ORDER BY m.id DESC LIMIT ?4";
+                args = new String[]{String.valueOf(userId), String.valueOf(otherUserId),
+                        "%" + text.trim() + "%", String.valueOf(limit)};
+            }
+            cursor = db.rawQuery(query, args);
+
+            while (cursor.moveToNext()) {
+                MessageHit hit = new MessageHit();
+                hit.messageId = cursor.getInt(0);
+                hit.senderId = cursor.getInt(1);
+                hit.receiverId = cursor.getInt(2);
+                hit.timestamp = cursor.getString(3);
+                hit.snippet = cursor.getString(4);
+                hits.add(hit);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error searching messages", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return hits;
+    }
+
+    /**
+     * Send a message and signal watchers of the messages table
+     */
+    public boolean sendMessage(int senderId, int receiverId, String content) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        try {
+            ContentValues values = new ContentValues();
+            values.put("sender_id", senderId);
+            values.put("receiver_id", receiverId);
+            values.put("content", content);
+            values.put("is_read", 0);
+            values.put("timestamp", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date()));
+
+            long id = db.insert("messages", null, values);
+            if (id == -1) return false;
+
+            TableChangeNotifier.getInstance().notifyChanged(TableChangeNotifier.TABLE_MESSAGES);
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, "Error sending message", e);
+            return false;
+        }
+    }
+
+    /**
+     * Mark every message from otherUserId to currentUserId as read
+     */
+    public boolean markAsRead(int otherUserId, int currentUserId) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        try {
+            ContentValues values = new ContentValues();
+            values.put("is_read", 1);
+            db.update("messages", values, "sender_id = ? AND receiver_id = ? AND is_read = 0",
+                    new String[]{String.valueOf(otherUserId), String.valueOf(currentUserId)});
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, "Error marking messages as read", e);
+            return false;
+        }
+    }
+
+    /**
+     * Get one row per chat partner with the latest message and the unread count, newest first
+     */
+    public List<Conversation> getConversations(int userId) {
+        List<Conversation> conversations = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            // Reads the trigger-maintained summaries: one row per conversation, no aggregation over messages
+            String otherId = "CASE WHEN cs.user_low = ?1 THEN cs.user_high ELSE cs.user_low END";
+            String query = "SELECT " + otherId + " AS other_id, " +
+                           "CASE WHEN cs.user_low = ?1 THEN cs.unread_low ELSE cs.unread_high END AS unread, " +
+                           "last.content, cs.last_timestamp, " +
+                           "COALESCE(mem.full_name, t.full_name, u.username) AS name " +
+                           "FROM conversation_summaries cs " +
+                           "JOIN messages last ON last.id = cs.last_message_id " +
+                           "LEFT JOIN users u ON u.id = " + otherId + " " +
+                           "LEFT JOIN members mem ON mem.user_id = " + otherId + " " +
+                           "LEFT JOIN trainers t ON t.user_id = " + otherId + " " +
+                           "WHERE cs.user_low = ?1 OR cs.user_high = ?1 " +
+                           "ORDER BY cs.last_message_id DESC";
+            cursor = db.rawQuery(query, new String[]{String.valueOf(userId)});
+
+            while (cursor.moveToNext()) {
+                Conversation conversation = new Conversation();
+                conversation.userId = cursor.getInt(0);
+                conversation.unreadCount = cursor.getInt(1);
+                conversation.lastMessage = cursor.getString(2);
+                conversation.lastMessageTime = cursor.getString(3);
+                conversation.name = cursor.getString(4);
+                conversations.add(conversation);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting conversations", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return conversations;
+    }
+
+    /**
+     * Get pending friend requests of a member
+     * @param sent true for requests the member sent, false for requests the member received
+     */
+    public List<FriendRequest> getPendingRequests(int memberId, boolean sent) {
+        List<FriendRequest> requests = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            String query = "SELECT fr.*, s.full_name AS sender_name, r.full_name AS receiver_name " +
+                           "FROM friend_requests fr " +
+                           "JOIN members s ON s.member_id = fr.sender_id " +
+                           "JOIN members r ON r.member_id = fr.receiver_id " +
+                           "WHERE fr." + (sent ? "sender_id" : "receiver_id") + " = ? AND fr.status = 'PENDING' " +
+                           "ORDER BY fr.timestamp DESC";
+            cursor = db.rawQuery(query, new String[]{String.valueOf(memberId)});
+
+            while (cursor.moveToNext()) {
+                FriendRequest request = new FriendRequest();
+                request.id = cursor.getInt(cursor.getColumnIndexOrThrow("id"));
+                request.senderId = cursor.getInt(cursor.getColumnIndexOrThrow("sender_id"));
+                request.receiverId = cursor.getInt(cursor.getColumnIndexOrThrow("receiver_id"));
+                request.senderName = cursor.getString(cursor.getColumnIndexOrThrow("sender_name"));
+                request.receiverName = cursor.getString(cursor.getColumnIndexOrThrow("receiver_name"));
+                request.status = cursor.getString(cursor.getColumnIndexOrThrow("status"));
+                request.timestamp = cursor.getString(cursor.getColumnIndexOrThrow("timestamp"));
+                request.type = sent ? "SENT" : "RECEIVED";
+                requests.add(request);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting friend requests", e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return requests;
+    }
+
+    /**
+     * Accept or reject a friend request
+     */
+    public boolean respondToRequest(int requestId, String status) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        try {
+            ContentValues values = new ContentValues();
+            values.put("status", status);
+            int rows = db.update("friend_requests", values, "id = ?", new String[]{String.valueOf(requestId)});
+            return rows > 0;
+        } catch (Exception e) {
+            Log.e(TAG, "Error responding to friend request", e);
+            return false;
+        }
+    }
+
+    private String getMessageSearchModule(SQLiteDatabase db) {
+        String module = messageSearchModule;
+        if (module == null) {
+            String sql = DatabaseUtils.stringForQuery(db,
+                    "SELECT IFNULL(MAX(sql), '') FROM sqlite_master WHERE type = 'table' AND name = 'messages_fts'", null);
+            String lower = sql.toLowerCase(Locale.ROOT);
+            module = lower.contains("fts5") ? "fts5" : lower.contains("fts4") ? "fts4" : "";
+            messageSearchModule = module;
+        }
+        return module;
+    }
+
+    private Message cursorToMessage(Cursor cursor) {
+        Message message = new Message();
+        message.id = cursor.getInt(cursor.getColumnIndexOrThrow("id"));
+        message.senderId = cursor.getInt(cursor.getColumnIndexOrThrow("sender_id"));
+        message.receiverId = cursor.getInt(cursor.getColumnIndexOrThrow("receiver_id"));
+        message.content = cursor.getString(cursor.getColumnIndexOrThrow("content"));
+        message.isRead = cursor.getInt(cursor.getColumnIndexOrThrow("is_read")) == 1;
+        message.timestamp = cursor.getString(cursor.getColumnIndexOrThrow("timestamp"));
+        return message;
+    }
+}
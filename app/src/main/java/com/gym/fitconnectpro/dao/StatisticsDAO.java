@@ -7,115 +7,189 @@ import android.util.Log;
 
 import com.gym.fitconnectpro.database.DatabaseHelper;
 
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Admin dashboard KPIs read from dashboard_counters, which triggers on members, trainers and payments
+ * keep current. Every read is a primary key lookup, independent of table sizes.
+ */
 public class StatisticsDAO {
 
     private static final String TAG = "StatisticsDAO";
+    private static final String TABLE = DatabaseHelper.TABLE_DASHBOARD_COUNTERS;
+    // Revenue is REAL; allow float drift from repeated deltas when reconciling
+    private static final double EPSILON = 0.01;
+
     private DatabaseHelper dbHelper;
 
     public StatisticsDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
     }
 
+    public static class DashboardTotals {
+        public int totalMembers;
+        public int activeMembers;
+        public int totalTrainers;
+        public int activeTrainers;
+        public double monthlyRevenue;
+    }
+
     /**
-     * Get total members count
+     * Everything the admin home screen shows, in one query over five counter rows
      */
-    public int getTotalMembers() {
+    public DashboardTotals getDashboardTotals() {
+        DashboardTotals totals = new DashboardTotals();
+        String revenueCounter = revenueCounter(currentMonth());
         SQLiteDatabase db = null;
         Cursor cursor = null;
-        int count = 0;
 
         try {
             db = dbHelper.getReadableDatabase();
-            String query = "SELECT COUNT(*) FROM members";
-            cursor = db.rawQuery(query, null);
-
-            if (cursor != null && cursor.moveToFirst()) {
-                count = cursor.getInt(0);
+            cursor = db.rawQuery("SELECT name, value FROM " + TABLE + " WHERE name IN (?, ?, ?, ?, ?)",
+                    new String[]{DatabaseHelper.COUNTER_MEMBERS, DatabaseHelper.COUNTER_ACTIVE_MEMBERS,
+                            DatabaseHelper.COUNTER_TRAINERS, DatabaseHelper.COUNTER_ACTIVE_TRAINERS, revenueCounter});
+
+            while (cursor.moveToNext()) {
+                String name = cursor.getString(0);
+                if (DatabaseHelper.COUNTER_MEMBERS.equals(name)) {
+                    totals.totalMembers = cursor.getInt(1);
+                } else if (DatabaseHelper.COUNTER_ACTIVE_MEMBERS.equals(name)) {
+                    totals.activeMembers = cursor.getInt(1);
+                } else if (DatabaseHelper.COUNTER_TRAINERS.equals(name)) {
+                    totals.totalTrainers = cursor.getInt(1);
+                } else if (DatabaseHelper.COUNTER_ACTIVE_TRAINERS.equals(name)) {
+                    totals.activeTrainers = cursor.getInt(1);
+                } else {
+                    totals.monthlyRevenue = cursor.getDouble(1);
+                }
             }
         } catch (Exception e) {
-            Log.e(TAG, "Error getting total members", e);
+            Log.e(TAG, "Error getting dashboard totals", e);
         } finally {
             DatabaseHelper.closeCursor(cursor);
         }
 
-        return count;
+        return totals;
+    }
+
+    /**
+     * Get total members count
+     */
+    public int getTotalMembers() {
+        return (int) getCounter(DatabaseHelper.COUNTER_MEMBERS);
     }
 
     /**
      * Get active members count
      */
     public int getActiveMembersCount() {
+        return (int) getCounter(DatabaseHelper.COUNTER_ACTIVE_MEMBERS);
+    }
+
+    /**
+     * Get total trainers count
+     */
+    public int getTotalTrainers() {
+        return (int) getCounter(DatabaseHelper.COUNTER_TRAINERS);
+    }
+
+    /**
+     * Get monthly revenue (sum of completed payments in the current month)
+     */
+    public double getMonthlyRevenue() {
+        return getMonthlyRevenue(currentMonth());
+    }
+
+    /**
+     * Sum of completed payments whose payment_date falls in yearMonth ("yyyy-MM")
+     */
+    public double getMonthlyRevenue(String yearMonth) {
+        return getCounter(revenueCounter(yearMonth));
+    }
+
+    private double getCounter(String name) {
         SQLiteDatabase db = null;
         Cursor cursor = null;
-        int count = 0;
+        double value = 0;
 
         try {
             db = dbHelper.getReadableDatabase();
-            String query = "SELECT COUNT(*) FROM members WHERE status = 'ACTIVE'";
-            cursor = db.rawQuery(query, null);
+            cursor = db.rawQuery("SELECT value FROM " + TABLE + " WHERE name = ?", new String[]{name});
 
             if (cursor != null && cursor.moveToFirst()) {
-                count = cursor.getInt(0);
+                value = cursor.getDouble(0);
             }
         } catch (Exception e) {
-            Log.e(TAG, "Error getting active members", e);
+            Log.e(TAG, "Error getting counter " + name, e);
         } finally {
             DatabaseHelper.closeCursor(cursor);
         }
 
-        return count;
+        return value;
     }
 
     /**
-     * Get total trainers count
+     * Compare the counters with totals recomputed from the base tables and rebuild them if any disagree
+     * @return names of the counters that had drifted (empty when consistent)
      */
-    public int getTotalTrainers() {
-        SQLiteDatabase db = null;
+    public List<String> reconcileCounters() {
+        List<String> mismatches = new ArrayList<>();
         Cursor cursor = null;
-        int count = 0;
 
         try {
-            db = dbHelper.getReadableDatabase();
-            String query = "SELECT COUNT(*) FROM trainers";
-            cursor = db.rawQuery(query, null);
-
-            if (cursor != null && cursor.moveToFirst()) {
-                count = cursor.getInt(0);
+            SQLiteDatabase db = dbHelper.getReadableDatabase();
+            // Revenue buckets emptied by deletes or refunds linger at zero; only non-zero orphans count
+            cursor = db.rawQuery("SELECT s.name FROM (" + DatabaseHelper.DASHBOARD_COUNTERS_SOURCE + ") s "
+                    + "LEFT JOIN " + TABLE + " c ON c.name = s.name "
+                    + "WHERE c.name IS NULL OR ABS(c.value - s.value) > " + EPSILON + " "
+                    + "UNION ALL SELECT c.name FROM " + TABLE + " c "
+                    + "LEFT JOIN (" + DatabaseHelper.DASHBOARD_COUNTERS_SOURCE + ") s ON s.name = c.name "
+                    + "WHERE s.name IS NULL AND ABS(c.value) > " + EPSILON, null);
+            while (cursor.moveToNext()) {
+                mismatches.add(cursor.getString(0));
             }
         } catch (Exception e) {
-            Log.e(TAG, "Error getting total trainers", e);
+            Log.e(TAG, "Error verifying dashboard counters", e);
+            return mismatches;
         } finally {
             DatabaseHelper.closeCursor(cursor);
         }
 
-        return count;
+        if (!mismatches.isEmpty()) {
+            Log.w(TAG, "Dashboard counters drifted for " + mismatches + ", rebuilding");
+            rebuildCounters();
+        }
+        return mismatches;
     }
 
     /**
-     * Get monthly revenue (sum of payments in current month)
-     * Note: This is a simplified version. For production, filter by current month.
+     * Recompute every counter from the base tables
      */
-    public double getMonthlyRevenue() {
-        SQLiteDatabase db = null;
-        Cursor cursor = null;
-        double revenue = 0.0;
-
+    public boolean rebuildCounters() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransaction();
         try {
-            db = dbHelper.getReadableDatabase();
-            // In a real app, you would add WHERE clause for date range
-            // e.g., WHERE strftime('%Y-%m', payment_date) = strftime('%Y-%m', 'now')
-            String query = "SELECT SUM(amount) FROM payments WHERE status = 'COMPLETED'";
-            cursor = db.rawQuery(query, null);
-
-            if (cursor != null && cursor.moveToFirst()) {
-                revenue = cursor.getDouble(0);
-            }
+            DatabaseHelper.rebuildDashboardCounters(db);
+            db.setTransactionSuccessful();
+            return true;
         } catch (Exception e) {
-            Log.e(TAG, "Error getting monthly revenue", e);
+            Log.e(TAG, "Error rebuilding dashboard counters", e);
+            return false;
         } finally {
-            DatabaseHelper.closeCursor(cursor);
+            db.endTransaction();
         }
+    }
+
+    // payment_date is written in local time, so the current bucket is the local month
+    private static String currentMonth() {
+        return new SimpleDateFormat("yyyy-MM", Locale.US).format(new Date());
+    }
 
-        return revenue;
+    private static String revenueCounter(String yearMonth) {
+        return DatabaseHelper.COUNTER_REVENUE_PREFIX + yearMonth;
     }
 }
@@ -6,10 +6,10 @@ import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
+import com.gym.fitconnectpro.database.BatchQueries;
 import com.gym.fitconnectpro.database.DatabaseHelper;
 import com.gym.fitconnectpro.database.entities.Trainer;
-
-import org.mindrot.jbcrypt.BCrypt;
+import com.gym.fitconnectpro.services.PasswordHasher;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -20,10 +20,12 @@ import java.util.Locale;
 public class TrainerDAO {
     private static final String TAG = "TrainerDAO";
     private DatabaseHelper dbHelper;
+    private PasswordHasher passwordHasher;
     private SimpleDateFormat dateFormat;
 
     public TrainerDAO(Context context) {
         dbHelper = DatabaseHelper.getInstance(context);
+        passwordHasher = PasswordHasher.getInstance(context);
         dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
     }
 
@@ -44,7 +46,7 @@ public class TrainerDAO {
 
             String hashedPassword;
             try {
-                hashedPassword = BCrypt.hashpw(trainer.getPassword(), BCrypt.gensalt());
+                hashedPassword = passwordHasher.hash(trainer.getPassword());
             } catch (Exception e) {
                 Log.e(TAG, "Password Hashing Failed", e);
                 return false;
@@ -390,20 +392,23 @@ public class TrainerDAO {
         try {
             db = dbHelper.getReadableDatabase();
             
-            String query = "SELECT t.*, u.username, u.email, u.phone " +
+            // Client counts come from one grouped join instead of a COUNT per trainer
+            String query = "SELECT t.*, u.username, u.email, u.phone, " +
+                          "COALESCE(c.child_count, 0) AS client_count " +
                           "FROM trainers t " +
                           "INNER JOIN users u ON t.user_id = u.id " +
+                          "LEFT JOIN " + BatchQueries.groupedCount("trainer_assignments", "trainer_id", "status = 'ACTIVE'") +
+                          " c ON c.parent_id = t.id " +
                           "WHERE t.status = 'ACTIVE' " +
                           "ORDER BY t.full_name ASC";
             
             cursor = db.rawQuery(query, null);
             
             if (cursor != null && cursor.moveToFirst()) {
+                int clientCountIndex = cursor.getColumnIndexOrThrow("client_count");
                 do {
                     Trainer trainer = cursorToTrainer(cursor);
-                    // Get current client count
-                    int clientCount = getTrainerCurrentClientCount(trainer.getTrainerId());
-                    trainer.setAssignedClientsCount(clientCount);
+                    trainer.setAssignedClientsCount(cursor.getInt(clientCountIndex));
                     trainers.add(trainer);
                 } while (cursor.moveToNext());
             }
@@ -86,16 +86,23 @@ public class TrainerStatisticsDAO {
         return count;
     }
 
+    /**
+     * Latest incoming message per conversation, newest first
+     */
     public List<Message> getRecentMessages(int trainerId, int limit) {
         List<Message> messages = new ArrayList<>();
         SQLiteDatabase db = dbHelper.getReadableDatabase();
         Cursor cursor = null;
         try {
-            // Join with users to get sender name
-            String query = "SELECT m.*, u.username as sender_name FROM messages m " +
+            // Last message received in each of the user's conversations, even when the user has replied since.
+            // Conversations come from the summaries; each inbound id is one idx_messages_pair_id lookup
+            String query = "SELECT m.*, u.username as sender_name FROM (" +
+                           "SELECT (SELECT MAX(x.id) FROM messages x WHERE x.receiver_id = ?1 AND x.sender_id = " +
+                           "CASE WHEN cs.user_low = ?1 THEN cs.user_high ELSE cs.user_low END) AS inbound_id " +
+                           "FROM conversation_summaries cs WHERE cs.user_low = ?1 OR cs.user_high = ?1) c " +
+                           "JOIN messages m ON m.id = c.inbound_id " +
                            "JOIN users u ON m.sender_id = u.id " +
-                           "WHERE m.receiver_id = ? " +
-                           "ORDER BY m.timestamp DESC LIMIT ?";
+                           "ORDER BY m.id DESC LIMIT ?2";
             cursor = db.rawQuery(query, new String[]{String.valueOf(trainerId), String.valueOf(limit)});
             
             if (cursor.moveToFirst()) {
@@ -124,6 +131,51 @@ public class TrainerStatisticsDAO {
         } finally {
             DatabaseHelper.closeCursor(cursor);
         }
+        mergeRecentBroadcasts(db, trainerId, limit, messages);
         return messages;
     }
+
+    /**
+     * Interleave the trainer's own latest broadcasts with the recent messages by timestamp
+     */
+    private void mergeRecentBroadcasts(SQLiteDatabase db, int trainerId, int limit, List<Message> messages) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery("SELECT id, content, timestamp FROM broadcasts WHERE trainer_id = ? ORDER BY id DESC LIMIT ?",
+                    new String[]{String.valueOf(trainerId), String.valueOf(limit)});
+            if (cursor.getCount() == 0) return;
+
+            List<Message> merged = new ArrayList<>(messages.size() + cursor.getCount());
+            int next = 0;
+            while (cursor.moveToNext()) {
+                Message broadcast = new Message();
+                broadcast.setId(cursor.getInt(0));
+                broadcast.setSenderId(trainerId);
+                broadcast.setContent(cursor.getString(1));
+                broadcast.setTimestamp(cursor.getString(2));
+                broadcast.setRead(true);
+                broadcast.setSenderName("You (all clients)");
+
+                // Both lists are newest first; "yyyy-MM-dd HH:mm:ss" strings compare chronologically
+                while (next < messages.size() && compareTimestamps(messages.get(next), broadcast) >= 0) {
+                    merged.add(messages.get(next++));
+                }
+                merged.add(broadcast);
+            }
+            while (next < messages.size()) merged.add(messages.get(next++));
+
+            messages.clear();
+            messages.addAll(merged.subList(0, Math.min(limit, merged.size())));
+        } catch (Exception e) {
+            Log.e(TAG, "Error fetching recent broadcasts", e);
+        } finally {
+            DatabaseHelper.closeCursor(cursor);
+        }
+    }
+
+    private static int compareTimestamps(Message a, Message b) {
+        String left = a.getTimestamp() != null ? a.getTimestamp() : "";
+        String right = b.getTimestamp() != null ? b.getTimestamp() : "";
+        return left.compareTo(right);
+    }
 }
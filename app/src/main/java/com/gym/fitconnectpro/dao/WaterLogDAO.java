@@ -19,6 +19,9 @@ import java.util.Map;
 
 public class WaterLogDAO {
     private static final String TAG = "WaterLogDAO";
+    // Half-open range over the raw column so idx_water_logs_member_time bounds the scan to one day;
+    // log_time is stored as "yyyy-MM-dd HH:mm:ss", ?2 is the day as yyyy-MM-dd
+    private static final String DAY_RANGE = "log_time >= ?2 AND log_time < date(?2, '+1 day')";
     private DatabaseHelper dbHelper;
 
     public WaterLogDAO(Context context) {
@@ -29,20 +32,31 @@ public class WaterLogDAO {
      * Log water intake
      */
     public boolean logWater(int memberId, int amountMl, String time) {
-        SQLiteDatabase db = null;
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        boolean committed = false;
+        db.beginTransaction();
         try {
-            db = dbHelper.getWritableDatabase();
             ContentValues values = new ContentValues();
             values.put("member_id", memberId);
             values.put("amount_ml", amountMl);
             values.put("log_time", time);
 
             long id = db.insert("water_logs", null, values);
-            return id != -1;
+            if (id == -1) {
+                return false;
+            }
+            DailyRollupDAO.applyWater(db, memberId, DailyRollupDAO.dayOf(time), amountMl);
+            db.setTransactionSuccessful();
+            committed = true;
         } catch (Exception e) {
             Log.e(TAG, "Error logging water", e);
-            return false;
+        } finally {
+            db.endTransaction();
         }
+        if (committed) {
+            MemberDashboardDAO.invalidateSnapshots(memberId);
+        }
+        return committed;
     }
 
     /**
@@ -56,7 +70,7 @@ public class WaterLogDAO {
         try {
             db = dbHelper.getReadableDatabase();
             String query = "SELECT SUM(amount_ml) as total FROM water_logs " +
-                          "WHERE member_id = ? AND DATE(log_time) = ?";
+                          "WHERE member_id = ?1 AND " + DAY_RANGE;
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId), date});
 
             if (cursor.moveToFirst()) {
@@ -82,7 +96,7 @@ public class WaterLogDAO {
         try {
             db = dbHelper.getReadableDatabase();
             String query = "SELECT * FROM water_logs " +
-                          "WHERE member_id = ? AND DATE(log_time) = ? " +
+                          "WHERE member_id = ?1 AND " + DAY_RANGE + " " +
                           "ORDER BY log_time DESC";
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId), date});
 
@@ -108,15 +122,37 @@ public class WaterLogDAO {
      * Delete water log
      */
     public boolean deleteWaterLog(int logId) {
-        SQLiteDatabase db = null;
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        Cursor cursor = null;
+        int memberId = -1;
+        boolean deleted = false;
+        db.beginTransaction();
         try {
-            db = dbHelper.getWritableDatabase();
+            cursor = db.rawQuery("SELECT member_id, amount_ml, log_time FROM water_logs WHERE id = ?",
+                    new String[]{String.valueOf(logId)});
+            if (!cursor.moveToFirst()) {
+                return false;
+            }
+            memberId = cursor.getInt(0);
+            int amountMl = cursor.getInt(1);
+            String logTime = cursor.getString(2);
+
             int rows = db.delete("water_logs", "id = ?", new String[]{String.valueOf(logId)});
-            return rows > 0;
+            if (rows > 0 && logTime != null) {
+                DailyRollupDAO.applyWater(db, memberId, DailyRollupDAO.dayOf(logTime), -amountMl);
+            }
+            db.setTransactionSuccessful();
+            deleted = rows > 0;
         } catch (Exception e) {
             Log.e(TAG, "Error deleting water log", e);
-            return false;
+        } finally {
+            if (cursor != null) cursor.close();
+            db.endTransaction();
+        }
+        if (deleted) {
+            MemberDashboardDAO.invalidateSnapshots(memberId);
         }
+        return deleted;
     }
 
     /**
@@ -129,11 +165,9 @@ public class WaterLogDAO {
 
         try {
             db = dbHelper.getReadableDatabase();
-            String query = "SELECT DATE(log_time) as log_date, SUM(amount_ml) as total " +
-                          "FROM water_logs " +
-                          "WHERE member_id = ? AND DATE(log_time) >= DATE('now', '-7 days') " +
-                          "GROUP BY DATE(log_time) " +
-                          "ORDER BY log_date";
+            String query = "SELECT day, water_ml FROM " + DatabaseHelper.TABLE_DAILY_ROLLUP + " " +
+                          "WHERE member_id = ? AND day >= DATE('now', '-7 days') AND water_ml > 0 " +
+                          "ORDER BY day";
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId)});
 
             while (cursor.moveToNext()) {
@@ -3,6 +3,7 @@ package com.gym.fitconnectpro.dao;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
@@ -21,9 +22,10 @@ public class WorkoutDAO {
     }
 
     public boolean createWorkout(Workout workout) {
-        SQLiteDatabase db = null;
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        boolean committed = false;
+        db.beginTransaction();
         try {
-            db = dbHelper.getWritableDatabase();
             ContentValues values = new ContentValues();
             if (workout.getPlanId() > 0) {
                 values.put("plan_id", workout.getPlanId());
@@ -38,15 +40,31 @@ public class WorkoutDAO {
             values.put("notes", workout.getNotes());
 
             long id = db.insert("workout_sessions", null, values);
-            if (id != -1) {
-                workout.setId((int) id);
-                return true;
+            if (id == -1) {
+                return false;
+            }
+
+            String day = workout.getSessionDate();
+            if (day == null) {
+                // Column default applied
+                day = DatabaseUtils.stringForQuery(db, "SELECT session_date FROM workout_sessions WHERE id = ?",
+                        new String[]{String.valueOf(id)});
             }
-            return false;
+            DailyRollupDAO.applyWorkout(db, workout.getMemberId(), day,
+                    workout.getDurationMinutes(), workout.getCaloriesBurned());
+
+            db.setTransactionSuccessful();
+            workout.setId((int) id);
+            committed = true;
         } catch (Exception e) {
             Log.e(TAG, "Error creating workout session", e);
-            return false;
+        } finally {
+            db.endTransaction();
+        }
+        if (committed) {
+            MemberDashboardDAO.invalidateSnapshots(workout.getMemberId());
         }
+        return committed;
     }
 
     public boolean createWorkoutLogs(List<WorkoutLog> logs) {
@@ -5,7 +5,9 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
+import android.util.SparseArray;
 
+import com.gym.fitconnectpro.database.BatchQueries;
 import com.gym.fitconnectpro.database.DatabaseHelper;
 import com.gym.fitconnectpro.database.entities.Exercise;
 import com.gym.fitconnectpro.database.entities.PlanExercise;
@@ -121,6 +123,15 @@ public class WorkoutPlanDAO {
      * @return List of WorkoutPlan objects
      */
     public List<WorkoutPlan> getPlansByMemberId(int memberId) {
+        return getPlansByMemberId(memberId, 0, 0);
+    }
+
+    /**
+     * Get a window of a member's workout plans, newest first
+     * @param limit max plans to load, 0 for all
+     * @param offset plans to skip
+     */
+    public List<WorkoutPlan> getPlansByMemberId(int memberId, int limit, int offset) {
         List<WorkoutPlan> plans = new ArrayList<>();
         SQLiteDatabase db = null;
         Cursor cursor = null;
@@ -130,7 +141,10 @@ public class WorkoutPlanDAO {
             // Select all plans for this member, newest first
             String query = "SELECT * FROM workout_plans " +
                            "WHERE member_id = ? " +
-                           "ORDER BY created_at DESC";
+                           "ORDER BY created_at DESC, id DESC"; // id breaks ties so pages don't overlap
+            if (limit > 0) {
+                query += " LIMIT " + limit + " OFFSET " + Math.max(offset, 0);
+            }
             cursor = db.rawQuery(query, new String[]{String.valueOf(memberId)});
 
             if (cursor != null && cursor.moveToFirst()) {
@@ -176,24 +190,7 @@ public class WorkoutPlanDAO {
 
             if (cursor != null && cursor.moveToFirst()) {
                 do {
-                    PlanExercise ex = new PlanExercise();
-                    ex.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
-                    ex.setPlanId(cursor.getInt(cursor.getColumnIndexOrThrow("plan_id")));
-                    ex.setExerciseId(cursor.getInt(cursor.getColumnIndexOrThrow("exercise_id")));
-                    ex.setSets(cursor.getInt(cursor.getColumnIndexOrThrow("sets")));
-                    ex.setReps(cursor.getString(cursor.getColumnIndexOrThrow("reps")));
-                    ex.setWeightKg(cursor.getDouble(cursor.getColumnIndexOrThrow("weight_kg")));
-                    ex.setRestSeconds(cursor.getInt(cursor.getColumnIndexOrThrow("rest_seconds")));
-                    ex.setNotes(cursor.getString(cursor.getColumnIndexOrThrow("notes")));
-                    
-                    // Create transient Exercise object for display
-                    Exercise exerciseDetails = new Exercise();
-                    exerciseDetails.setId(ex.getExerciseId());
-                    exerciseDetails.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
-                    exerciseDetails.setMuscleGroup(cursor.getString(cursor.getColumnIndexOrThrow("muscle_group")));
-                    ex.setExercise(exerciseDetails);
-
-                    exercises.add(ex);
+                    exercises.add(cursorToPlanExercise(cursor));
                 } while (cursor.moveToNext());
             }
         } catch (Exception e) {
@@ -204,6 +201,59 @@ public class WorkoutPlanDAO {
         return exercises;
     }
 
+    /**
+     * Get exercises for several plans at once, keyed by plan id.
+     * One IN (...) query per chunk of plan ids instead of one query per plan.
+     */
+    public SparseArray<List<PlanExercise>> getPlanExercisesForPlans(int[] planIds) {
+        SparseArray<List<PlanExercise>> exercisesByPlan = new SparseArray<>(planIds.length);
+        for (int planId : planIds) {
+            exercisesByPlan.put(planId, new ArrayList<>());
+        }
+        if (planIds.length == 0) return exercisesByPlan;
+
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        for (int[] chunk : BatchQueries.chunk(planIds)) {
+            Cursor cursor = null;
+            try {
+                String query = "SELECT pe.*, e.name, e.muscle_group FROM plan_exercises pe " +
+                               "JOIN exercises e ON pe.exercise_id = e.id " +
+                               "WHERE pe.plan_id IN (" + BatchQueries.placeholders(chunk.length) + ") " +
+                               "ORDER BY pe.plan_id, pe.order_index ASC";
+                cursor = db.rawQuery(query, BatchQueries.toArgs(chunk));
+                while (cursor.moveToNext()) {
+                    PlanExercise ex = cursorToPlanExercise(cursor);
+                    exercisesByPlan.get(ex.getPlanId()).add(ex);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error getting exercises for plans", e);
+            } finally {
+                if (cursor != null) cursor.close();
+            }
+        }
+        return exercisesByPlan;
+    }
+
+    private PlanExercise cursorToPlanExercise(Cursor cursor) {
+        PlanExercise ex = new PlanExercise();
+        ex.setId(cursor.getInt(cursor.getColumnIndexOrThrow("id")));
+        ex.setPlanId(cursor.getInt(cursor.getColumnIndexOrThrow("plan_id")));
+        ex.setExerciseId(cursor.getInt(cursor.getColumnIndexOrThrow("exercise_id")));
+        ex.setSets(cursor.getInt(cursor.getColumnIndexOrThrow("sets")));
+        ex.setReps(cursor.getString(cursor.getColumnIndexOrThrow("reps")));
+        ex.setWeightKg(cursor.getDouble(cursor.getColumnIndexOrThrow("weight_kg")));
+        ex.setRestSeconds(cursor.getInt(cursor.getColumnIndexOrThrow("rest_seconds")));
+        ex.setNotes(cursor.getString(cursor.getColumnIndexOrThrow("notes")));
+
+        // Create transient Exercise object for display
+        Exercise exerciseDetails = new Exercise();
+        exerciseDetails.setId(ex.getExerciseId());
+        exerciseDetails.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
+        exerciseDetails.setMuscleGroup(cursor.getString(cursor.getColumnIndexOrThrow("muscle_group")));
+        ex.setExercise(exerciseDetails);
+        return ex;
+    }
+
     public WorkoutPlan getPlanForDate(int memberId, String date) {
         SQLiteDatabase db = null;
         Cursor cursor = null;
@@ -0,0 +1,107 @@
+package com.gym.fitconnectpro.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+import android.util.SparseIntArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for loading per-parent child data in a fixed number of queries
+ * instead of one query per parent row.
+ * Table and column names must be code constants, never user input.
+ */
+public final class BatchQueries {
+
+    private static final String TAG = "BatchQueries";
+
+    // Stay well under SQLITE_MAX_VARIABLE_NUMBER (999 on older devices)
+    public static final int MAX_IN_ARGS = 500;
+
+    private BatchQueries() {
+    }
+
+    /**
+     * Grouped count subquery to LEFT JOIN against the parent table, e.g.
+     * "LEFT JOIN " + groupedCount("trainer_assignments", "trainer_id", "status = 'ACTIVE'") + " c ON c.parent_id = t.id"
+     * The joined alias exposes parent_id and child_count.
+     */
+    public static String groupedCount(String childTable, String foreignKey, String where) {
+        return "(SELECT " + foreignKey + " AS parent_id, COUNT(*) AS child_count FROM " + childTable
+                + (where != null ? " WHERE " + where : "")
+                + " GROUP BY " + foreignKey + ")";
+    }
+
+    /**
+     * Count child rows for every parent id in one query per MAX_IN_ARGS ids.
+     * Parents without children are absent from the result (SparseIntArray.get returns 0).
+     */
+    public static SparseIntArray countChildren(SQLiteDatabase db, String childTable, String foreignKey,
+                                               String where, int[] parentIds) {
+        SparseIntArray counts = new SparseIntArray(parentIds.length);
+        for (int start = 0; start < parentIds.length; start += MAX_IN_ARGS) {
+            int end = Math.min(start + MAX_IN_ARGS, parentIds.length);
+            String[] args = new String[end - start];
+            for (int i = start; i < end; i++) {
+                args[i - start] = String.valueOf(parentIds[i]);
+            }
+
+            String query = "SELECT " + foreignKey + ", COUNT(*) FROM " + childTable
+                    + " WHERE " + foreignKey + " IN (" + placeholders(args.length) + ")"
+                    + (where != null ? " AND " + where : "")
+                    + " GROUP BY " + foreignKey;
+
+            Cursor cursor = null;
+            try {
+                cursor = db.rawQuery(query, args);
+                while (cursor.moveToNext()) {
+                    counts.put(cursor.getInt(0), cursor.getInt(1));
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error counting " + childTable + " by " + foreignKey, e);
+            } finally {
+                DatabaseHelper.closeCursor(cursor);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Split ids into IN-list sized chunks
+     */
+    public static List<int[]> chunk(int[] ids) {
+        List<int[]> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.length; start += MAX_IN_ARGS) {
+            int end = Math.min(start + MAX_IN_ARGS, ids.length);
+            int[] part = new int[end - start];
+            System.arraycopy(ids, start, part, 0, part.length);
+            chunks.add(part);
+        }
+        return chunks;
+    }
+
+    /**
+     * "?,?,?" for an IN list of the given size
+     */
+    public static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(',');
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Int ids as bind arguments
+     */
+    public static String[] toArgs(int[] ids) {
+        String[] args = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            args[i] = String.valueOf(ids[i]);
+        }
+        return args;
+    }
+}
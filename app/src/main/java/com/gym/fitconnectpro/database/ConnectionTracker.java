@@ -0,0 +1,146 @@
+package com.gym.fitconnectpro.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteCursorDriver;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteQuery;
+import android.util.Log;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Debug-only bookkeeping for the shared database connection.
+ * DatabaseHelper owns the connection; DAOs borrow it and must never close it.
+ * This counts borrows and cursors per DAO, flags DAOs that keep too many cursors
+ * open, and warns when the connection had to be reopened because someone closed it.
+ */
+public final class ConnectionTracker {
+
+    private static final String TAG = "ConnectionTracker";
+    private static final String DAO_PACKAGE = "com.gym.fitconnectpro.dao.";
+    private static final int OUTSTANDING_CURSOR_WARNING = 8;
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+    private static final AtomicInteger OPENS = new AtomicInteger();
+    private static volatile String lastBorrower = "unknown";
+
+    /**
+     * Counters for a single DAO
+     */
+    public static final class Stats {
+        public final AtomicInteger borrows = new AtomicInteger();
+        public final AtomicInteger cursorsOpened = new AtomicInteger();
+        public final AtomicInteger cursorsClosed = new AtomicInteger();
+
+        public int outstandingCursors() {
+            return cursorsOpened.get() - cursorsClosed.get();
+        }
+    }
+
+    private ConnectionTracker() {
+    }
+
+    /**
+     * Record that a DAO borrowed the shared connection
+     */
+    static void recordBorrow() {
+        String owner = findOwner();
+        lastBorrower = owner;
+        statsFor(owner).borrows.incrementAndGet();
+    }
+
+    /**
+     * Record a physical open of the database; more than one per process means a DAO closed it
+     */
+    static void recordOpen() {
+        int opens = OPENS.incrementAndGet();
+        if (opens > 1) {
+            Log.w(TAG, "Database reopened (" + opens + " opens). The shared connection was closed, "
+                    + "last borrowed by " + lastBorrower);
+        }
+    }
+
+    public static int getOpenCount() {
+        return OPENS.get();
+    }
+
+    public static Map<String, Stats> getStats() {
+        return STATS;
+    }
+
+    /**
+     * Log borrow and cursor counts for every DAO
+     */
+    public static void logSummary() {
+        Log.d(TAG, "Database opens: " + OPENS.get());
+        for (Map.Entry<String, Stats> entry : STATS.entrySet()) {
+            Stats stats = entry.getValue();
+            Log.d(TAG, entry.getKey() + ": borrows=" + stats.borrows.get()
+                    + ", cursors=" + stats.cursorsOpened.get()
+                    + ", outstanding=" + stats.outstandingCursors());
+        }
+    }
+
+    private static Stats statsFor(String owner) {
+        Stats stats = STATS.get(owner);
+        if (stats == null) {
+            STATS.putIfAbsent(owner, new Stats());
+            stats = STATS.get(owner);
+        }
+        return stats;
+    }
+
+    // First DAO frame on the stack, or the first app frame outside the database package
+    private static String findOwner() {
+        String fallback = "unknown";
+        for (StackTraceElement frame : Thread.currentThread().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(DAO_PACKAGE)) {
+                return className.substring(DAO_PACKAGE.length());
+            }
+            if ("unknown".equals(fallback) && className.startsWith("com.gym.fitconnectpro.")
+                    && !className.startsWith("com.gym.fitconnectpro.database.")) {
+                fallback = className.substring(className.lastIndexOf('.') + 1);
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Cursor factory that attributes every cursor to the DAO that created it
+     */
+    static final class TrackingCursorFactory implements SQLiteDatabase.CursorFactory {
+        @Override
+        public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver driver, String editTable, SQLiteQuery query) {
+            String owner = findOwner();
+            Stats stats = statsFor(owner);
+            stats.cursorsOpened.incrementAndGet();
+            if (stats.outstandingCursors() > OUTSTANDING_CURSOR_WARNING) {
+                Log.w(TAG, owner + " has " + stats.outstandingCursors() + " cursors open, possible leak");
+            }
+            return new TrackedCursor(driver, editTable, query, stats);
+        }
+    }
+
+    private static final class TrackedCursor extends SQLiteCursor {
+        private final Stats stats;
+        private boolean counted = false;
+
+        TrackedCursor(SQLiteCursorDriver driver, String editTable, SQLiteQuery query, Stats stats) {
+            super(driver, editTable, query);
+            this.stats = stats;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            if (!counted) {
+                counted = true;
+                stats.cursorsClosed.incrementAndGet();
+            }
+        }
+    }
+}
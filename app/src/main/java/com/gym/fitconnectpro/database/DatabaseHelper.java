@@ -2,6 +2,7 @@ package com.gym.fitconnectpro.database;
 
 import android.content.ContentValues;
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
@@ -17,13 +18,26 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     // Singleton instance
     private static DatabaseHelper instance;
 
+    // Debuggable builds audit query plans once per process
+    private final boolean debuggable;
+    private boolean queryPlansAudited = false;
+
+    // Journaling: WAL lets dashboard reads run while meal/water/salary writes commit
+    public enum JournalMode { WAL, TRUNCATE }
+    private static JournalMode journalMode = JournalMode.WAL;
+    private static final int WAL_AUTOCHECKPOINT_PAGES = 1000; // ~4 MB with 4 KB pages
+    private static final int CACHE_SIZE_KB = 8 * 1024;
+    private static final long MMAP_SIZE_BYTES = 32L * 1024 * 1024;
+    private WalCheckpointer walCheckpointer;
+
     // Database Info
     private static final String DATABASE_NAME = "FitConnectPro.db";
-    private static final int DATABASE_VERSION = 23; // Updated to 23 to fix NULL status in trainer_assignments
+    private static final int DATABASE_VERSION = 37; // Updated to 37 for rollup weight update/delete triggers
 
     // Table Names
     private static final String TABLE_USERS = "users";
     private static final String TABLE_MEMBERS = "members";
+    private static final String TABLE_MEMBERS_FTS = "members_fts";
     private static final String TABLE_TRAINERS = "trainers";
     private static final String TABLE_MEMBERSHIPS = "memberships";
     private static final String TABLE_TRAINER_ASSIGNMENTS = "trainer_assignments";
@@ -32,6 +46,8 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String TABLE_APPLICATIONS = "applications";
     private static final String TABLE_SALARIES = "salaries";
     private static final String TABLE_MESSAGES = "messages";
+    private static final String TABLE_CONVERSATION_SUMMARIES = "conversation_summaries";
+    private static final String TABLE_MESSAGES_FTS = "messages_fts";
     private static final String TABLE_WORKOUT_PLANS = "workout_plans";
     private static final String TABLE_WORKOUT_SESSIONS = "workout_sessions";
     private static final String TABLE_WORKOUT_LOGS = "workout_logs";
@@ -49,6 +65,15 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String TABLE_MEMBER_MEALS = "member_meals";
     private static final String TABLE_MEMBER_MEAL_ITEMS = "member_meal_items";
     private static final String TABLE_MEMBER_DAILY_LOGS = "member_daily_logs";
+    public static final String TABLE_DAILY_ROLLUP = "member_daily_rollup";
+    public static final String TABLE_DASHBOARD_COUNTERS = "dashboard_counters";
+
+    // dashboard_counters names; revenue is bucketed per payment month as COUNTER_REVENUE_PREFIX + "yyyy-MM"
+    public static final String COUNTER_MEMBERS = "members";
+    public static final String COUNTER_ACTIVE_MEMBERS = "members_active";
+    public static final String COUNTER_TRAINERS = "trainers";
+    public static final String COUNTER_ACTIVE_TRAINERS = "trainers_active";
+    public static final String COUNTER_REVENUE_PREFIX = "revenue:";
 
     
 
@@ -148,7 +173,26 @@ public class DatabaseHelper extends SQLiteOpenHelper {
 
     // Private constructor for Singleton
     private DatabaseHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        super(context, DATABASE_NAME,
+                isDebuggable(context) ? new ConnectionTracker.TrackingCursorFactory() : null,
+                DATABASE_VERSION);
+        debuggable = isDebuggable(context);
+        setWriteAheadLoggingEnabled(journalMode == JournalMode.WAL);
+    }
+
+    private static boolean isDebuggable(Context context) {
+        return (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
+    /**
+     * Choose the journaling mode. Must be called before the first getInstance()
+     */
+    public static synchronized void setJournalMode(JournalMode mode) {
+        if (instance != null) {
+            Log.w(TAG, "Journal mode change ignored, database already created");
+            return;
+        }
+        journalMode = mode;
     }
 
     // Singleton instance getter
@@ -170,6 +214,12 @@ public class DatabaseHelper extends SQLiteOpenHelper {
             populateExercises(db); // Add sample exercises
             seedFoods(db); // Add sample foods for fresh install
             seedClientData(db); // Seed sample client data for testing
+            createIndexes(db);
+            createMemberSearchIndex(db);
+            createConversationSummaries(db);
+            createMessageSearchIndex(db);
+            createDailyRollup(db);
+            createDashboardCounters(db);
 
             Log.d(TAG, "Database created successfully");
         } catch (Exception e) {
@@ -312,6 +362,82 @@ public class DatabaseHelper extends SQLiteOpenHelper {
             }
         }
 
+        if (oldVersion < 24) {
+            // Version 24: Secondary indexes for every hot DAO predicate
+            createMemberMealTables(db);
+            createIndexes(db);
+        }
+
+        if (oldVersion < 25) {
+            // Version 25: Keyset indexes for paged member browsing
+            createIndexes(db);
+        }
+
+        if (oldVersion < 26) {
+            // Version 26: Full-text member search
+            createMemberSearchIndex(db);
+        }
+
+        if (oldVersion < 27) {
+            // Version 27: (sender, receiver, id) index for incremental chat sync replaces (sender, receiver)
+            db.execSQL("DROP INDEX IF EXISTS idx_messages_sender_receiver");
+            createIndexes(db);
+        }
+
+        if (oldVersion < 28) {
+            // Version 28: Per-conversation summary rows maintained by triggers on messages
+            createConversationSummaries(db);
+        }
+
+        if (oldVersion < 29) {
+            // Version 29: Full-text chat search
+            createMessageSearchIndex(db);
+        }
+
+        if (oldVersion < 30) {
+            // Version 30: Trainer broadcasts with per-recipient read cursors
+            createBroadcastTables(db);
+        }
+
+        if (oldVersion < 31) {
+            // Version 31: Per-member daily totals maintained by the logging DAOs
+            createDailyRollup(db);
+        }
+
+        if (oldVersion < 32) {
+            // Version 32: Canonical water log times so day lookups can be index range scans
+            normalizeWaterLogTimes(db);
+            createIndexes(db);
+        }
+
+        if (oldVersion < 33) {
+            // Version 33: Unique salary period per trainer so payroll runs can INSERT OR IGNORE
+            dedupeSalaries(db);
+            db.execSQL("DROP INDEX IF EXISTS idx_salaries_trainer_period");
+            createIndexes(db);
+        }
+
+        if (oldVersion < 34) {
+            // Version 34: Paid salaries by payment date for SQL-side report buckets
+            createIndexes(db);
+        }
+
+        if (oldVersion < 35) {
+            // Version 35: Admin dashboard KPIs kept in dashboard_counters by triggers
+            createDashboardCounters(db);
+        }
+
+        if (oldVersion < 36) {
+            // Version 36: Null-safe name key for the assignment picker's keyset paging
+            createIndexes(db);
+        }
+
+        if (oldVersion < 37) {
+            // Version 37: Weight edits and deletes kept in the daily rollup; resync any days they already skewed
+            createDailyRollupWeightTriggers(db);
+            rebuildDailyRollup(db);
+        }
+
         // Re-enable foreign keys
         if (!db.isReadOnly()) {
              db.execSQL("PRAGMA foreign_keys=ON;");
@@ -335,13 +461,69 @@ private void createDailyLogsTable(SQLiteDatabase db) {
     Log.d(TAG, "Member daily logs table created");
 }
 
+    /**
+     * These pragmas are per connection and only reach the primary (writer) connection: the framework
+     * opens WAL read connections itself, with no hook to configure them. That covers synchronous,
+     * wal_autocheckpoint and journal_size_limit, which only matter where commits happen. cache_size and
+     * mmap_size likewise only help queries that run on the primary connection (inside transactions or
+     * while the reader connections are busy), not reads on the reader connections.
+     */
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        if (journalMode == JournalMode.WAL) {
+            // WAL is durable across app crashes with NORMAL; only a power loss can drop the last commits
+            applyPragma(db, "synchronous=NORMAL");
+            applyPragma(db, "wal_autocheckpoint=" + WAL_AUTOCHECKPOINT_PAGES);
+            // Checkpoints never shrink the WAL file; cap what it keeps once the log restarts
+            applyPragma(db, "journal_size_limit=" + WalCheckpointer.WAL_SIZE_LIMIT_BYTES);
+        } else {
+            applyPragma(db, "journal_mode=TRUNCATE");
+        }
+        applyPragma(db, "cache_size=-" + CACHE_SIZE_KB);
+        applyPragma(db, "mmap_size=" + MMAP_SIZE_BYTES);
+    }
+
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
+        if (debuggable) {
+            ConnectionTracker.recordOpen();
+        }
         // Enable foreign key constraints
         if (!db.isReadOnly()) {
             db.execSQL("PRAGMA foreign_keys=ON;");
         }
+
+        if (journalMode == JournalMode.WAL && walCheckpointer == null) {
+            walCheckpointer = new WalCheckpointer(this, db.getPath());
+            walCheckpointer.start();
+        }
+
+        if (debuggable && !queryPlansAudited) {
+            queryPlansAudited = true;
+            QueryPlanAuditor.audit(db);
+        }
+    }
+
+    /**
+     * Checkpoint policy for WAL mode, null until the database is first opened or when not in WAL mode
+     */
+    public WalCheckpointer getWalCheckpointer() {
+        return walCheckpointer;
+    }
+
+    private void applyPragma(SQLiteDatabase db, String pragma) {
+        Cursor cursor = null;
+        try {
+            // rawQuery rather than execSQL: several pragmas return a row
+            cursor = db.rawQuery("PRAGMA " + pragma, null);
+            cursor.moveToFirst();
+        } catch (Exception e) {
+            Log.w(TAG, "Could not apply PRAGMA " + pragma, e);
+        } finally {
+            closeCursor(cursor);
+        }
     }
 
     /**
@@ -580,6 +762,400 @@ private void createDailyLogsTable(SQLiteDatabase db) {
         createWorkoutLogsTable(db);
         createWaterLogsTable(db);
         createFriendRequestsTable(db);
+        createMemberMealTables(db);
+        createBroadcastTables(db);
+    }
+
+    /**
+     * Create secondary indexes backing the DAO lookups.
+     * Every statement is idempotent so this is safe to run from both onCreate and onUpgrade.
+     */
+    private void createIndexes(SQLiteDatabase db) {
+        // trainer_daily_goals gets a UNIQUE index, so collapse duplicate days first (keep the latest row)
+        try {
+            db.execSQL("DELETE FROM " + TABLE_DAILY_GOALS + " WHERE " + KEY_ID + " NOT IN ("
+                    + "SELECT MAX(" + KEY_ID + ") FROM " + TABLE_DAILY_GOALS
+                    + " GROUP BY " + KEY_MEMBER_ID + ", " + KEY_GOAL_DATE + ")");
+        } catch (Exception e) {
+            Log.e(TAG, "Error removing duplicate daily goals", e);
+        }
+
+        String[] indexes = {
+                // Users / members / trainers
+                "CREATE INDEX IF NOT EXISTS idx_members_user_id ON " + TABLE_MEMBERS + "(user_id)",
+                "CREATE INDEX IF NOT EXISTS idx_members_username ON " + TABLE_MEMBERS + "(username)",
+                "CREATE INDEX IF NOT EXISTS idx_members_status_name ON " + TABLE_MEMBERS + "(status, full_name)",
+                "CREATE INDEX IF NOT EXISTS idx_members_status_name_key ON " + TABLE_MEMBERS + "(status, IFNULL(full_name, ''), member_id)",
+                "CREATE INDEX IF NOT EXISTS idx_members_registration ON " + TABLE_MEMBERS + "(registration_date)",
+                "CREATE INDEX IF NOT EXISTS idx_members_registration_key ON " + TABLE_MEMBERS + "(IFNULL(registration_date, ''), member_id)",
+                "CREATE INDEX IF NOT EXISTS idx_members_status_registration_key ON " + TABLE_MEMBERS + "(status, IFNULL(registration_date, ''), member_id)",
+                "CREATE INDEX IF NOT EXISTS idx_trainers_user_id ON " + TABLE_TRAINERS + "(" + KEY_USER_ID + ")",
+                "CREATE INDEX IF NOT EXISTS idx_trainers_status_name ON " + TABLE_TRAINERS + "(" + KEY_STATUS + ", " + KEY_FULL_NAME + ")",
+
+                // Assignments
+                "CREATE INDEX IF NOT EXISTS idx_assignments_trainer_status ON " + TABLE_TRAINER_ASSIGNMENTS + "(" + KEY_TRAINER_ID + ", " + KEY_STATUS + ")",
+                "CREATE INDEX IF NOT EXISTS idx_assignments_member_status ON " + TABLE_TRAINER_ASSIGNMENTS + "(" + KEY_MEMBER_ID + ", " + KEY_STATUS + ")",
+
+                // Payments / memberships / attendance / salaries
+                "CREATE INDEX IF NOT EXISTS idx_payments_member ON " + TABLE_PAYMENTS + "(" + KEY_MEMBER_ID + ")",
+                "CREATE INDEX IF NOT EXISTS idx_payments_status_date ON " + TABLE_PAYMENTS + "(" + KEY_STATUS + ", " + KEY_PAYMENT_DATE + ")",
+                "CREATE INDEX IF NOT EXISTS idx_memberships_member ON " + TABLE_MEMBERSHIPS + "(" + KEY_MEMBER_ID + ")",
+                "CREATE INDEX IF NOT EXISTS idx_attendance_member_checkin ON " + TABLE_ATTENDANCE + "(" + KEY_MEMBER_ID + ", " + KEY_CHECK_IN + ")",
+                "CREATE UNIQUE INDEX IF NOT EXISTS idx_salaries_trainer_period_unique ON " + TABLE_SALARIES + "(" + KEY_TRAINER_ID + ", " + KEY_YEAR + ", " + KEY_MONTH + ")",
+                "CREATE INDEX IF NOT EXISTS idx_salaries_period ON " + TABLE_SALARIES + "(" + KEY_YEAR + ", " + KEY_MONTH + ")",
+                "CREATE INDEX IF NOT EXISTS idx_salaries_payment_date ON " + TABLE_SALARIES + "(" + KEY_PAYMENT_DATE + ")",
+                "CREATE INDEX IF NOT EXISTS idx_salaries_status_payment ON " + TABLE_SALARIES + "(" + KEY_STATUS + ", " + KEY_PAYMENT_DATE + ", " + KEY_TRAINER_ID + ", " + KEY_NET_SALARY + ")",
+
+                // Messages
+                "CREATE INDEX IF NOT EXISTS idx_messages_receiver_time ON " + TABLE_MESSAGES + "(" + KEY_RECEIVER_ID + ", " + KEY_TIMESTAMP + ")",
+                "CREATE INDEX IF NOT EXISTS idx_messages_pair_id ON " + TABLE_MESSAGES + "(" + KEY_SENDER_ID + ", " + KEY_RECEIVER_ID + ", " + KEY_ID + ")",
+                "CREATE INDEX IF NOT EXISTS idx_friend_requests_receiver ON friend_requests(receiver_id, status)",
+                "CREATE INDEX IF NOT EXISTS idx_friend_requests_sender ON friend_requests(sender_id, status)",
+
+                // Workout plans / sessions
+                "CREATE INDEX IF NOT EXISTS idx_workout_plans_member_status ON " + TABLE_WORKOUT_PLANS + "(" + KEY_MEMBER_ID + ", " + KEY_STATUS + ")",
+                "CREATE INDEX IF NOT EXISTS idx_workout_plans_trainer_status ON " + TABLE_WORKOUT_PLANS + "(" + KEY_TRAINER_ID + ", " + KEY_STATUS + ")",
+                "CREATE INDEX IF NOT EXISTS idx_plan_exercises_plan_order ON " + TABLE_PLAN_EXERCISES + "(" + KEY_PLAN_ID + ", " + KEY_ORDER_INDEX + ")",
+                "CREATE INDEX IF NOT EXISTS idx_workout_sessions_member_date ON " + TABLE_WORKOUT_SESSIONS + "(" + KEY_MEMBER_ID + ", session_date)",
+                "CREATE INDEX IF NOT EXISTS idx_workout_logs_session ON " + TABLE_WORKOUT_LOGS + "(session_id)",
+
+                // Goals / progress / logs
+                "CREATE UNIQUE INDEX IF NOT EXISTS idx_daily_goals_member_date ON " + TABLE_DAILY_GOALS + "(" + KEY_MEMBER_ID + ", " + KEY_GOAL_DATE + ")",
+                "CREATE INDEX IF NOT EXISTS idx_daily_logs_member_date ON " + TABLE_MEMBER_DAILY_LOGS + "(" + KEY_MEMBER_ID + ", log_date)",
+                "CREATE INDEX IF NOT EXISTS idx_weight_history_member_date ON " + TABLE_WEIGHT_LOGS + "(" + KEY_MEMBER_ID + ", log_date)",
+                "CREATE INDEX IF NOT EXISTS idx_water_logs_member_time ON water_logs(member_id, log_time)",
+
+                // Meals
+                "CREATE INDEX IF NOT EXISTS idx_foods_name ON " + TABLE_FOODS + "(name)",
+                "CREATE INDEX IF NOT EXISTS idx_meal_plans_member_date ON " + TABLE_MEAL_PLANS + "(" + KEY_MEMBER_ID + ", plan_date)",
+                "CREATE INDEX IF NOT EXISTS idx_meal_plan_foods_plan ON " + TABLE_MEAL_PLAN_FOODS + "(meal_plan_id)",
+                "CREATE INDEX IF NOT EXISTS idx_member_meals_member_date ON " + TABLE_MEMBER_MEALS + "(" + KEY_MEMBER_ID + ", meal_date)",
+                "CREATE INDEX IF NOT EXISTS idx_member_meal_items_meal ON " + TABLE_MEMBER_MEAL_ITEMS + "(meal_id)"
+        };
+
+        int created = 0;
+        for (String sql : indexes) {
+            try {
+                db.execSQL(sql);
+                created++;
+            } catch (Exception e) {
+                Log.e(TAG, "Error creating index: " + sql, e);
+            }
+        }
+        Log.d(TAG, "Ensured " + created + "/" + indexes.length + " indexes");
+    }
+
+    /**
+     * Full-text shadow table over the searchable member columns, kept in sync by triggers on members.
+     */
+    private void createMemberSearchIndex(SQLiteDatabase db) {
+        String columns = "full_name, email, phone, username";
+        if (!createFullTextTable(db, TABLE_MEMBERS_FTS, columns, "prefix='2 3'", "prefix=\"2,3\"")) return;
+
+        String insertNew = "INSERT INTO " + TABLE_MEMBERS_FTS + "(rowid, " + columns + ") "
+                + "VALUES (new.member_id, new.full_name, new.email, new.phone, new.username);";
+        String deleteOld = "DELETE FROM " + TABLE_MEMBERS_FTS + " WHERE rowid = old.member_id;";
+        try {
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS members_fts_ai AFTER INSERT ON " + TABLE_MEMBERS
+                    + " BEGIN " + insertNew + " END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS members_fts_ad AFTER DELETE ON " + TABLE_MEMBERS
+                    + " BEGIN " + deleteOld + " END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS members_fts_au AFTER UPDATE OF " + columns + " ON " + TABLE_MEMBERS
+                    + " BEGIN " + deleteOld + " " + insertNew + " END");
+
+            // Rebuild from the base table so existing members are searchable
+            db.execSQL("DELETE FROM " + TABLE_MEMBERS_FTS);
+            db.execSQL("INSERT INTO " + TABLE_MEMBERS_FTS + "(rowid, " + columns + ") "
+                    + "SELECT member_id, " + columns + " FROM " + TABLE_MEMBERS);
+        } catch (Exception e) {
+            Log.e(TAG, "Error creating member search triggers", e);
+        }
+    }
+
+    /**
+     * Full-text shadow table over message bodies, rowid = message id, kept in sync by triggers on messages.
+     */
+    private void createMessageSearchIndex(SQLiteDatabase db) {
+        if (!createFullTextTable(db, TABLE_MESSAGES_FTS, KEY_CONTENT, null, null)) return;
+
+        String insertNew = "INSERT INTO " + TABLE_MESSAGES_FTS + "(rowid, " + KEY_CONTENT + ") "
+                + "VALUES (new.id, IFNULL(new.content, ''));";
+        String deleteOld = "DELETE FROM " + TABLE_MESSAGES_FTS + " WHERE rowid = old.id;";
+        try {
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS messages_fts_ai AFTER INSERT ON " + TABLE_MESSAGES
+                    + " BEGIN " + insertNew + " END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS messages_fts_ad AFTER DELETE ON " + TABLE_MESSAGES
+                    + " BEGIN " + deleteOld + " END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS messages_fts_au AFTER UPDATE OF " + KEY_CONTENT + " ON " + TABLE_MESSAGES
+                    + " BEGIN " + deleteOld + " " + insertNew + " END");
+
+            // Rebuild from the base table so existing messages are searchable
+            db.execSQL("DELETE FROM " + TABLE_MESSAGES_FTS);
+            db.execSQL("INSERT INTO " + TABLE_MESSAGES_FTS + "(rowid, " + KEY_CONTENT + ") "
+                    + "SELECT id, IFNULL(content, '') FROM " + TABLE_MESSAGES);
+        } catch (Exception e) {
+            Log.e(TAG, "Error creating message search triggers", e);
+        }
+    }
+
+    /**
+     * One row per member per day with that day's nutrition, water, workout and weight totals.
+     * Meal, water and workout totals are applied as deltas by the DAOs in the same transaction as the log
+     * write (see DailyRollupDAO); weight is written outside the DAOs, so triggers keep it current.
+     */
+    private void createDailyRollup(SQLiteDatabase db) {
+        try {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_DAILY_ROLLUP + "("
+                    + KEY_MEMBER_ID + " INTEGER NOT NULL,"
+                    + "day TEXT NOT NULL," // yyyy-MM-dd
+                    + "calories INTEGER NOT NULL DEFAULT 0,"
+                    + "protein REAL NOT NULL DEFAULT 0,"
+                    + "carbs REAL NOT NULL DEFAULT 0,"
+                    + "fats REAL NOT NULL DEFAULT 0,"
+                    + "meals INTEGER NOT NULL DEFAULT 0,"
+                    + "water_ml INTEGER NOT NULL DEFAULT 0,"
+                    + "workout_minutes INTEGER NOT NULL DEFAULT 0,"
+                    + "workout_calories INTEGER NOT NULL DEFAULT 0,"
+                    + "sessions INTEGER NOT NULL DEFAULT 0,"
+                    + "weight REAL,"
+                    + "PRIMARY KEY (" + KEY_MEMBER_ID + ", day)"
+                    + ")");
+
+            createDailyRollupWeightTriggers(db);
+            rebuildDailyRollup(db);
+        } catch (Exception e) {
+            Log.e(TAG, "Error creating daily rollup", e);
+        }
+    }
+
+    /**
+     * Keep each day's rollup weight equal to that day's last reading. An insert is the newest reading;
+     * an update or delete re-reads the day it left (and the day it moved to) from the (member_id, log_date) index.
+     */
+    private void createDailyRollupWeightTriggers(SQLiteDatabase db) {
+        String lastReading = "(SELECT weight FROM " + TABLE_WEIGHT_LOGS + " WHERE member_id = %1$s.member_id "
+                + "AND log_date = %1$s.log_date ORDER BY id DESC LIMIT 1)";
+        String resync = "UPDATE " + TABLE_DAILY_ROLLUP + " SET weight = " + lastReading
+                + " WHERE member_id = %1$s.member_id AND day = %1$s.log_date; ";
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS member_daily_rollup_weight_ai AFTER INSERT ON " + TABLE_WEIGHT_LOGS + " BEGIN "
+                + "INSERT OR IGNORE INTO " + TABLE_DAILY_ROLLUP + "(member_id, day) VALUES (new.member_id, new.log_date); "
+                + "UPDATE " + TABLE_DAILY_ROLLUP + " SET weight = new.weight WHERE member_id = new.member_id AND day = new.log_date; "
+                + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS member_daily_rollup_weight_au AFTER UPDATE OF member_id, weight, log_date ON "
+                + TABLE_WEIGHT_LOGS + " BEGIN "
+                + String.format(resync, "old")
+                + "INSERT OR IGNORE INTO " + TABLE_DAILY_ROLLUP + "(member_id, day) VALUES (new.member_id, new.log_date); "
+                + String.format(resync, "new")
+                + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS member_daily_rollup_weight_ad AFTER DELETE ON " + TABLE_WEIGHT_LOGS + " BEGIN "
+                + String.format(resync, "old")
+                + "END");
+    }
+
+    /**
+     * Per member and day totals computed from the raw logs: the backfill source and what the verifier compares against.
+     * Weight is the last reading of the day.
+     */
+    public static final String DAILY_ROLLUP_SOURCE = "SELECT member_id, day, SUM(calories) AS calories, "
+            + "SUM(protein) AS protein, SUM(carbs) AS carbs, SUM(fats) AS fats, SUM(meals) AS meals, "
+            + "SUM(water_ml) AS water_ml, SUM(workout_minutes) AS workout_minutes, "
+            + "SUM(workout_calories) AS workout_calories, SUM(sessions) AS sessions, MAX(weight) AS weight FROM ("
+            + "SELECT member_id, meal_date AS day, IFNULL(total_calories, 0) AS calories, IFNULL(total_protein, 0) AS protein, "
+            + "IFNULL(total_carbs, 0) AS carbs, IFNULL(total_fats, 0) AS fats, 1 AS meals, 0 AS water_ml, "
+            + "0 AS workout_minutes, 0 AS workout_calories, 0 AS sessions, NULL AS weight FROM " + TABLE_MEMBER_MEALS + " "
+            + "UNION ALL SELECT member_id, substr(log_time, 1, 10), 0, 0, 0, 0, 0, amount_ml, 0, 0, 0, NULL FROM water_logs WHERE log_time IS NOT NULL "
+            + "UNION ALL SELECT member_id, session_date, 0, 0, 0, 0, 0, 0, IFNULL(duration_minutes, 0), "
+            + "IFNULL(calories_burned, 0), 1, NULL FROM " + TABLE_WORKOUT_SESSIONS + " WHERE session_date IS NOT NULL "
+            + "UNION ALL SELECT member_id, log_date, 0, 0, 0, 0, 0, 0, 0, 0, 0, weight FROM " + TABLE_WEIGHT_LOGS + " w "
+            + "WHERE id = (SELECT MAX(id) FROM " + TABLE_WEIGHT_LOGS + " WHERE member_id = w.member_id AND log_date = w.log_date)"
+            + ") GROUP BY member_id, day";
+
+    /**
+     * Recompute every rollup row from the raw logs. Runs in the caller's transaction if there is one.
+     */
+    public static void rebuildDailyRollup(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + TABLE_DAILY_ROLLUP);
+        db.execSQL("INSERT INTO " + TABLE_DAILY_ROLLUP + "(member_id, day, calories, protein, carbs, fats, meals, "
+                + "water_ml, workout_minutes, workout_calories, sessions, weight) " + DAILY_ROLLUP_SOURCE);
+        Log.d(TAG, "Daily rollup rebuilt");
+    }
+
+    /**
+     * Named totals for the admin dashboard: member and trainer counts (all and ACTIVE) and completed payment
+     * revenue per month. Triggers on members, trainers and payments apply every change as a delta, so the
+     * dashboard reads a few primary keys; StatisticsDAO.reconcileCounters repairs any drift.
+     */
+    private void createDashboardCounters(SQLiteDatabase db) {
+        try {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_DASHBOARD_COUNTERS + "("
+                    + "name TEXT NOT NULL PRIMARY KEY,"
+                    + "value REAL NOT NULL DEFAULT 0"
+                    + ")");
+
+            String active = "(UPPER(IFNULL(%1$s.status, '')) = 'ACTIVE')";
+            createCountTriggers(db, TABLE_MEMBERS, COUNTER_MEMBERS, COUNTER_ACTIVE_MEMBERS, active);
+            createCountTriggers(db, TABLE_TRAINERS, COUNTER_TRAINERS, COUNTER_ACTIVE_TRAINERS, active);
+
+            // Platform SQLite predates UPSERT on older devices, so insert-or-ignore then update
+            String bucket = "'" + COUNTER_REVENUE_PREFIX + "' || IFNULL(substr(%1$s." + KEY_PAYMENT_DATE + ", 1, 7), '')";
+            String completed = "%1$s." + KEY_STATUS + " = 'COMPLETED'";
+            String addRevenue = "INSERT OR IGNORE INTO " + TABLE_DASHBOARD_COUNTERS + "(name) VALUES (" + String.format(bucket, "new") + "); "
+                    + "UPDATE " + TABLE_DASHBOARD_COUNTERS + " SET value = value + new." + KEY_AMOUNT
+                    + " WHERE name = " + String.format(bucket, "new") + "; ";
+            String removeRevenue = "UPDATE " + TABLE_DASHBOARD_COUNTERS + " SET value = value - old." + KEY_AMOUNT
+                    + " WHERE name = " + String.format(bucket, "old") + "; ";
+
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS dashboard_counters_payments_ai AFTER INSERT ON " + TABLE_PAYMENTS
+                    + " WHEN " + String.format(completed, "new") + " BEGIN " + addRevenue + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS dashboard_counters_payments_ad AFTER DELETE ON " + TABLE_PAYMENTS
+                    + " WHEN " + String.format(completed, "old") + " BEGIN " + removeRevenue + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS dashboard_counters_payments_au_old AFTER UPDATE OF "
+                    + KEY_STATUS + ", " + KEY_AMOUNT + ", " + KEY_PAYMENT_DATE + " ON " + TABLE_PAYMENTS
+                    + " WHEN " + String.format(completed, "old") + " BEGIN " + removeRevenue + "END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS dashboard_counters_payments_au_new AFTER UPDATE OF "
+                    + KEY_STATUS + ", " + KEY_AMOUNT + ", " + KEY_PAYMENT_DATE + " ON " + TABLE_PAYMENTS
+                    + " WHEN " + String.format(completed, "new") + " BEGIN " + addRevenue + "END");
+
+            rebuildDashboardCounters(db);
+        } catch (Exception e) {
+            Log.e(TAG, "Error creating dashboard counters", e);
+        }
+    }
+
+    private void createCountTriggers(SQLiteDatabase db, String table, String totalCounter, String activeCounter, String active) {
+        String update = "UPDATE " + TABLE_DASHBOARD_COUNTERS + " SET value = value + (%1$s) WHERE name = '%2$s'; ";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS dashboard_counters_" + table + "_ai AFTER INSERT ON " + table + " BEGIN "
+                + String.format(update, "1", totalCounter)
+                + String.format(update, String.format(active, "new"), activeCounter)
+                + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS dashboard_counters_" + table + "_ad AFTER DELETE ON " + table + " BEGIN "
+                + String.format(update, "-1", totalCounter)
+                + String.format(update, "-" + String.format(active, "old"), activeCounter)
+                + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS dashboard_counters_" + table + "_au AFTER UPDATE OF " + KEY_STATUS + " ON " + table
+                + " WHEN " + String.format(active, "old") + " <> " + String.format(active, "new") + " BEGIN "
+                + String.format(update, String.format(active, "new") + " - " + String.format(active, "old"), activeCounter)
+                + "END");
+    }
+
+    /**
+     * Every dashboard counter computed from the base tables: the backfill source and what reconciliation compares against
+     */
+    public static final String DASHBOARD_COUNTERS_SOURCE =
+            "SELECT '" + COUNTER_MEMBERS + "' AS name, COUNT(*) AS value FROM " + TABLE_MEMBERS + " "
+            + "UNION ALL SELECT '" + COUNTER_ACTIVE_MEMBERS + "', COUNT(*) FROM " + TABLE_MEMBERS + " WHERE UPPER(status) = 'ACTIVE' "
+            + "UNION ALL SELECT '" + COUNTER_TRAINERS + "', COUNT(*) FROM " + TABLE_TRAINERS + " "
+            + "UNION ALL SELECT '" + COUNTER_ACTIVE_TRAINERS + "', COUNT(*) FROM " + TABLE_TRAINERS + " WHERE UPPER(" + KEY_STATUS + ") = 'ACTIVE' "
+            + "UNION ALL SELECT '" + COUNTER_REVENUE_PREFIX + "' || IFNULL(substr(" + KEY_PAYMENT_DATE + ", 1, 7), ''), SUM(" + KEY_AMOUNT + ") "
+            + "FROM " + TABLE_PAYMENTS + " WHERE " + KEY_STATUS + " = 'COMPLETED' GROUP BY 1";
+
+    /**
+     * Recompute every dashboard counter from the base tables. Runs in the caller's transaction if there is one.
+     */
+    public static void rebuildDashboardCounters(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + TABLE_DASHBOARD_COUNTERS);
+        db.execSQL("INSERT INTO " + TABLE_DASHBOARD_COUNTERS + "(name, value) " + DASHBOARD_COUNTERS_SOURCE);
+        Log.d(TAG, "Dashboard counters rebuilt");
+    }
+
+    /**
+     * Create a full-text table, preferring FTS5. FTS5 is not compiled into every platform SQLite,
+     * so FTS4 is the fallback; callers' triggers work with either.
+     * @return false if neither module is available
+     */
+    private boolean createFullTextTable(SQLiteDatabase db, String table, String columns,
+                                        String fts5Options, String fts4Options) {
+        String[] definitions = {
+                "fts5(" + columns + (fts5Options != null ? ", " + fts5Options : "") + ")",
+                "fts4(" + columns + (fts4Options != null ? ", " + fts4Options : "") + ")"
+        };
+        for (String definition : definitions) {
+            try {
+                db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + table + " USING " + definition);
+                Log.d(TAG, "Search index " + table + ": " + definition.substring(0, 4));
+                return true;
+            } catch (Exception e) {
+                Log.w(TAG, "Full-text module unavailable: " + definition.substring(0, 4));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One row per unordered user pair with the latest message id/timestamp and an unread counter per side,
+     * kept current by triggers on messages so inbox reads never aggregate the message log.
+     * unread_low counts unread messages addressed to user_low, unread_high those addressed to user_high.
+     */
+    private void createConversationSummaries(SQLiteDatabase db) {
+        try {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_CONVERSATION_SUMMARIES + "("
+                    + "user_low INTEGER NOT NULL,"
+                    + "user_high INTEGER NOT NULL,"
+                    + "last_message_id INTEGER NOT NULL,"
+                    + "last_timestamp TEXT,"
+                    + "unread_low INTEGER NOT NULL DEFAULT 0,"
+                    + "unread_high INTEGER NOT NULL DEFAULT 0,"
+                    + "PRIMARY KEY (user_low, user_high)"
+                    + ")");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_conversation_summaries_low ON "
+                    + TABLE_CONVERSATION_SUMMARIES + "(user_low, last_message_id)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_conversation_summaries_high ON "
+                    + TABLE_CONVERSATION_SUMMARIES + "(user_high, last_message_id)");
+
+            // Platform SQLite predates UPSERT on older devices, so insert-or-ignore then update
+            String pair = "user_low = MIN(%1$s.sender_id, %1$s.receiver_id) AND user_high = MAX(%1$s.sender_id, %1$s.receiver_id)";
+            String toLow = "%1$s.receiver_id <= %1$s.sender_id";
+            String toHigh = "%1$s.receiver_id > %1$s.sender_id";
+            String unread = "IFNULL(%1$s.is_read, 0) = 0";
+
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS conversation_summaries_ai AFTER INSERT ON " + TABLE_MESSAGES + " BEGIN "
+                    + "INSERT OR IGNORE INTO " + TABLE_CONVERSATION_SUMMARIES + "(user_low, user_high, last_message_id, last_timestamp) "
+                    + "VALUES (MIN(new.sender_id, new.receiver_id), MAX(new.sender_id, new.receiver_id), new.id, new.timestamp); "
+                    + "UPDATE " + TABLE_CONVERSATION_SUMMARIES + " SET "
+                    + "last_timestamp = CASE WHEN new.id >= last_message_id THEN new.timestamp ELSE last_timestamp END, "
+                    + "last_message_id = MAX(last_message_id, new.id), "
+                    + "unread_low = unread_low + (" + String.format(unread, "new") + " AND " + String.format(toLow, "new") + "), "
+                    + "unread_high = unread_high + (" + String.format(unread, "new") + " AND " + String.format(toHigh, "new") + ") "
+                    + "WHERE " + String.format(pair, "new") + "; "
+                    + "END");
+
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS conversation_summaries_au AFTER UPDATE OF is_read ON " + TABLE_MESSAGES
+                    + " WHEN (" + String.format(unread, "old") + ") <> (" + String.format(unread, "new") + ") BEGIN "
+                    + "UPDATE " + TABLE_CONVERSATION_SUMMARIES + " SET "
+                    + "unread_low = unread_low + ((" + String.format(unread, "new") + ") - (" + String.format(unread, "old") + ")) * (" + String.format(toLow, "new") + "), "
+                    + "unread_high = unread_high + ((" + String.format(unread, "new") + ") - (" + String.format(unread, "old") + ")) * (" + String.format(toHigh, "new") + ") "
+                    + "WHERE " + String.format(pair, "new") + "; "
+                    + "END");
+
+            // Deleting the latest message falls back to the previous one of the pair, or drops the row
+            String lastOfPair = "(SELECT MAX(id) FROM " + TABLE_MESSAGES + " WHERE "
+                    + "(sender_id = old.sender_id AND receiver_id = old.receiver_id) OR "
+                    + "(sender_id = old.receiver_id AND receiver_id = old.sender_id))";
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS conversation_summaries_ad AFTER DELETE ON " + TABLE_MESSAGES + " BEGIN "
+                    + "UPDATE " + TABLE_CONVERSATION_SUMMARIES + " SET "
+                    + "unread_low = unread_low - (" + String.format(unread, "old") + " AND " + String.format(toLow, "old") + "), "
+                    + "unread_high = unread_high - (" + String.format(unread, "old") + " AND " + String.format(toHigh, "old") + ") "
+                    + "WHERE " + String.format(pair, "old") + "; "
+                    + "UPDATE " + TABLE_CONVERSATION_SUMMARIES + " SET "
+                    + "last_message_id = IFNULL(" + lastOfPair + ", 0), "
+                    + "last_timestamp = (SELECT timestamp FROM " + TABLE_MESSAGES + " WHERE id = " + lastOfPair + ") "
+                    + "WHERE " + String.format(pair, "old") + " AND last_message_id = old.id; "
+                    + "DELETE FROM " + TABLE_CONVERSATION_SUMMARIES + " WHERE " + String.format(pair, "old") + " AND last_message_id = 0; "
+                    + "END");
+
+            // Rebuild from the message log so existing conversations are summarized
+            db.execSQL("DELETE FROM " + TABLE_CONVERSATION_SUMMARIES);
+            db.execSQL("INSERT INTO " + TABLE_CONVERSATION_SUMMARIES
+                    + "(user_low, user_high, last_message_id, unread_low, unread_high) "
+                    + "SELECT MIN(sender_id, receiver_id), MAX(sender_id, receiver_id), MAX(id), "
+                    + "SUM(IFNULL(is_read, 0) = 0 AND receiver_id <= sender_id), SUM(IFNULL(is_read, 0) = 0 AND receiver_id > sender_id) "
+                    + "FROM " + TABLE_MESSAGES + " GROUP BY MIN(sender_id, receiver_id), MAX(sender_id, receiver_id)");
+            db.execSQL("UPDATE " + TABLE_CONVERSATION_SUMMARIES + " SET last_timestamp = "
+                    + "(SELECT timestamp FROM " + TABLE_MESSAGES + " WHERE id = last_message_id)");
+        } catch (Exception e) {
+            Log.e(TAG, "Error creating conversation summaries", e);
+        }
     }
 
     private void createWorkoutSessionsTable(SQLiteDatabase db) {
@@ -630,6 +1206,59 @@ private void createDailyLogsTable(SQLiteDatabase db) {
         Log.d(TAG, "Water logs table created successfully");
     }
 
+    /**
+     * Collapse duplicate salary rows for the same trainer and period before the unique index exists.
+     * Keeps the PAID row when there is one, otherwise the oldest.
+     */
+    private void dedupeSalaries(SQLiteDatabase db) {
+        try {
+            db.execSQL("DELETE FROM " + TABLE_SALARIES + " WHERE " + KEY_ID + " NOT IN ("
+                    + "SELECT (SELECT s2." + KEY_ID + " FROM " + TABLE_SALARIES + " s2 WHERE s2." + KEY_TRAINER_ID + " = s." + KEY_TRAINER_ID
+                    + " AND s2." + KEY_MONTH + " = s." + KEY_MONTH + " AND s2." + KEY_YEAR + " = s." + KEY_YEAR
+                    + " ORDER BY s2." + KEY_STATUS + " = 'PAID' DESC, s2." + KEY_ID + " ASC LIMIT 1) "
+                    + "FROM " + TABLE_SALARIES + " s GROUP BY s." + KEY_TRAINER_ID + ", s." + KEY_MONTH + ", s." + KEY_YEAR + ")");
+        } catch (Exception e) {
+            Log.e(TAG, "Error removing duplicate salaries", e);
+        }
+    }
+
+    /**
+     * Rewrite water log times as "yyyy-MM-dd HH:mm:ss" (e.g. ISO "T" separators or missing seconds) so that
+     * half-open text ranges on log_time match the same rows DATE(log_time) did. Unparseable values are left alone.
+     */
+    private void normalizeWaterLogTimes(SQLiteDatabase db) {
+        try {
+            db.execSQL("UPDATE water_logs SET log_time = datetime(log_time) "
+                    + "WHERE datetime(log_time) IS NOT NULL AND log_time <> datetime(log_time)");
+        } catch (Exception e) {
+            Log.e(TAG, "Error normalizing water log times", e);
+        }
+    }
+
+    /**
+     * One broadcasts row per trainer announcement; recipients are resolved on read from the trainer's
+     * active assignments, and each recipient keeps only a read cursor per trainer.
+     */
+    private void createBroadcastTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS broadcasts("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + "trainer_id INTEGER NOT NULL,"
+                + "content TEXT NOT NULL,"
+                + "timestamp DATETIME DEFAULT CURRENT_TIMESTAMP,"
+                + "FOREIGN KEY(trainer_id) REFERENCES " + TABLE_TRAINERS + "(" + KEY_ID + ") ON DELETE CASCADE"
+                + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_broadcasts_trainer_id ON broadcasts(trainer_id, id)");
+
+        // user_id is the recipient's users.id; last_read_id is the newest broadcast they have seen
+        db.execSQL("CREATE TABLE IF NOT EXISTS broadcast_reads("
+                + "user_id INTEGER NOT NULL,"
+                + "trainer_id INTEGER NOT NULL,"
+                + "last_read_id INTEGER NOT NULL DEFAULT 0,"
+                + "PRIMARY KEY (user_id, trainer_id)"
+                + ")");
+        Log.d(TAG, "Broadcast tables created successfully");
+    }
+
     private void createFriendRequestsTable(SQLiteDatabase db) {
         String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS friend_requests("
                 + "id INTEGER PRIMARY KEY AUTOINCREMENT,"
@@ -914,6 +1543,7 @@ private void createDailyLogsTable(SQLiteDatabase db) {
         } finally {
             db.endTransaction();
         }
+        TableChangeNotifier.getInstance().notifyChanged(TableChangeNotifier.TABLE_FOODS);
     }
 
     /**
@@ -1046,21 +1676,25 @@ private void createDailyLogsTable(SQLiteDatabase db) {
     }
 
     /**
-     * Get readable database instance
+     * Get readable database instance.
+     * The connection is shared and owned by this helper - callers borrow it and must not close it.
      */
     public synchronized SQLiteDatabase getReadableDatabase() {
+        if (debuggable) ConnectionTracker.recordBorrow();
         return super.getReadableDatabase();
     }
 
     /**
-     * Get writable database instance
+     * Get writable database instance.
+     * The connection is shared and owned by this helper - callers borrow it and must not close it.
      */
     public synchronized SQLiteDatabase getWritableDatabase() {
+        if (debuggable) ConnectionTracker.recordBorrow();
         return super.getWritableDatabase();
     }
 
     /**
-     * Close database connection
+     * Close database connection. Only call this when the whole app is done with the database.
      */
     public synchronized void closeDatabase() {
         if (instance != null) {
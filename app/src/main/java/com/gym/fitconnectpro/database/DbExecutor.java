@@ -0,0 +1,206 @@
+package com.gym.fitconnectpro.database;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Shared executor for all DAO work.
+ * Writes are serialized on a single writer thread, reads run on a small bounded pool.
+ * Results can be consumed as CompletableFuture, LiveData, or delivered on the main thread
+ * while a LifecycleOwner is alive. When the owner is destroyed a read is cancelled; a write always
+ * runs to completion and only its callback is dropped. Screens that wait on a result (disabled buttons,
+ * progress) pass an onError callback so a failed task is reported instead of leaving the UI stuck.
+ */
+public final class DbExecutor {
+
+    private static final String TAG = "DbExecutor";
+    private static final int READER_QUEUE_CAPACITY = 64;
+    private static final int WRITER_QUEUE_CAPACITY = 128;
+
+    private static volatile DbExecutor instance;
+
+    private final ThreadPoolExecutor writer;
+    private final ThreadPoolExecutor readers;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private DbExecutor() {
+        int readerCount = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+        writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WRITER_QUEUE_CAPACITY), new NamedThreadFactory("db-writer"));
+        readers = new ThreadPoolExecutor(readerCount, readerCount, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(READER_QUEUE_CAPACITY), new NamedThreadFactory("db-reader"));
+        readers.allowCoreThreadTimeOut(true);
+    }
+
+    public static DbExecutor getInstance() {
+        if (instance == null) {
+            synchronized (DbExecutor.class) {
+                if (instance == null) {
+                    instance = new DbExecutor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Run a read-only DAO call on the reader pool
+     */
+    public <T> CompletableFuture<T> read(Callable<T> task) {
+        return submit(readers, task, true);
+    }
+
+    /**
+     * Run a DAO call that modifies the database on the single writer thread.
+     * Cancelling the returned future does not stop the write.
+     */
+    public <T> CompletableFuture<T> write(Callable<T> task) {
+        return submit(writer, task, false);
+    }
+
+    /**
+     * Run a read and deliver the result on the main thread while the owner is alive
+     */
+    public <T> CompletableFuture<T> read(LifecycleOwner owner, Callable<T> task, Consumer<T> onResult) {
+        return deliver(owner, read(task), onResult, null, true);
+    }
+
+    /**
+     * Run a read and deliver the result, or the failure, on the main thread while the owner is alive
+     */
+    public <T> CompletableFuture<T> read(LifecycleOwner owner, Callable<T> task, Consumer<T> onResult,
+                                         Consumer<Throwable> onError) {
+        return deliver(owner, read(task), onResult, onError, true);
+    }
+
+    /**
+     * Run a write and deliver the result on the main thread while the owner is alive.
+     * The write itself completes even if the owner is destroyed first.
+     */
+    public <T> CompletableFuture<T> write(LifecycleOwner owner, Callable<T> task, Consumer<T> onResult) {
+        return deliver(owner, write(task), onResult, null, false);
+    }
+
+    /**
+     * Run a write and deliver the result, or the failure, on the main thread while the owner is alive
+     */
+    public <T> CompletableFuture<T> write(LifecycleOwner owner, Callable<T> task, Consumer<T> onResult,
+                                          Consumer<Throwable> onError) {
+        return deliver(owner, write(task), onResult, onError, false);
+    }
+
+    /**
+     * Run a read and expose the result as LiveData
+     */
+    public <T> LiveData<T> readLiveData(Callable<T> task) {
+        MutableLiveData<T> liveData = new MutableLiveData<>();
+        read(task).whenComplete((value, error) -> {
+            if (error == null) {
+                liveData.postValue(value);
+            } else {
+                Log.e(TAG, "LiveData read failed", error);
+            }
+        });
+        return liveData;
+    }
+
+    /**
+     * Post a runnable to the main thread
+     */
+    public void runOnMain(Runnable runnable) {
+        mainHandler.post(runnable);
+    }
+
+    private <T> CompletableFuture<T> submit(ExecutorService executor, Callable<T> task, boolean cancellable) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            Future<?> running = executor.submit(() -> {
+                if (cancellable && result.isDone()) return; // Cancelled while queued
+                try {
+                    T value = task.call();
+                    result.complete(value);
+                } catch (Throwable t) {
+                    if (!result.completeExceptionally(t)) {
+                        Log.e(TAG, "Database task failed after its future was cancelled", t);
+                    }
+                }
+            });
+            if (cancellable) {
+                result.whenComplete((value, error) -> {
+                    if (result.isCancelled()) running.cancel(true);
+                });
+            }
+        } catch (RejectedExecutionException e) {
+            Log.e(TAG, "Database queue full, rejecting task", e);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private <T> CompletableFuture<T> deliver(LifecycleOwner owner, CompletableFuture<T> future, Consumer<T> onResult,
+                                             Consumer<Throwable> onError, boolean cancelOnDestroy) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            if (cancelOnDestroy) future.cancel(true);
+            return future;
+        }
+
+        // Writes are never cancelled; the DESTROYED check below just skips their callback
+        LifecycleEventObserver observer = (source, event) -> {
+            if (event == Lifecycle.Event.ON_DESTROY && cancelOnDestroy) {
+                future.cancel(true);
+            }
+        };
+        lifecycle.addObserver(observer);
+
+        future.whenComplete((value, error) -> mainHandler.post(() -> {
+            lifecycle.removeObserver(observer);
+            if (future.isCancelled() || lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+                return;
+            }
+            if (error != null) {
+                Log.e(TAG, "Database task failed", error);
+                if (onError != null) onError.accept(error);
+                return;
+            }
+            onResult.accept(value);
+        }));
+        return future;
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + "-" + count.getAndIncrement());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.gym.fitconnectpro.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Debug helper that runs EXPLAIN QUERY PLAN over the hot DAO queries
+ * and reports any that fall back to a full table scan.
+ * Invoked once per process from DatabaseHelper.onOpen on debuggable builds.
+ */
+public final class QueryPlanAuditor {
+
+    private static final String TAG = "QueryPlanAuditor";
+
+    // Representative DAO queries with placeholder arguments: {label, sql, args...}
+    private static final String[][] QUERIES = {
+            {"TrainerDAO.getTrainerCurrentClientCount",
+                    "SELECT COUNT(*) FROM trainer_assignments WHERE trainer_id = ? AND status = 'ACTIVE'", "1"},
+            {"TrainerDAO.getMyAssignedClients",
+                    "SELECT m.member_id FROM members m JOIN trainer_assignments ta ON m.member_id = ta.member_id "
+                            + "WHERE ta.trainer_id = ? AND ta.status = 'ACTIVE'", "1"},
+            {"TrainerDAO.getTrainerByUserId",
+                    "SELECT t.id FROM trainers t JOIN users u ON t.user_id = u.id WHERE t.user_id = ?", "1"},
+            {"MemberDAO.getAssignedTrainerId",
+                    "SELECT trainer_id FROM trainer_assignments WHERE member_id = ? AND status = 'ACTIVE' "
+                            + "ORDER BY assigned_date DESC LIMIT 1", "1"},
+            {"MemberDAO.getMembersByAssignmentPage",
+                    "SELECT m.member_id FROM members m WHERE m.status = 'ACTIVE' AND NOT EXISTS "
+                            + "(SELECT 1 FROM trainer_assignments ta WHERE ta.member_id = m.member_id AND ta.status = 'ACTIVE') "
+                            + "AND (IFNULL(m.full_name, '') > ? OR (IFNULL(m.full_name, '') = ? AND m.member_id > ?)) "
+                            + "ORDER BY IFNULL(m.full_name, '') ASC, m.member_id ASC LIMIT 101", "A", "A", "1"},
+            {"MemberDAO.getMembersPage",
+                    "SELECT * FROM members WHERE 1 = 1 AND status = ? "
+                            + "AND (IFNULL(registration_date, '') < ? OR (IFNULL(registration_date, '') = ? AND member_id < ?)) "
+                            + "ORDER BY IFNULL(registration_date, '') DESC, member_id DESC LIMIT 30",
+                    "Active", "2024-01-01", "2024-01-01", "1"},
+            {"SocialDAO.getMessagesSince",
+                    "SELECT * FROM messages WHERE sender_id = ?1 AND receiver_id = ?2 AND id > ?3 "
+                            + "UNION ALL SELECT * FROM messages WHERE sender_id = ?2 AND receiver_id = ?1 AND id > ?3 "
+                            + "ORDER BY id ASC", "1", "2", "0"},
+            {"SocialDAO.getConversations",
+                    "SELECT cs.user_low, cs.user_high FROM conversation_summaries cs "
+                            + "JOIN messages last ON last.id = cs.last_message_id "
+                            + "WHERE cs.user_low = ?1 OR cs.user_high = ?1 ORDER BY cs.last_message_id DESC", "1"},
+            {"SocialDAO.getMessagesBefore",
+                    "SELECT * FROM messages WHERE sender_id = ?1 AND receiver_id = ?2 AND id < ?3 "
+                            + "UNION ALL SELECT * FROM messages WHERE sender_id = ?2 AND receiver_id = ?1 AND id < ?3 "
+                            + "ORDER BY id DESC LIMIT ?4", "1", "2", "1000", "50"},
+            {"MemberDashboardDAO.getMemberHeaderInfo",
+                    "SELECT m.member_id FROM members m "
+                            + "LEFT JOIN trainer_assignments ta ON m.member_id = ta.member_id AND ta.status = 'ACTIVE' "
+                            + "LEFT JOIN trainers t ON ta.trainer_id = t.id WHERE m.user_id = ?", "1"},
+            {"MemberDashboardDAO.getTodayGoals",
+                    "SELECT * FROM trainer_daily_goals WHERE member_id = ? AND goal_date = ?", "1", "2024-01-01"},
+            {"MemberDashboardDAO.getActiveWorkoutPlanName",
+                    "SELECT plan_name FROM workout_plans WHERE member_id = ? AND status = 'ACTIVE' "
+                            + "AND date('now') BETWEEN start_date AND end_date LIMIT 1", "1"},
+            {"MemberDashboardDAO.getTodayMealCount",
+                    "SELECT COUNT(*) FROM trainer_meal_plans WHERE member_id = ? AND plan_date = ?", "1", "2024-01-01"},
+            {"MemberDashboardDAO.getQuickStats(weight)",
+                    "SELECT weight FROM member_weight_history WHERE member_id = ? ORDER BY log_date DESC LIMIT 1", "1"},
+            {"MealLogDAO.updateDailyLog",
+                    "SELECT id, calories_consumed FROM member_daily_logs WHERE member_id = ? AND log_date = ?", "1", "2024-01-01"},
+            {"MealLogDAO.getTodayMeals",
+                    "SELECT id FROM member_meals WHERE member_id = ? AND meal_date = ? ORDER BY id DESC", "1", "2024-01-01"},
+            {"DailyRollupDAO.getDays",
+                    "SELECT day, calories FROM member_daily_rollup WHERE member_id = ? AND day BETWEEN ? AND ? "
+                            + "ORDER BY day ASC", "1", "2024-01-01", "2024-01-31"},
+            {"WaterLogDAO.getLast7DaysWater",
+                    "SELECT day, water_ml FROM member_daily_rollup WHERE member_id = ? AND day >= DATE('now', '-7 days') "
+                            + "AND water_ml > 0 ORDER BY day", "1"},
+            {"WaterLogDAO.getTodayWaterTotal",
+                    "SELECT SUM(amount_ml) FROM water_logs WHERE member_id = ?1 "
+                            + "AND log_time >= ?2 AND log_time < date(?2, '+1 day')", "1", "2024-01-01"},
+            {"WaterLogDAO.getTodayLogs",
+                    "SELECT * FROM water_logs WHERE member_id = ?1 "
+                            + "AND log_time >= ?2 AND log_time < date(?2, '+1 day') ORDER BY log_time DESC", "1", "2024-01-01"},
+            {"MealPlanDAO.getFoodsForPlan",
+                    "SELECT mpf.*, f.name FROM meal_plan_foods mpf JOIN foods f ON mpf.food_id = f.id "
+                            + "WHERE mpf.meal_plan_id = ?", "1"},
+            {"MealPlanDAO.getMemberMealPlansForDate",
+                    "SELECT * FROM trainer_meal_plans WHERE member_id = ? AND plan_date = ?", "1", "2024-01-01"},
+            {"WorkoutPlanDAO.getPlanExercises",
+                    "SELECT pe.*, e.name FROM plan_exercises pe JOIN exercises e ON pe.exercise_id = e.id "
+                            + "WHERE pe.plan_id = ? ORDER BY pe.order_index ASC", "1"},
+            {"WorkoutDAO.getTodayWorkoutSessions",
+                    "SELECT * FROM workout_sessions WHERE member_id = ? AND session_date = ?", "1", "2024-01-01"},
+            {"WorkoutDAO.getSessionLogs",
+                    "SELECT wl.* FROM workout_logs wl WHERE wl.session_id = ?", "1"},
+            {"TrainerStatisticsDAO.getRecentMessages",
+                    "SELECT m.* FROM (SELECT (SELECT MAX(x.id) FROM messages x WHERE x.receiver_id = ?1 AND x.sender_id = "
+                            + "CASE WHEN cs.user_low = ?1 THEN cs.user_high ELSE cs.user_low END) AS inbound_id "
+                            + "FROM conversation_summaries cs WHERE cs.user_low = ?1 OR cs.user_high = ?1) c "
+                            + "JOIN messages m ON m.id = c.inbound_id JOIN users u ON m.sender_id = u.id "
+                            + "ORDER BY m.id DESC LIMIT 5", "1"},
+            {"BroadcastDAO.getBroadcasts",
+                    "SELECT id FROM broadcasts WHERE trainer_id = ? AND id < ? ORDER BY id DESC LIMIT 50", "1", "1000"},
+            {"TrainerStatisticsDAO.getPendingWorkoutPlans",
+                    "SELECT COUNT(*) FROM workout_plans WHERE trainer_id = ? AND status = 'ACTIVE'", "1"},
+            {"SalaryDAO.generateSalaries",
+                    "SELECT t.id, t.salary FROM trainers t WHERE t.status = 'ACTIVE'"},
+            {"SalaryDAO.generateSalaries (conflict check)",
+                    "SELECT id FROM salaries WHERE trainer_id = ? AND year = ? AND month = ?", "1", "2024", "1"},
+            {"ProgressDAO.getWeightSeries",
+                    "SELECT CAST(julianday(log_date) - 2440587.5 AS INTEGER), weight FROM member_weight_history "
+                            + "WHERE member_id = ? AND log_date BETWEEN ? AND ? AND julianday(log_date) IS NOT NULL "
+                            + "ORDER BY log_date ASC, id ASC", "1", "2024-01-01", "2024-12-31"},
+            {"StatisticsDAO.getDashboardTotals",
+                    "SELECT name, value FROM dashboard_counters WHERE name IN (?, ?, ?, ?, ?)",
+                    "members", "members_active", "trainers", "trainers_active", "revenue:2024-01"},
+            {"SalaryDAO.getSalaryReport",
+                    "SELECT date(payment_date, 'start of month') AS period, SUM(net_salary), COUNT(*) FROM salaries "
+                            + "WHERE status = 'PAID' AND payment_date BETWEEN ? AND ? AND trainer_id = ? "
+                            + "GROUP BY period ORDER BY period ASC", "2024-01-01", "2024-12-31", "1"},
+            {"SalaryDAO.getSalariesForMonth",
+                    "SELECT s.id FROM salaries s WHERE s.month = ? AND s.year = ?", "1", "2024"},
+    };
+
+    private QueryPlanAuditor() {
+    }
+
+    /**
+     * Explain every registered query and log the ones that scan a whole table.
+     * @return labels of the queries that did not use an index
+     */
+    public static List<String> audit(SQLiteDatabase db) {
+        List<String> offenders = new ArrayList<>();
+        for (String[] entry : QUERIES) {
+            String label = entry[0];
+            String sql = entry[1];
+            String[] args = new String[entry.length - 2];
+            System.arraycopy(entry, 2, args, 0, args.length);
+
+            String detail = findFullScan(db, sql, args);
+            if (detail != null) {
+                offenders.add(label);
+                Log.w(TAG, label + " does not use an index: " + detail);
+            }
+        }
+        Log.d(TAG, "Audited " + QUERIES.length + " queries, " + offenders.size() + " full scans");
+        return offenders;
+    }
+
+    /**
+     * @return the offending plan line, or null if every step is index-backed
+     */
+    public static String findFullScan(SQLiteDatabase db, String sql, String[] args) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, args);
+            int detailIndex = cursor.getColumnIndex("detail");
+            while (cursor.moveToNext()) {
+                String detail = cursor.getString(detailIndex);
+                // "SCAN t" (or "SCAN TABLE t" on older SQLite) without USING means no index was chosen
+                if (detail != null && detail.startsWith("SCAN") && !detail.contains("USING")) {
+                    return detail;
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error explaining query: " + sql, e);
+        } finally {
+            DatabaseHelper.closeCursor(cursor);
+        }
+        return null;
+    }
+}
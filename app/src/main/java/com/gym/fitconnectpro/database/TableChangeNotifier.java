@@ -0,0 +1,69 @@
+package com.gym.fitconnectpro.database;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process change signal for tables that screens watch.
+ * DAOs call {@link #notifyChanged} after a successful write; listeners run on the main thread
+ * and re-query only what they need, instead of polling the table on a timer.
+ */
+public final class TableChangeNotifier {
+
+    public static final String TABLE_MESSAGES = "messages";
+    public static final String TABLE_BROADCASTS = "broadcasts";
+    public static final String TABLE_FOODS = "foods";
+
+    /**
+     * Called on the main thread after a write to a watched table
+     */
+    public interface Listener {
+        void onTableChanged(String table);
+    }
+
+    private static final TableChangeNotifier INSTANCE = new TableChangeNotifier();
+
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private TableChangeNotifier() {
+    }
+
+    public static TableChangeNotifier getInstance() {
+        return INSTANCE;
+    }
+
+    public void addListener(String table, Listener listener) {
+        List<Listener> tableListeners = listeners.get(table);
+        if (tableListeners == null) {
+            listeners.putIfAbsent(table, new CopyOnWriteArrayList<>());
+            tableListeners = listeners.get(table);
+        }
+        tableListeners.add(listener);
+    }
+
+    public void removeListener(String table, Listener listener) {
+        List<Listener> tableListeners = listeners.get(table);
+        if (tableListeners != null) {
+            tableListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Signal a change from any thread
+     */
+    public void notifyChanged(String table) {
+        List<Listener> tableListeners = listeners.get(table);
+        if (tableListeners == null || tableListeners.isEmpty()) return;
+        mainHandler.post(() -> {
+            for (Listener listener : tableListeners) {
+                listener.onTableChanged(table);
+            }
+        });
+    }
+}
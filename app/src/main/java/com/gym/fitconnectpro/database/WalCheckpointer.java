@@ -0,0 +1,179 @@
+package com.gym.fitconnectpro.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background checkpoint policy for WAL mode.
+ * Every minute the WAL file size is checked; a PASSIVE checkpoint runs once it passes
+ * a soft limit and a TRUNCATE checkpoint once it passes a hard limit.
+ * A PASSIVE checkpoint does not shrink the file, so connections set journal_size_limit to
+ * {@link #WAL_SIZE_LIMIT_BYTES}: the first commit after a complete checkpoint restarts the log and
+ * truncates the file below the soft limit. Until that commit the size is stale, so a tick is skipped
+ * when the last checkpoint copied every frame and the file has not changed since.
+ * Checkpoints run on the DbExecutor writer thread so they never race our own writes.
+ */
+public final class WalCheckpointer {
+
+    private static final String TAG = "WalCheckpointer";
+
+    public static final String MODE_PASSIVE = "PASSIVE";
+    public static final String MODE_TRUNCATE = "TRUNCATE";
+
+    private static final long CHECK_INTERVAL_SECONDS = 60;
+    private static final long PASSIVE_THRESHOLD_BYTES = 4L * 1024 * 1024;
+    private static final long TRUNCATE_THRESHOLD_BYTES = 16L * 1024 * 1024;
+    /** journal_size_limit: size the WAL is cut back to when the log restarts, below the soft limit */
+    public static final long WAL_SIZE_LIMIT_BYTES = 1024L * 1024;
+
+    /**
+     * Instrumentation hook, called on the writer thread after every checkpoint
+     */
+    public interface Listener {
+        void onCheckpoint(CheckpointStats stats);
+    }
+
+    /**
+     * Result of one checkpoint run
+     */
+    public static final class CheckpointStats {
+        public final String mode;
+        public final long durationMs;
+        public final long walBytesBefore;
+        public final long walBytesAfter;
+        public final boolean busy;
+        public final int logFrames;
+        public final int checkpointedFrames;
+
+        CheckpointStats(String mode, long durationMs, long walBytesBefore, long walBytesAfter,
+                        boolean busy, int logFrames, int checkpointedFrames) {
+            this.mode = mode;
+            this.durationMs = durationMs;
+            this.walBytesBefore = walBytesBefore;
+            this.walBytesAfter = walBytesAfter;
+            this.busy = busy;
+            this.logFrames = logFrames;
+            this.checkpointedFrames = checkpointedFrames;
+        }
+
+        /**
+         * Every frame in the log was copied into the database, so the next commit restarts the log
+         */
+        public boolean isComplete() {
+            return !busy && logFrames >= 0 && checkpointedFrames == logFrames;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s checkpoint: %d ms, wal %d -> %d bytes, frames %d/%d%s",
+                    mode, durationMs, walBytesBefore, walBytesAfter, checkpointedFrames, logFrames,
+                    busy ? " (busy)" : "");
+        }
+    }
+
+    private static final Listener LOG_LISTENER = stats -> Log.d(TAG, stats.toString());
+
+    private final DatabaseHelper dbHelper;
+    private final File walFile;
+    private volatile Listener listener = LOG_LISTENER;
+    private ScheduledExecutorService scheduler;
+    // Written on the writer thread, read by the scheduler
+    private volatile CheckpointStats lastCheckpoint;
+
+    WalCheckpointer(DatabaseHelper dbHelper, String databasePath) {
+        this.dbHelper = dbHelper;
+        this.walFile = new File(databasePath + "-wal");
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : LOG_LISTENER;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-wal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkWalSize,
+                CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Current size of the WAL file in bytes (0 when not in WAL mode)
+     */
+    public long getWalSize() {
+        return walFile.length();
+    }
+
+    /**
+     * Queue a checkpoint on the writer thread, e.g. when the app goes to the background
+     */
+    public CompletableFuture<CheckpointStats> checkpointNow(String mode) {
+        return DbExecutor.getInstance().write(() -> runCheckpoint(mode));
+    }
+
+    private void checkWalSize() {
+        long size = getWalSize();
+        CheckpointStats last = lastCheckpoint;
+        if (last != null && last.isComplete() && size == last.walBytesAfter) {
+            // Nothing committed since every frame was copied back; the size is left over from before
+            return;
+        }
+        if (size >= TRUNCATE_THRESHOLD_BYTES) {
+            checkpointNow(MODE_TRUNCATE);
+        } else if (size >= PASSIVE_THRESHOLD_BYTES) {
+            checkpointNow(MODE_PASSIVE);
+        }
+    }
+
+    private CheckpointStats runCheckpoint(String mode) {
+        long walBefore = getWalSize();
+        long start = SystemClock.elapsedRealtime();
+        boolean busy = false;
+        int logFrames = -1;
+        int checkpointedFrames = -1;
+
+        Cursor cursor = null;
+        try {
+            SQLiteDatabase db = dbHelper.getWritableDatabase();
+            cursor = db.rawQuery("PRAGMA wal_checkpoint(" + mode + ")", null);
+            if (cursor.moveToFirst()) {
+                busy = cursor.getInt(0) != 0;
+                logFrames = cursor.getInt(1);
+                checkpointedFrames = cursor.getInt(2);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error running " + mode + " checkpoint", e);
+        } finally {
+            DatabaseHelper.closeCursor(cursor);
+        }
+
+        CheckpointStats stats = new CheckpointStats(mode, SystemClock.elapsedRealtime() - start,
+                walBefore, getWalSize(), busy, logFrames, checkpointedFrames);
+        lastCheckpoint = stats;
+        try {
+            listener.onCheckpoint(stats);
+        } catch (Exception e) {
+            Log.e(TAG, "Checkpoint listener failed", e);
+        }
+        return stats;
+    }
+}
@@ -5,6 +5,7 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.DatePicker;
@@ -19,6 +20,7 @@ import androidx.fragment.app.DialogFragment;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.MemberDAO;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
 import com.gym.fitconnectpro.database.entities.Trainer;
 
@@ -30,6 +32,8 @@ import java.util.Locale;
 
 public class AssignTrainerDialogFragment extends DialogFragment {
 
+    private static final int PAGE_SIZE = MemberDAO.MEMBER_PAGE_SIZE;
+
     private Spinner spinnerMember, spinnerTrainer;
     private DatePicker datePickerAssignment;
     private Button btnAssign, btnCancel;
@@ -37,8 +41,17 @@ public class AssignTrainerDialogFragment extends DialogFragment {
     private MemberDAO memberDAO;
     private TrainerDAO trainerDAO;
 
-    private List<Member> memberList;
-    private List<Trainer> trainerList;
+    // Members are paged: unassigned members first, then assigned ones for reassignment
+    private final List<Member> memberList = new ArrayList<>();
+    private final List<String> memberLabels = new ArrayList<>();
+    private final List<String> memberNames = new ArrayList<>();
+    private boolean pagingAssigned = false;
+    private boolean hasMoreMembers = true;
+    private boolean loadingMembers = false;
+    private String lastMemberName = null;
+    private int lastMemberId = 0;
+
+    private List<Trainer> trainerList = new ArrayList<>();
     private ArrayAdapter<String> memberAdapter;
     private ArrayAdapter<String> trainerAdapter;
 
@@ -89,33 +102,91 @@ public class AssignTrainerDialogFragment extends DialogFragment {
     }
 
     private void loadMembers() {
-        memberList = memberDAO.getAllActiveMembers();
-        List<String> memberNames = new ArrayList<>();
+        memberAdapter = new ArrayAdapter<>(requireContext(),
+                android.R.layout.simple_spinner_item, memberNames);
+        memberAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerMember.setAdapter(memberAdapter);
 
-        if (memberList.isEmpty()) {
-            memberNames.add("No members available");
-        } else {
-            for (Member member : memberList) {
-                // Check if member already has a trainer
-                Integer assignedTrainerId = memberDAO.getAssignedTrainerId(member.getMemberId());
-                
-                String displayText = member.getFullName();
-                if (assignedTrainerId != null) {
-                    displayText += " [Reassign]";
+        // Selecting the trailing "Load more" entry fetches the next page
+        spinnerMember.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                if (position == memberList.size() && hasMoreMembers) {
+                    loadNextMemberPage();
                 }
-                
-                memberNames.add(displayText);
             }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {}
+        });
+
+        loadNextMemberPage();
+    }
+
+    private void loadNextMemberPage() {
+        if (loadingMembers || !hasMoreMembers) return;
+        loadingMembers = true;
+
+        final boolean assigned = pagingAssigned;
+        final String afterName = lastMemberName;
+        final int afterId = lastMemberId;
+        // One extra row tells us whether another page exists
+        DbExecutor.getInstance().read(this,
+                () -> memberDAO.getMembersByAssignmentPage(assigned, afterName, afterId, PAGE_SIZE + 1),
+                page -> onMemberPageLoaded(assigned, page));
+    }
+
+    private void onMemberPageLoaded(boolean assigned, List<Member> page) {
+        loadingMembers = false;
+        int firstNewPosition = memberList.size();
+
+        boolean phaseHasMore = page.size() > PAGE_SIZE;
+        int count = Math.min(page.size(), PAGE_SIZE);
+        for (int i = 0; i < count; i++) {
+            Member member = page.get(i);
+            memberList.add(member);
+            memberLabels.add(assigned ? member.getFullName() + " [Reassign]" : member.getFullName());
+            // Matches the DAO's IFNULL sort key, null stays reserved for "first page"
+            lastMemberName = member.getFullName() != null ? member.getFullName() : "";
+            lastMemberId = member.getMemberId();
         }
 
-        memberAdapter = new ArrayAdapter<>(requireContext(),
-                android.R.layout.simple_spinner_item, memberNames);
-        memberAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-        spinnerMember.setAdapter(memberAdapter);
+        boolean continueWithAssigned = false;
+        if (!phaseHasMore) {
+            if (!assigned) {
+                // Unassigned members exhausted, continue with members that can be reassigned
+                pagingAssigned = true;
+                lastMemberName = null;
+                lastMemberId = 0;
+                continueWithAssigned = count < PAGE_SIZE;
+            } else {
+                hasMoreMembers = false;
+            }
+        }
+
+        memberNames.clear();
+        memberNames.addAll(memberLabels);
+        if (hasMoreMembers) {
+            memberNames.add("Load more members...");
+        } else if (memberList.isEmpty()) {
+            memberNames.add("No members available");
+        }
+        memberAdapter.notifyDataSetChanged();
+        if (firstNewPosition > 0 && firstNewPosition < memberList.size()) {
+            spinnerMember.setSelection(firstNewPosition);
+        }
+
+        if (continueWithAssigned) {
+            loadNextMemberPage();
+        }
     }
 
     private void loadTrainers() {
-        trainerList = trainerDAO.getAvailableTrainers();
+        DbExecutor.getInstance().read(this, trainerDAO::getAvailableTrainers, this::bindTrainers);
+    }
+
+    private void bindTrainers(List<Trainer> trainers) {
+        trainerList = trainers;
         List<String> trainerNames = new ArrayList<>();
 
         if (trainerList.isEmpty()) {
@@ -151,7 +222,8 @@ public class AssignTrainerDialogFragment extends DialogFragment {
         int memberPosition = spinnerMember.getSelectedItemPosition();
         int trainerPosition = spinnerTrainer.getSelectedItemPosition();
 
-        if (memberPosition < 0 || trainerPosition < 0) {
+        if (memberPosition < 0 || memberPosition >= memberList.size()
+                || trainerPosition < 0 || trainerPosition >= trainerList.size()) {
             Toast.makeText(requireContext(), 
                 "Please select both member and trainer", 
                 Toast.LENGTH_SHORT).show();
@@ -172,24 +244,37 @@ public class AssignTrainerDialogFragment extends DialogFragment {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
         String assignedDate = dateFormat.format(calendar.getTime());
 
-        // Get existing trainer ID for proper success message
-        Integer existingTrainerId = memberDAO.getAssignedTrainerId(selectedMember.getMemberId());
-        
-        // Debug logging
-        android.util.Log.d("AssignTrainer", "=== Assignment Debug Info ===");
-        android.util.Log.d("AssignTrainer", "Member ID: " + selectedMember.getMemberId());
-        android.util.Log.d("AssignTrainer", "Member Name: " + selectedMember.getFullName());
-        android.util.Log.d("AssignTrainer", "Existing Trainer ID: " + existingTrainerId);
-        android.util.Log.d("AssignTrainer", "Selected Trainer ID: " + selectedTrainer.getTrainerId());
-        android.util.Log.d("AssignTrainer", "Selected Trainer Name: " + selectedTrainer.getFullName());
-
-        // Perform assignment (DAO will handle completing old assignment and creating new one)
-        boolean success = trainerDAO.assignTrainerToMember(
-            selectedTrainer.getTrainerId(),
-            selectedMember.getMemberId(),
-            assignedDate
-        );
+        btnAssign.setEnabled(false);
+        DbExecutor.getInstance().write(this, () -> {
+            AssignResult result = new AssignResult();
+            // Get existing trainer ID for proper success message
+            result.existingTrainerId = memberDAO.getAssignedTrainerId(selectedMember.getMemberId());
+            
+            // Debug logging
+            android.util.Log.d("AssignTrainer", "=== Assignment Debug Info ===");
+            android.util.Log.d("AssignTrainer", "Member ID: " + selectedMember.getMemberId());
+            android.util.Log.d("AssignTrainer", "Member Name: " + selectedMember.getFullName());
+            android.util.Log.d("AssignTrainer", "Existing Trainer ID: " + result.existingTrainerId);
+            android.util.Log.d("AssignTrainer", "Selected Trainer ID: " + selectedTrainer.getTrainerId());
+            android.util.Log.d("AssignTrainer", "Selected Trainer Name: " + selectedTrainer.getFullName());
+
+            // Perform assignment (DAO will handle completing old assignment and creating new one)
+            result.success = trainerDAO.assignTrainerToMember(
+                selectedTrainer.getTrainerId(),
+                selectedMember.getMemberId(),
+                assignedDate
+            );
+            return result;
+        }, result -> {
+            btnAssign.setEnabled(true);
+            onAssignFinished(result.success, result.existingTrainerId, selectedTrainer);
+        }, error -> {
+            btnAssign.setEnabled(true);
+            onAssignFinished(false, null, selectedTrainer);
+        });
+    }
 
+    private void onAssignFinished(boolean success, Integer existingTrainerId, Trainer selectedTrainer) {
         if (success) {
             // Show appropriate message based on whether this was a new assignment or reassignment
             String message;
@@ -227,4 +312,12 @@ public class AssignTrainerDialogFragment extends DialogFragment {
             );
         }
     }
+
+    /**
+     * Previous trainer and outcome of an assignment, computed on the DB executor
+     */
+    private static class AssignResult {
+        Integer existingTrainerId;
+        boolean success;
+    }
 }
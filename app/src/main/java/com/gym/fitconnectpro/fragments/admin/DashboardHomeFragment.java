@@ -15,6 +15,7 @@ import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.activities.admin.MemberRegistrationActivity;
 import com.gym.fitconnectpro.activities.admin.TrainerRegistrationActivity;
 import com.gym.fitconnectpro.dao.StatisticsDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 
 public class DashboardHomeFragment extends Fragment {
 
@@ -68,25 +69,27 @@ public class DashboardHomeFragment extends Fragment {
     private void loadDashboardStats() {
         if (statisticsDAO == null) return;
 
-        // Get Views
-        android.widget.TextView tvTotalMembers = getView().findViewById(R.id.tvTotalMembers);
-        android.widget.TextView tvTotalTrainers = getView().findViewById(R.id.tvTotalTrainers);
-        android.widget.TextView tvMonthlyRevenue = getView().findViewById(R.id.tvMonthlyRevenue);
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), statisticsDAO::getDashboardTotals, this::bindDashboardStats);
+    }
 
-        // Fetch Data
-        int totalMembers = statisticsDAO.getTotalMembers();
-        int totalTrainers = statisticsDAO.getTotalTrainers();
-        double monthlyRevenue = statisticsDAO.getMonthlyRevenue();
+    private void bindDashboardStats(StatisticsDAO.DashboardTotals totals) {
+        View view = getView();
+        if (view == null) return;
+
+        // Get Views
+        android.widget.TextView tvTotalMembers = view.findViewById(R.id.tvTotalMembers);
+        android.widget.TextView tvTotalTrainers = view.findViewById(R.id.tvTotalTrainers);
+        android.widget.TextView tvMonthlyRevenue = view.findViewById(R.id.tvMonthlyRevenue);
 
         // Update UI
         if (tvTotalMembers != null) {
-            tvTotalMembers.setText(String.valueOf(totalMembers));
+            tvTotalMembers.setText(String.valueOf(totals.totalMembers));
         }
         if (tvTotalTrainers != null) {
-            tvTotalTrainers.setText(String.valueOf(totalTrainers));
+            tvTotalTrainers.setText(String.valueOf(totals.totalTrainers));
         }
         if (tvMonthlyRevenue != null) {
-            tvMonthlyRevenue.setText(String.format("BDT%.2f", monthlyRevenue));
+            tvMonthlyRevenue.setText(String.format("BDT%.2f", totals.monthlyRevenue));
         }
     }
 }
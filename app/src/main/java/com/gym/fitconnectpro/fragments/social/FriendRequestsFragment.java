@@ -15,6 +15,7 @@ import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.activities.member.FriendRequestsAdapter;
 import com.gym.fitconnectpro.dao.MemberDashboardDAO;
 import com.gym.fitconnectpro.dao.SocialDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.services.Session;
 
 import java.util.ArrayList;
@@ -35,7 +36,6 @@ public class FriendRequestsFragment extends Fragment { // Fixed Package name to
         rvSent = view.findViewById(R.id.rvSentRequests);
         
         socialDAO = new SocialDAO(requireContext());
-        identifyCurrentMember();
         
         rvReceived.setLayoutManager(new LinearLayoutManager(getContext()));
         rvSent.setLayoutManager(new LinearLayoutManager(getContext()));
@@ -49,30 +49,55 @@ public class FriendRequestsFragment extends Fragment { // Fixed Package name to
         loadRequests();
     }
     
-    private void identifyCurrentMember() {
+    private int identifyCurrentMember(int userId, MemberDashboardDAO dashboardDAO) {
         try {
-            int userId = Session.getInstance(requireContext()).getUserId();
-            MemberDashboardDAO dashboardDAO = new MemberDashboardDAO(requireContext());
             Map<String, String> info = dashboardDAO.getMemberHeaderInfo(userId);
             if (info != null && info.containsKey("member_id")) {
-                currentMemberId = Integer.parseInt(info.get("member_id"));
+                return Integer.parseInt(info.get("member_id"));
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
+        return -1;
     }
     
     private void loadRequests() {
+        int userId = Session.getInstance(requireContext()).getUserId();
+        MemberDashboardDAO dashboardDAO = new MemberDashboardDAO(requireContext());
+        int knownMemberId = currentMemberId;
+        
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> {
+            RequestData data = new RequestData();
+            data.memberId = knownMemberId != -1 ? knownMemberId : identifyCurrentMember(userId, dashboardDAO);
+            if (data.memberId == -1) return data;
+            
+            data.received = socialDAO.getPendingRequests(data.memberId, false);
+            data.sent = socialDAO.getPendingRequests(data.memberId, true);
+            return data;
+        }, this::bindRequests);
+    }
+    
+    private void bindRequests(RequestData data) {
+        currentMemberId = data.memberId;
         if (currentMemberId == -1) return;
         
         // Load Received
-        List<SocialDAO.FriendRequest> received = socialDAO.getPendingRequests(currentMemberId, false);
-        FriendRequestsAdapter receivedAdapter = new FriendRequestsAdapter(requireContext(), received, this::loadRequests);
+        FriendRequestsAdapter receivedAdapter = new FriendRequestsAdapter(requireContext(), getViewLifecycleOwner(),
+                data.received, this::loadRequests);
         rvReceived.setAdapter(receivedAdapter);
         
         // Load Sent
-        List<SocialDAO.FriendRequest> sent = socialDAO.getPendingRequests(currentMemberId, true);
-        FriendRequestsAdapter sentAdapter = new FriendRequestsAdapter(requireContext(), sent, this::loadRequests);
+        FriendRequestsAdapter sentAdapter = new FriendRequestsAdapter(requireContext(), getViewLifecycleOwner(),
+                data.sent, this::loadRequests);
         rvSent.setAdapter(sentAdapter);
     }
+    
+    /**
+     * Member id and both pending request lists, loaded on the DB executor
+     */
+    private static class RequestData {
+        int memberId = -1;
+        List<SocialDAO.FriendRequest> received;
+        List<SocialDAO.FriendRequest> sent;
+    }
 }
@@ -14,6 +14,7 @@ import androidx.fragment.app.Fragment;
 
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
 
 import java.text.SimpleDateFormat;
@@ -91,8 +92,12 @@ public class ClientDetailsFragment extends Fragment {
     }
     
     private void loadClientDetails() {
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> trainerDAO.getClientDetails(memberId), this::bindClientDetails,
+                error -> Toast.makeText(getContext(), "Error loading details: " + error.getMessage(), Toast.LENGTH_LONG).show());
+    }
+    
+    private void bindClientDetails(Member member) {
         try {
-            Member member = trainerDAO.getClientDetails(memberId);
             if (member != null) {
                 if (tvName != null) tvName.setText(member.getFullName());
                 if (tvEmail != null) tvEmail.setText(member.getEmail());
@@ -2,9 +2,11 @@ package com.gym.fitconnectpro.fragments.trainer;
 
 import android.os.Bundle;
 import android.util.Log;
+import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Button;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -15,23 +17,40 @@ import androidx.fragment.app.FragmentTransaction;
 
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.gym.fitconnectpro.R;
+import com.gym.fitconnectpro.dao.MealPlanDAO;
 import com.gym.fitconnectpro.dao.TrainerDAO;
 import com.gym.fitconnectpro.dao.WorkoutPlanDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
+import com.gym.fitconnectpro.database.entities.PlanExercise;
 import com.gym.fitconnectpro.database.entities.WorkoutPlan;
+import com.gym.fitconnectpro.models.MealPlan;
+import com.gym.fitconnectpro.models.MealPlanFood;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class ClientPlansFragment extends Fragment {
 
     private static final String ARG_MEMBER_ID = "member_id";
+    // Plans are materialized a page at a time, newest first; older pages load on request
+    private static final int PLAN_WINDOW = 10;
+    private static final int MEAL_PLAN_WINDOW = 28;
     private int memberId;
     
     private TextView tvClientPlansHeader;
     private TextView tvWorkoutPlansList;
     private TextView tvMealPlansList;
+    private Button btnOlderPlans;
+    private Button btnOlderMeals;
     private FloatingActionButton fabCreatePlan;
 
+    private final List<WorkoutPlan> plans = new ArrayList<>();
+    private final SparseArray<List<PlanExercise>> exercisesByPlan = new SparseArray<>();
+    private final List<MealPlan> mealPlans = new ArrayList<>();
+    private boolean hasOlderPlans;
+    private boolean hasOlderMeals;
+
     public ClientPlansFragment() {
         // Required empty public constructor
     }
@@ -65,6 +84,8 @@ public class ClientPlansFragment extends Fragment {
         tvClientPlansHeader = view.findViewById(R.id.tvClientPlansHeader);
         tvWorkoutPlansList = view.findViewById(R.id.tvWorkoutPlansList);
         tvMealPlansList = view.findViewById(R.id.tvMealPlansList);
+        btnOlderPlans = view.findViewById(R.id.btnOlderPlans);
+        btnOlderMeals = view.findViewById(R.id.btnOlderMeals);
         fabCreatePlan = view.findViewById(R.id.fabCreatePlan);
         
         android.widget.ImageButton btnBack = view.findViewById(R.id.btnBack);
@@ -84,25 +105,108 @@ public class ClientPlansFragment extends Fragment {
                     .commit();
         });
 
+        btnOlderPlans.setOnClickListener(v -> loadOlderPlans());
+        btnOlderMeals.setOnClickListener(v -> loadOlderMeals());
+
         loadData();
     }
 
     private void loadData() {
-        try {
-            // 1. Get Member Name for Header
-            TrainerDAO trainerDAO = new TrainerDAO(requireContext());
-            Member member = trainerDAO.getClientDetails(memberId);
+        // Load the first page of plans and their children off the UI thread
+        android.content.Context context = requireContext().getApplicationContext();
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> {
+            PlansData data = new PlansData();
+            data.member = new TrainerDAO(context).getClientDetails(memberId);
+            loadPlansPage(context, data, 0);
+            loadMealPlansPage(context, data, 0);
+            return data;
+        }, data -> {
+            Member member = data.member;
             if (member != null) {
                 tvClientPlansHeader.setText(member.getFullName() + "'s Plans");
             } else {
                 tvClientPlansHeader.setText("Client Plans");
             }
 
-            // 2. Load Workout Plans
-            WorkoutPlanDAO workoutPlanDAO = new WorkoutPlanDAO(requireContext());
-            List<WorkoutPlan> plans = workoutPlanDAO.getPlansByMemberId(memberId);
+            plans.clear();
+            exercisesByPlan.clear();
+            mealPlans.clear();
+            appendPlans(data);
+            appendMealPlans(data);
+        });
+    }
+
+    private void loadOlderPlans() {
+        btnOlderPlans.setEnabled(false);
+        android.content.Context context = requireContext().getApplicationContext();
+        int offset = plans.size();
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> {
+            PlansData data = new PlansData();
+            loadPlansPage(context, data, offset);
+            return data;
+        }, data -> {
+            btnOlderPlans.setEnabled(true);
+            appendPlans(data);
+        }, error -> {
+            btnOlderPlans.setEnabled(true);
+            Toast.makeText(getContext(), "Error loading plans", Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    private void loadOlderMeals() {
+        btnOlderMeals.setEnabled(false);
+        android.content.Context context = requireContext().getApplicationContext();
+        int offset = mealPlans.size();
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> {
+            PlansData data = new PlansData();
+            loadMealPlansPage(context, data, offset);
+            return data;
+        }, data -> {
+            btnOlderMeals.setEnabled(true);
+            appendMealPlans(data);
+        }, error -> {
+            btnOlderMeals.setEnabled(true);
+            Toast.makeText(getContext(), "Error loading plans", Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    // One extra row tells whether an older page exists
+    private void loadPlansPage(android.content.Context context, PlansData data, int offset) {
+        WorkoutPlanDAO workoutPlanDAO = new WorkoutPlanDAO(context);
+        List<WorkoutPlan> page = workoutPlanDAO.getPlansByMemberId(memberId, PLAN_WINDOW + 1, offset);
+        data.hasMorePlans = page.size() > PLAN_WINDOW;
+        data.plans = data.hasMorePlans ? page.subList(0, PLAN_WINDOW) : page;
+        int[] planIds = new int[data.plans.size()];
+        for (int i = 0; i < planIds.length; i++) planIds[i] = data.plans.get(i).getId();
+        data.exercisesByPlan = workoutPlanDAO.getPlanExercisesForPlans(planIds);
+    }
+
+    private void loadMealPlansPage(android.content.Context context, PlansData data, int offset) {
+        List<MealPlan> page = new MealPlanDAO(context).getMealPlans(memberId, MEAL_PLAN_WINDOW + 1, offset);
+        data.hasMoreMealPlans = page.size() > MEAL_PLAN_WINDOW;
+        data.mealPlans = data.hasMoreMealPlans ? page.subList(0, MEAL_PLAN_WINDOW) : page;
+    }
 
-            if (plans != null && !plans.isEmpty()) {
+    private void appendPlans(PlansData data) {
+        plans.addAll(data.plans);
+        for (int i = 0; i < data.exercisesByPlan.size(); i++) {
+            exercisesByPlan.put(data.exercisesByPlan.keyAt(i), data.exercisesByPlan.valueAt(i));
+        }
+        hasOlderPlans = data.hasMorePlans;
+        btnOlderPlans.setVisibility(hasOlderPlans ? View.VISIBLE : View.GONE);
+        bindPlans();
+    }
+
+    private void appendMealPlans(PlansData data) {
+        mealPlans.addAll(data.mealPlans);
+        hasOlderMeals = data.hasMoreMealPlans;
+        btnOlderMeals.setVisibility(hasOlderMeals ? View.VISIBLE : View.GONE);
+        bindMealPlans();
+    }
+
+    private void bindPlans() {
+        try {
+            if (!plans.isEmpty()) {
                 StringBuilder sb = new StringBuilder();
                 for (WorkoutPlan plan : plans) {
                     if (sb.length() > 0) sb.append("\n\n====================\n\n");
@@ -111,11 +215,10 @@ public class ClientPlansFragment extends Fragment {
                     sb.append("\nGenerated: ").append(plan.getStartDate());
                     sb.append("\nStatus: ").append(plan.getStatus());
                     
-                    // Fetch exercises for this plan
-                    List<com.gym.fitconnectpro.database.entities.PlanExercise> exercises = workoutPlanDAO.getPlanExercises(plan.getId());
+                    List<PlanExercise> exercises = exercisesByPlan.get(plan.getId());
                     if (exercises != null && !exercises.isEmpty()) {
                         sb.append("\n\nExercises:");
-                        for (com.gym.fitconnectpro.database.entities.PlanExercise ex : exercises) {
+                        for (PlanExercise ex : exercises) {
                             sb.append("\n• ").append(ex.getExercise() != null ? ex.getExercise().getName() : "Unknown Exercise");
                             sb.append(" | ").append(ex.getSets()).append(" x ").append(ex.getReps());
                             if (ex.getWeightKg() > 0) sb.append(" @ ").append(ex.getWeightKg()).append("kg");
@@ -124,20 +227,26 @@ public class ClientPlansFragment extends Fragment {
                         sb.append("\n\n(No exercises added)");
                     }
                 }
+                if (hasOlderPlans) {
+                    sb.append("\n\n(Showing the latest ").append(plans.size()).append(" plans)");
+                }
                 tvWorkoutPlansList.setText(sb.toString());
             } else {
                 tvWorkoutPlansList.setText("No active workout plans assigned.");
             }
+        } catch (Exception e) {
+            Log.e("ClientPlansFragment", "Error loading data", e);
+            Toast.makeText(getContext(), "Error loading plans", Toast.LENGTH_SHORT).show();
+        }
+    }
 
-            // 3. Meal Plans
-            com.gym.fitconnectpro.dao.MealPlanDAO mealPlanDAO = new com.gym.fitconnectpro.dao.MealPlanDAO(requireContext());
-            List<com.gym.fitconnectpro.models.MealPlan> mealPlans = mealPlanDAO.getMealPlans(memberId);
-            
-            if (mealPlans != null && !mealPlans.isEmpty()) {
+    private void bindMealPlans() {
+        try {
+            if (!mealPlans.isEmpty()) {
                 StringBuilder mpSb = new StringBuilder();
                 String currentDate = "";
                 
-                for (com.gym.fitconnectpro.models.MealPlan mp : mealPlans) {
+                for (MealPlan mp : mealPlans) {
                     // Group by date visually
                     if (!mp.getPlanDate().equals(currentDate)) {
                         if (mpSb.length() > 0) mpSb.append("\n\n--------------------\n\n");
@@ -151,7 +260,7 @@ public class ClientPlansFragment extends Fragment {
                     }
                     
                     if (mp.getFoods() != null && !mp.getFoods().isEmpty()) {
-                        for (com.gym.fitconnectpro.models.MealPlanFood f : mp.getFoods()) {
+                        for (MealPlanFood f : mp.getFoods()) {
                             double cal = 0;
                             if (f.getFood() != null) cal = f.getFood().getCalories() * f.getQuantity();
                             
@@ -162,14 +271,28 @@ public class ClientPlansFragment extends Fragment {
                         mpSb.append("\n(No foods listed)");
                     }
                 }
+                if (hasOlderMeals) {
+                    mpSb.append("\n\n(Showing the latest ").append(mealPlans.size()).append(" meals)");
+                }
                 tvMealPlansList.setText(mpSb.toString());
             } else {
                 tvMealPlansList.setText("No active meal plans assigned.");
             }
-            
         } catch (Exception e) {
             Log.e("ClientPlansFragment", "Error loading data", e);
             Toast.makeText(getContext(), "Error loading plans", Toast.LENGTH_SHORT).show();
         }
     }
+
+    /**
+     * One page of a client's plans, loaded on the DB executor
+     */
+    private static class PlansData {
+        Member member;
+        List<WorkoutPlan> plans;
+        SparseArray<List<PlanExercise>> exercisesByPlan;
+        boolean hasMorePlans;
+        List<MealPlan> mealPlans;
+        boolean hasMoreMealPlans;
+    }
 }
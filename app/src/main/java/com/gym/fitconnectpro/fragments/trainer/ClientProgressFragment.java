@@ -20,9 +20,10 @@ import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.components.SimpleLineChart;
 import com.gym.fitconnectpro.dao.ProgressDAO;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
 import com.gym.fitconnectpro.models.ProgressReport;
-import com.gym.fitconnectpro.models.WeightLog;
+import com.gym.fitconnectpro.models.TimeSeries;
 import com.gym.fitconnectpro.services.Session;
 
 import java.time.LocalDate;
@@ -32,6 +33,9 @@ import java.util.Map;
 
 public class ClientProgressFragment extends Fragment {
 
+    // Weight trend line: a reading's influence halves every week
+    private static final float TREND_HALF_LIFE_DAYS = 7f;
+
     // UI Components
     private Spinner spinnerClient;
     private Button btnDateRange, btnRefresh, btnSendReport;
@@ -96,8 +100,13 @@ public class ClientProgressFragment extends Fragment {
     }
 
     private void loadClients() {
-        clientList = trainerDAO.getMyAssignedClients(trainerId);
-        if (clientList == null) clientList = new ArrayList<>();
+        clientList = new ArrayList<>();
+        DbExecutor.getInstance().read(getViewLifecycleOwner(),
+                () -> trainerDAO.getMyAssignedClients(trainerId), this::bindClients);
+    }
+
+    private void bindClients(List<Member> clients) {
+        clientList = clients != null ? clients : new ArrayList<>();
 
         List<String> names = new ArrayList<>();
         for (Member m : clientList) names.add(m.getFullName());
@@ -143,9 +152,18 @@ public class ClientProgressFragment extends Fragment {
         
         String start = startDate.toString();
         String end = endDate.toString();
+        int memberId = selectedMember.getMemberId();
 
-        // 1. Get Stats
-        Map<String, Object> stats = progressDAO.getClientProgress(selectedMember.getMemberId(), start, end);
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> {
+            TimeSeries weights = progressDAO.getWeightSeries(memberId, start, end);
+            return new ProgressData(progressDAO.getClientProgress(memberId, start, end),
+                    weights, weights.ewma(TREND_HALF_LIFE_DAYS));
+        }, this::bindProgressData);
+    }
+
+    private void bindProgressData(ProgressData data) {
+        // 1. Stats
+        Map<String, Object> stats = data.stats;
         
         Double workoutRate = (Double) stats.get("workoutCompletionRate");
         Integer meals = (Integer) stats.get("mealsLoggedCount");
@@ -155,22 +173,20 @@ public class ClientProgressFragment extends Fragment {
         tvMealsLogged.setText(String.valueOf(meals));
         tvWaterCompliance.setText(waterDays + " days");
 
-        // 2. Get Weight History
-        List<WeightLog> weightLogs = progressDAO.getWeightHistory(selectedMember.getMemberId(), start, end);
+        // 2. Weight History
+        TimeSeries weights = data.weights;
         
         // Calculate change
         double change = 0;
-        if (weightLogs.size() >= 2) {
-            double first = weightLogs.get(0).getWeight();
-            double last = weightLogs.get(weightLogs.size() - 1).getWeight();
-            change = last - first;
+        if (weights.size() >= 2) {
+            change = weights.last() - weights.first();
         }
         
         String sign = change > 0 ? "+" : "";
         tvWeightChange.setText(String.format("%s%.1f kg", sign, change));
         
         // Update Chart
-        chartWeight.setData(weightLogs);
+        chartWeight.setData(weights, data.trend);
     }
     
     private void generateReport() {
@@ -186,33 +202,54 @@ public class ClientProgressFragment extends Fragment {
         report.setReportEndDate(endDate.toString());
         report.setTrainerFeedback(etFeedback.getText().toString());
         
-        // Save snapshot of current metrics
-        // (In a real app, you might want to re-calculate to ensure accuracy, but using UI values for demo simplicity or cached values)
-        // Let's re-fetch simplified
-        Map<String, Object> stats = progressDAO.getClientProgress(selectedMember.getMemberId(), startDate.toString(), endDate.toString());
-        report.setWorkoutCompletionRate((Double) stats.get("workoutCompletionRate"));
-        report.setMealsLoggedCount((Integer) stats.get("mealsLoggedCount"));
-        
-        // Calculate water rate
-        int waterDays = (Integer) stats.get("waterComplianceDays");
-        long totalDays = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        report.setWaterComplianceRate((double) waterDays / totalDays * 100);
-        
-        // Weight change
-        List<WeightLog> logs = progressDAO.getWeightHistory(selectedMember.getMemberId(), startDate.toString(), endDate.toString());
-        if (!logs.isEmpty()) {
-            double startW = logs.get(0).getWeight();
-            double endW = logs.get(logs.size()-1).getWeight();
-            report.setWeightChange(endW - startW);
-        } else {
-             report.setWeightChange(0);
-        }
+        int memberId = selectedMember.getMemberId();
+        LocalDate reportStart = startDate;
+        LocalDate reportEnd = endDate;
+
+        DbExecutor.getInstance().write(getViewLifecycleOwner(), () -> {
+            // Save snapshot of current metrics
+            // (In a real app, you might want to re-calculate to ensure accuracy, but using UI values for demo simplicity or cached values)
+            // Let's re-fetch simplified
+            Map<String, Object> stats = progressDAO.getClientProgress(memberId, reportStart.toString(), reportEnd.toString());
+            report.setWorkoutCompletionRate((Double) stats.get("workoutCompletionRate"));
+            report.setMealsLoggedCount((Integer) stats.get("mealsLoggedCount"));
+
+            // Calculate water rate
+            int waterDays = (Integer) stats.get("waterComplianceDays");
+            long totalDays = java.time.temporal.ChronoUnit.DAYS.between(reportStart, reportEnd) + 1;
+            report.setWaterComplianceRate((double) waterDays / totalDays * 100);
+
+            // Weight change
+            TimeSeries weights = progressDAO.getWeightSeries(memberId, reportStart.toString(), reportEnd.toString());
+            if (!weights.isEmpty()) {
+                report.setWeightChange(weights.last() - weights.first());
+            } else {
+                 report.setWeightChange(0);
+            }
+
+            return progressDAO.saveWeeklyReport(report);
+        }, saved -> {
+            if (saved) {
+                Toast.makeText(getContext(), "Report generated & sent to client!", Toast.LENGTH_LONG).show();
+                etFeedback.setText("");
+            } else {
+                Toast.makeText(getContext(), "Failed to save report", Toast.LENGTH_SHORT).show();
+            }
+        }, error -> Toast.makeText(getContext(), "Failed to save report", Toast.LENGTH_SHORT).show());
+    }
 
-        if (progressDAO.saveWeeklyReport(report)) {
-            Toast.makeText(getContext(), "Report generated & sent to client!", Toast.LENGTH_LONG).show();
-            etFeedback.setText("");
-        } else {
-            Toast.makeText(getContext(), "Failed to save report", Toast.LENGTH_SHORT).show();
+    /**
+     * Stats and weight history for the selected client and range
+     */
+    private static class ProgressData {
+        final Map<String, Object> stats;
+        final TimeSeries weights;
+        final TimeSeries trend;
+
+        ProgressData(Map<String, Object> stats, TimeSeries weights, TimeSeries trend) {
+            this.stats = stats;
+            this.weights = weights;
+            this.trend = trend;
         }
     }
 }
@@ -22,12 +22,15 @@ import androidx.fragment.app.Fragment;
 
 import com.google.android.material.tabs.TabLayout;
 import com.gym.fitconnectpro.R;
+import com.gym.fitconnectpro.adapters.FoodSuggestionAdapter;
 import com.gym.fitconnectpro.dao.MealPlanDAO;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
 import com.gym.fitconnectpro.models.Food;
 import com.gym.fitconnectpro.models.MealPlan;
 import com.gym.fitconnectpro.models.MealPlanFood;
+import com.gym.fitconnectpro.services.FoodCatalog;
 import com.gym.fitconnectpro.services.Session;
 
 import java.time.LocalDate;
@@ -142,39 +145,25 @@ public class CreateMealPlanFragment extends Fragment {
     }
 
     private void loadClients() {
-        clientList = trainerDAO.getMyAssignedClients(trainerId);
-        if (clientList == null) clientList = new ArrayList<>();
-        
-        List<String> names = new ArrayList<>();
-        for (Member m : clientList) names.add(m.getFullName());
-        
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(getContext(), android.R.layout.simple_spinner_item, names);
-        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-        spinnerClient.setAdapter(adapter);
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> trainerDAO.getMyAssignedClients(trainerId), clients -> {
+            clientList = clients != null ? clients : new ArrayList<>();
+            
+            List<String> names = new ArrayList<>();
+            for (Member m : clientList) names.add(m.getFullName());
+            
+            ArrayAdapter<String> adapter = new ArrayAdapter<>(getContext(), android.R.layout.simple_spinner_item, names);
+            adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+            spinnerClient.setAdapter(adapter);
+        });
     }
 
     private void loadFoods() {
-        allFoods = mealPlanDAO.getAllFoods();
-        // Setup AutoComplete
-        // Note: For large DB, use CursorAdapter or custom Filter. For 100 items, basic Array is fine.
-        List<String> foodNames = new ArrayList<>();
-        // Helper map to lookup Food object by name quickly
-        // Assuming unique names for simplicity
-        for (Food f : allFoods) {
-            foodNames.add(f.getName());
-        }
-        
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(getContext(), android.R.layout.simple_dropdown_item_1line, foodNames);
-        actvFoodSearch.setAdapter(adapter);
-    }
-    
-    // Helper to find food by name
-    private Food findFoodByName(String name) {
-        if(allFoods == null) return null;
-        for(Food f : allFoods) {
-            if(f.getName().equalsIgnoreCase(name)) return f;
-        }
-        return null;
+        // Suggestions are ranked by the shared in-memory catalog; the list is kept for the "view all" dialog
+        FoodCatalog foodCatalog = FoodCatalog.getInstance(requireContext());
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), foodCatalog::getAllFoods, foods -> {
+            allFoods = foods;
+            actvFoodSearch.setAdapter(new FoodSuggestionAdapter(requireContext()));
+        });
     }
 
     private void setupListeners() {
@@ -212,8 +201,7 @@ public class CreateMealPlanFragment extends Fragment {
 
         // Food Selection
         actvFoodSearch.setOnItemClickListener((parent, view, position, id) -> {
-            String selection = (String) parent.getItemAtPosition(position);
-            selectedFood = findFoodByName(selection);
+            selectedFood = (Food) parent.getItemAtPosition(position);
             if (selectedFood != null) {
                 tvUnit.setText(selectedFood.getServingUnit());
             }
@@ -323,7 +311,7 @@ public class CreateMealPlanFragment extends Fragment {
             plan.setPlanDate(selectedDate.toString());
             plan.setMealType(type);
             plan.setInstructions(inst);
-            plan.setFoods(foods);
+            plan.setFoods(new ArrayList<>(foods)); // Snapshot, the editor keeps mutating the map
             
             if (!foods.isEmpty()) hasAnyFood = true;
             
@@ -335,13 +323,20 @@ public class CreateMealPlanFragment extends Fragment {
             return;
         }
 
-        if (mealPlanDAO.createMealPlans(plans)) {
-            Toast.makeText(getContext(), "Meal Plan Assigned Successfully!", Toast.LENGTH_LONG).show();
-            // Clear or navigate away?
-            // Reset maybe?
-        } else {
+        btnAssignPlan.setEnabled(false);
+        DbExecutor.getInstance().write(getViewLifecycleOwner(), () -> mealPlanDAO.createMealPlans(plans), saved -> {
+            btnAssignPlan.setEnabled(true);
+            if (saved) {
+                Toast.makeText(getContext(), "Meal Plan Assigned Successfully!", Toast.LENGTH_LONG).show();
+                // Clear or navigate away?
+                // Reset maybe?
+            } else {
+                Toast.makeText(getContext(), "Failed to save meal plan", Toast.LENGTH_SHORT).show();
+            }
+        }, error -> {
+            btnAssignPlan.setEnabled(true);
             Toast.makeText(getContext(), "Failed to save meal plan", Toast.LENGTH_SHORT).show();
-        }
+        });
     }
 
     private void showAllFoodsDialog() {
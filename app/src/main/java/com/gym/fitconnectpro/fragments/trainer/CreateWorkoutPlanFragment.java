@@ -22,6 +22,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.TrainerDAO;
 import com.gym.fitconnectpro.dao.WorkoutPlanDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Exercise;
 import com.gym.fitconnectpro.database.entities.Member;
 import com.gym.fitconnectpro.database.entities.PlanExercise;
@@ -221,8 +222,17 @@ public class CreateWorkoutPlanFragment extends Fragment {
     private void loadData() {
         int trainerId = session.getUserId(); // Providing userId which is trainerId for trainer sessions
 
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> {
+            FormData data = new FormData();
+            data.clients = trainerDAO.getMyAssignedClients(trainerId);
+            data.exercises = workoutPlanDAO.getAllExercises();
+            return data;
+        }, this::bindFormData);
+    }
+
+    private void bindFormData(FormData data) {
         // Load Clients
-        clientList = trainerDAO.getMyAssignedClients(trainerId);
+        clientList = data.clients;
         
         // Custom Adapter to ensure full name is displayed
         ArrayAdapter<Member> clientAdapter = new ArrayAdapter<Member>(requireContext(),
@@ -262,7 +272,7 @@ public class CreateWorkoutPlanFragment extends Fragment {
         }
 
         // Load Exercises
-        exerciseList = workoutPlanDAO.getAllExercises();
+        exerciseList = data.exercises;
         ArrayAdapter<Exercise> exerciseAdapter = new ArrayAdapter<>(requireContext(),
                 android.R.layout.simple_spinner_item, exerciseList);
         exerciseAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
@@ -353,8 +363,18 @@ public class CreateWorkoutPlanFragment extends Fragment {
         plan.setEndDate(etPlanDate.getText().toString()); // For now same as start, or could calculate duration
         plan.setStatus("ACTIVE");
 
-        boolean success = workoutPlanDAO.createWorkoutPlan(plan, addedExercises);
+        List<PlanExercise> exercises = new ArrayList<>(addedExercises);
+        btnAssignPlan.setEnabled(false);
+        DbExecutor.getInstance().write(getViewLifecycleOwner(), () -> workoutPlanDAO.createWorkoutPlan(plan, exercises), success -> {
+            btnAssignPlan.setEnabled(true);
+            onPlanSaved(success, selectedClient);
+        }, error -> {
+            btnAssignPlan.setEnabled(true);
+            Toast.makeText(getContext(), "Failed to create plan", Toast.LENGTH_SHORT).show();
+        });
+    }
 
+    private void onPlanSaved(boolean success, Member selectedClient) {
         if (success) {
             Toast.makeText(getContext(), "Workout Plan Assigned Successfully!", Toast.LENGTH_LONG).show();
             
@@ -378,4 +398,12 @@ public class CreateWorkoutPlanFragment extends Fragment {
             Toast.makeText(getContext(), "Failed to create plan", Toast.LENGTH_SHORT).show();
         }
     }
+
+    /**
+     * Clients and exercise catalog for the form spinners, loaded on the DB executor
+     */
+    private static class FormData {
+        List<Member> clients;
+        List<Exercise> exercises;
+    }
 }
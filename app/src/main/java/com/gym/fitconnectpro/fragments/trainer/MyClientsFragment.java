@@ -17,6 +17,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
 
 import java.util.ArrayList;
@@ -100,7 +101,7 @@ public class MyClientsFragment extends Fragment implements MyClientsAdapter.Clie
     // Method to set trainer ID externally if needed (e.g. from Activity)
     public void setTrainerId(int id) {
         this.trainerId = id;
-        if (isAdded()) {
+        if (isAdded() && getView() != null) {
             loadClients();
         }
     }
@@ -118,8 +119,13 @@ public class MyClientsFragment extends Fragment implements MyClientsAdapter.Clie
             return;
         }
 
-        List<Member> clients = trainerDAO.getMyAssignedClients(trainerId); // Assuming getMyAssignedClients takes trainer DB ID.
-                                                                        // Check if trainerId matches what DAO expects (trainers.id)
+        int id = trainerId;
+        DbExecutor.getInstance().read(getViewLifecycleOwner(),
+                () -> trainerDAO.getMyAssignedClients(id), // Assuming getMyAssignedClients takes trainer DB ID.
+                this::showClients);                         // Check if trainerId matches what DAO expects (trainers.id)
+    }
+
+    private void showClients(List<Member> clients) {
         if (clients.isEmpty()) {
             rvMyClients.setVisibility(View.GONE);
             tvEmptyState.setVisibility(View.VISIBLE);
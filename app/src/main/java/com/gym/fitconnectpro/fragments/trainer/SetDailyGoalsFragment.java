@@ -19,6 +19,7 @@ import androidx.fragment.app.Fragment;
 import com.gym.fitconnectpro.R;
 import com.gym.fitconnectpro.dao.DailyGoalDAO;
 import com.gym.fitconnectpro.dao.TrainerDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
 import com.gym.fitconnectpro.database.entities.Member;
 import com.gym.fitconnectpro.models.TrainerDailyGoal;
 import com.gym.fitconnectpro.services.Session;
@@ -103,7 +104,7 @@ public class SetDailyGoalsFragment extends Fragment {
         // Let's verify or assume standard naming as I cannot see TrainerDAO content here. 
         // I'll try getAssignedMembers
         
-        try {
+        DbExecutor.getInstance().read(getViewLifecycleOwner(), () -> {
             // Placeholder: functionality depends on TrainerDAO implementation
             // If getAssignedMembers exists:
             // clientList = trainerDAO.getAssignedMembers(trainerId);
@@ -119,9 +120,9 @@ public class SetDailyGoalsFragment extends Fragment {
             // To be safe, I'm checking existing methods in TrainerDAO is tricky without listing.
             // I'll proceed with assumed method "getAssignedMembers".
             // Fetch clients assigned to this trainer
-             clientList = trainerDAO.getMyAssignedClients(trainerId);
-            
-            if (clientList == null) clientList = new ArrayList<>();
+            return trainerDAO.getMyAssignedClients(trainerId);
+        }, clients -> {
+            clientList = clients != null ? clients : new ArrayList<>();
             
             List<String> clientNames = new ArrayList<>();
             for (Member m : clientList) {
@@ -131,11 +132,7 @@ public class SetDailyGoalsFragment extends Fragment {
             ArrayAdapter<String> adapter = new ArrayAdapter<>(getContext(), android.R.layout.simple_spinner_item, clientNames);
             adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
             spinnerClient.setAdapter(adapter);
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            Toast.makeText(getContext(), "Error loading clients", Toast.LENGTH_SHORT).show();
-        }
+        }, error -> Toast.makeText(getContext(), "Error loading clients", Toast.LENGTH_SHORT).show());
     }
 
     private void setupListeners() {
@@ -191,19 +188,25 @@ public class SetDailyGoalsFragment extends Fragment {
             goal.setWaterIntakeMl(parseIntOrDefault(etWaterIntake.getText().toString(), 0));
             goal.setSpecialInstructions(etInstructions.getText().toString());
 
-            boolean success;
-            if (isWeekly) {
-                success = dailyGoalDAO.setGoalsForWeek(goal, 7);
-            } else {
-                success = dailyGoalDAO.setDailyGoals(goal);
-            }
-
-            if (success) {
-                String msg = isWeekly ? "Weekly goals set successfully!" : "Daily goals set successfully!";
-                Toast.makeText(getContext(), msg, Toast.LENGTH_SHORT).show();
-            } else {
+            setAssignEnabled(false);
+            DbExecutor.getInstance().write(getViewLifecycleOwner(), () -> {
+                if (isWeekly) {
+                    return dailyGoalDAO.setGoalsForWeek(goal, 7);
+                } else {
+                    return dailyGoalDAO.setDailyGoals(goal);
+                }
+            }, success -> {
+                setAssignEnabled(true);
+                if (success) {
+                    String msg = isWeekly ? "Weekly goals set successfully!" : "Daily goals set successfully!";
+                    Toast.makeText(getContext(), msg, Toast.LENGTH_SHORT).show();
+                } else {
+                    Toast.makeText(getContext(), "Failed to set goals", Toast.LENGTH_SHORT).show();
+                }
+            }, error -> {
+                setAssignEnabled(true);
                 Toast.makeText(getContext(), "Failed to set goals", Toast.LENGTH_SHORT).show();
-            }
+            });
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -211,6 +214,11 @@ public class SetDailyGoalsFragment extends Fragment {
         }
     }
 
+    private void setAssignEnabled(boolean enabled) {
+        btnAssign.setEnabled(enabled);
+        btnSetWeek.setEnabled(enabled);
+    }
+
     private int parseIntOrDefault(String value, int defaultValue) {
         try {
             return Integer.parseInt(value);
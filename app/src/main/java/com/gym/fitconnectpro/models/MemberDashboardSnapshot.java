@@ -0,0 +1,120 @@
+package com.gym.fitconnectpro.models;
+
+import android.os.SystemClock;
+
+/**
+ * Immutable view of everything the member dashboard shows for one day.
+ * Built by MemberDashboardDAO.getDashboardSnapshot from a single query.
+ */
+public final class MemberDashboardSnapshot {
+    private final int memberId;
+    private final String memberName;
+    private final int trainerId;
+    private final String trainerName;
+    private final String date;
+
+    private final boolean hasGoals;
+    private final int calorieTarget;
+    private final int waterTargetMl;
+    private final int workoutDuration;
+
+    private final String activePlanName;
+    private final int mealCount;
+    private final Double weight;
+    private final int totalWorkouts;
+    private final int weeklyWorkouts;
+    private final int caloriesConsumed;
+    private final int waterConsumedMl;
+
+    private final long loadedAt;
+
+    private MemberDashboardSnapshot(Builder b) {
+        memberId = b.memberId;
+        memberName = b.memberName;
+        trainerId = b.trainerId;
+        trainerName = b.trainerName;
+        date = b.date;
+        hasGoals = b.hasGoals;
+        calorieTarget = b.calorieTarget;
+        waterTargetMl = b.waterTargetMl;
+        workoutDuration = b.workoutDuration;
+        activePlanName = b.activePlanName;
+        mealCount = b.mealCount;
+        weight = b.weight;
+        totalWorkouts = b.totalWorkouts;
+        weeklyWorkouts = b.weeklyWorkouts;
+        caloriesConsumed = b.caloriesConsumed;
+        waterConsumedMl = b.waterConsumedMl;
+        loadedAt = SystemClock.elapsedRealtime();
+    }
+
+    public int getMemberId() { return memberId; }
+    public String getMemberName() { return memberName; }
+    public int getTrainerId() { return trainerId; }
+    public String getTrainerName() { return trainerName; }
+    public boolean hasTrainer() { return trainerName != null; }
+    public String getDate() { return date; }
+
+    public boolean hasGoals() { return hasGoals; }
+    public int getCalorieTarget() { return calorieTarget; }
+    public int getWaterTargetMl() { return waterTargetMl; }
+    public int getWorkoutDuration() { return workoutDuration; }
+
+    public String getActivePlanName() { return activePlanName; }
+    public int getMealCount() { return mealCount; }
+    public Double getWeight() { return weight; }
+    public int getTotalWorkouts() { return totalWorkouts; }
+    public int getWeeklyWorkouts() { return weeklyWorkouts; }
+    public int getCaloriesConsumed() { return caloriesConsumed; }
+    public int getWaterConsumedMl() { return waterConsumedMl; }
+
+    public boolean isOlderThan(long ageMs) {
+        return SystemClock.elapsedRealtime() - loadedAt > ageMs;
+    }
+
+    public static class Builder {
+        private int memberId;
+        private String memberName;
+        private int trainerId;
+        private String trainerName;
+        private String date;
+        private boolean hasGoals;
+        private int calorieTarget;
+        private int waterTargetMl;
+        private int workoutDuration;
+        private String activePlanName;
+        private int mealCount;
+        private Double weight;
+        private int totalWorkouts;
+        private int weeklyWorkouts;
+        private int caloriesConsumed;
+        private int waterConsumedMl;
+
+        public Builder setMemberId(int memberId) { this.memberId = memberId; return this; }
+        public Builder setMemberName(String memberName) { this.memberName = memberName; return this; }
+        public Builder setTrainer(int trainerId, String trainerName) {
+            this.trainerId = trainerId;
+            this.trainerName = trainerName;
+            return this;
+        }
+        public Builder setDate(String date) { this.date = date; return this; }
+        public Builder setGoals(int calorieTarget, int waterTargetMl, int workoutDuration) {
+            this.hasGoals = true;
+            this.calorieTarget = calorieTarget;
+            this.waterTargetMl = waterTargetMl;
+            this.workoutDuration = workoutDuration;
+            return this;
+        }
+        public Builder setActivePlanName(String activePlanName) { this.activePlanName = activePlanName; return this; }
+        public Builder setMealCount(int mealCount) { this.mealCount = mealCount; return this; }
+        public Builder setWeight(Double weight) { this.weight = weight; return this; }
+        public Builder setTotalWorkouts(int totalWorkouts) { this.totalWorkouts = totalWorkouts; return this; }
+        public Builder setWeeklyWorkouts(int weeklyWorkouts) { this.weeklyWorkouts = weeklyWorkouts; return this; }
+        public Builder setCaloriesConsumed(int caloriesConsumed) { this.caloriesConsumed = caloriesConsumed; return this; }
+        public Builder setWaterConsumedMl(int waterConsumedMl) { this.waterConsumedMl = waterConsumedMl; return this; }
+
+        public MemberDashboardSnapshot build() {
+            return new MemberDashboardSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.gym.fitconnectpro.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable paid-salary totals for a date range, bucketed by day, week or month.
+ * Built by SalaryDAO.getSalaryReport from a single GROUP BY query.
+ */
+public final class SalaryReport {
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    /**
+     * Paid salaries whose payment_date falls in one period
+     */
+    public static final class Bucket {
+        private final String periodStart;
+        private final double total;
+        private final int count;
+
+        public Bucket(String periodStart, double total, int count) {
+            this.periodStart = periodStart;
+            this.total = total;
+            this.count = count;
+        }
+
+        /** First day of the period as yyyy-MM-dd (Monday for weeks) */
+        public String getPeriodStart() { return periodStart; }
+        public double getTotal() { return total; }
+        public int getCount() { return count; }
+    }
+
+    private final Granularity granularity;
+    private final List<Bucket> buckets;
+    private final double totalPaid;
+    private final int paidCount;
+
+    public SalaryReport(Granularity granularity, List<Bucket> buckets) {
+        this.granularity = granularity;
+        this.buckets = Collections.unmodifiableList(buckets);
+        double total = 0;
+        int count = 0;
+        for (Bucket bucket : buckets) {
+            total += bucket.total;
+            count += bucket.count;
+        }
+        this.totalPaid = total;
+        this.paidCount = count;
+    }
+
+    public Granularity getGranularity() { return granularity; }
+    /** Periods with at least one payment, oldest first */
+    public List<Bucket> getBuckets() { return buckets; }
+    public double getTotalPaid() { return totalPaid; }
+    public int getPaidCount() { return paidCount; }
+    public boolean isEmpty() { return buckets.isEmpty(); }
+}
@@ -0,0 +1,204 @@
+package com.gym.fitconnectpro.models;
+
+/**
+ * Immutable, date-ordered series of float values keyed by epoch day (days since 1970-01-01).
+ * Stored as parallel int[]/float[] columns; slices share the arrays, and smoothing and rollups
+ * are single passes that produce new series. Nothing is boxed.
+ */
+public final class TimeSeries {
+
+    public enum Period { WEEK, MONTH }
+
+    public enum Aggregate { SUM, MEAN, LAST }
+
+    private static final TimeSeries EMPTY = new TimeSeries(new int[0], new float[0], 0, 0);
+
+    private final int[] days;
+    private final float[] values;
+    private final int offset;
+    private final int size;
+
+    /**
+     * Wrap the first size entries of days/values, which must be ascending by day. The arrays are not copied.
+     */
+    public TimeSeries(int[] days, float[] values, int size) {
+        this(days, values, 0, size);
+    }
+
+    private TimeSeries(int[] days, float[] values, int offset, int size) {
+        this.days = days;
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    public static TimeSeries empty() { return EMPTY; }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int dayAt(int index) { return days[offset + index]; }
+    public float valueAt(int index) { return values[offset + index]; }
+    public float first() { return values[offset]; }
+    public float last() { return values[offset + size - 1]; }
+
+    /**
+     * Entries with fromDay <= day <= toDay, sharing this series' arrays
+     */
+    public TimeSeries slice(int fromDay, int toDay) {
+        int from = lowerBound(fromDay);
+        int to = lowerBound(toDay + 1);
+        return to > from ? new TimeSeries(days, values, offset + from, to - from) : EMPTY;
+    }
+
+    /**
+     * Exponentially weighted moving average that decays with elapsed days rather than sample count,
+     * so irregular logging does not skew the trend. After halfLifeDays an old value keeps half its weight.
+     */
+    public TimeSeries ewma(float halfLifeDays) {
+        int[] outDays = new int[size];
+        float[] outValues = new float[size];
+        double lambda = Math.log(2) / Math.max(halfLifeDays, 1e-3f);
+        float trend = 0;
+        for (int i = 0; i < size; i++) {
+            int day = days[offset + i];
+            float value = values[offset + i];
+            if (i == 0) {
+                trend = value;
+            } else {
+                float alpha = (float) (1 - Math.exp(-lambda * (day - outDays[i - 1])));
+                trend += alpha * (value - trend);
+            }
+            outDays[i] = day;
+            outValues[i] = trend;
+        }
+        return new TimeSeries(outDays, outValues, size);
+    }
+
+    /**
+     * One entry per week (starting Monday) or calendar month that has data, keyed by the period's first day
+     */
+    public TimeSeries rollup(Period period, Aggregate aggregate) {
+        int[] outDays = new int[size];
+        float[] outValues = new float[size];
+        int buckets = 0;
+        int bucketStart = 0;
+        int nextBucketStart = Integer.MIN_VALUE;
+        double sum = 0;
+        int count = 0;
+
+        for (int i = 0; i < size; i++) {
+            int day = days[offset + i];
+            float value = values[offset + i];
+            if (i == 0 || day >= nextBucketStart) {
+                if (count > 0) {
+                    outValues[buckets - 1] = aggregate == Aggregate.MEAN ? (float) (sum / count) : (float) sum;
+                }
+                if (period == Period.WEEK) {
+                    bucketStart = day - Math.floorMod(day + 3, 7); // 1970-01-01 was a Thursday
+                    nextBucketStart = bucketStart + 7;
+                } else {
+                    int[] ymd = civilFromDays(day);
+                    bucketStart = daysFromCivil(ymd[0], ymd[1], 1);
+                    nextBucketStart = ymd[1] == 12 ? daysFromCivil(ymd[0] + 1, 1, 1) : daysFromCivil(ymd[0], ymd[1] + 1, 1);
+                }
+                outDays[buckets++] = bucketStart;
+                sum = 0;
+                count = 0;
+            }
+            sum = aggregate == Aggregate.LAST ? value : sum + value;
+            count++;
+        }
+        if (count > 0) {
+            outValues[buckets - 1] = aggregate == Aggregate.MEAN ? (float) (sum / count) : (float) sum;
+        }
+        return new TimeSeries(outDays, outValues, buckets);
+    }
+
+    private int lowerBound(int day) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[offset + mid] < day) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Epoch day of a "yyyy-MM-dd..." string, or Integer.MIN_VALUE if it does not parse or names a day
+     * the month does not have (e.g. 2023-02-29)
+     */
+    public static int epochDay(String date) {
+        if (date == null || date.length() < 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return Integer.MIN_VALUE;
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return Integer.MIN_VALUE;
+        }
+        return daysFromCivil(year, month, day);
+    }
+
+    /**
+     * "yyyy-MM-dd" for an epoch day
+     */
+    public static String formatDay(int epochDay) {
+        int[] ymd = civilFromDays(epochDay);
+        char[] out = new char[10];
+        writeDigits(out, 0, ymd[0], 4);
+        out[4] = '-';
+        writeDigits(out, 5, ymd[1], 2);
+        out[7] = '-';
+        writeDigits(out, 8, ymd[2], 2);
+        return new String(out);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    // Proleptic Gregorian conversions (Howard Hinnant's days_from_civil / civil_from_days)
+    private static int daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static int[] civilFromDays(int epochDay) {
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int doe = z - era * 146097;
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return new int[]{year, month, day};
+    }
+
+    private static int digits(String s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void writeDigits(char[] out, int at, int value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            out[at + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.gym.fitconnectpro.services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.gym.fitconnectpro.dao.DailyRollupDAO;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic safety net for member_daily_rollup: compares the rollup with totals recomputed from the raw
+ * meal, water, workout and weight logs and rebuilds it if any day has drifted (e.g. logs written around the DAOs).
+ */
+public class DailyRollupWorker extends Worker {
+
+    private static final String TAG = "DailyRollupWorker";
+    private static final String WORK_NAME = "daily_rollup_verify";
+    private static final long INTERVAL_HOURS = 24;
+
+    public DailyRollupWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedule the daily verification; keeps the existing schedule if already enqueued
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                DailyRollupWorker.class, INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(new Constraints.Builder().setRequiresBatteryNotLow(true).build())
+                .build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            DailyRollupDAO rollupDAO = new DailyRollupDAO(getApplicationContext());
+            List<String> drifted = rollupDAO.verify();
+            if (drifted.isEmpty()) {
+                Log.d(TAG, "Daily rollup consistent with raw logs");
+                return Result.success();
+            }
+            return rollupDAO.rebuild() ? Result.success() : Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Error verifying daily rollup", e);
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.gym.fitconnectpro.services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.gym.fitconnectpro.dao.StatisticsDAO;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic safety net for dashboard_counters: recomputes the counters from members, trainers and payments
+ * and rebuilds them if trigger-maintained values have drifted (e.g. rows changed with triggers absent).
+ */
+public class DashboardCountersWorker extends Worker {
+
+    private static final String TAG = "DashboardCountersWorker";
+    private static final String WORK_NAME = "dashboard_counters_reconcile";
+    private static final long INTERVAL_HOURS = 24;
+
+    public DashboardCountersWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedule the daily reconciliation; keeps the existing schedule if already enqueued
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                DashboardCountersWorker.class, INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(new Constraints.Builder().setRequiresBatteryNotLow(true).build())
+                .build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            List<String> drifted = new StatisticsDAO(getApplicationContext()).reconcileCounters();
+            Log.d(TAG, "Reconciled dashboard counters, " + drifted.size() + " drifted");
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Error reconciling dashboard counters", e);
+            return Result.retry();
+        }
+    }
+}
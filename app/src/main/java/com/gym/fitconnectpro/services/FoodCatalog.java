@@ -0,0 +1,394 @@
+package com.gym.fitconnectpro.services;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.LongSparseArray;
+
+import com.gym.fitconnectpro.database.DatabaseHelper;
+import com.gym.fitconnectpro.database.TableChangeNotifier;
+import com.gym.fitconnectpro.models.Food;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Process-wide, read-only copy of the foods table for autocomplete.
+ * The table is loaded once into parallel primitive arrays plus a name-sorted order (prefix lookups)
+ * and a trigram index (ranked, typo-tolerant lookups), so searches never touch the database.
+ * Writers to foods signal {@link TableChangeNotifier#TABLE_FOODS}, which calls {@link #invalidate()}; the next lookup reloads.
+ */
+public class FoodCatalog {
+
+    private static final String TAG = "FoodCatalog";
+
+    public static final int DEFAULT_LIMIT = 50;
+
+    // A candidate must share at least this fraction of the query's trigrams
+    private static final float MIN_TRIGRAM_OVERLAP = 0.4f;
+
+    private static FoodCatalog instance;
+
+    private final DatabaseHelper dbHelper;
+    private volatile Index index;
+
+    private FoodCatalog(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+        // Process-lifetime singleton, so the listener is never removed
+        TableChangeNotifier.getInstance().addListener(TableChangeNotifier.TABLE_FOODS, table -> invalidate());
+    }
+
+    public static synchronized FoodCatalog getInstance(Context context) {
+        if (instance == null) {
+            instance = new FoodCatalog(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Drop the loaded catalog after foods were inserted, updated or deleted
+     */
+    public static synchronized void invalidate() {
+        if (instance != null) {
+            instance.index = null;
+        }
+    }
+
+    /**
+     * Load the catalog if needed. Reads the database, so call it off the main thread.
+     */
+    public void preload() {
+        getIndex();
+    }
+
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    /**
+     * Ranked lookup: name prefix matches first, then substring matches, then typo-tolerant trigram matches.
+     * An empty query returns the first foods by name.
+     */
+    public List<Food> search(String query, int limit) {
+        Index current = getIndex();
+        String normalized = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        int[] matches = normalized.isEmpty()
+                ? current.firstByName(limit)
+                : current.search(normalized, limit);
+
+        List<Food> foods = new ArrayList<>(matches.length);
+        for (int i : matches) {
+            foods.add(current.toFood(i));
+        }
+        return foods;
+    }
+
+    /**
+     * Every food, sorted by name
+     */
+    public List<Food> getAllFoods() {
+        Index current = getIndex();
+        List<Food> foods = new ArrayList<>(current.size);
+        for (int i : current.byName) {
+            foods.add(current.toFood(i));
+        }
+        return foods;
+    }
+
+    /**
+     * Case-insensitive exact name lookup
+     */
+    public Food findByName(String name) {
+        if (name == null) return null;
+        Index current = getIndex();
+        int i = current.findExact(name.trim().toLowerCase(Locale.ROOT));
+        return i >= 0 ? current.toFood(i) : null;
+    }
+
+    public Food getFood(int foodId) {
+        Index current = getIndex();
+        for (int i = 0; i < current.size; i++) {
+            if (current.ids[i] == foodId) return current.toFood(i);
+        }
+        return null;
+    }
+
+    private Index getIndex() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = load();
+                    if (current == null) {
+                        // Not cached, so the next lookup retries the load
+                        return new Index(0);
+                    }
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Build the index from the foods table, or null if the read fails
+     */
+    private Index load() {
+        long start = SystemClock.elapsedRealtime();
+        Cursor cursor = null;
+        Index loaded;
+
+        try {
+            SQLiteDatabase db = dbHelper.getReadableDatabase();
+            cursor = db.rawQuery("SELECT id, name, calories, protein, carbs, fats, serving_unit FROM foods", null);
+            loaded = new Index(cursor.getCount());
+            int n = 0;
+            while (cursor.moveToNext()) {
+                loaded.ids[n] = cursor.getInt(0);
+                loaded.names[n] = cursor.getString(1) != null ? cursor.getString(1) : "";
+                loaded.calories[n] = cursor.getInt(2);
+                loaded.protein[n] = cursor.getFloat(3);
+                loaded.carbs[n] = cursor.getFloat(4);
+                loaded.fats[n] = cursor.getFloat(5);
+                loaded.units[n] = cursor.getString(6);
+                n++;
+            }
+            loaded.build();
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading food catalog", e);
+            return null;
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+
+        Log.d(TAG, "Loaded " + loaded.size + " foods in " + (SystemClock.elapsedRealtime() - start) + " ms");
+        return loaded;
+    }
+
+    /**
+     * Immutable snapshot of the catalog. Columns are parallel arrays indexed by catalog position.
+     */
+    private static final class Index {
+        final int size;
+        final int[] ids;
+        final String[] names;
+        final String[] lowerNames;
+        final int[] calories;
+        final float[] protein;
+        final float[] carbs;
+        final float[] fats;
+        final String[] units;
+
+        // Catalog positions sorted by lower-cased name
+        int[] byName = new int[0];
+        // Trigram -> sorted catalog positions containing it
+        final LongSparseArray<int[]> trigrams = new LongSparseArray<>();
+        // Distinct trigram count per food, for similarity scoring
+        final short[] trigramCounts;
+        // Per-search scratch, reused so a keystroke does not allocate catalog-sized arrays
+        float[] scores = new float[0];
+        short[] shared = new short[0];
+
+        Index(int size) {
+            this.size = size;
+            ids = new int[size];
+            names = new String[size];
+            lowerNames = new String[size];
+            calories = new int[size];
+            protein = new float[size];
+            carbs = new float[size];
+            fats = new float[size];
+            units = new String[size];
+            trigramCounts = new short[size];
+        }
+
+        void build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                lowerNames[i] = names[i].toLowerCase(Locale.ROOT);
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> lowerNames[i]));
+            byName = new int[size];
+            for (int i = 0; i < size; i++) {
+                byName[i] = order[i];
+            }
+
+            // Collect distinct trigrams per food, then group positions by trigram
+            long[][] perFood = new long[size][];
+            int total = 0;
+            for (int i = 0; i < size; i++) {
+                perFood[i] = distinctTrigrams(lowerNames[i]);
+                trigramCounts[i] = (short) Math.min(perFood[i].length, Short.MAX_VALUE);
+                total += perFood[i].length;
+            }
+
+            // Distinct trigram keys in ascending order, as LongSparseArray.append requires
+            long[] keys = new long[total];
+            int k = 0;
+            for (long[] grams : perFood) {
+                System.arraycopy(grams, 0, keys, k, grams.length);
+                k += grams.length;
+            }
+            Arrays.sort(keys);
+            int distinct = 0;
+            for (int i = 0; i < total; i++) {
+                if (i == 0 || keys[i] != keys[i - 1]) keys[distinct++] = keys[i];
+            }
+
+            int[] counts = new int[distinct];
+            for (long[] grams : perFood) {
+                for (long gram : grams) counts[Arrays.binarySearch(keys, 0, distinct, gram)]++;
+            }
+            int[][] postings = new int[distinct][];
+            for (int g = 0; g < distinct; g++) {
+                postings[g] = new int[counts[g]];
+                counts[g] = 0;
+            }
+            // Foods are visited in position order, so every posting list comes out sorted
+            for (int i = 0; i < size; i++) {
+                for (long gram : perFood[i]) {
+                    int g = Arrays.binarySearch(keys, 0, distinct, gram);
+                    postings[g][counts[g]++] = i;
+                }
+            }
+            for (int g = 0; g < distinct; g++) {
+                trigrams.append(keys[g], postings[g]);
+            }
+            scores = new float[size];
+            shared = new short[size];
+        }
+
+        int[] firstByName(int limit) {
+            return Arrays.copyOf(byName, Math.min(limit, size));
+        }
+
+        int findExact(String lowerName) {
+            int lo = lowerBound(lowerName);
+            if (lo < size && lowerNames[byName[lo]].equals(lowerName)) {
+                return byName[lo];
+            }
+            return -1;
+        }
+
+        synchronized int[] search(String query, int limit) {
+            int[] candidates = new int[64];
+            int candidateCount = 0;
+
+            // 1. Whole-name prefix matches via binary search on the sorted names
+            for (int p = lowerBound(query); p < size && lowerNames[byName[p]].startsWith(query); p++) {
+                int i = byName[p];
+                candidates = add(candidates, candidateCount++, i);
+                scores[i] = 3f;
+            }
+
+            // 2. Trigram overlap scores word-prefix, substring and misspelled matches
+            long[] queryGrams = distinctTrigrams(query);
+            if (queryGrams.length > 0 && query.length() >= 3) {
+                for (long gram : queryGrams) {
+                    int[] posting = trigrams.get(gram);
+                    if (posting == null) continue;
+                    for (int i : posting) {
+                        if (shared[i] == 0 && scores[i] == 0) candidates = add(candidates, candidateCount++, i);
+                        shared[i]++;
+                    }
+                }
+
+                int minShared = Math.max(1, (int) Math.ceil(queryGrams.length * MIN_TRIGRAM_OVERLAP));
+                for (int c = 0; c < candidateCount; c++) {
+                    int i = candidates[c];
+                    if (scores[i] >= 3f) continue;
+                    if (lowerNames[i].contains(query)) {
+                        scores[i] = 2f;
+                    } else if (shared[i] >= minShared) {
+                        // Dice coefficient in [0, 1]
+                        scores[i] = 2f * shared[i] / (queryGrams.length + trigramCounts[i]);
+                    }
+                }
+            } else {
+                // Too short for trigrams: fall back to substring matches
+                for (int i = 0; i < size; i++) {
+                    if (scores[i] == 0 && lowerNames[i].contains(query)) {
+                        candidates = add(candidates, candidateCount++, i);
+                        scores[i] = 2f;
+                    }
+                }
+            }
+
+            // Rank by score, then shorter names, then alphabetically
+            Integer[] ranked = new Integer[candidateCount];
+            int rankedCount = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                if (scores[candidates[c]] > 0) ranked[rankedCount++] = candidates[c];
+            }
+            final float[] rankScores = scores;
+            Arrays.sort(ranked, 0, rankedCount, (a, b) -> {
+                int byScore = Float.compare(rankScores[b], rankScores[a]);
+                if (byScore != 0) return byScore;
+                int byLength = Integer.compare(lowerNames[a].length(), lowerNames[b].length());
+                return byLength != 0 ? byLength : lowerNames[a].compareTo(lowerNames[b]);
+            });
+
+            int[] result = new int[Math.min(limit, rankedCount)];
+            for (int r = 0; r < result.length; r++) {
+                result[r] = ranked[r];
+            }
+
+            // Reset only the scratch entries this search touched
+            for (int c = 0; c < candidateCount; c++) {
+                scores[candidates[c]] = 0;
+                shared[candidates[c]] = 0;
+            }
+            return result;
+        }
+
+        Food toFood(int i) {
+            return new Food(ids[i], names[i], calories[i], protein[i], carbs[i], fats[i], units[i]);
+        }
+
+        // First sorted position whose name is >= key
+        private int lowerBound(String key) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (lowerNames[byName[mid]].compareTo(key) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private static int[] add(int[] array, int position, int value) {
+            if (position == array.length) {
+                array = Arrays.copyOf(array, Math.max(16, array.length * 2));
+            }
+            array[position] = value;
+            return array;
+        }
+    }
+
+    /**
+     * Distinct trigrams of a lower-cased string, with word boundaries padded by a space
+     * so that the start of every word gets its own trigram. Packed as three 16-bit chars.
+     */
+    static long[] distinctTrigrams(String text) {
+        String padded = " " + text.replaceAll("[^\\p{L}\\p{N}]+", " ").trim() + " ";
+        if (padded.length() < 3) return new long[0];
+
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) grams[distinct++] = grams[i];
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
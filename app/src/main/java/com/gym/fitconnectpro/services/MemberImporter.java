@@ -0,0 +1,450 @@
+package com.gym.fitconnectpro.services;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.gym.fitconnectpro.dao.MemberDAO;
+import com.gym.fitconnectpro.database.DbExecutor;
+import com.gym.fitconnectpro.database.entities.Member;
+import com.gym.fitconnectpro.utils.PasswordUtil;
+import com.gym.fitconnectpro.utils.ValidationUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk member registration from a CSV file with a header row.
+ * The file is streamed in batches: each batch is validated, its passwords are hashed across all cores
+ * on a fork-join pool, and the rows are written in a single transaction on the database writer while
+ * the next batch is being hashed. Rejected rows are collected into a per-line error report.
+ *
+ * Columns (any order, case-insensitive): full_name, email, phone, username, password are required;
+ * date_of_birth, gender, height, weight, membership_type (Basic/Premium/Elite), start_date,
+ * duration_months, emergency_contact, medical_notes are optional. Dates are yyyy-MM-dd.
+ */
+public class MemberImporter {
+
+    private static final String TAG = "MemberImporter";
+
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_DURATION_MONTHS = 24;
+    private static final String[] REQUIRED_COLUMNS = {"full_name", "email", "phone", "username", "password"};
+
+    // One import at a time; the orchestrating thread only parses and waits
+    private static final ExecutorService IMPORT_EXECUTOR =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "member-import"));
+
+    public interface ProgressListener {
+        /**
+         * Called on the main thread after each batch is written
+         */
+        void onProgress(int rowsRead, int imported, int failed);
+    }
+
+    public static class RowError {
+        public final int line;
+        public final String username;
+        public final String message;
+
+        RowError(int line, String username, String message) {
+            this.line = line;
+            this.username = username;
+            this.message = message;
+        }
+    }
+
+    public static class Result {
+        public int rowsRead;
+        public int imported;
+        public final List<RowError> errors = new ArrayList<>();
+        public long elapsedMs;
+
+        public int getFailed() {
+            return errors.size();
+        }
+    }
+
+    private static class Row {
+        final int line;
+        final Member member;
+
+        Row(int line, Member member) {
+            this.line = line;
+            this.member = member;
+        }
+    }
+
+    private final MemberDAO memberDAO;
+    private final PasswordHasher passwordHasher;
+
+    public MemberImporter(Context context) {
+        memberDAO = new MemberDAO(context);
+        passwordHasher = PasswordHasher.getInstance(context);
+    }
+
+    /**
+     * Run the import in the background. The stream is closed when the import finishes.
+     */
+    public CompletableFuture<Result> importAsync(InputStream input, ProgressListener listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+                return importMembers(reader, listener);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read file: " + e.getMessage(), e);
+            }
+        }, IMPORT_EXECUTOR);
+    }
+
+    /**
+     * Import every row of the CSV, blocking until the last batch is committed
+     * @throws IllegalArgumentException if the header is missing a required column
+     */
+    public Result importMembers(Reader source, ProgressListener listener) throws IOException {
+        long start = SystemClock.elapsedRealtime();
+        Result result = new Result();
+        CsvReader csv = new CsvReader(new BufferedReader(source));
+
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.US), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Missing column: " + column);
+            }
+        }
+
+        int cost = passwordHasher.getCost();
+        ForkJoinPool hashPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        CompletableFuture<String[]> pendingWrite = null;
+        List<Row> pendingRows = null;
+
+        try {
+            List<Row> batch = new ArrayList<>(BATCH_SIZE);
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                batch.clear();
+                while (batch.size() < BATCH_SIZE) {
+                    List<String> record = csv.readRecord();
+                    if (record == null) {
+                        endOfFile = true;
+                        break;
+                    }
+                    if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                        continue;
+                    }
+
+                    result.rowsRead++;
+                    int line = csv.getRecordLine();
+                    Member member = new Member();
+                    String error = parseRow(record, columns, member);
+                    if (error == null && !seenUsernames.add(member.getUsername().toLowerCase(Locale.US))) {
+                        error = "Duplicate username in file";
+                    }
+                    if (error == null && !seenEmails.add(member.getEmail().toLowerCase(Locale.US))) {
+                        error = "Duplicate email in file";
+                    }
+
+                    if (error != null) {
+                        result.errors.add(new RowError(line, member.getUsername(), error));
+                    } else {
+                        batch.add(new Row(line, member));
+                    }
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+
+                // Hash this batch while the previous one is still being written
+                List<String> hashes = hashAll(hashPool, batch, cost);
+
+                if (pendingWrite != null) {
+                    collect(result, pendingRows, pendingWrite);
+                    notifyProgress(listener, result);
+                }
+
+                List<Row> rows = new ArrayList<>(batch);
+                List<Member> members = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    members.add(row.member);
+                }
+                pendingRows = rows;
+                pendingWrite = DbExecutor.getInstance().write(() -> memberDAO.insertMembersBatch(members, hashes));
+            }
+
+            if (pendingWrite != null) {
+                collect(result, pendingRows, pendingWrite);
+            }
+        } catch (IOException | RuntimeException e) {
+            // A read or hash failed with the previous batch still committing; let it settle before failing
+            if (pendingWrite != null && !pendingWrite.isCompletedExceptionally()) {
+                try {
+                    collect(result, pendingRows, pendingWrite);
+                    Log.w(TAG, "Import stopped after committing " + result.imported + " rows", e);
+                } catch (RuntimeException writeError) {
+                    e.addSuppressed(writeError);
+                }
+            }
+            throw e;
+        } finally {
+            hashPool.shutdown();
+        }
+
+        result.elapsedMs = SystemClock.elapsedRealtime() - start;
+        notifyProgress(listener, result);
+        Log.i(TAG, "Imported " + result.imported + " of " + result.rowsRead + " rows in " + result.elapsedMs + " ms");
+        return result;
+    }
+
+    private static List<String> hashAll(ForkJoinPool pool, List<Row> rows, int cost) {
+        List<Callable<String>> tasks = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String password = row.member.getPassword();
+            tasks.add(() -> PasswordUtil.hashPassword(password, cost));
+        }
+
+        List<String> hashes = new ArrayList<>(rows.size());
+        for (Future<String> future : pool.invokeAll(tasks)) {
+            try {
+                hashes.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Password hashing failed", e.getCause());
+            }
+        }
+        return hashes;
+    }
+
+    private static void collect(Result result, List<Row> rows, CompletableFuture<String[]> write) {
+        String[] errors = write.join();
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null) {
+                result.imported++;
+            } else {
+                Row row = rows.get(i);
+                result.errors.add(new RowError(row.line, row.member.getUsername(), errors[i]));
+            }
+        }
+    }
+
+    private static void notifyProgress(ProgressListener listener, Result result) {
+        if (listener == null) return;
+        int rowsRead = result.rowsRead;
+        int imported = result.imported;
+        int failed = result.getFailed();
+        DbExecutor.getInstance().runOnMain(() -> listener.onProgress(rowsRead, imported, failed));
+    }
+
+    /**
+     * Fill the member from a record using the same rules as MemberRegistrationActivity
+     * @return the validation error, or null if the row is valid
+     */
+    private static String parseRow(List<String> record, Map<String, Integer> columns, Member member) {
+        String username = field(record, columns, "username");
+        member.setUsername(username);
+        member.setFullName(field(record, columns, "full_name"));
+        member.setEmail(field(record, columns, "email"));
+        member.setPhone(field(record, columns, "phone"));
+        member.setPassword(field(record, columns, "password"));
+        member.setGender(field(record, columns, "gender"));
+        member.setEmergencyContact(field(record, columns, "emergency_contact"));
+        member.setMedicalNotes(field(record, columns, "medical_notes"));
+        member.setStatus("Active");
+
+        if (!ValidationUtil.isNotEmpty(member.getFullName())) return "Full name is required";
+        if (!ValidationUtil.isValidEmail(member.getEmail())) return "Invalid email";
+        if (!ValidationUtil.isValidPhone(member.getPhone())) return "Invalid phone number";
+        if (!ValidationUtil.isValidUsername(username)) return "Invalid username";
+        if (!ValidationUtil.isValidPassword(member.getPassword())) return "Password must be at least 6 characters with a letter and a number";
+
+        String height = field(record, columns, "height");
+        if (ValidationUtil.isNotEmpty(height)) {
+            if (!ValidationUtil.isPositiveNumber(height)) return "Invalid height";
+            member.setHeight(Double.parseDouble(height));
+        }
+        String weight = field(record, columns, "weight");
+        if (ValidationUtil.isNotEmpty(weight)) {
+            if (!ValidationUtil.isPositiveNumber(weight)) return "Invalid weight";
+            member.setWeight(Double.parseDouble(weight));
+        }
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        dateFormat.setLenient(false);
+
+        String dateOfBirth = field(record, columns, "date_of_birth");
+        if (ValidationUtil.isNotEmpty(dateOfBirth)) {
+            if (parseDate(dateFormat, dateOfBirth) == null) return "Invalid date of birth";
+            member.setDateOfBirth(dateOfBirth);
+        }
+
+        String type = field(record, columns, "membership_type");
+        String membershipType = ValidationUtil.isNotEmpty(type) ? capitalize(type) : "Basic";
+        double fee;
+        switch (membershipType) {
+            case "Basic":
+                fee = 1000;
+                break;
+            case "Premium":
+                fee = 2000;
+                break;
+            case "Elite":
+                fee = 3000;
+                break;
+            default:
+                return "Unknown membership type: " + type;
+        }
+        member.setMembershipType(membershipType);
+        member.setMembershipFee(fee);
+
+        int duration = 1;
+        String durationText = field(record, columns, "duration_months");
+        if (ValidationUtil.isNotEmpty(durationText)) {
+            try {
+                duration = Integer.parseInt(durationText);
+            } catch (NumberFormatException e) {
+                duration = 0;
+            }
+            if (duration < 1 || duration > MAX_DURATION_MONTHS) return "Duration must be 1-" + MAX_DURATION_MONTHS + " months";
+        }
+        member.setDuration(duration);
+
+        Calendar startDate = Calendar.getInstance();
+        String startText = field(record, columns, "start_date");
+        if (ValidationUtil.isNotEmpty(startText)) {
+            Date parsed = parseDate(dateFormat, startText);
+            if (parsed == null) return "Invalid start date";
+            startDate.setTime(parsed);
+        }
+        Calendar endDate = (Calendar) startDate.clone();
+        endDate.add(Calendar.MONTH, duration);
+        member.setMembershipStartDate(dateFormat.format(startDate.getTime()));
+        member.setMembershipEndDate(dateFormat.format(endDate.getTime()));
+
+        return null;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) return null;
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Date parseDate(SimpleDateFormat format, String text) {
+        try {
+            return format.parse(text);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static String capitalize(String text) {
+        String lower = text.trim().toLowerCase(Locale.US);
+        return lower.isEmpty() ? lower : Character.toUpperCase(lower.charAt(0)) + lower.substring(1);
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks
+     */
+    private static class CsvReader {
+        private final BufferedReader reader;
+        private int line;
+        private int recordLine;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return the fields of the next record, or null at end of input
+         */
+        List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) return null;
+            line++;
+            recordLine = line;
+            if (line == 1 && !text.isEmpty() && text.charAt(0) == '\uFEFF') {
+                text = text.substring(1);
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) break;
+                    // Line break inside a quoted field
+                    String next = reader.readLine();
+                    if (next == null) break;
+                    line++;
+                    field.append('\n');
+                    text = next;
+                    i = 0;
+                    continue;
+                }
+
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < text.length() && text.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        /**
+         * Line number where the last record started
+         */
+        int getRecordLine() {
+            return recordLine;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.gym.fitconnectpro.services;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.gym.fitconnectpro.utils.PasswordUtil;
+import com.gym.fitconnectpro.utils.PasswordUtils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The one place passwords are hashed and verified.
+ * The bcrypt cost is calibrated once per device build so a hash takes about TARGET_HASH_MS,
+ * never below MIN_COST. All bcrypt work runs on a small bounded pool, so simultaneous logins on a
+ * shared tablet queue for CPU instead of each pinning a core and starving the UI and database threads.
+ */
+public final class PasswordHasher {
+
+    private static final String TAG = "PasswordHasher";
+
+    private static final String PREF_NAME = "password_hasher";
+    private static final String KEY_COST = "bcrypt_cost";
+    private static final String KEY_CALIBRATED_BUILD = "calibrated_build";
+
+    private static final long TARGET_HASH_MS = 300;
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 14;
+    // Cheap cost timed during calibration; each extra round doubles the work
+    private static final int CALIBRATION_COST = 6;
+    private static final int CALIBRATION_RUNS = 3;
+
+    private static final int QUEUE_CAPACITY = 32;
+    private static final String THREAD_PREFIX = "password-hasher-";
+
+    private static PasswordHasher instance;
+
+    private final SharedPreferences preferences;
+    private final ThreadPoolExecutor executor;
+    private volatile int cost;
+
+    private PasswordHasher(Context context) {
+        preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        int threads = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+        AtomicInteger count = new AtomicInteger(1);
+        executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> new Thread(r, THREAD_PREFIX + count.getAndIncrement()));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized PasswordHasher getInstance(Context context) {
+        if (instance == null) {
+            instance = new PasswordHasher(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Calibrate in the background so the first login does not pay for it
+     */
+    public void preload() {
+        submit(() -> getCost());
+    }
+
+    /**
+     * bcrypt cost used for new hashes on this device
+     */
+    public int getCost() {
+        int current = cost;
+        if (current == 0) {
+            synchronized (this) {
+                current = cost;
+                if (current == 0) {
+                    current = loadOrCalibrate();
+                    cost = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public CompletableFuture<String> hashAsync(String plainPassword) {
+        return submit(() -> PasswordUtil.hashPassword(plainPassword, getCost()));
+    }
+
+    /**
+     * Verify against a BCrypt hash, or a legacy salted SHA-256 one; {@link #needsRehash} is always
+     * true for the latter, so a successful login upgrades it
+     */
+    @SuppressWarnings("deprecation")
+    public CompletableFuture<Boolean> verifyAsync(String plainPassword, String hashedPassword) {
+        return submit(() -> PasswordUtils.verifyPassword(plainPassword, hashedPassword));
+    }
+
+    /**
+     * Hash on the hashing pool and wait for the result
+     * @throws IllegalArgumentException if the password is null or empty
+     */
+    public String hash(String plainPassword) {
+        return await(hashAsync(plainPassword));
+    }
+
+    /**
+     * Verify on the hashing pool and wait for the result
+     * @throws RejectedExecutionException if the pool is saturated; report "busy", not a wrong password
+     */
+    public boolean verify(String plainPassword, String hashedPassword) {
+        try {
+            return await(verifyAsync(plainPassword, hashedPassword));
+        } catch (RejectedExecutionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error verifying password", e);
+            return false;
+        }
+    }
+
+    /**
+     * True if a stored hash is weaker than this device's cost (or not BCrypt); stronger hashes are kept
+     */
+    public boolean needsRehash(String hashedPassword) {
+        return PasswordUtil.needsRehash(hashedPassword, getCost());
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        // Already on a hashing thread (nested call): run inline rather than wait on our own queue
+        if (Thread.currentThread().getName().startsWith(THREAD_PREFIX)) {
+            try {
+                return CompletableFuture.completedFuture(task.call());
+            } catch (Exception e) {
+                CompletableFuture<T> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Hashing queue full, rejecting request");
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw e;
+        }
+    }
+
+    private int loadOrCalibrate() {
+        int saved = preferences.getInt(KEY_COST, 0);
+        if (saved >= MIN_COST && Build.FINGERPRINT.equals(preferences.getString(KEY_CALIBRATED_BUILD, null))) {
+            return saved;
+        }
+
+        int calibrated = calibrate();
+        preferences.edit()
+                .putInt(KEY_COST, calibrated)
+                .putString(KEY_CALIBRATED_BUILD, Build.FINGERPRINT)
+                .apply();
+        return calibrated;
+    }
+
+    /**
+     * Time the cheap cost (best of a few runs after a warm-up) and pick the highest cost whose
+     * extrapolated time still fits the budget
+     */
+    private static int calibrate() {
+        String sample = "calibration-sample";
+        PasswordUtil.hashPassword(sample, CALIBRATION_COST);
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            PasswordUtil.hashPassword(sample, CALIBRATION_COST);
+            bestNanos = Math.min(bestNanos, SystemClock.elapsedRealtimeNanos() - start);
+        }
+
+        double baseMs = bestNanos / 1_000_000.0;
+        int chosen = MIN_COST;
+        while (chosen < MAX_COST && baseMs * (1L << (chosen + 1 - CALIBRATION_COST)) <= TARGET_HASH_MS) {
+            chosen++;
+        }
+        Log.d(TAG, "Calibrated bcrypt cost " + chosen + " (cost " + CALIBRATION_COST + " took "
+                + String.format(java.util.Locale.US, "%.1f", baseMs) + " ms)");
+        return chosen;
+    }
+}
@@ -19,12 +19,24 @@ public class PasswordUtil {
      * @throws IllegalArgumentException if password is null or empty
      */
     public static String hashPassword(String plainPassword) {
+        return hashPassword(plainPassword, BCRYPT_ROUNDS);
+    }
+
+    /**
+     * Hash a plain text password using BCrypt at the given cost.
+     * Prefer PasswordHasher, which picks the cost for this device and bounds concurrent hashing.
+     * @param plainPassword The plain text password to hash
+     * @param rounds The BCrypt log2 cost
+     * @return The BCrypt hashed password
+     * @throws IllegalArgumentException if password is null or empty
+     */
+    public static String hashPassword(String plainPassword, int rounds) {
         if (plainPassword == null || plainPassword.trim().isEmpty()) {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
 
         try {
-            return BCrypt.hashpw(plainPassword, BCrypt.gensalt(BCRYPT_ROUNDS));
+            return BCrypt.hashpw(plainPassword, BCrypt.gensalt(rounds));
         } catch (Exception e) {
             Log.e(TAG, "Error hashing password", e);
             throw new RuntimeException("Failed to hash password", e);
@@ -57,19 +69,30 @@ public class PasswordUtil {
      * @return true if the password should be rehashed
      */
     public static boolean needsRehash(String hashedPassword) {
-        if (hashedPassword == null) {
+        return needsRehash(hashedPassword, BCRYPT_ROUNDS);
+    }
+
+    /**
+     * Check if a password hash was made at a lower cost than the target, or is not a BCrypt hash.
+     * Stronger hashes are kept, so a lower calibrated cost never weakens existing passwords.
+     * @param hashedPassword The hashed password to check
+     * @param targetRounds The cost new hashes are made with
+     * @return true if the password should be rehashed
+     */
+    public static boolean needsRehash(String hashedPassword, int targetRounds) {
+        if (hashedPassword == null || !hashedPassword.startsWith("$2")) {
             return true;
         }
 
         try {
-            // Check if the hash uses fewer rounds than current standard
+            // Only upgrade; never rehash down to a cheaper cost
             String[] parts = hashedPassword.split("\\$");
             if (parts.length < 4) {
                 return true;
             }
 
             int rounds = Integer.parseInt(parts[2]);
-            return rounds < BCRYPT_ROUNDS;
+            return rounds < targetRounds;
         } catch (Exception e) {
             Log.e(TAG, "Error checking hash", e);
             return true;
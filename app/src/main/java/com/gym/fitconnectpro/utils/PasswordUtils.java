@@ -2,43 +2,27 @@ package com.gym.fitconnectpro.utils;
 
 import android.util.Base64;
 import java.security.MessageDigest;
-import java.security.SecureRandom;
 
+/**
+ * Legacy salted SHA-256 verification. New hashes are BCrypt via PasswordHasher;
+ * this class only remains so PasswordHasher can still verify old SHA-256 hashes, which AuthDAO
+ * then rehashes with BCrypt on the successful login.
+ * @deprecated use {@link com.gym.fitconnectpro.services.PasswordHasher}
+ */
+@Deprecated
 public class PasswordUtils {
 
     private static final String ALGORITHM = "SHA-256";
     private static final int SALT_LENGTH = 16;
 
     /**
-     * Hash a password with salt
+     * Verify a password against a BCrypt hash or a legacy salted SHA-256 hash
      */
-    public static String hashPassword(String password) {
-        try {
-            // Generate salt
-            SecureRandom random = new SecureRandom();
-            byte[] salt = new byte[SALT_LENGTH];
-            random.nextBytes(salt);
-
-            // Hash password with salt
-            MessageDigest md = MessageDigest.getInstance(ALGORITHM);
-            md.update(salt);
-            byte[] hashedPassword = md.digest(password.getBytes());
-
-            // Combine salt and hash
-            byte[] combined = new byte[salt.length + hashedPassword.length];
-            System.arraycopy(salt, 0, combined, 0, salt.length);
-            System.arraycopy(hashedPassword, 0, combined, salt.length, hashedPassword.length);
-
-            return Base64.encodeToString(combined, Base64.NO_WRAP);
-        } catch (Exception e) {
-            throw new RuntimeException("Error hashing password", e);
+    public static boolean verifyPassword(String password, String hashedPassword) {
+        if (hashedPassword != null && hashedPassword.startsWith("$2")) {
+            return PasswordUtil.verifyPassword(password, hashedPassword);
         }
-    }
 
-    /**
-     * Verify a password against a hash
-     */
-    public static boolean verifyPassword(String password, String hashedPassword) {
         try {
             byte[] combined = Base64.decode(hashedPassword, Base64.NO_WRAP);
 
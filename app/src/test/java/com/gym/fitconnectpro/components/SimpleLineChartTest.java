@@ -0,0 +1,90 @@
+package com.gym.fitconnectpro.components;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling used by SimpleLineChart
+ */
+public class SimpleLineChartTest {
+
+    @Test
+    public void lttb_keepsFirstAndLastPoints() {
+        int n = 1000;
+        float[] x = new float[n];
+        float[] y = new float[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = (float) Math.sin(i / 25.0) * 10f;
+        }
+        float[] outX = new float[n];
+        float[] outY = new float[n];
+
+        int kept = SimpleLineChart.lttb(x, y, n, 50, outX, outY);
+
+        assertEquals(50, kept);
+        assertEquals(x[0], outX[0], 0f);
+        assertEquals(y[0], outY[0], 0f);
+        assertEquals(x[n - 1], outX[kept - 1], 0f);
+        assertEquals(y[n - 1], outY[kept - 1], 0f);
+    }
+
+    @Test
+    public void lttb_keepsSourcePointsInOrder() {
+        int n = 500;
+        float[] x = new float[n];
+        float[] y = new float[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i * 2f;
+            y[i] = (i * 37) % 11;
+        }
+        float[] outX = new float[n];
+        float[] outY = new float[n];
+
+        int kept = SimpleLineChart.lttb(x, y, n, 40, outX, outY);
+
+        for (int i = 0; i < kept; i++) {
+            int source = (int) (outX[i] / 2f);
+            assertEquals(y[source], outY[i], 0f);
+            if (i > 0) assertTrue(outX[i] > outX[i - 1]);
+        }
+    }
+
+    @Test
+    public void lttb_keepsIsolatedSpike() {
+        int n = 300;
+        float[] x = new float[n];
+        float[] y = new float[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = 70f;
+        }
+        y[151] = 95f;
+        float[] outX = new float[n];
+        float[] outY = new float[n];
+
+        int kept = SimpleLineChart.lttb(x, y, n, 20, outX, outY);
+
+        boolean found = false;
+        for (int i = 0; i < kept; i++) {
+            if (outX[i] == 151f) found = true;
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    public void lttb_copiesWhenThresholdNotBelowSize() {
+        float[] x = {0f, 1f, 2f, 3f};
+        float[] y = {5f, 3f, 4f, 1f};
+        float[] outX = new float[4];
+        float[] outY = new float[4];
+
+        assertEquals(4, SimpleLineChart.lttb(x, y, 4, 4, outX, outY));
+        assertArrayEquals(x, outX, 0f);
+        assertArrayEquals(y, outY, 0f);
+
+        assertEquals(4, SimpleLineChart.lttb(x, y, 4, 2, outX, outY));
+        assertArrayEquals(y, outY, 0f);
+    }
+}
@@ -0,0 +1,177 @@
+package com.gym.fitconnectpro.models;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Calendar arithmetic, slicing and rollups of TimeSeries, checked against java.time
+ */
+public class TimeSeriesTest {
+
+    @Test
+    public void epochDay_matchesLocalDate() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.getYear() <= 2101; date = date.plusDays(1)) {
+            int day = TimeSeries.epochDay(date.toString());
+            assertEquals(date.toString(), date.toEpochDay(), day);
+            assertEquals(date.toString(), TimeSeries.formatDay(day));
+        }
+    }
+
+    @Test
+    public void epochDay_ignoresTimeSuffix() {
+        assertEquals(LocalDate.of(2024, 3, 5).toEpochDay(), TimeSeries.epochDay("2024-03-05 10:15:00"));
+    }
+
+    @Test
+    public void epochDay_leapYears() {
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), TimeSeries.epochDay("2024-02-29"));
+        assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), TimeSeries.epochDay("2000-02-29"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2023-02-29"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("1900-02-29"));
+    }
+
+    @Test
+    public void epochDay_rejectsDaysPastMonthLength() {
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024-02-31"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024-02-30"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024-04-31"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024-11-31"));
+        assertEquals(LocalDate.of(2024, 12, 31).toEpochDay(), TimeSeries.epochDay("2024-12-31"));
+    }
+
+    @Test
+    public void epochDay_rejectsMalformed() {
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay(null));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024-1-5"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024/01/05"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024-00-10"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024-13-10"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("2024-01-00"));
+        assertEquals(Integer.MIN_VALUE, TimeSeries.epochDay("20x4-01-10"));
+    }
+
+    @Test
+    public void rollupMonth_splitsAtMonthBoundaries() {
+        TimeSeries series = series(
+                "2023-12-31", 1f,
+                "2024-01-01", 2f,
+                "2024-01-31", 3f,
+                "2024-02-01", 4f,
+                "2024-02-29", 5f,
+                "2024-03-01", 6f);
+
+        TimeSeries months = series.rollup(TimeSeries.Period.MONTH, TimeSeries.Aggregate.SUM);
+
+        assertEquals(4, months.size());
+        assertEquals("2023-12-01", TimeSeries.formatDay(months.dayAt(0)));
+        assertEquals("2024-01-01", TimeSeries.formatDay(months.dayAt(1)));
+        assertEquals("2024-02-01", TimeSeries.formatDay(months.dayAt(2)));
+        assertEquals("2024-03-01", TimeSeries.formatDay(months.dayAt(3)));
+        assertEquals(1f, months.valueAt(0), 0f);
+        assertEquals(5f, months.valueAt(1), 0f);
+        assertEquals(9f, months.valueAt(2), 0f);
+        assertEquals(6f, months.valueAt(3), 0f);
+    }
+
+    @Test
+    public void rollupWeek_startsOnMonday() {
+        // 2024-01-07 is a Sunday, 2024-01-08 a Monday; 1969-12-29 is the Monday before the epoch
+        TimeSeries series = series(
+                "1969-12-31", 1f,
+                "1970-01-04", 2f,
+                "2024-01-01", 3f,
+                "2024-01-07", 4f,
+                "2024-01-08", 5f);
+
+        TimeSeries weeks = series.rollup(TimeSeries.Period.WEEK, TimeSeries.Aggregate.SUM);
+
+        assertEquals(3, weeks.size());
+        assertEquals("1969-12-29", TimeSeries.formatDay(weeks.dayAt(0)));
+        assertEquals("2024-01-01", TimeSeries.formatDay(weeks.dayAt(1)));
+        assertEquals("2024-01-08", TimeSeries.formatDay(weeks.dayAt(2)));
+        assertEquals(3f, weeks.valueAt(0), 0f);
+        assertEquals(7f, weeks.valueAt(1), 0f);
+        assertEquals(5f, weeks.valueAt(2), 0f);
+        for (int i = 0; i < weeks.size(); i++) {
+            assertEquals(DayOfWeek.MONDAY, LocalDate.ofEpochDay(weeks.dayAt(i)).getDayOfWeek());
+        }
+    }
+
+    @Test
+    public void rollup_meanAndLast() {
+        TimeSeries series = series("2024-05-01", 80f, "2024-05-15", 78f, "2024-05-31", 76f, "2024-06-02", 75f);
+
+        TimeSeries mean = series.rollup(TimeSeries.Period.MONTH, TimeSeries.Aggregate.MEAN);
+        assertEquals(78f, mean.valueAt(0), 1e-4f);
+        assertEquals(75f, mean.valueAt(1), 1e-4f);
+
+        TimeSeries last = series.rollup(TimeSeries.Period.MONTH, TimeSeries.Aggregate.LAST);
+        assertEquals(76f, last.valueAt(0), 0f);
+        assertEquals(75f, last.valueAt(1), 0f);
+    }
+
+    @Test
+    public void slice_boundsAreInclusive() {
+        TimeSeries series = series("2024-01-01", 1f, "2024-01-05", 2f, "2024-01-10", 3f, "2024-01-20", 4f);
+
+        TimeSeries slice = series.slice(day("2024-01-05"), day("2024-01-10"));
+        assertEquals(2, slice.size());
+        assertEquals(2f, slice.first(), 0f);
+        assertEquals(3f, slice.last(), 0f);
+
+        TimeSeries between = series.slice(day("2024-01-02"), day("2024-01-19"));
+        assertEquals(2, between.size());
+        assertEquals(day("2024-01-05"), between.dayAt(0));
+        assertEquals(day("2024-01-10"), between.dayAt(1));
+    }
+
+    @Test
+    public void slice_outsideOrInvertedRangeIsEmpty() {
+        TimeSeries series = series("2024-01-01", 1f, "2024-01-05", 2f);
+
+        assertTrue(series.slice(day("2023-01-01"), day("2023-12-31")).isEmpty());
+        assertTrue(series.slice(day("2024-01-06"), day("2024-02-01")).isEmpty());
+        assertTrue(series.slice(day("2024-01-02"), day("2024-01-04")).isEmpty());
+        assertTrue(series.slice(day("2024-01-05"), day("2024-01-01")).isEmpty());
+        assertEquals(2, series.slice(Integer.MIN_VALUE, Integer.MAX_VALUE - 1).size());
+    }
+
+    @Test
+    public void slice_ofSliceUsesItsOwnOffset() {
+        TimeSeries series = series("2024-01-01", 1f, "2024-01-02", 2f, "2024-01-03", 3f, "2024-01-04", 4f);
+
+        TimeSeries inner = series.slice(day("2024-01-02"), day("2024-01-04")).slice(day("2024-01-03"), day("2024-01-03"));
+        assertEquals(1, inner.size());
+        assertEquals(3f, inner.first(), 0f);
+    }
+
+    @Test
+    public void ewma_startsAtFirstValueAndDecaysByElapsedDays() {
+        TimeSeries series = series("2024-01-01", 80f, "2024-01-08", 70f);
+
+        TimeSeries trend = series.ewma(7f);
+        assertEquals(80f, trend.valueAt(0), 0f);
+        // One half-life elapsed: the old trend keeps half its weight
+        assertEquals(75f, trend.valueAt(1), 1e-3f);
+    }
+
+    private static int day(String date) {
+        return TimeSeries.epochDay(date);
+    }
+
+    // Alternating date, value pairs in ascending date order
+    private static TimeSeries series(Object... pairs) {
+        int n = pairs.length / 2;
+        int[] days = new int[n];
+        float[] values = new float[n];
+        for (int i = 0; i < n; i++) {
+            days[i] = day((String) pairs[2 * i]);
+            values[i] = (Float) pairs[2 * i + 1];
+        }
+        return new TimeSeries(days, values, n);
+    }
+}